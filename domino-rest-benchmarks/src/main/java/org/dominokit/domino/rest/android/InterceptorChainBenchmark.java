@@ -0,0 +1,103 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.benchmarks.ItemsServiceFactory;
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ResponseInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+
+/**
+ * Measures calling the interceptors of an {@link InterceptorChain} on a request and its response, nothing is sent
+ * and no scheduler is involved. The asynchronous interceptors complete inline and are added without a timeout, so
+ * no timer is scheduled for them.
+ * <p>
+ * Kept in the library package to call the package private interception methods used by the sender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterceptorChainBenchmark {
+
+    @Param({"0", "1", "5"})
+    public int interceptors;
+
+    @Param({"true", "false"})
+    public boolean synchronous;
+
+    private InterceptorChain chain;
+    private ServerRequest request;
+    private Response response;
+
+    @Setup
+    public void setup() {
+        chain = InterceptorChain.EMPTY;
+        for (int i = 0; i < interceptors; i++) {
+            String value = "value" + i;
+            RequestInterceptor interceptor = synchronous
+                    ? (SyncRequestInterceptor) request -> request.setHeader("X-Benchmark", value)
+                    : (request, contextWait) -> {
+                        request.setHeader("X-Benchmark", value);
+                        contextWait.complete(request);
+                    };
+            chain = chain.withRequestInterceptor(interceptor, -1)
+                    .withResponseInterceptor(new ResponseInterceptor() {
+                        @Override
+                        public void interceptOnSuccess(ServerRequest serverRequest, Response response) {
+                            response.getStatusCode();
+                        }
+                    });
+        }
+        request = ItemsServiceFactory.INSTANCE.getCachedItem("1");
+        response = new AndroidResponse(new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK"));
+    }
+
+    @Benchmark
+    public boolean interceptRequest() {
+        if (chain.isSynchronous()) {
+            chain.interceptSynchronously(request);
+            return true;
+        }
+        Ready ready = new Ready();
+        chain.intercept(request, ready);
+        return ready.ready;
+    }
+
+    @Benchmark
+    public Response interceptResponse() {
+        chain.interceptOnSuccess(request, response);
+        return response;
+    }
+
+    private static class Ready implements InterceptorChain.Listener {
+        private boolean ready;
+
+        @Override
+        public void onReady() {
+            ready = true;
+        }
+
+        @Override
+        public void onFailed(Throwable failure) {
+            throw new IllegalStateException(failure);
+        }
+    }
+}
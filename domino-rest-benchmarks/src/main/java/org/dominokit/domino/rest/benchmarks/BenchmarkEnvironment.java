@@ -0,0 +1,41 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.DominoRestConfig;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+final class BenchmarkEnvironment {
+
+    private static boolean initialized;
+
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * There is no android main looper on the JVM, callbacks are delivered on a single background thread instead,
+     * this must be called before any request is sent.
+     */
+    static synchronized DominoRestConfig init(String serviceRoot) {
+        if (!initialized) {
+            RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+            initialized = true;
+        }
+        return DominoRestConfig.initDefaults()
+                .setDefaultServiceRoot(serviceRoot);
+    }
+
+    static <S> S await(ServerRequest<?, S> request) throws Exception {
+        CompletableFuture<S> result = new CompletableFuture<>();
+        request.onSuccess(result::complete)
+                .onFailed(failedResponse -> result.completeExceptionally(
+                        new IllegalStateException("Request failed with status " + failedResponse.getStatusCode(),
+                                failedResponse.getThrowable())))
+                .send();
+        return result.get(10, TimeUnit.SECONDS);
+    }
+}
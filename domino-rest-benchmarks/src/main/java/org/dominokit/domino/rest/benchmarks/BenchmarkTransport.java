@@ -0,0 +1,57 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.OkHttpConfig;
+import org.dominokit.domino.rest.android.TransportFactory;
+import org.dominokit.domino.rest.android.Transports;
+import org.dominokit.domino.rest.testing.Http2LocalServer;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.NetworkProfile;
+import org.dominokit.domino.rest.testing.StubServer;
+
+import java.io.IOException;
+
+/**
+ * The transports compared by the benchmarks, each with the server it is measured against.
+ */
+enum BenchmarkTransport {
+    /**
+     * The default {@code HttpClient} transport, HTTP/1.1 against the {@link LocalServer}.
+     */
+    HTTPCLIENT,
+    /**
+     * The OkHttp transport, HTTP/1.1 against the {@link LocalServer}.
+     */
+    OKHTTP,
+    /**
+     * The OkHttp transport, HTTP/2 without TLS against the {@link Http2LocalServer}.
+     */
+    H2C;
+
+    static BenchmarkTransport named(String name) {
+        try {
+            return valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown transport [" + name + "], use one of httpclient, okhttp, h2c");
+        }
+    }
+
+    TransportFactory factory() {
+        switch (this) {
+            case OKHTTP:
+                return Transports.okHttp(new OkHttpConfig());
+            case H2C:
+                return Transports.okHttp(new OkHttpConfig().setPriorKnowledge(true));
+            default:
+                return Transports.httpClient();
+        }
+    }
+
+    StubServer startServer(NetworkProfile profile) throws IOException {
+        return this == H2C ? Http2LocalServer.start(profile) : LocalServer.start(profile);
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,61 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.DominoRestConfig;
+import org.dominokit.domino.rest.testing.NetworkProfile;
+import org.dominokit.domino.rest.testing.StubServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of requests sent concurrently to an in process server, including the connection pool,
+ * the dispatcher, reading the body and deserializing it, with each of the transports.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"1", "100", "1300"})
+    public int items;
+
+    @Param({"HTTPCLIENT", "OKHTTP", "H2C"})
+    public BenchmarkTransport transport;
+
+    private StubServer server;
+
+    @Setup
+    public void setup() throws Exception {
+        server = transport.startServer(NetworkProfile.none());
+        BenchmarkEnvironment.init(server.getServiceRoot())
+                .setTransport(transport.factory());
+    }
+
+    @TearDown
+    public void tearDown() {
+        DominoRestConfig.getInstance().shutdown();
+        server.stop();
+    }
+
+    @Benchmark
+    public List<Item> listItems() throws Exception {
+        return BenchmarkEnvironment.await(ItemsServiceFactory.INSTANCE.listItems(items));
+    }
+}
@@ -0,0 +1,35 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.jacksonapt.annotation.JSONMapper;
+
+@JSONMapper
+public class Item {
+
+    private String id;
+    private String name;
+    private int value;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public void setValue(int value) {
+        this.value = value;
+    }
+}
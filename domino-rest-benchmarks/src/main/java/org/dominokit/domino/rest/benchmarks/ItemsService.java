@@ -0,0 +1,27 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.shared.request.service.annotations.RequestFactory;
+
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+@RequestFactory
+public interface ItemsService {
+
+    @Path("items/:id")
+    @GET
+    Item getItem(String id);
+
+    /**
+     * Served with {@code Cache-Control: max-age}, so it is answered from the responses cache when enabled.
+     */
+    @Path("cached-items/:id")
+    @GET
+    Item getCachedItem(String id);
+
+    @Path("payload/:count")
+    @GET
+    List<Item> listItems(int count);
+}
@@ -0,0 +1,197 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.DominoRestConfig;
+import org.dominokit.domino.rest.android.LatencyHistogram;
+import org.dominokit.domino.rest.android.RequestMetrics;
+import org.dominokit.domino.rest.android.RouteMetricsAggregator;
+import org.dominokit.domino.rest.testing.NetworkProfile;
+import org.dominokit.domino.rest.testing.StubServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the client with concurrent virtual users against the {@link StubServer} shaped by a {@link NetworkProfile},
+ * then reports the throughput, the latency percentiles and the threads, sockets and allocations used.
+ * <pre>
+ *     ./gradlew :domino-rest-benchmarks:loadTest -Pload.args="--users=64 --duration=30 --profile=3g"
+ * </pre>
+ * Options, all optional :
+ * <ul>
+ *     <li>{@code --users} the number of virtual users sending requests concurrently, defaults to 32</li>
+ *     <li>{@code --duration} the seconds to measure for, defaults to 30</li>
+ *     <li>{@code --warmup} the seconds to send requests for before measuring, defaults to 5</li>
+ *     <li>{@code --items} the number of items in each response, about 50 bytes each, defaults to 100</li>
+ *     <li>{@code --think} the milliseconds each user waits between two requests, defaults to 0</li>
+ *     <li>{@code --profile} one of none, wifi, lte, 3g or flaky, defaults to lte</li>
+ *     <li>{@code --transport} one of httpclient, okhttp or h2c, defaults to httpclient, h2c runs the server over
+ *     HTTP/2 without TLS</li>
+ *     <li>{@code --latency}, {@code --jitter}, {@code --bandwidth}, {@code --errors}, {@code --drip-chunk} and
+ *     {@code --drip-delay} override the values of the profile</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    private final int users;
+    private final long durationMillis;
+    private final long warmupMillis;
+    private final int items;
+    private final long thinkMillis;
+    private final NetworkProfile profile;
+    private final BenchmarkTransport transport;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final RouteMetricsAggregator aggregator = new RouteMetricsAggregator();
+    private volatile boolean measuring;
+
+    LoadTest(Map<String, String> options) {
+        this.users = Integer.parseInt(options.getOrDefault("users", "32"));
+        this.durationMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("duration", "30")));
+        this.warmupMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("warmup", "5")));
+        this.items = Integer.parseInt(options.getOrDefault("items", "100"));
+        this.thinkMillis = Long.parseLong(options.getOrDefault("think", "0"));
+        this.profile = profile(options);
+        this.transport = BenchmarkTransport.named(options.getOrDefault("transport", "httpclient"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTest(parseOptions(args)).run();
+    }
+
+    void run() throws Exception {
+        StubServer server = transport.startServer(profile);
+        DominoRestConfig config = BenchmarkEnvironment.init(server.getServiceRoot())
+                .setTransport(transport.factory());
+        config.addMetricsListener(metrics -> {
+            if (measuring) {
+                aggregator.onRequestCompleted(metrics);
+            }
+        });
+        ResourceSampler sampler = new ResourceSampler(config.getHttpClientProvider());
+        System.out.println("Running " + users + " users for " + TimeUnit.MILLISECONDS.toSeconds(durationMillis)
+                + "s after a " + TimeUnit.MILLISECONDS.toSeconds(warmupMillis) + "s warmup, " + items
+                + " items per response, " + transport + " transport, " + profile);
+
+        long start = System.currentTimeMillis();
+        long measureFrom = start + warmupMillis;
+        long deadline = measureFrom + durationMillis;
+        List<Thread> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Thread user = new Thread(() -> runUser(deadline), "virtual-user-" + i);
+            user.setDaemon(true);
+            virtualUsers.add(user);
+            user.start();
+        }
+        Thread.sleep(Math.max(0, measureFrom - System.currentTimeMillis()));
+        measuring = true;
+        sampler.start();
+        long measureStart = System.nanoTime();
+        for (Thread user : virtualUsers) {
+            user.join();
+        }
+        measuring = false;
+        long elapsedNanos = System.nanoTime() - measureStart;
+        sampler.stop();
+
+        report(elapsedNanos, sampler, config);
+        config.shutdown();
+        server.stop();
+    }
+
+    private void runUser(long deadline) {
+        while (System.currentTimeMillis() < deadline) {
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                BenchmarkEnvironment.await(ItemsServiceFactory.INSTANCE.listItems(items));
+                success = true;
+            } catch (Exception e) {
+                success = false;
+            }
+            if (measuring) {
+                (success ? succeeded : failed).incrementAndGet();
+                if (success) {
+                    latency.record(System.nanoTime() - start);
+                }
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void report(long elapsedNanos, ResourceSampler sampler, DominoRestConfig config) {
+        double seconds = elapsedNanos / 1_000_000_000d;
+        long completed = succeeded.get() + failed.get();
+        System.out.println();
+        System.out.printf("Requests      : %d completed, %d failed, %.1f req/s%n", completed, failed.get(), completed / seconds);
+        System.out.printf("Latency (ms)  : p50 %d, p90 %d, p95 %d, p99 %d, p99.9 %d, max %d%n",
+                latency.getPercentileMillis(50), latency.getPercentileMillis(90), latency.getPercentileMillis(95),
+                latency.getPercentileMillis(99), latency.getPercentileMillis(99.9), latency.getMaxMicros() / 1000);
+        for (RouteMetricsAggregator.RouteMetrics route : aggregator.getRoutes()) {
+            System.out.printf("Route         : %s, %d attempts retried%n", route.getRoute(), route.getRetryCount());
+            for (RequestMetrics.Phase phase : RequestMetrics.Phase.values()) {
+                LatencyHistogram histogram = route.getHistogram(phase);
+                if (histogram.getCount() > 0) {
+                    System.out.printf("  %-20s: p50 %.2fms, p99 %.2fms%n", phase,
+                            histogram.getPercentileMicros(50) / 1000d, histogram.getPercentileMicros(99) / 1000d);
+                }
+            }
+        }
+        System.out.printf("Threads       : %d max sampled, %d peak%n", sampler.getMaxThreads(), sampler.getPeakThreads());
+        System.out.printf("Sockets       : %s max open in the process, %d max pooled connections, %d max leased%n",
+                sampler.getMaxSockets() < 0 ? "n/a" : String.valueOf(sampler.getMaxSockets()),
+                sampler.getMaxPooledConnections(), sampler.getMaxLeasedConnections());
+        long allocated = sampler.getAllocatedBytes();
+        System.out.printf("Heap churn    : %.1f MB allocated, %.1f KB per request, %d gc taking %dms%n",
+                allocated / (1024d * 1024d), completed == 0 ? 0 : allocated / 1024d / completed,
+                sampler.getGcCount(), sampler.getGcMillis());
+        System.out.println("Dispatcher    : " + config.getDispatcherStats());
+        System.out.println("Buffer pool   : " + config.getBufferPoolStats());
+    }
+
+    private static NetworkProfile profile(Map<String, String> options) {
+        NetworkProfile profile = NetworkProfile.named(options.getOrDefault("profile", "lte"));
+        if (options.containsKey("latency")) {
+            profile.setLatencyMillis(Long.parseLong(options.get("latency")));
+        }
+        if (options.containsKey("jitter")) {
+            profile.setJitterMillis(Long.parseLong(options.get("jitter")));
+        }
+        if (options.containsKey("bandwidth")) {
+            profile.setBandwidthBytesPerSecond(Long.parseLong(options.get("bandwidth")));
+        }
+        if (options.containsKey("errors")) {
+            profile.setErrorRate(Double.parseDouble(options.get("errors")));
+        }
+        if (options.containsKey("drip-chunk")) {
+            profile.setDripChunkBytes(Integer.parseInt(options.get("drip-chunk")));
+        }
+        if (options.containsKey("drip-delay")) {
+            profile.setDripDelayMillis(Long.parseLong(options.get("drip-delay")));
+        }
+        return profile;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected an option as --name=value but found [" + arg + "]");
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,153 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.HttpClientProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.pool.PoolStats;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Periodically samples the threads, sockets and allocations of the process while a load test is running.
+ * <p>
+ * The allocated bytes are summed from the per thread counters, the allocations of a thread since the last sample
+ * are lost when it terminates so the value is a close lower bound.
+ */
+class ResourceSampler {
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 250;
+    private static final File FD_DIRECTORY = new File("/proc/self/fd");
+
+    private final HttpClientProvider httpClientProvider;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-test-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Long, Long> firstAllocatedBytes = new HashMap<>();
+    private final Map<Long, Long> lastAllocatedBytes = new HashMap<>();
+    private boolean sampled;
+    private long startGcCount;
+    private long startGcMillis;
+    private int maxThreads;
+    private int maxSockets = -1;
+    private int maxPooledConnections;
+    private int maxLeasedConnections;
+
+    ResourceSampler(HttpClientProvider httpClientProvider) {
+        this.httpClientProvider = httpClientProvider;
+    }
+
+    void start() {
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+        threads.resetPeakThreadCount();
+        scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        sample();
+    }
+
+    private synchronized void sample() {
+        maxThreads = Math.max(maxThreads, threads.getThreadCount());
+        maxSockets = Math.max(maxSockets, countSockets());
+        PoolStats poolStats = httpClientProvider.getPoolStats();
+        maxPooledConnections = Math.max(maxPooledConnections, poolStats.getLeased() + poolStats.getAvailable());
+        maxLeasedConnections = Math.max(maxLeasedConnections, poolStats.getLeased());
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            long[] ids = threads.getAllThreadIds();
+            long[] allocated = allocations.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                if (allocated[i] >= 0) {
+                    firstAllocatedBytes.putIfAbsent(ids[i], sampled ? 0L : allocated[i]);
+                    lastAllocatedBytes.put(ids[i], allocated[i]);
+                }
+            }
+        }
+        sampled = true;
+    }
+
+    /**
+     * @return the number of sockets opened by the process, both client and server side, or {@code -1} when the
+     * platform does not expose its file descriptors
+     */
+    private static int countSockets() {
+        File[] descriptors = FD_DIRECTORY.listFiles();
+        if (isNull(descriptors)) {
+            return -1;
+        }
+        int sockets = 0;
+        for (File descriptor : descriptors) {
+            try {
+                if (Files.readSymbolicLink(descriptor.toPath()).toString().startsWith("socket:")) {
+                    sockets++;
+                }
+            } catch (IOException | UnsupportedOperationException e) {
+                // closed while listing
+            }
+        }
+        return sockets;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    synchronized long getAllocatedBytes() {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : lastAllocatedBytes.entrySet()) {
+            total += entry.getValue() - firstAllocatedBytes.get(entry.getKey());
+        }
+        return total;
+    }
+
+    long getGcCount() {
+        return gcCount() - startGcCount;
+    }
+
+    long getGcMillis() {
+        return gcMillis() - startGcMillis;
+    }
+
+    synchronized int getMaxThreads() {
+        return maxThreads;
+    }
+
+    int getPeakThreads() {
+        return threads.getPeakThreadCount();
+    }
+
+    synchronized int getMaxSockets() {
+        return maxSockets;
+    }
+
+    synchronized int getMaxPooledConnections() {
+        return maxPooledConnections;
+    }
+
+    synchronized int getMaxLeasedConnections() {
+        return maxLeasedConnections;
+    }
+}
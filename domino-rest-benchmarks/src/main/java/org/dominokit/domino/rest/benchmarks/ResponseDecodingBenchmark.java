@@ -0,0 +1,83 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.AndroidResponse;
+import org.dominokit.domino.rest.android.BufferPool;
+import org.dominokit.domino.rest.android.BufferPoolConfig;
+import org.dominokit.domino.rest.android.BufferPoolStats;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.HttpResponse;
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.entity.ByteArrayEntity;
+import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+
+/**
+ * Measures decoding response bodies of different sizes as a string and through a reader, with the buffers taken from
+ * a pool with the default configuration as the {@code HttpClientProvider} does, or allocated for each response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseDecodingBenchmark {
+
+    /**
+     * The number of items in the body, about 1KB, 64KB and 1MB.
+     */
+    @Param({"20", "1300", "21000"})
+    public int items;
+
+    @Param({"true", "false"})
+    public boolean pooled;
+
+    private byte[] body;
+    private BufferPool bufferPool;
+    private final char[] buffer = new char[8192];
+
+    @Setup
+    public void setup() {
+        body = LocalServer.items(items);
+        bufferPool = pooled ? new BufferPool(new BufferPoolConfig(), new BufferPoolStats()) : null;
+    }
+
+    @Benchmark
+    public String bodyAsString() {
+        return response().getBodyAsString();
+    }
+
+    @Benchmark
+    public long bodyAsReader() throws IOException {
+        long chars = 0;
+        try (Reader reader = response().getBodyAsReader()) {
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                chars += read;
+            }
+        }
+        return chars;
+    }
+
+    private AndroidResponse response() {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+        return pooled ? new AndroidResponse(response, bufferPool) : new AndroidResponse(response);
+    }
+}
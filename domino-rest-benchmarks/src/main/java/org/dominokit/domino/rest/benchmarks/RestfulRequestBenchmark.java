@@ -0,0 +1,75 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.AndroidRestfulRequest;
+import org.dominokit.domino.rest.android.ConnectionPoolConfig;
+import org.dominokit.domino.rest.android.HttpClientProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating an {@link AndroidRestfulRequest} and building its query string.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestfulRequestBenchmark {
+
+    private static final String URL = "http://127.0.0.1:8080/service/library/movies/hulk";
+
+    @Param({"0", "5", "20"})
+    public int queryParameters;
+
+    private HttpClientProvider httpClientProvider;
+    private String[] names;
+    private String[] values;
+
+    @Setup
+    public void setup() {
+        httpClientProvider = new HttpClientProvider(new ConnectionPoolConfig());
+        httpClientProvider.getTransport();
+        names = new String[queryParameters];
+        values = new String[queryParameters];
+        for (int i = 0; i < queryParameters; i++) {
+            names[i] = "param" + i;
+            values[i] = "value " + i + "&more";
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClientProvider.shutdown();
+    }
+
+    @Benchmark
+    public AndroidRestfulRequest create() {
+        return newRequest();
+    }
+
+    @Benchmark
+    public String buildQuery() {
+        return newRequest().getQuery();
+    }
+
+    private AndroidRestfulRequest newRequest() {
+        AndroidRestfulRequest request = new AndroidRestfulRequest(URL, "GET", httpClientProvider);
+        for (int i = 0; i < names.length; i++) {
+            request.addQueryParam(names[i], values[i]);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.AndroidRequestSender;
+import org.dominokit.domino.rest.android.CallbackExecutors;
+import org.dominokit.domino.rest.android.ConnectionPoolConfig;
+import org.dominokit.domino.rest.android.HttpClientProvider;
+import org.dominokit.domino.rest.android.SyncRequestInterceptor;
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work of {@link AndroidRequestSender#send} for one request with 0, 1 and 5 interceptors, from the
+ * registration of the in flight request and the interception to the response being read and delivered.
+ * <p>
+ * The responses come from a {@link StubTransport} and the callbacks are delivered directly on the dispatcher
+ * thread, so no network and no delivery scheduler is involved, the only hand off left is the one to the dispatcher
+ * thread every request goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SenderDispatchBenchmark {
+
+    @Param({"0", "1", "5"})
+    public int interceptors;
+
+    @Param({"true", "false"})
+    public boolean synchronous;
+
+    private HttpClientProvider provider;
+    private AndroidRequestSender<?, ?> sender;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.init("http://localhost/");
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        provider.configureTransport(StubTransport.answering("{\"id\":\"1\",\"name\":\"item 1\",\"value\":1}"));
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setCallbackExecutor(CallbackExecutors.direct());
+        for (int i = 0; i < interceptors; i++) {
+            String value = "value" + i;
+            RequestInterceptor interceptor = synchronous
+                    ? (SyncRequestInterceptor) request -> request.setHeader("X-Benchmark", value)
+                    : (request, contextWait) -> {
+                        request.setHeader("X-Benchmark", value);
+                        contextWait.complete(request);
+                    };
+            sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, -1));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sender.getDispatcher().shutdown();
+        provider.shutdown();
+    }
+
+    @Benchmark
+    public Item send() throws Exception {
+        return send(ItemsServiceFactory.INSTANCE.getItem("1")).get(10, TimeUnit.SECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R, S> CompletableFuture<S> send(ServerRequest<R, S> request) {
+        CompletableFuture<S> result = new CompletableFuture<>();
+        ((AndroidRequestSender<R, S>) sender).send(request, new ServerRequestCallBack() {
+            @Override
+            public <T> void onSuccess(T response) {
+                result.complete((S) response);
+            }
+
+            @Override
+            public void onFailure(FailedResponseBean failedResponse) {
+                result.completeExceptionally(new IllegalStateException("Request failed with status "
+                        + failedResponse.getStatusCode(), failedResponse.getThrowable()));
+            }
+        });
+        return result;
+    }
+}
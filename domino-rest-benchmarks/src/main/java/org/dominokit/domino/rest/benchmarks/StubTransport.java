@@ -0,0 +1,69 @@
+package org.dominokit.domino.rest.benchmarks;
+
+import org.dominokit.domino.rest.android.HttpTransport;
+import org.dominokit.domino.rest.android.TransportFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
+import cz.msebera.android.httpclient.entity.ByteArrayEntity;
+import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+import cz.msebera.android.httpclient.pool.PoolStats;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+
+/**
+ * A transport answering every request with the same {@code 200} JSON response without opening any connection, so
+ * the benchmarks measure the work of the client around the network only.
+ */
+final class StubTransport implements HttpTransport {
+
+    private final byte[] body;
+
+    private StubTransport(byte[] body) {
+        this.body = body;
+    }
+
+    static TransportFactory answering(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return provider -> new StubTransport(bytes);
+    }
+
+    @Override
+    public Call newCall(HttpUriRequest request, HttpContext context) {
+        return new Call() {
+            @Override
+            public CloseableHttpResponse execute() {
+                StubResponse response = new StubResponse();
+                response.setEntity(new ByteArrayEntity(body, ContentType.APPLICATION_JSON));
+                return response;
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+    }
+
+    @Override
+    public PoolStats getPoolStats() {
+        return new PoolStats(0, 0, 0, 0);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static class StubResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private StubResponse() {
+            super(HttpVersion.HTTP_1_1, 200, "OK");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
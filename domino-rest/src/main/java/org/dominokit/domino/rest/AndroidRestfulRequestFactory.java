@@ -1,12 +1,23 @@
 package org.dominokit.domino.rest;
 
 import org.dominokit.domino.rest.android.AndroidRestfulRequest;
+import org.dominokit.domino.rest.android.HttpClientProvider;
 import org.dominokit.domino.rest.shared.RestfulRequest;
 
 public class AndroidRestfulRequestFactory implements RestfulRequestFactory {
 
+    private final HttpClientProvider httpClientProvider;
+
+    public AndroidRestfulRequestFactory() {
+        this(DominoRestConfig.getInstance().getHttpClientProvider());
+    }
+
+    public AndroidRestfulRequestFactory(HttpClientProvider httpClientProvider) {
+        this.httpClientProvider = httpClientProvider;
+    }
+
     public RestfulRequest request(String uri, String method) {
-        return new AndroidRestfulRequest(uri, method);
+        return new AndroidRestfulRequest(uri, method, httpClientProvider);
     }
 
     public RestfulRequest get(String uri) {
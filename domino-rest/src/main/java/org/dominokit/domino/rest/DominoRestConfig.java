@@ -1,8 +1,38 @@
 package org.dominokit.domino.rest;
 
 import org.dominokit.domino.rest.android.AndroidRequestSender;
+import org.dominokit.domino.rest.android.BatchConfig;
+import org.dominokit.domino.rest.android.BufferPoolConfig;
+import org.dominokit.domino.rest.android.BufferPoolStats;
+import org.dominokit.domino.rest.android.CacheStats;
+import org.dominokit.domino.rest.android.CircuitBreakerConfig;
+import org.dominokit.domino.rest.android.CompressionConfig;
+import org.dominokit.domino.rest.android.CompressionStats;
+import org.dominokit.domino.rest.android.ConcurrencyLimitConfig;
+import org.dominokit.domino.rest.android.ConnectionPoolConfig;
 import org.dominokit.domino.rest.android.DefaultServiceRoot;
+import org.dominokit.domino.rest.android.DispatcherConfig;
+import org.dominokit.domino.rest.android.DispatcherStats;
+import org.dominokit.domino.rest.android.DnsCacheConfig;
+import org.dominokit.domino.rest.android.DnsCacheStats;
+import org.dominokit.domino.rest.android.HedgingConfig;
+import org.dominokit.domino.rest.android.HedgingStats;
+import org.dominokit.domino.rest.android.HostHealth;
+import org.dominokit.domino.rest.android.HostHealthListener;
+import org.dominokit.domino.rest.android.HttpCacheConfig;
+import org.dominokit.domino.rest.android.HttpClientProvider;
+import org.dominokit.domino.rest.android.InterceptorChain;
 import org.dominokit.domino.rest.android.OnServerRequestEventFactory;
+import org.dominokit.domino.rest.android.Outbox;
+import org.dominokit.domino.rest.android.OutboxConfig;
+import org.dominokit.domino.rest.android.RequestMetricsListener;
+import org.dominokit.domino.rest.android.RetryBudget;
+import org.dominokit.domino.rest.android.RetryPolicy;
+import org.dominokit.domino.rest.android.TimeoutConfig;
+import org.dominokit.domino.rest.android.TransportFactory;
+import org.dominokit.domino.rest.android.Transports;
+import org.dominokit.domino.rest.android.WarmUpConfig;
+import org.dominokit.domino.rest.android.WarmUpStats;
 import org.dominokit.domino.rest.shared.request.AsyncRunner;
 import org.dominokit.domino.rest.shared.request.DefaultRequestAsyncSender;
 import org.dominokit.domino.rest.shared.request.DominoRestContext;
@@ -15,9 +45,15 @@ import org.dominokit.domino.rest.shared.request.RestConfig;
 import org.dominokit.domino.rest.shared.request.ServerRequest;
 import org.dominokit.domino.rest.shared.request.ServerRouter;
 
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import static java.util.Objects.isNull;
@@ -30,12 +66,22 @@ public class DominoRestConfig implements RestConfig {
     private static String defaultResourceRootPath = "service";
     private static String defaultJsonDateFormat = null;
 
+    private static final AndroidRequestSender<?, ?> requestSender = new AndroidRequestSender<>();
     private static RequestRouter<ServerRequest> serverRouter = new ServerRouter(new DefaultRequestAsyncSender(
-            new OnServerRequestEventFactory(), new AndroidRequestSender<>()));
+            new OnServerRequestEventFactory(), requestSender));
     private static List<DynamicServiceRoot> dynamicServiceRoots = new ArrayList<>();
-    private static List<RequestInterceptor> requestInterceptors = new ArrayList<>();
-    private static final List<ResponseInterceptor> responseInterceptors = new ArrayList<>();
-    private static DateParamFormatter dateParamFormatter = (date, pattern) -> new SimpleDateFormat(pattern).format(date);
+    private static final HttpClientProvider httpClientProvider = new HttpClientProvider(new ConnectionPoolConfig());
+    /**
+     * {@link SimpleDateFormat} is not thread safe and costly to create, each thread keeps one formatter per pattern.
+     */
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> dateFormats = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+        @Override
+        protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<>();
+        }
+    };
+    private static DateParamFormatter dateParamFormatter = (date, pattern) ->
+            dateFormats.get().computeIfAbsent(pattern, SimpleDateFormat::new).format(date);
     private static Fail defaultFailHandler = failedResponse -> {
         if (nonNull(failedResponse.getThrowable())) {
             LOGGER.severe("could not execute request on server: " + failedResponse.getThrowable());
@@ -44,8 +90,12 @@ public class DominoRestConfig implements RestConfig {
         }
     };
 
+    static {
+        requestSender.setTimeoutConfig(httpClientProvider.getTimeoutConfig());
+    }
+
     public static DominoRestConfig initDefaults() {
-        RestfullRequestContext.setFactory(new AndroidRestfulRequestFactory());
+        RestfullRequestContext.setFactory(new AndroidRestfulRequestFactory(httpClientProvider));
         DominoRestContext.init(DominoRestConfig.getInstance());
         return DominoRestConfig.getInstance();
     }
@@ -70,32 +120,63 @@ public class DominoRestConfig implements RestConfig {
     }
 
     public DominoRestConfig addRequestInterceptor(RequestInterceptor interceptor) {
-        this.requestInterceptors.add(interceptor);
+        return addRequestInterceptor(interceptor, 0);
+    }
+
+    /**
+     * @param timeoutMillis the time an asynchronous interceptor has to complete before the request fails with a
+     *                      timeout, {@code 0} to use the default interceptors timeout and a negative value to wait
+     *                      without a limit
+     * @see #setInterceptorTimeoutMillis(long)
+     */
+    public DominoRestConfig addRequestInterceptor(RequestInterceptor interceptor, long timeoutMillis) {
+        requestSender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, timeoutMillis));
         return this;
     }
 
     public DominoRestConfig removeRequestInterceptor(RequestInterceptor interceptor) {
-        this.requestInterceptors.remove(interceptor);
+        requestSender.updateInterceptorChain(chain -> chain.withoutRequestInterceptor(interceptor));
         return this;
     }
 
+    /**
+     * @return a live view of the request interceptors, interceptors added to it use the default interceptors timeout
+     */
     public List<RequestInterceptor> getRequestInterceptors() {
-        return requestInterceptors;
+        return new InterceptorsView<>(() -> requestSender.getInterceptorChain().getRequestInterceptors(),
+                this::addRequestInterceptor, this::removeRequestInterceptor);
     }
 
     public DominoRestConfig addResponseInterceptor(ResponseInterceptor responseInterceptor) {
-        this.getResponseInterceptors().add(responseInterceptor);
+        requestSender.updateInterceptorChain(chain -> chain.withResponseInterceptor(responseInterceptor));
         return this;
     }
 
     public DominoRestConfig removeResponseInterceptor(ResponseInterceptor responseInterceptor) {
-        this.getResponseInterceptors().remove(responseInterceptor);
+        requestSender.updateInterceptorChain(chain -> chain.withoutResponseInterceptor(responseInterceptor));
         return this;
     }
 
+    /**
+     * @return a live view of the response interceptors
+     */
     @Override
     public List<ResponseInterceptor> getResponseInterceptors() {
-        return responseInterceptors;
+        return new InterceptorsView<>(() -> requestSender.getInterceptorChain().getResponseInterceptors(),
+                this::addResponseInterceptor, this::removeResponseInterceptor);
+    }
+
+    /**
+     * Sets the time the asynchronous request interceptors added without a timeout have to complete, defaults to
+     * {@link InterceptorChain#DEFAULT_TIMEOUT_MILLIS}.
+     */
+    public DominoRestConfig setInterceptorTimeoutMillis(long timeoutMillis) {
+        requestSender.updateInterceptorChain(chain -> chain.withDefaultTimeout(timeoutMillis));
+        return this;
+    }
+
+    public long getInterceptorTimeoutMillis() {
+        return requestSender.getInterceptorChain().getDefaultTimeoutMillis();
     }
 
     public String getDefaultServiceRoot() {
@@ -169,4 +250,346 @@ public class DominoRestConfig implements RestConfig {
     public void setServerRouter(RequestRouter<ServerRequest> serverRouter) {
         DominoRestConfig.serverRouter = serverRouter;
     }
+
+    public DominoRestConfig setConnectionPoolConfig(ConnectionPoolConfig connectionPoolConfig) {
+        if (nonNull(connectionPoolConfig)) {
+            httpClientProvider.configure(connectionPoolConfig);
+        }
+        return this;
+    }
+
+    public ConnectionPoolConfig getConnectionPoolConfig() {
+        return httpClientProvider.getPoolConfig();
+    }
+
+    /**
+     * Replaces the engine sending the requests, the connections of the current engine are closed.
+     *
+     * @see Transports
+     */
+    public DominoRestConfig setTransport(TransportFactory transport) {
+        if (nonNull(transport)) {
+            httpClientProvider.configureTransport(transport);
+        }
+        return this;
+    }
+
+    public TransportFactory getTransport() {
+        return httpClientProvider.getTransportFactory();
+    }
+
+    /**
+     * Enables the http responses cache for GET requests, pass {@code null} to disable it.
+     */
+    public DominoRestConfig setHttpCacheConfig(HttpCacheConfig httpCacheConfig) {
+        httpClientProvider.configureCache(httpCacheConfig);
+        return this;
+    }
+
+    public HttpCacheConfig getHttpCacheConfig() {
+        return httpClientProvider.getCacheConfig();
+    }
+
+    public CacheStats getCacheStats() {
+        return httpClientProvider.getCacheStats();
+    }
+
+    /**
+     * Configures the compression of requests and responses, responses compression is enabled by default.
+     */
+    public DominoRestConfig setCompressionConfig(CompressionConfig compressionConfig) {
+        if (nonNull(compressionConfig)) {
+            httpClientProvider.configureCompression(compressionConfig);
+        }
+        return this;
+    }
+
+    public CompressionConfig getCompressionConfig() {
+        return httpClientProvider.getCompressionConfig();
+    }
+
+    public CompressionStats getCompressionStats() {
+        return httpClientProvider.getCompressionStats();
+    }
+
+    /**
+     * Configures the pool of the buffers reused to read and write the bodies of requests and responses.
+     */
+    public DominoRestConfig setBufferPoolConfig(BufferPoolConfig bufferPoolConfig) {
+        if (nonNull(bufferPoolConfig)) {
+            httpClientProvider.configureBufferPool(bufferPoolConfig);
+        }
+        return this;
+    }
+
+    public BufferPoolConfig getBufferPoolConfig() {
+        return httpClientProvider.getBufferPoolConfig();
+    }
+
+    public BufferPoolStats getBufferPoolStats() {
+        return httpClientProvider.getBufferPoolStats();
+    }
+
+    /**
+     * Limits the number of requests executed at the same time, globally and for each host.
+     */
+    public DominoRestConfig setDispatcherConfig(DispatcherConfig dispatcherConfig) {
+        if (nonNull(dispatcherConfig)) {
+            requestSender.getDispatcher().configure(dispatcherConfig);
+        }
+        return this;
+    }
+
+    public DispatcherConfig getDispatcherConfig() {
+        return requestSender.getDispatcher().getConfig();
+    }
+
+    public DispatcherStats getDispatcherStats() {
+        return requestSender.getDispatcher().getStats();
+    }
+
+    /**
+     * Registers a listener notified with the phase timings and counters of each request.
+     *
+     * @see org.dominokit.domino.rest.android.RouteMetricsAggregator
+     */
+    public DominoRestConfig addMetricsListener(RequestMetricsListener listener) {
+        requestSender.addMetricsListener(listener);
+        return this;
+    }
+
+    public DominoRestConfig removeMetricsListener(RequestMetricsListener listener) {
+        requestSender.removeMetricsListener(listener);
+        return this;
+    }
+
+    /**
+     * Enables sending a second attempt of the idempotent requests whose response is late, or disables it when
+     * {@code null}.
+     *
+     * @see org.dominokit.domino.rest.android.RequestOptions#setHedge(Boolean)
+     */
+    public DominoRestConfig setHedgingConfig(HedgingConfig hedgingConfig) {
+        requestSender.setHedgingConfig(hedgingConfig);
+        return this;
+    }
+
+    public HedgingConfig getHedgingConfig() {
+        return requestSender.getHedgingConfig();
+    }
+
+    public HedgingStats getHedgingStats() {
+        return requestSender.getHedgingStats();
+    }
+
+    /**
+     * Enables adapting the number of requests running at the same time to each host from the observed latency, or
+     * disables it when {@code null}.
+     */
+    public DominoRestConfig setConcurrencyLimitConfig(ConcurrencyLimitConfig concurrencyLimitConfig) {
+        requestSender.setConcurrencyLimitConfig(concurrencyLimitConfig);
+        return this;
+    }
+
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return requestSender.getConcurrencyLimitConfig();
+    }
+
+    /**
+     * Enables failing the requests to a failing host without sending them, or disables it when {@code null}.
+     *
+     * @see org.dominokit.domino.rest.android.CircuitOpenResponseBean
+     */
+    public DominoRestConfig setCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+        requestSender.setCircuitBreakerConfig(circuitBreakerConfig);
+        return this;
+    }
+
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return requestSender.getCircuitBreakerConfig();
+    }
+
+    public DominoRestConfig addHostHealthListener(HostHealthListener listener) {
+        requestSender.addHostHealthListener(listener);
+        return this;
+    }
+
+    public DominoRestConfig removeHostHealthListener(HostHealthListener listener) {
+        requestSender.removeHostHealthListener(listener);
+        return this;
+    }
+
+    public Collection<HostHealth> getHostHealths() {
+        return requestSender.getHostHealths();
+    }
+
+    public DominoRestConfig setTimeoutConfig(TimeoutConfig timeoutConfig) {
+        if (nonNull(timeoutConfig)) {
+            httpClientProvider.setTimeoutConfig(timeoutConfig);
+            requestSender.setTimeoutConfig(timeoutConfig);
+        }
+        return this;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return requestSender.getTimeoutConfig();
+    }
+
+    /**
+     * Sets the retry policy used by requests that do not define their own policy.
+     *
+     * @see org.dominokit.domino.rest.android.DefaultRetryPolicy
+     * @see org.dominokit.domino.rest.android.RequestOptions#setRetryPolicy(RetryPolicy)
+     */
+    public DominoRestConfig setRetryPolicy(RetryPolicy retryPolicy) {
+        if (nonNull(retryPolicy)) {
+            requestSender.setRetryPolicy(retryPolicy);
+        }
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return requestSender.getRetryPolicy();
+    }
+
+    public DominoRestConfig setRetryBudget(RetryBudget retryBudget) {
+        if (nonNull(retryBudget)) {
+            requestSender.setRetryBudget(retryBudget);
+        }
+        return this;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return requestSender.getRetryBudget();
+    }
+
+    /**
+     * Enables sharing the response of an in flight GET request with identical requests sent before it completes.
+     *
+     * @see org.dominokit.domino.rest.android.RequestOptions#setCoalesce(Boolean)
+     */
+    public DominoRestConfig setRequestCoalescing(boolean enabled) {
+        requestSender.setCoalescingEnabled(enabled);
+        return this;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestSender.isCoalescingEnabled();
+    }
+
+    /**
+     * Enables sending the requests issued within a short window as one batch request, or disables it when
+     * {@code null}.
+     *
+     * @see org.dominokit.domino.rest.android.RequestOptions#setBatch(Boolean)
+     */
+    public DominoRestConfig setBatchConfig(BatchConfig batchConfig) {
+        requestSender.setBatchConfig(batchConfig);
+        return this;
+    }
+
+    public BatchConfig getBatchConfig() {
+        return requestSender.getBatchConfig();
+    }
+
+    /**
+     * Sets the executor the request callbacks are delivered on, the main thread by default.
+     *
+     * @see org.dominokit.domino.rest.android.CallbackExecutors
+     */
+    public DominoRestConfig setCallbackExecutor(Executor callbackExecutor) {
+        if (nonNull(callbackExecutor)) {
+            requestSender.setCallbackExecutor(callbackExecutor);
+        }
+        return this;
+    }
+
+    public Executor getCallbackExecutor() {
+        return requestSender.getCallbackExecutor();
+    }
+
+    /**
+     * Opens an outbox replaying its requests through the global configuration.
+     *
+     * @see Outbox#open(OutboxConfig, AndroidRequestSender)
+     */
+    public Outbox openOutbox(OutboxConfig outboxConfig) throws IOException {
+        return Outbox.open(outboxConfig, requestSender);
+    }
+
+    /**
+     * Enables caching the resolved host addresses, pass {@code null} to resolve every connection through the system
+     * resolver, the cache is disabled by default.
+     */
+    public DominoRestConfig setDnsCacheConfig(DnsCacheConfig dnsCacheConfig) {
+        httpClientProvider.configureDnsCache(dnsCacheConfig);
+        return this;
+    }
+
+    public DnsCacheConfig getDnsCacheConfig() {
+        return httpClientProvider.getDnsCacheConfig();
+    }
+
+    public DnsCacheStats getDnsCacheStats() {
+        return httpClientProvider.getDnsCacheStats();
+    }
+
+    /**
+     * Enables opening connections ahead of the requests on {@link #warmUp()}, pass {@code null} to disable it,
+     * which is the default.
+     */
+    public DominoRestConfig setWarmUpConfig(WarmUpConfig warmUpConfig) {
+        httpClientProvider.configureWarmUp(warmUpConfig);
+        return this;
+    }
+
+    public WarmUpConfig getWarmUpConfig() {
+        return httpClientProvider.getWarmUpConfig();
+    }
+
+    public WarmUpStats getWarmUpStats() {
+        return httpClientProvider.getWarmUpStats();
+    }
+
+    /**
+     * Resolves the hosts of the default service root and of the recently requested hosts and opens connections to
+     * them in the background, for example when the application returns to the foreground.
+     *
+     * @see HttpClientProvider#warmUp(Collection)
+     */
+    public DominoRestConfig warmUp() {
+        httpClientProvider.warmUp(Collections.singletonList(getDefaultServiceRoot()));
+        return this;
+    }
+
+    public HttpClientProvider getHttpClientProvider() {
+        return httpClientProvider;
+    }
+
+    /**
+     * Closes all the pooled connections and stops the idle connections eviction, the connections pool is created
+     * again if another request is sent.
+     */
+    public void shutdown() {
+        httpClientProvider.shutdown();
+    }
+
+    public AndroidRequestSender<?, ?> getRequestSender() {
+        return requestSender;
+    }
+
+    public DominoRestConfig cancelRequest(ServerRequest request) {
+        requestSender.cancel(request);
+        return this;
+    }
+
+    /**
+     * Cancels all in flight requests tagged with the specified tag, for example all the requests owned by a screen.
+     *
+     * @see org.dominokit.domino.rest.android.RequestOptions#setTag(Object)
+     */
+    public DominoRestConfig cancelRequests(Object tag) {
+        requestSender.cancelAll(tag);
+        return this;
+    }
 }
\ No newline at end of file
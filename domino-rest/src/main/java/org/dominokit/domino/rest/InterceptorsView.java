@@ -0,0 +1,51 @@
+package org.dominokit.domino.rest;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A live view of the interceptors of the sender chain, adding or removing an interceptor through the view replaces
+ * the chain, so the requests already sent keep the interceptors they were sent with. Interceptors can only be added
+ * at the end of the chain.
+ */
+class InterceptorsView<T> extends AbstractList<T> {
+
+    private final Supplier<List<T>> interceptors;
+    private final Consumer<T> add;
+    private final Consumer<T> remove;
+
+    InterceptorsView(Supplier<List<T>> interceptors, Consumer<T> add, Consumer<T> remove) {
+        this.interceptors = interceptors;
+        this.add = add;
+        this.remove = remove;
+    }
+
+    @Override
+    public T get(int index) {
+        return interceptors.get().get(index);
+    }
+
+    @Override
+    public int size() {
+        return interceptors.get().size();
+    }
+
+    @Override
+    public void add(int index, T interceptor) {
+        if (index != size()) {
+            throw new UnsupportedOperationException("Interceptors can only be added at the end of the chain");
+        }
+        add.accept(interceptor);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T interceptor = get(index);
+        remove.accept(interceptor);
+        modCount++;
+        return interceptor;
+    }
+}
@@ -1,108 +1,1002 @@
 package org.dominokit.domino.rest.android;
 
-import org.dominokit.domino.api.shared.extension.ContextAggregator;
 import org.dominokit.domino.rest.shared.Response;
 import org.dominokit.domino.rest.shared.RestfulRequest;
 import org.dominokit.domino.rest.shared.request.DominoRestContext;
 import org.dominokit.domino.rest.shared.request.FailedResponseBean;
-import org.dominokit.domino.rest.shared.request.InterceptorRequestWait;
-import org.dominokit.domino.rest.shared.request.RequestInterceptor;
 import org.dominokit.domino.rest.shared.request.RequestRestSender;
 import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
 import org.dominokit.domino.rest.shared.request.ServerRequest;
 import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
 import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
 import io.reactivex.Observer;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.schedulers.Schedulers;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 public class AndroidRequestSender<R, S> implements RequestRestSender<R, S> {
 
     private static final Logger LOGGER = Logger.getLogger(AndroidRequestSender.class.getCanonicalName());
 
-    private final List<String> SEND_BODY_METHODS = Arrays.asList("POST", "PUT", "PATCH");
+    /**
+     * Stands for a {@code null} read from the response while the result goes through the request observable, which
+     * does not accept {@code null} values.
+     */
+    private static final Object NO_BODY = new Object();
+    static final List<String> SEND_BODY_METHODS = Arrays.asList("POST", "PUT", "PATCH");
+
+    private final InFlightRequests inFlightRequests = new InFlightRequests();
+    private volatile TimeoutConfig timeoutConfig = new TimeoutConfig();
+    private volatile RetryPolicy retryPolicy = new DefaultRetryPolicy();
+    private volatile RetryBudget retryBudget = new RetryBudget(10, 1);
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private volatile boolean coalescingEnabled = false;
+    private final RequestDispatcher dispatcher = new RequestDispatcher(new DispatcherConfig());
+    private final RequestDispatcher streamDispatcher = new RequestDispatcher(new DispatcherConfig()
+            .setMaxConcurrentRequests(4)
+            .setMaxConcurrentRequestsPerHost(4));
+    private final HostHealthTracker hostHealthTracker = new HostHealthTracker(dispatcher::onHostLimitsChanged);
+    private final List<RequestMetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+    private volatile InterceptorChain interceptorChain = InterceptorChain.EMPTY;
+    private final HttpClientProvider httpClientProvider;
+    private final String serviceRoot;
+    private volatile RequestBatcher batcher;
+    private volatile RequestHedging hedging;
+    private final HedgingStats hedgingStats = new HedgingStats();
+    private volatile Executor callbackExecutor = CallbackExecutors.mainThread();
+
+    /**
+     * Creates a sender using the global restful request factory and service roots.
+     */
+    public AndroidRequestSender() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a sender with its own http client, requests sent to the default service root are sent to the
+     * specified service root instead.
+     *
+     * @param httpClientProvider the provider of the http client used by the requests, {@code null} to use the global
+     *                           restful request factory
+     * @param serviceRoot        the root replacing the default service root of the requests urls, {@code null} to
+     *                           keep the urls
+     */
+    public AndroidRequestSender(HttpClientProvider httpClientProvider, String serviceRoot) {
+        this.httpClientProvider = httpClientProvider;
+        this.serviceRoot = serviceRoot;
+        dispatcher.setHostLimits(hostHealthTracker::limitOf);
+    }
 
     @Override
     public void send(ServerRequest<R, S> request, ServerRequestCallBack callBack) {
+        send(request, callBack, null, null);
+    }
+
+    /**
+     * Sends the request when subscribed, the response is emitted on the network thread unless the request has its
+     * own callback executor, disposing the subscription cancels the request.
+     *
+     * @return a single failing with {@link NoSuchElementException} if the response has no body
+     * @see RxRequests#single(ServerRequest)
+     */
+    public Single<S> single(ServerRequest<R, S> request) {
+        return maybe(request).toSingle();
+    }
+
+    /**
+     * Same as {@link #single(ServerRequest)} but completes without a value when the response has no body.
+     */
+    public Maybe<S> maybe(ServerRequest<R, S> request) {
+        return Maybe.create(emitter -> {
+            AtomicBoolean done = new AtomicBoolean();
+            emitter.setCancellable(() -> {
+                if (!done.get()) {
+                    cancel(request);
+                }
+            });
+            send(request, new ServerRequestCallBack() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <T> void onSuccess(T response) {
+                    done.set(true);
+                    if (isNull(response)) {
+                        emitter.onComplete();
+                    } else {
+                        emitter.onSuccess((S) response);
+                    }
+                }
+
+                @Override
+                public void onFailure(FailedResponseBean failedResponse) {
+                    done.set(true);
+                    emitter.tryOnError(new RequestFailedException(failedResponse));
+                }
+            }, CallbackExecutors.direct(), null);
+        });
+    }
+
+    /**
+     * Sends the request when subscribed and emits the elements of the response body as they are read, instead of
+     * reading the body with the response reader of the request.
+     * <p>
+     * The elements are emitted on a thread of the {@link #getStreamDispatcher() stream dispatcher}, which reads the
+     * body only as fast as the subscriber requests elements, so open streams never hold the threads of the other
+     * requests nor count against the adaptive limit of their host. Streams have no overall deadline, the read timeout
+     * limits the time between two chunks of the body, and are not retried once an element was emitted.
+     * <p>
+     * The media type of the format is sent as the accept header unless the request has its own, the request headers
+     * are left unchanged.
+     *
+     * @see RxRequests#stream(ServerRequest, StreamFormat)
+     */
+    public <T> Flowable<T> stream(ServerRequest<R, S> request, StreamFormat<T> format) {
+        return new ResponseStream<>(format, emitter -> send(request, emitter, CallbackExecutors.direct(), emitter),
+                () -> cancel(request));
+    }
+
+    /**
+     * @param deliveryExecutor the executor to deliver the callbacks on unless the request has its own, {@code null}
+     *                         to use the executor of the sender
+     * @param stream           emits the elements of the response body instead of reading it with the response
+     *                         reader, can be {@code null}
+     */
+    private void send(ServerRequest<R, S> request, ServerRequestCallBack callBack, Executor deliveryExecutor,
+                      ResponseStream.Emitter<?> stream) {
+        send(request, RequestOptions.peek(request), callBack, deliveryExecutor, stream);
+    }
+
+    /**
+     * @param options the options of the request, looked up once and carried by the in flight request to each attempt
+     */
+    @SuppressWarnings("unchecked")
+    private void send(ServerRequest<R, S> request, RequestOptions options, ServerRequestCallBack callBack,
+                      Executor deliveryExecutor, ResponseStream.Emitter<?> stream) {
+        AndroidRequestSender<R, S> boundSender = (AndroidRequestSender<R, S>) options.getSender();
+        if (nonNull(boundSender) && boundSender != this) {
+            boundSender.send(request, options, callBack, deliveryExecutor, stream);
+            return;
+        }
         request.normalizeUrl();
-        List<RequestInterceptor> interceptors = DominoRestContext.make().getConfig().getRequestInterceptors();
+        InFlightRequest inFlightRequest = inFlightRequests.register(request, resolveUrl(request), options,
+                isNull(stream) ? requestTimeout(request) : 0);
+        inFlightRequest.setStreamMediaType(isNull(stream) ? null : stream.getMediaType());
+        InterceptorChain chain = interceptorChain;
+        Delivery delivery = new Delivery(callBack, deliveryExecutor, stream);
 
-        if (nonNull(interceptors) && !interceptors.isEmpty()) {
-            List<InterceptorRequestWait> interceptorsWaitList = interceptors.stream().map(InterceptorRequestWait::new)
-                    .collect(Collectors.toList());
-            ContextAggregator.waitFor(interceptorsWaitList)
-                    .onReady(() -> onAfterInterception(request, callBack));
-            interceptorsWaitList.forEach(interceptorWait -> interceptorWait.getInterceptor().interceptRequest(request, interceptorWait));
+        if (chain.isSynchronous()) {
+            RuntimeException interceptionFailure = null;
+            try {
+                chain.interceptSynchronously(request);
+            } catch (RuntimeException e) {
+                interceptionFailure = e;
+            }
+            onAfterInterception(request, inFlightRequest, delivery, chain, interceptionFailure);
+        } else {
+            chain.intercept(request, new InterceptorChain.Listener() {
+                @Override
+                public void onReady() {
+                    onAfterInterception(request, inFlightRequest, delivery, chain, null);
+                }
+
+                @Override
+                public void onFailed(Throwable failure) {
+                    onAfterInterception(request, inFlightRequest, delivery, chain, failure);
+                }
+            });
+        }
+    }
+
+    public InterceptorChain getInterceptorChain() {
+        return interceptorChain;
+    }
+
+    /**
+     * Replaces the interceptor chain with the one returned by the update, requests already sent keep using the chain
+     * they were sent with.
+     */
+    public synchronized void updateInterceptorChain(UnaryOperator<InterceptorChain> update) {
+        interceptorChain = update.apply(interceptorChain);
+    }
+
+    /**
+     * Cancels the request if it is still in flight, the http call is aborted and none of the request callbacks will
+     * be called.
+     */
+    public void cancel(ServerRequest request) {
+        AndroidRequestSender<?, ?> boundSender = RequestOptions.peek(request).getSender();
+        if (nonNull(boundSender) && boundSender != this) {
+            boundSender.cancel(request);
         } else {
-            onAfterInterception(request, callBack);
-        }
-    }
-
-    private void onAfterInterception(ServerRequest<R, S> request, ServerRequestCallBack callBack) {
-        Observable
-                .<S>create(emitter -> {
-                    int[] retriesCounter = new int[]{0};
-                    RestfulRequest restfulRequest = RestfulRequest.request(request.getUrl(), request.getHttpMethod().toUpperCase());
-                    restfulRequest
-                            .putHeaders(request.headers())
-                            .putParameters(request.queryParameters())
-                            .onSuccess(response -> {
-                                if (Arrays.stream(request.getSuccessCodes()).anyMatch(code -> code.equals(response.getStatusCode()))) {
-                                    callSuccessGlobalHandlers(request, response);
-                                    emitter.onNext(request.getResponseReader().read(response));
-                                } else {
-                                    FailedResponseBean failedResponse = new FailedResponseBean(request, response);
-                                    callFailedResponseHandlers(request, failedResponse);
-                                    emitter.onError(new FailedResponseException(request, response));
-                                }
-                            })
-                            .onError(throwable -> {
-                                if (throwable instanceof RequestTimeoutException && retriesCounter[0] < request.getMaxRetries()) {
-                                    retriesCounter[0]++;
-                                    LOGGER.info("Retrying request : " + retriesCounter[0]);
-                                    doSendRequest(request, restfulRequest);
-                                } else {
-                                    FailedResponseBean failedResponse = new FailedResponseBean(throwable);
-                                    LOGGER.log(Level.SEVERE, "Failed to execute request : ", failedResponse.getThrowable());
-                                    callFailedResponseHandlers(request, failedResponse);
-                                    emitter.onError(throwable);
-                                }
-                            });
-                    setTimeout(request, restfulRequest);
-                    doSendRequest(request, restfulRequest);
+            inFlightRequests.cancel(request);
+        }
+    }
+
+    /**
+     * Cancels all in flight requests tagged with the specified tag.
+     *
+     * @see RequestOptions#setTag(Object)
+     */
+    public void cancelAll(Object tag) {
+        if (nonNull(tag)) {
+            inFlightRequests.cancelAll(tag);
+        }
+    }
+
+    public void cancelAll() {
+        inFlightRequests.cancelAll();
+    }
+
+    public int getInFlightCount() {
+        return inFlightRequests.size();
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig;
+    }
+
+    public void setTimeoutConfig(TimeoutConfig timeoutConfig) {
+        this.timeoutConfig = timeoutConfig;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public void setRetryBudget(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    public boolean isCoalescingEnabled() {
+        return coalescingEnabled;
+    }
+
+    /**
+     * When enabled, a GET or HEAD request sent while an identical request is in flight does not go to the server
+     * but receives the response of the in flight request, read with its own response reader unless the reader is an
+     * {@link ImmutableResponseReader}.
+     *
+     * @see RequestOptions#setCoalesce(Boolean)
+     */
+    public void setCoalescingEnabled(boolean coalescingEnabled) {
+        this.coalescingEnabled = coalescingEnabled;
+    }
+
+    public RequestDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * The dispatcher of the {@link #stream(ServerRequest, StreamFormat) streamed} requests, each open stream holds
+     * one of its threads, 4 at the same time by default.
+     */
+    public RequestDispatcher getStreamDispatcher() {
+        return streamDispatcher;
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Sets the executor the request callbacks are delivered on, the main thread by default.
+     *
+     * @see CallbackExecutors
+     * @see RequestOptions#setCallbackExecutor(Executor)
+     */
+    public void setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    public BatchConfig getBatchConfig() {
+        RequestBatcher currentBatcher = batcher;
+        return isNull(currentBatcher) ? null : currentBatcher.getConfig();
+    }
+
+    /**
+     * Enables batching requests with the specified configuration, or disables it when {@code null}, requests waiting
+     * for the current batch window are sent right away.
+     *
+     * @see RequestOptions#setBatch(Boolean)
+     */
+    public synchronized void setBatchConfig(BatchConfig batchConfig) {
+        RequestBatcher previous = batcher;
+        batcher = isNull(batchConfig) ? null : new RequestBatcher(batchConfig, entries -> sendBatch(batchConfig, entries));
+        if (nonNull(previous)) {
+            previous.flush();
+        }
+    }
+
+    public HedgingConfig getHedgingConfig() {
+        RequestHedging currentHedging = hedging;
+        return isNull(currentHedging) ? null : currentHedging.getConfig();
+    }
+
+    /**
+     * Enables hedging idempotent requests with the specified configuration, or disables it when {@code null}, the
+     * response times tracked for each route are reset.
+     *
+     * @see RequestOptions#setHedge(Boolean)
+     */
+    public void setHedgingConfig(HedgingConfig hedgingConfig) {
+        hedging = isNull(hedgingConfig) ? null : new RequestHedging(hedgingConfig, hedgingStats);
+    }
+
+    public HedgingStats getHedgingStats() {
+        return hedgingStats;
+    }
+
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return hostHealthTracker.getLimitConfig();
+    }
+
+    /**
+     * Enables adapting the number of requests running at the same time to each host, or disables it when
+     * {@code null}, the hosts tracked so far start over from the initial limit and a closed circuit.
+     */
+    public synchronized void setConcurrencyLimitConfig(ConcurrencyLimitConfig concurrencyLimitConfig) {
+        hostHealthTracker.configure(concurrencyLimitConfig, hostHealthTracker.getBreakerConfig());
+    }
+
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return hostHealthTracker.getBreakerConfig();
+    }
+
+    /**
+     * Enables failing the requests to a host without sending them while most of its recent requests failed, or
+     * disables it when {@code null}, the hosts tracked so far start over from the initial limit and a closed circuit.
+     *
+     * @see CircuitOpenResponseBean
+     */
+    public synchronized void setCircuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+        hostHealthTracker.configure(hostHealthTracker.getLimitConfig(), circuitBreakerConfig);
+    }
+
+    /**
+     * @return the health of the host of the url, or {@code null} if no request was sent to the host since the
+     * concurrency limit or the circuit breaker was enabled
+     */
+    public HostHealth getHostHealth(String url) {
+        return hostHealthTracker.find(RequestDispatcher.hostOf(url));
+    }
+
+    public Collection<HostHealth> getHostHealths() {
+        return hostHealthTracker.getAll();
+    }
+
+    public void addHostHealthListener(HostHealthListener listener) {
+        hostHealthTracker.addListener(listener);
+    }
+
+    public void removeHostHealthListener(HostHealthListener listener) {
+        hostHealthTracker.removeListener(listener);
+    }
+
+    public void addMetricsListener(RequestMetricsListener listener) {
+        metricsListeners.add(listener);
+    }
+
+    public void removeMetricsListener(RequestMetricsListener listener) {
+        metricsListeners.remove(listener);
+    }
+
+    String resolveUrl(ServerRequest<?, ?> request) {
+        String url = request.getUrl();
+        if (isNull(serviceRoot)) {
+            return url;
+        }
+        String defaultServiceRoot = DominoRestContext.make().getConfig().getDefaultServiceRoot();
+        if (nonNull(defaultServiceRoot) && url.startsWith(defaultServiceRoot)) {
+            return serviceRoot + url.substring(defaultServiceRoot.length());
+        }
+        return url;
+    }
+
+    /**
+     * Sends a request recorded by the outbox through the dispatcher, the request is neither intercepted nor retried.
+     */
+    void sendRecorded(OutboxEntry entry, Map<String, String> headers, RequestPriority priority,
+                      Consumer<Response> onResponse, Consumer<Throwable> onFailure) {
+        dispatcher.dispatch(entry.getUrl(), priority, () -> {
+            try {
+                RestfulRequest restfulRequest = createRestfulRequest(entry.getUrl(), entry.getMethod())
+                        .putHeaders(headers)
+                        .onSuccess(onResponse::accept)
+                        .onError(onFailure::accept);
+                if (timeoutConfig.getRequestTimeoutMillis() > 0) {
+                    restfulRequest.timeout(timeoutConfig.getRequestTimeoutMillis());
+                }
+                if (nonNull(entry.getBody())) {
+                    restfulRequest.send(entry.getBody());
+                } else {
+                    restfulRequest.send();
+                }
+            } catch (RuntimeException e) {
+                onFailure.accept(e);
+            }
+        }, onFailure::accept);
+    }
+
+    private RestfulRequest createRestfulRequest(String url, String method) {
+        if (isNull(httpClientProvider)) {
+            return RestfulRequest.request(url, method);
+        }
+        return new AndroidRestfulRequest(url, method, httpClientProvider);
+    }
+
+    private int requestTimeout(ServerRequest<R, S> request) {
+        return request.getTimeout() > 0 ? request.getTimeout() : timeoutConfig.getRequestTimeoutMillis();
+    }
+
+    /**
+     * @param interceptionFailure the failure of the request interceptors, the request is failed without being sent
+     *                            when not {@code null}
+     */
+    private void onAfterInterception(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Delivery delivery,
+                                     InterceptorChain chain, Throwable interceptionFailure) {
+        if (inFlightRequest.isCancelled()) {
+            onRequestFinished(inFlightRequest);
+            return;
+        }
+        RequestMetrics metrics = inFlightRequest.getMetrics();
+        metrics.mark(RequestMetrics.Event.INTERCEPTED);
+        Observable<Object> call;
+        if (nonNull(interceptionFailure)) {
+            call = Observable.error(interceptionFailure);
+        } else if (nonNull(delivery.stream)) {
+            call = attempts(request, inFlightRequest, response -> streamResponse(request, inFlightRequest, response, delivery.stream, chain));
+        } else if (isCoalescable(request, inFlightRequest)) {
+            call = requestCoalescer.share(coalescingKey(request, inFlightRequest), () -> sharedCall(request, inFlightRequest))
+                    .map(sharedResponse -> {
+                        metrics.copyAttempt(sharedResponse.getMetrics());
+                        chain.interceptOnSuccess(request, sharedResponse.getResponse());
+                        metrics.mark(RequestMetrics.Event.DESERIALIZATION_STARTED);
+                        S result = sharedResponse.read(request);
+                        metrics.mark(RequestMetrics.Event.DESERIALIZATION_ENDED);
+                        return isNull(result) ? NO_BODY : result;
+                    });
+        } else {
+            call = attempts(request, inFlightRequest, response -> readResponse(request, inFlightRequest, response, chain));
+        }
+        call = call.doOnError(failure -> chain.interceptOnFailed(request, asFailedResponse(failure)));
+
+        if (inFlightRequest.hasDeadline()) {
+            call = call.timeout(inFlightRequest.remainingMillis(), TimeUnit.MILLISECONDS, Schedulers.computation(),
+                    Observable.defer(() -> onDeadlineExceeded(request, chain)));
+        }
+
+        call = call.doOnNext(result -> metrics.mark(RequestMetrics.Event.RESULT_READY))
+                .doOnError(failure -> metrics.mark(RequestMetrics.Event.RESULT_READY))
+                .unsubscribeOn(Schedulers.single());
+        Scheduler deliveryScheduler = deliveryScheduler(inFlightRequest, delivery.executor);
+        if (nonNull(deliveryScheduler)) {
+            call = call.observeOn(deliveryScheduler);
+        }
+        call.doFinally(() -> onRequestFinished(inFlightRequest))
+                .subscribe(new RequestObserver<>(delivery.callBack, inFlightRequest));
+    }
+
+    /**
+     * @return the scheduler to deliver the callbacks on, {@code null} to deliver them on the thread completing the
+     * request
+     */
+    private Scheduler deliveryScheduler(InFlightRequest inFlightRequest, Executor deliveryExecutor) {
+        Executor executor = inFlightRequest.getOptions().getCallbackExecutor();
+        if (isNull(executor)) {
+            executor = nonNull(deliveryExecutor) ? deliveryExecutor : callbackExecutor;
+        }
+        if (executor == CallbackExecutors.mainThread()) {
+            return AndroidSchedulers.mainThread();
+        }
+        if (executor == CallbackExecutors.direct()) {
+            return null;
+        }
+        return Schedulers.from(executor);
+    }
+
+    private void onRequestFinished(InFlightRequest inFlightRequest) {
+        inFlightRequests.remove(inFlightRequest);
+        RequestMetrics metrics = inFlightRequest.getMetrics();
+        metrics.setRetries(inFlightRequest.getRetries());
+        if (isNull(metrics.getOutcome())) {
+            metrics.complete(RequestMetrics.Outcome.CANCELLED, null);
+        }
+        for (RequestMetricsListener listener : metricsListeners) {
+            try {
+                listener.onRequestCompleted(metrics);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Request metrics listener failed : ", e);
+            }
+        }
+    }
+
+    private <T> Observable<T> attempts(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Function<Response, T> onSuccessResponse) {
+        return Observable.defer(() -> attempt(request, inFlightRequest, onSuccessResponse))
+                .retryWhen(failures -> failures.flatMap(failure -> retryOrFail(request, inFlightRequest, failure)));
+    }
+
+    private <T> Observable<T> attempt(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Function<Response, T> onSuccessResponse) {
+        RequestHedging currentHedging = hedging;
+        if (nonNull(currentHedging) && isHedgeable(request, inFlightRequest)) {
+            return Observable.create(new HedgedAttempt<>(currentHedging, inFlightRequest.getMetrics(), onSuccessResponse,
+                    (onAttemptResponse, onDispatched) -> sendAttempt(request, inFlightRequest, onAttemptResponse, onDispatched)));
+        }
+        return sendAttempt(request, inFlightRequest, onSuccessResponse, null);
+    }
+
+    /**
+     * Queues the attempt in the dispatcher, disposing the attempt removes it from the queue or aborts the http call
+     * if it already started.
+     *
+     * @param onDispatched called when the attempt leaves the dispatcher queue, can be {@code null}, attempts with a
+     *                     dispatch callback are never batched
+     */
+    private <T> Observable<T> sendAttempt(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Function<Response, T> onSuccessResponse,
+                                          Runnable onDispatched) {
+        HostHealth hostHealth = hostHealthTracker.isEnabled()
+                ? hostHealthTracker.get(RequestDispatcher.hostOf(inFlightRequest.getUrl()))
+                : null;
+        RequestDispatcher attemptDispatcher = inFlightRequest.isStreamed() ? streamDispatcher : dispatcher;
+        if (nonNull(hostHealth)) {
+            exposeHostHealth(request, inFlightRequest, hostHealth);
+            if (hostHealth.isOpen()) {
+                return Observable.error(circuitOpen(inFlightRequest, hostHealth));
+            }
+        }
+        RequestBatcher currentBatcher = batcher;
+        if (nonNull(currentBatcher) && isNull(onDispatched) && isBatchable(inFlightRequest, hostHealth)) {
+            return batchedAttempt(request, inFlightRequest, currentBatcher, onSuccessResponse);
+        }
+        return Observable.create(emitter -> {
+            AtomicReference<RestfulRequest> currentRequest = new AtomicReference<>();
+            AtomicReference<HostHealth.Permit> currentPermit = new AtomicReference<>();
+            inFlightRequest.getMetrics().mark(RequestMetrics.Event.QUEUED);
+            RequestDispatcher.Task task = attemptDispatcher.dispatch(inFlightRequest.getUrl(), inFlightRequest.getOptions().getPriority(), () -> {
+                if (emitter.isDisposed()) {
+                    return;
+                }
+                inFlightRequest.getMetrics().mark(RequestMetrics.Event.DISPATCHED);
+                HostHealth.Permit permit = null;
+                if (nonNull(hostHealth) && !inFlightRequest.isStreamed()) {
+                    permit = hostHealth.tryAcquire(inFlightRequest.getMetrics().getRoute());
+                    if (isNull(permit)) {
+                        emitter.tryOnError(circuitOpen(inFlightRequest, hostHealth));
+                        return;
+                    }
+                    currentPermit.set(permit);
+                    if (emitter.isDisposed()) {
+                        permit.release();
+                        return;
+                    }
+                    inFlightRequest.getMetrics().setHostHealth(hostHealth.getConcurrencyLimit(), hostHealth.getCircuitState());
+                }
+                if (nonNull(onDispatched)) {
+                    onDispatched.run();
+                }
+                try {
+                    RestfulRequest restfulRequest = createRestfulRequest(inFlightRequest.getUrl(), request.getHttpMethod().toUpperCase());
+                    currentRequest.set(restfulRequest);
+                    if (!emitter.isDisposed()) {
+                        doSendAttempt(request, inFlightRequest, restfulRequest, permit, emitter, onSuccessResponse);
+                    }
+                } catch (Throwable e) {
+                    if (nonNull(permit)) {
+                        permit.release();
+                    }
+                    emitter.tryOnError(e);
+                }
+            }, emitter::tryOnError);
+            emitter.setCancellable(() -> {
+                task.cancel();
+                RestfulRequest restfulRequest = currentRequest.get();
+                if (nonNull(restfulRequest)) {
+                    restfulRequest.abort();
+                }
+                HostHealth.Permit permit = currentPermit.get();
+                if (nonNull(permit) && inFlightRequest.isExpired()) {
+                    permit.onFailure();
+                } else if (nonNull(permit)) {
+                    permit.release();
+                }
+            });
+        });
+    }
+
+    /**
+     * The host health is set on the options of the request for the response interceptors, options are attached to
+     * the request only then so requests without options and without a host health share the defaults.
+     */
+    private void exposeHostHealth(ServerRequest<R, S> request, InFlightRequest inFlightRequest, HostHealth hostHealth) {
+        RequestOptions options = inFlightRequest.getOptions();
+        if (options.getHostHealth() != hostHealth) {
+            options = RequestOptions.of(request);
+            options.setHostHealth(hostHealth);
+            inFlightRequest.setOptions(options);
+        }
+    }
+
+    /**
+     * @param permit the permit of the host health the outcome of the attempt is reported to, can be {@code null}
+     */
+    private <T> void doSendAttempt(ServerRequest<R, S> request, InFlightRequest inFlightRequest, RestfulRequest restfulRequest,
+                                   HostHealth.Permit permit, ObservableEmitter<T> emitter, Function<Response, T> onSuccessResponse) {
+        restfulRequest.putHeaders(request.headers());
+        String streamMediaType = inFlightRequest.getStreamMediaType();
+        if (nonNull(streamMediaType) && !hasHeader(request, "Accept")) {
+            restfulRequest.putHeader("Accept", streamMediaType);
+        }
+        restfulRequest
+                .putParameters(request.queryParameters())
+                .onSuccess(response -> {
+                    if (nonNull(permit)) {
+                        permit.onResponse(response.getStatusCode());
+                    }
+                    onResponse(request, inFlightRequest, response, emitter, onSuccessResponse);
                 })
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(new RequestObserver<>(callBack));
+                .onError(throwable -> {
+                    if (nonNull(permit)) {
+                        permit.onFailure();
+                    }
+                    if (!emitter.isDisposed()) {
+                        emitter.tryOnError(throwable);
+                    }
+                });
+        setTimeout(inFlightRequest, restfulRequest);
+        if (restfulRequest instanceof AndroidRestfulRequest) {
+            ((AndroidRestfulRequest) restfulRequest).setMetrics(inFlightRequest.getMetrics());
+        }
+        doSendRequest(request, inFlightRequest, restfulRequest);
+    }
+
+    private static boolean hasHeader(ServerRequest<?, ?> request, String name) {
+        Map<String, String> headers = request.headers();
+        return nonNull(headers) && headers.keySet().stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    private <T> void onResponse(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Response response,
+                                ObservableEmitter<T> emitter, Function<Response, T> onSuccessResponse) {
+        if (emitter.isDisposed()) {
+            return;
+        }
+        inFlightRequest.getMetrics().setStatusCode(response.getStatusCode());
+        if (Arrays.stream(request.getSuccessCodes()).anyMatch(code -> code.equals(response.getStatusCode()))) {
+            emitter.onNext(onSuccessResponse.apply(response));
+            emitter.onComplete();
+        } else {
+            FailedResponseBean failedResponse = new FailedResponseBean(request, response);
+            emitter.tryOnError(new FailedResponseException(request, response, failedResponse));
+        }
+    }
+
+    /**
+     * Adds the attempt to the current batch, disposing the attempt removes it from the batch if the batch was not
+     * sent yet.
+     */
+    private <T> Observable<T> batchedAttempt(ServerRequest<R, S> request, InFlightRequest inFlightRequest, RequestBatcher batcher,
+                                             Function<Response, T> onSuccessResponse) {
+        return Observable.create(emitter -> {
+            inFlightRequest.getMetrics().mark(RequestMetrics.Event.QUEUED);
+            RequestBatcher.Entry entry = batcher.add(request, inFlightRequest, batchedRequest(request, inFlightRequest, batcher.nextId()),
+                    response -> onResponse(request, inFlightRequest, response, emitter, onSuccessResponse),
+                    emitter::tryOnError);
+            emitter.setCancellable(entry::cancel);
+        });
     }
 
-    private void callSuccessGlobalHandlers(ServerRequest<R, S> request, Response response) {
-        DominoRestContext.make().getConfig()
-                .getResponseInterceptors()
-                .forEach(responseInterceptor -> responseInterceptor.interceptOnSuccess(request, response));
+    private BatchedRequest batchedRequest(ServerRequest<R, S> request, InFlightRequest inFlightRequest, String id) {
+        String method = request.getHttpMethod().toUpperCase();
+        Map<String, String> parameters = request.queryParameters();
+        String url = isNull(parameters) ? inFlightRequest.getUrl() : QueryEncoder.appendTo(inFlightRequest.getUrl(), parameters);
+        String body = null;
+        if (SEND_BODY_METHODS.contains(method) && !request.isVoidRequest()) {
+            body = request.getRequestWriter().write(request.requestBean());
+        }
+        return new BatchedRequest(id, method, url, request.headers(), body);
     }
 
-    private void callFailedResponseHandlers(ServerRequest request, FailedResponseBean failedResponse) {
-        DominoRestContext.make().getConfig()
-                .getResponseInterceptors()
-                .forEach(responseInterceptor -> responseInterceptor.interceptOnFailed(request, failedResponse));
+    /**
+     * Requests to a host whose circuit is not closed are sent on their own, so the probes reach the host.
+     */
+    private boolean isBatchable(InFlightRequest inFlightRequest, HostHealth hostHealth) {
+        if (inFlightRequest.isStreamed()) {
+            return false;
+        }
+        if (nonNull(hostHealth) && hostHealth.getCircuitState() != CircuitState.CLOSED) {
+            return false;
+        }
+        RequestOptions options = inFlightRequest.getOptions();
+        if (nonNull(options.getDownloadFile()) || nonNull(options.getRequestBody()) || nonNull(options.getUploadProgressListener())) {
+            return false;
+        }
+        return !Boolean.FALSE.equals(options.getBatch());
+    }
+
+    /**
+     * Requests reading the response into a file or streaming a body are never hedged, {@code GET} and {@code HEAD}
+     * requests are hedged unless disabled for the request, other idempotent requests only when enabled for the
+     * request.
+     */
+    private boolean isHedgeable(ServerRequest<R, S> request, InFlightRequest inFlightRequest) {
+        if (inFlightRequest.isStreamed()) {
+            return false;
+        }
+        RequestOptions options = inFlightRequest.getOptions();
+        if (nonNull(options.getDownloadFile()) || nonNull(options.getRequestBody()) || nonNull(options.getUploadProgressListener())) {
+            return false;
+        }
+        String method = request.getHttpMethod().toUpperCase();
+        if (!options.isIdempotent(method)) {
+            return false;
+        }
+        Boolean hedge = options.getHedge();
+        if (nonNull(hedge)) {
+            return hedge;
+        }
+        return RestfulRequest.GET.equals(method) || RestfulRequest.HEAD.equals(method);
+    }
+
+    /**
+     * Sends the batch as one request through the dispatcher, with the highest priority of its requests, then hands
+     * each request its own response from the batch response.
+     */
+    private void sendBatch(BatchConfig config, List<RequestBatcher.Entry> entries) {
+        String batchUrl = resolveBatchUrl(config.getBatchUrl());
+        RequestPriority priority = entries.stream()
+                .map(entry -> entry.getInFlightRequest().getOptions().getPriority())
+                .min(Comparator.naturalOrder())
+                .orElse(RequestPriority.USER_VISIBLE);
+        dispatcher.dispatch(batchUrl, priority, () -> {
+            List<RequestBatcher.Entry> batch = entries.stream()
+                    .filter(entry -> !entry.isCancelled())
+                    .collect(Collectors.toList());
+            if (batch.isEmpty()) {
+                return;
+            }
+            long timeoutMillis = Long.MAX_VALUE;
+            for (RequestBatcher.Entry entry : batch) {
+                entry.getInFlightRequest().getMetrics().mark(RequestMetrics.Event.DISPATCHED);
+                if (entry.getInFlightRequest().hasDeadline()) {
+                    timeoutMillis = Math.min(timeoutMillis, entry.getInFlightRequest().remainingMillis());
+                }
+            }
+            try {
+                RestfulRequest batchRequest = createRestfulRequest(batchUrl, RestfulRequest.POST)
+                        .putHeader("Content-Type", config.getFormat().getContentType())
+                        .onSuccess(response -> demultiplex(config, batch, response))
+                        .onError(failure -> batch.forEach(entry -> entry.fail(failure)));
+                if (timeoutMillis != Long.MAX_VALUE) {
+                    batchRequest.timeout((int) Math.max(1, timeoutMillis));
+                }
+                String body = config.getFormat().write(batch.stream()
+                        .map(RequestBatcher.Entry::getBatchedRequest)
+                        .collect(Collectors.toList()));
+                if (batchRequest instanceof AndroidRestfulRequest) {
+                    ((AndroidRestfulRequest) batchRequest).send(RequestBody.of(body.getBytes(StandardCharsets.UTF_8),
+                            config.getFormat().getContentType()));
+                } else {
+                    batchRequest.sendJson(body);
+                }
+            } catch (RuntimeException e) {
+                batch.forEach(entry -> entry.fail(e));
+            }
+        }, rejection -> entries.forEach(entry -> entry.fail(rejection)));
+    }
+
+    private void demultiplex(BatchConfig config, List<RequestBatcher.Entry> batch, Response batchResponse) {
+        if (batchResponse.getStatusCode() < 200 || batchResponse.getStatusCode() >= 300) {
+            for (RequestBatcher.Entry entry : batch) {
+                ServerRequest request = entry.getRequest();
+                entry.fail(new FailedResponseException(request, batchResponse, new FailedResponseBean(request, batchResponse)));
+            }
+            return;
+        }
+        Map<String, BatchedResponse> responses = new HashMap<>();
+        try {
+            config.getFormat().read(batchResponse).forEach(response -> responses.put(response.getId(), response));
+        } catch (RuntimeException e) {
+            batch.forEach(entry -> entry.fail(e));
+            return;
+        }
+        for (RequestBatcher.Entry entry : batch) {
+            BatchedResponse response = responses.get(entry.getBatchedRequest().getId());
+            if (isNull(response)) {
+                entry.fail(new IllegalStateException("Batch response has no response for request ["
+                        + entry.getBatchedRequest().getUrl() + "]"));
+            } else {
+                entry.complete(response);
+            }
+        }
+    }
+
+    private String resolveBatchUrl(String batchUrl) {
+        if (batchUrl.startsWith("http://") || batchUrl.startsWith("https://")) {
+            return batchUrl;
+        }
+        String root = nonNull(serviceRoot) ? serviceRoot : DominoRestContext.make().getConfig().getDefaultServiceRoot();
+        return root + batchUrl;
+    }
+
+    private Observable<Long> retryOrFail(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Throwable failure) {
+        long delay = nextRetryDelay(request, inFlightRequest, failure);
+        if (delay == RetryPolicy.NO_RETRY) {
+            return Observable.error(failure);
+        }
+        int retry = inFlightRequest.incrementRetries();
+        LOGGER.info("Retrying request [" + inFlightRequest.getUrl() + "] : " + retry + " after " + delay + "ms");
+        return Observable.timer(delay, TimeUnit.MILLISECONDS, Schedulers.computation());
+    }
+
+    private long nextRetryDelay(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Throwable failure) {
+        if (inFlightRequest.isCancelled() || inFlightRequest.isExpired() || !inFlightRequest.isRetryable()
+                || failure instanceof CircuitOpenException) {
+            return RetryPolicy.NO_RETRY;
+        }
+        RequestOptions options = inFlightRequest.getOptions();
+        if (nonNull(options.getRequestBody()) && !options.getRequestBody().isRepeatable()) {
+            return RetryPolicy.NO_RETRY;
+        }
+        RetryPolicy policy = nonNull(options.getRetryPolicy()) ? options.getRetryPolicy() : retryPolicy;
+        Response response = failure instanceof FailedResponseException ? ((FailedResponseException) failure).getResponse() : null;
+        RetryAttempt attempt = new RetryAttempt(request, inFlightRequest.getRetries() + 1,
+                options.isIdempotent(request.getHttpMethod()), response, isNull(response) ? failure : null);
+
+        long delay = policy.nextRetryDelayMillis(attempt);
+        if (delay < 0 || delay >= inFlightRequest.remainingMillis()) {
+            return RetryPolicy.NO_RETRY;
+        }
+        if (!retryBudget.tryAcquire()) {
+            LOGGER.info("Retry budget exhausted, request [" + inFlightRequest.getUrl() + "] will not be retried");
+            return RetryPolicy.NO_RETRY;
+        }
+        return delay;
+    }
+
+    /**
+     * @return the result read from the response, or {@link #NO_BODY} if the response reader returned {@code null}
+     */
+    private Object readResponse(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Response response,
+                                InterceptorChain chain) {
+        RequestOptions options = inFlightRequest.getOptions();
+        RequestMetrics metrics = inFlightRequest.getMetrics();
+        if (nonNull(options.getDownloadFile()) && response instanceof StreamingResponse) {
+            download((StreamingResponse) response, options);
+        }
+        chain.interceptOnSuccess(request, response);
+        metrics.mark(RequestMetrics.Event.DESERIALIZATION_STARTED);
+        S result = request.getResponseReader().read(response);
+        metrics.mark(RequestMetrics.Event.DESERIALIZATION_ENDED);
+        return isNull(result) ? NO_BODY : result;
+    }
+
+    /**
+     * @return the number of elements emitted by the stream
+     */
+    private long streamResponse(ServerRequest<R, S> request, InFlightRequest inFlightRequest, Response response,
+                                ResponseStream.Emitter<?> stream, InterceptorChain chain) {
+        chain.interceptOnSuccess(request, response);
+        RequestMetrics metrics = inFlightRequest.getMetrics();
+        metrics.mark(RequestMetrics.Event.DESERIALIZATION_STARTED);
+        try {
+            return stream.emit(response, inFlightRequest::disableRetries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read response stream", e);
+        } finally {
+            metrics.mark(RequestMetrics.Event.DESERIALIZATION_ENDED);
+        }
+    }
+
+    private void download(StreamingResponse response, RequestOptions options) {
+        try {
+            response.writeBodyTo(options.getDownloadFile(), options.getDownloadProgressListener());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to download response body to " + options.getDownloadFile(), e);
+        }
+    }
+
+    /**
+     * The call shared by the coalesced requests runs on its own, without the deadline, the tag or the cancellation
+     * of the request that started it, each request applies its own deadline and cancelling a request only detaches
+     * it from the call.
+     */
+    private Observable<RequestCoalescer.SharedResponse> sharedCall(ServerRequest<R, S> request, InFlightRequest inFlightRequest) {
+        InFlightRequest sharedCall = new InFlightRequest(request, inFlightRequest.getUrl(), inFlightRequest.getOptions(), null, 0);
+        return attempts(request, sharedCall, response -> new RequestCoalescer.SharedResponse(bufferResponse(response),
+                sharedCall.getMetrics()));
+    }
+
+    /**
+     * Reads the body while the connection is still open, so the response can be read later by each of the
+     * coalesced requests.
+     */
+    private Response bufferResponse(Response response) {
+        response.getBodyAsString();
+        return response;
+    }
+
+    private boolean isCoalescable(ServerRequest<R, S> request, InFlightRequest inFlightRequest) {
+        String method = request.getHttpMethod().toUpperCase();
+        if (!RestfulRequest.GET.equals(method) && !RestfulRequest.HEAD.equals(method)) {
+            return false;
+        }
+        RequestOptions options = inFlightRequest.getOptions();
+        if (nonNull(options.getDownloadFile())) {
+            return false;
+        }
+        Boolean coalesce = options.getCoalesce();
+        return nonNull(coalesce) ? coalesce : coalescingEnabled;
+    }
+
+    private String coalescingKey(ServerRequest<R, S> request, InFlightRequest inFlightRequest) {
+        StringBuilder key = new StringBuilder(request.getHttpMethod().toUpperCase())
+                .append(' ')
+                .append(inFlightRequest.getUrl());
+        appendSorted(key.append('?'), request.queryParameters());
+        appendSorted(key.append('#'), request.headers());
+        return key.toString();
+    }
+
+    private void appendSorted(StringBuilder key, Map<String, String> values) {
+        if (nonNull(values)) {
+            new TreeMap<>(values).forEach((name, value) -> key.append(name).append('=').append(value).append('&'));
+        }
+    }
+
+    private FailedResponseBean asFailedResponse(Throwable failure) {
+        if (failure instanceof FailedResponseException) {
+            return ((FailedResponseException) failure).getFailedResponse();
+        }
+        if (failure instanceof CircuitOpenException) {
+            return new CircuitOpenResponseBean((CircuitOpenException) failure);
+        }
+        LOGGER.log(Level.SEVERE, "Failed to execute request : ", failure);
+        return new FailedResponseBean(failure);
     }
 
     private void handleError(ServerRequestCallBack callBack, Throwable throwable) {
         FailedResponseBean failedResponseBean;
         if (throwable instanceof FailedResponseException) {
-            FailedResponseException failedResponseException = (FailedResponseException) throwable;
-            failedResponseBean = new FailedResponseBean(failedResponseException.getRequest(), failedResponseException.getResponse());
+            failedResponseBean = ((FailedResponseException) throwable).getFailedResponse();
+        } else if (throwable instanceof CircuitOpenException) {
+            failedResponseBean = new CircuitOpenResponseBean((CircuitOpenException) throwable);
         } else {
             failedResponseBean = new FailedResponseBean(throwable);
         }
@@ -111,13 +1005,36 @@ public class AndroidRequestSender<R, S> implements RequestRestSender<R, S> {
         callBack.onFailure(failedResponseBean);
     }
 
-    private void setTimeout(ServerRequest<R, S> request, RestfulRequest restfulRequest) {
-        if (request.getTimeout() > 0) {
-            restfulRequest.timeout(request.getTimeout());
+    private <T> Observable<T> onDeadlineExceeded(ServerRequest<R, S> request, InterceptorChain chain) {
+        RequestTimeoutException timeoutException = new RequestTimeoutException();
+        FailedResponseBean failedResponse = new FailedResponseBean(timeoutException);
+        LOGGER.info("Request deadline exceeded : " + request.getUrl());
+        chain.interceptOnFailed(request, failedResponse);
+        return Observable.error(timeoutException);
+    }
+
+    private CircuitOpenException circuitOpen(InFlightRequest inFlightRequest, HostHealth hostHealth) {
+        inFlightRequest.getMetrics().setHostHealth(hostHealth.getConcurrencyLimit(), CircuitState.OPEN);
+        return new CircuitOpenException(hostHealth.getHost(), hostHealth.getRetryAfterMillis());
+    }
+
+    private void setTimeout(InFlightRequest inFlightRequest, RestfulRequest restfulRequest) {
+        if (inFlightRequest.hasDeadline()) {
+            restfulRequest.timeout((int) Math.max(1, inFlightRequest.remainingMillis()));
         }
     }
 
-    private void doSendRequest(ServerRequest<R, S> request, RestfulRequest restfulRequest) {
+    private void doSendRequest(ServerRequest<R, S> request, InFlightRequest inFlightRequest, RestfulRequest restfulRequest) {
+        RequestOptions options = inFlightRequest.getOptions();
+        if (restfulRequest instanceof AndroidRestfulRequest) {
+            AndroidRestfulRequest androidRequest = (AndroidRestfulRequest) restfulRequest;
+            androidRequest.setUploadProgressListener(options.getUploadProgressListener())
+                    .setCompressRequestBody(options.getCompressRequestBody());
+            if (nonNull(options.getRequestBody())) {
+                androidRequest.send(options.getRequestBody());
+                return;
+            }
+        }
         if (SEND_BODY_METHODS.contains(request.getHttpMethod().toUpperCase()) && !request.isVoidRequest()) {
             restfulRequest.send(request.getRequestWriter().write(request.requestBean()));
         } else {
@@ -128,24 +1045,33 @@ public class AndroidRequestSender<R, S> implements RequestRestSender<R, S> {
     private class RequestObserver<S> implements Observer<S> {
 
         private final ServerRequestCallBack callBack;
+        private final InFlightRequest inFlightRequest;
         private Disposable disposable;
 
-        private RequestObserver(ServerRequestCallBack callBack) {
+        private RequestObserver(ServerRequestCallBack callBack, InFlightRequest inFlightRequest) {
             this.callBack = callBack;
+            this.inFlightRequest = inFlightRequest;
         }
 
         @Override
         public void onSubscribe(Disposable disposable) {
             this.disposable = disposable;
+            inFlightRequest.setDisposable(disposable);
         }
 
         @Override
         public void onNext(S s) {
-            callBack.onSuccess(s);
+            RequestMetrics metrics = inFlightRequest.getMetrics();
+            metrics.mark(RequestMetrics.Event.DELIVERED);
+            metrics.complete(RequestMetrics.Outcome.SUCCESS, null);
+            callBack.onSuccess(s == NO_BODY ? null : s);
         }
 
         @Override
         public void onError(Throwable e) {
+            RequestMetrics metrics = inFlightRequest.getMetrics();
+            metrics.mark(RequestMetrics.Event.DELIVERED);
+            metrics.complete(RequestMetrics.Outcome.FAILED, e);
             handleError(callBack, e);
         }
 
@@ -155,13 +1081,27 @@ public class AndroidRequestSender<R, S> implements RequestRestSender<R, S> {
         }
     }
 
-    private static class FailedResponseException extends Throwable {
+    private static class Delivery {
+        private final ServerRequestCallBack callBack;
+        private final Executor executor;
+        private final ResponseStream.Emitter<?> stream;
+
+        private Delivery(ServerRequestCallBack callBack, Executor executor, ResponseStream.Emitter<?> stream) {
+            this.callBack = callBack;
+            this.executor = executor;
+            this.stream = stream;
+        }
+    }
+
+    static class FailedResponseException extends Throwable {
         private final ServerRequest request;
         private final Response response;
+        private final FailedResponseBean failedResponse;
 
-        public FailedResponseException(ServerRequest request, Response response) {
+        public FailedResponseException(ServerRequest request, Response response, FailedResponseBean failedResponse) {
             this.request = request;
             this.response = response;
+            this.failedResponse = failedResponse;
         }
 
         public ServerRequest getRequest() {
@@ -171,5 +1111,9 @@ public class AndroidRequestSender<R, S> implements RequestRestSender<R, S> {
         public Response getResponse() {
             return response;
         }
+
+        public FailedResponseBean getFailedResponse() {
+            return failedResponse;
+        }
     }
 }
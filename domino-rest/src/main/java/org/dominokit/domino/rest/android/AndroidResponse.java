@@ -1,25 +1,57 @@
 package org.dominokit.domino.rest.android;
 
+import cz.msebera.android.httpclient.Header;
+import cz.msebera.android.httpclient.HttpEntity;
 import cz.msebera.android.httpclient.HttpResponse;
-import cz.msebera.android.httpclient.util.EntityUtils;
-import org.dominokit.domino.rest.shared.Response;
+import cz.msebera.android.httpclient.entity.ContentType;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
-public class AndroidResponse implements Response {
+public class AndroidResponse implements StreamingResponse {
+
+    private static final int TRANSFER_CHUNK_BYTES = 64 * 1024;
+    private static final int READ_BUFFER_BYTES = 8 * 1024;
+    private static final int DECODE_CHUNK_CHARS = 4 * 1024;
 
     private final HttpResponse response;
+    private final BufferPool bufferPool;
+    private String body;
+    private boolean streamed;
 
     public AndroidResponse(HttpResponse response) {
+        this(response, BufferPool.UNPOOLED);
+    }
+
+    /**
+     * @param bufferPool the pool of the buffers used to read the body
+     */
+    public AndroidResponse(HttpResponse response, BufferPool bufferPool) {
         this.response = response;
+        this.bufferPool = bufferPool;
     }
 
     @Override
     public String getHeader(String header) {
-        return response.getFirstHeader(header).getValue();
+        Header firstHeader = response.getFirstHeader(header);
+        return isNull(firstHeader) ? null : firstHeader.getValue();
     }
 
     @Override
@@ -37,14 +69,164 @@ public class AndroidResponse implements Response {
         return response.getStatusLine().getReasonPhrase();
     }
 
+    /**
+     * @throws UncheckedIOException if the body could not be read
+     */
     @Override
     public String getBodyAsString() {
-        if (isNull(response.getEntity()))
+        HttpEntity entity = response.getEntity();
+        if (isNull(entity))
             return null;
-        try {
-            return EntityUtils.toString(response.getEntity());
+        if (isNull(body)) {
+            checkNotStreamed();
+            try {
+                body = decode(entity, charset(entity));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read response body", e);
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public InputStream getBodyAsStream() throws IOException {
+        HttpEntity entity = response.getEntity();
+        if (isNull(entity)) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        if (nonNull(body)) {
+            return new ByteArrayInputStream(body.getBytes(charset(entity)));
+        }
+        checkNotStreamed();
+        streamed = true;
+        return entity.getContent();
+    }
+
+    @Override
+    public InputStream getBodyAsStream(ProgressListener progressListener) throws IOException {
+        if (isNull(progressListener)) {
+            return getBodyAsStream();
+        }
+        return new ProgressInputStream(getBodyAsStream(), progressListener, getContentLength());
+    }
+
+    @Override
+    public Reader getBodyAsReader() throws IOException {
+        HttpEntity entity = response.getEntity();
+        Charset charset = isNull(entity) ? StandardCharsets.UTF_8 : charset(entity);
+        return new InputStreamReader(getBodyAsStream(), charset);
+    }
+
+    @Override
+    public long getContentLength() {
+        HttpEntity entity = response.getEntity();
+        return isNull(entity) ? 0 : entity.getContentLength();
+    }
+
+    @Override
+    public long writeBodyTo(File file, ProgressListener progressListener) throws IOException {
+        long totalBytes = getContentLength();
+        long position = 0;
+        long reportedPosition = 0;
+        byte[] buffer = bufferPool.acquireBytes(TRANSFER_CHUNK_BYTES);
+        try (InputStream source = getBodyAsStream();
+             OutputStream target = new FileOutputStream(file)) {
+            int read;
+            while ((read = source.read(buffer)) != -1) {
+                target.write(buffer, 0, read);
+                position += read;
+                if (nonNull(progressListener) && position - reportedPosition >= TRANSFER_CHUNK_BYTES) {
+                    reportedPosition = position;
+                    progressListener.onProgress(position, totalBytes);
+                }
+            }
+            if (nonNull(progressListener) && position != reportedPosition) {
+                progressListener.onProgress(position, totalBytes);
+            }
         } catch (IOException e) {
-            return null;
+            file.delete();
+            throw e;
+        } finally {
+            bufferPool.releaseBytes(buffer);
+        }
+        return position;
+    }
+
+    /**
+     * Decodes a body of a known length fitting a pooled buffer straight into a pooled char buffer, so the string is
+     * the only allocation as large as the body. Other bodies are decoded through a fixed size pooled chunk appended
+     * to a builder, so a large body never needs a pooled buffer as large as itself.
+     */
+    private String decode(HttpEntity entity, Charset charset) throws IOException {
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        long contentLength = entity.getContentLength();
+        int expectedChars = contentLength < 0 ? DECODE_CHUNK_CHARS
+                : (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(contentLength * decoder.maxCharsPerByte()));
+        boolean whole = contentLength >= 0 && bufferPool.isPooledChars(expectedChars);
+        // a body longer than its content length overflows the whole body buffer into the builder
+        StringBuilder text = whole ? null : new StringBuilder(expectedChars);
+        byte[] bytes = bufferPool.acquireBytes(READ_BUFFER_BYTES);
+        char[] chars = bufferPool.acquireChars(whole ? expectedChars : DECODE_CHUNK_CHARS);
+        try (InputStream stream = entity.getContent()) {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            CharBuffer out = CharBuffer.wrap(chars);
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                int read = stream.read(bytes, in.position(), in.remaining());
+                endOfInput = read < 0;
+                if (read > 0) {
+                    in.position(in.position() + read);
+                }
+                in.flip();
+                while (decoder.decode(in, out, endOfInput).isOverflow()) {
+                    text = drain(out, text);
+                }
+                in.compact();
+            }
+            while (decoder.flush(out).isOverflow()) {
+                text = drain(out, text);
+            }
+            if (isNull(text)) {
+                return new String(chars, 0, out.position());
+            }
+            return drain(out, text).toString();
+        } finally {
+            bufferPool.releaseBytes(bytes);
+            bufferPool.releaseChars(chars);
+        }
+    }
+
+    private static StringBuilder drain(CharBuffer chunk, StringBuilder text) {
+        StringBuilder target = nonNull(text) ? text : new StringBuilder(chunk.capacity() * 2);
+        target.append(chunk.array(), 0, chunk.position());
+        chunk.clear();
+        return target;
+    }
+
+    private void checkNotStreamed() {
+        if (streamed) {
+            throw new IllegalStateException("Response body has already been consumed as a stream");
+        }
+    }
+
+    private static Charset charset(HttpEntity entity) {
+        ContentType contentType = ContentType.getLenient(entity);
+        if (nonNull(contentType) && nonNull(contentType.getCharset())) {
+            return contentType.getCharset();
+        }
+        return defaultCharset(entity);
+    }
+
+    /**
+     * JSON is UTF-8 unless stated otherwise, other content types keep the HTTP/1.1 default.
+     */
+    private static Charset defaultCharset(HttpEntity entity) {
+        ContentType contentType = ContentType.getLenient(entity);
+        if (nonNull(contentType) && ContentType.APPLICATION_JSON.getMimeType().equalsIgnoreCase(contentType.getMimeType())) {
+            return StandardCharsets.UTF_8;
         }
+        return StandardCharsets.ISO_8859_1;
     }
 }
@@ -2,46 +2,75 @@ package org.dominokit.domino.rest.android;
 
 import org.dominokit.domino.rest.shared.BaseRestfulRequest;
 import org.dominokit.domino.rest.shared.RestfulRequest;
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import cz.msebera.android.httpclient.Consts;
-import cz.msebera.android.httpclient.HttpResponse;
+import cz.msebera.android.httpclient.HttpEntity;
 import cz.msebera.android.httpclient.NameValuePair;
-import cz.msebera.android.httpclient.client.HttpClient;
+import cz.msebera.android.httpclient.client.cache.HttpCacheContext;
+import cz.msebera.android.httpclient.client.config.RequestConfig;
+import cz.msebera.android.httpclient.client.entity.GzipCompressingEntity;
 import cz.msebera.android.httpclient.client.entity.UrlEncodedFormEntity;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
 import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
 import cz.msebera.android.httpclient.client.methods.RequestBuilder;
+import cz.msebera.android.httpclient.conn.ConnectTimeoutException;
 import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.entity.EntityTemplate;
 import cz.msebera.android.httpclient.entity.StringEntity;
-import cz.msebera.android.httpclient.impl.client.HttpClientBuilder;
 import cz.msebera.android.httpclient.message.BasicNameValuePair;
+import cz.msebera.android.httpclient.util.EntityUtils;
 
 import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.joining;
 
 public class AndroidRestfulRequest extends BaseRestfulRequest {
 
+    private static final Logger LOGGER = Logger.getLogger(AndroidRestfulRequest.class.getCanonicalName());
+    private static final int STREAMING_BODY_THRESHOLD_CHARS = 32 * 1024;
+    private static final int ENCODE_BUFFER_BYTES = 16 * 1024;
+
     private final Map<String, String> parameters = new LinkedHashMap<>();
     private final Map<String, String> headers = new LinkedHashMap<>();
-    private final HttpClient httpClient;
+    private final String uri;
+    private final HttpClientProvider httpClientProvider;
+    private final TimeoutConfig timeoutConfig;
+    private final CompressionConfig compressionConfig;
     private final RequestBuilder requestBuilder;
+    private int timeout;
+    private ProgressListener uploadProgressListener;
+    private Boolean compressRequestBody;
+    private RequestMetrics metrics;
+    private volatile HttpTransport.Call call;
+    private volatile boolean aborted;
 
-    public AndroidRestfulRequest(String uri, String method) {
+    public AndroidRestfulRequest(String uri, String method, HttpClientProvider httpClientProvider) {
         super(uri, method);
-        httpClient = HttpClientBuilder.create().build();
-        requestBuilder = RequestBuilder.create(method)
-                .setUri(uri);
+        this.uri = uri;
+        this.httpClientProvider = httpClientProvider;
+        this.timeoutConfig = httpClientProvider.getTimeoutConfig();
+        this.compressionConfig = httpClientProvider.getCompressionConfig();
+        requestBuilder = RequestBuilder.create(method);
     }
 
     @Override
     protected String paramsAsString() {
-        return parameters.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue())
-                .collect(joining("&"));
+        return QueryEncoder.encode(parameters);
     }
 
     @Override
@@ -75,6 +104,38 @@ public class AndroidRestfulRequest extends BaseRestfulRequest {
         return this;
     }
 
+    /**
+     * Limits the time of the next attempt, each of the connect, read and pool acquire timeouts will not exceed
+     * this value.
+     */
+    @Override
+    public RestfulRequest timeout(int timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Notified from the network thread while the request body is written to the connection.
+     */
+    public AndroidRestfulRequest setUploadProgressListener(ProgressListener uploadProgressListener) {
+        this.uploadProgressListener = uploadProgressListener;
+        return this;
+    }
+
+    /**
+     * Overrides the global request compression setting, {@code null} uses the global setting.
+     *
+     * @see CompressionConfig#setRequestCompression(boolean)
+     */
+    public AndroidRestfulRequest setCompressRequestBody(Boolean compressRequestBody) {
+        this.compressRequestBody = compressRequestBody;
+        return this;
+    }
+
+    void setMetrics(RequestMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @Override
     public Map<String, String> getHeaders() {
         return headers;
@@ -87,38 +148,191 @@ public class AndroidRestfulRequest extends BaseRestfulRequest {
                 .map(entry -> new BasicNameValuePair(entry.getKey(), entry.getValue()))
                 .collect(Collectors.toList());
         UrlEncodedFormEntity entity = new UrlEncodedFormEntity(form, Consts.UTF_8);
-        requestBuilder.setEntity(entity);
+        setEntity(entity);
         send();
     }
 
     @Override
     public void sendJson(String json) {
-        StringEntity stringEntity = new StringEntity(json, ContentType.APPLICATION_JSON);
-        requestBuilder.setEntity(stringEntity);
+        setEntity(stringEntity(json, ContentType.APPLICATION_JSON));
         send();
     }
 
     @Override
     public void send(String data) {
-        StringEntity stringEntity = new StringEntity(data, ContentType.TEXT_PLAIN);
-        requestBuilder.setEntity(stringEntity);
+        setEntity(stringEntity(data, ContentType.TEXT_PLAIN));
+        send();
+    }
+
+    public void send(RequestBody body) {
+        setEntity(body.getEntity());
         send();
     }
 
+    private void setEntity(HttpEntity entity) {
+        CompressionStats stats = httpClientProvider.getCompressionStats();
+        RequestMetrics requestMetrics = metrics;
+        HttpEntity body = new CountingHttpEntity(entity, bytes -> {
+            stats.addRequestBytes(bytes);
+            if (nonNull(requestMetrics)) {
+                requestMetrics.addRequestBytes(bytes);
+            }
+        });
+        if (nonNull(uploadProgressListener)) {
+            body = new ProgressHttpEntity(body, uploadProgressListener);
+        }
+        if (shouldCompress(entity)) {
+            body = new GzipCompressingEntity(body);
+        }
+        requestBuilder.setEntity(new CountingHttpEntity(body, stats::addRequestTransferredBytes));
+    }
+
+    private boolean shouldCompress(HttpEntity entity) {
+        boolean enabled = nonNull(compressRequestBody) ? compressRequestBody : compressionConfig.isRequestCompression();
+        if (!enabled || nonNull(entity.getContentEncoding())) {
+            return false;
+        }
+        long length = entity.getContentLength();
+        return length < 0 || length >= compressionConfig.getRequestCompressionThresholdBytes();
+    }
+
+    /**
+     * Large bodies are encoded while being written to the connection instead of being copied to a byte array first.
+     */
+    private HttpEntity stringEntity(String content, ContentType contentType) {
+        if (content.length() < STREAMING_BODY_THRESHOLD_CHARS) {
+            return new StringEntity(content, contentType);
+        }
+        ContentType withCharset = nonNull(contentType.getCharset()) ? contentType : contentType.withCharset(Consts.UTF_8);
+        BufferPool bufferPool = httpClientProvider.getBufferPool();
+        EntityTemplate entity = new EntityTemplate(outputStream -> encode(content, withCharset.getCharset(), outputStream, bufferPool));
+        entity.setContentType(withCharset.toString());
+        entity.setChunked(true);
+        return entity;
+    }
+
+    /**
+     * Encodes the content in chunks through a pooled buffer.
+     */
+    private static void encode(String content, Charset charset, OutputStream outputStream, BufferPool bufferPool) throws IOException {
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        byte[] buffer = bufferPool.acquireBytes(ENCODE_BUFFER_BYTES);
+        try {
+            CharBuffer in = CharBuffer.wrap(content);
+            ByteBuffer out = ByteBuffer.wrap(buffer);
+            CoderResult result;
+            do {
+                result = encoder.encode(in, out, true);
+                if (result.isUnderflow()) {
+                    result = encoder.flush(out);
+                }
+                outputStream.write(buffer, 0, out.position());
+                out.clear();
+            } while (result.isOverflow());
+        } finally {
+            bufferPool.releaseBytes(buffer);
+        }
+    }
+
     @Override
     public void send() {
-        HttpUriRequest httpUriRequest = requestBuilder.build();
+        if (aborted) {
+            return;
+        }
+        HttpUriRequest httpUriRequest = requestBuilder.setUri(QueryEncoder.appendTo(uri, parameters))
+                .setConfig(requestConfig())
+                .build();
+        CloseableHttpResponse httpResponse;
+        HttpCacheContext context = HttpCacheContext.create();
+        if (nonNull(metrics)) {
+            context.setAttribute(RequestMetrics.CONTEXT_ATTRIBUTE, metrics);
+        }
+        if (timeout > 0) {
+            context.setAttribute(HttpTransport.TIMEOUT_ATTRIBUTE, timeout);
+        }
+        call = httpClientProvider.getTransport().newCall(httpUriRequest, context);
+        if (aborted) {
+            return;
+        }
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.EXECUTE_STARTED);
+        }
         try {
-            HttpResponse httpResponse = httpClient.execute(httpUriRequest);
-            successHandler.onResponseReceived(new AndroidResponse(httpResponse));
+            httpResponse = call.execute();
+            if (nonNull(metrics)) {
+                metrics.setProtocol(httpResponse.getProtocolVersion().toString());
+            }
+            httpClientProvider.onRequestExecuted(httpUriRequest.getURI(), metrics);
+            if (httpClientProvider.isCacheEnabled()) {
+                httpClientProvider.getCacheStats().record(context.getCacheResponseStatus());
+                if (nonNull(metrics)) {
+                    metrics.setCacheStatus(context.getCacheResponseStatus());
+                }
+            }
         } catch (IOException e) {
-            errorHandler.onError(e);
+            if (!aborted) {
+                errorHandler.onError(isTimeout(e) ? asRequestTimeout(e) : e);
+            }
+            return;
+        }
+        try {
+            if (!aborted) {
+                successHandler.onResponseReceived(new AndroidResponse(httpResponse, httpClientProvider.getBufferPool()));
+            }
+        } finally {
+            releaseConnection(httpResponse);
+        }
+    }
+
+    private RequestConfig requestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(limitToTimeout(timeoutConfig.getConnectTimeoutMillis()))
+                .setSocketTimeout(limitToTimeout(timeoutConfig.getReadTimeoutMillis()))
+                .setConnectionRequestTimeout(limitToTimeout(timeoutConfig.getPoolAcquireTimeoutMillis()))
+                .build();
+    }
+
+    private int limitToTimeout(int phaseTimeout) {
+        if (timeout <= 0) {
+            return phaseTimeout;
+        }
+        return phaseTimeout > 0 ? Math.min(phaseTimeout, timeout) : timeout;
+    }
+
+    private boolean isTimeout(IOException e) {
+        return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException;
+    }
+
+    private RequestTimeoutException asRequestTimeout(IOException e) {
+        RequestTimeoutException timeoutException = new RequestTimeoutException();
+        timeoutException.initCause(e);
+        return timeoutException;
+    }
+
+    private void releaseConnection(CloseableHttpResponse httpResponse) {
+        if (!aborted) {
+            EntityUtils.consumeQuietly(httpResponse.getEntity());
+        }
+        try {
+            httpResponse.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Failed to close response : ", e);
         }
     }
 
     @Override
     public void abort() {
-        //TODO not implemented yet
+        aborted = true;
+        HttpTransport.Call currentCall = this.call;
+        if (nonNull(currentCall)) {
+            currentCall.cancel();
+        }
+    }
+
+    public boolean isAborted() {
+        return aborted;
     }
 
     @Override
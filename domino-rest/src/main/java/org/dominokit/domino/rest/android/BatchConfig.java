@@ -0,0 +1,83 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Enables sending the requests issued within a short window as one batch request, the batch is sent when the window
+ * ends or as soon as it reaches the maximum number of requests or body size.
+ * <pre>
+ *     DominoRestConfig.getInstance().setBatchConfig(new BatchConfig("batch").setWindowMillis(20));
+ * </pre>
+ */
+public class BatchConfig {
+
+    private final String batchUrl;
+    private long windowMillis = 10;
+    private int maxRequests = 20;
+    private int maxBodyBytes = 64 * 1024;
+    private BatchFormat format = new JsonBatchFormat();
+
+    /**
+     * @param batchUrl the url of the batch endpoint, relative urls are resolved against the service root
+     */
+    public BatchConfig(String batchUrl) {
+        this.batchUrl = batchUrl;
+    }
+
+    public String getBatchUrl() {
+        return batchUrl;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * How long the first request of a batch waits for other requests before the batch is sent.
+     */
+    public BatchConfig setWindowMillis(long windowMillis) {
+        this.windowMillis = windowMillis;
+        return this;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public BatchConfig setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Sends the batch without waiting for the window to end once the bodies of its requests reach this size.
+     */
+    public BatchConfig setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+        return this;
+    }
+
+    public BatchFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets how the requests are packed in the batch request and the responses read from the batch response, defaults
+     * to {@link JsonBatchFormat}.
+     */
+    public BatchConfig setFormat(BatchFormat format) {
+        this.format = format;
+        return this;
+    }
+
+    BatchConfig copy() {
+        BatchConfig copy = new BatchConfig(batchUrl);
+        copy.windowMillis = windowMillis;
+        copy.maxRequests = maxRequests;
+        copy.maxBodyBytes = maxBodyBytes;
+        copy.format = format;
+        return copy;
+    }
+}
@@ -0,0 +1,21 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+
+import java.util.List;
+
+/**
+ * Packs requests in the body of a batch request and reads their responses from the batch response, each response is
+ * matched to its request by the request id.
+ */
+public interface BatchFormat {
+
+    String getContentType();
+
+    String write(List<BatchedRequest> requests);
+
+    /**
+     * @throws RuntimeException if the batch response can not be read, all the requests of the batch fail with it
+     */
+    List<BatchedResponse> read(Response batchResponse);
+}
@@ -0,0 +1,53 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Map;
+
+/**
+ * One of the requests sent in a batch request.
+ */
+public class BatchedRequest {
+
+    private final String id;
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final String body;
+
+    BatchedRequest(String id, String method, String url, Map<String, String> headers, String body) {
+        this.id = id;
+        this.method = method;
+        this.url = url;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the absolute url of the request including its query string
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the body of the request, {@code null} for requests without a body
+     */
+    public String getBody() {
+        return body;
+    }
+
+    int getBodyLength() {
+        return body == null ? 0 : body.length();
+    }
+}
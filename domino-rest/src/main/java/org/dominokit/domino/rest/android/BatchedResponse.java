@@ -0,0 +1,66 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The response of one of the requests sent in a batch request, handled by the request as if it was received on its
+ * own.
+ */
+public class BatchedResponse implements Response {
+
+    private final String id;
+    private final int statusCode;
+    private final String statusText;
+    private final Map<String, String> headers;
+    private final String body;
+
+    public BatchedResponse(String id, int statusCode, String statusText, Map<String, String> headers, String body) {
+        this.id = id;
+        this.statusCode = statusCode;
+        this.statusText = statusText;
+        this.headers = isNull(headers) ? Collections.emptyMap() : headers;
+        this.body = body;
+    }
+
+    /**
+     * @return the id of the request this response belongs to
+     */
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getHeader(String header) {
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(header)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public String getBodyAsString() {
+        return body;
+    }
+}
@@ -0,0 +1,54 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Queues the commands and runs the queued commands together in a single task on the target executor, a command
+ * submitted while a drain is running is run by the next drain so one drain never runs for longer than the commands
+ * that were queued when it started.
+ */
+class BatchingExecutor implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchingExecutor.class.getCanonicalName());
+
+    private final Executor target;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Runnable drain = this::drain;
+
+    BatchingExecutor(Executor target) {
+        this.target = target;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queue.add(command);
+        if (scheduled.compareAndSet(false, true)) {
+            target.execute(drain);
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+        int pending = queue.size();
+        for (int i = 0; i < pending; i++) {
+            Runnable command = queue.poll();
+            if (command == null) {
+                break;
+            }
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Callback failed : ", e);
+            }
+        }
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            target.execute(drain);
+        }
+    }
+}
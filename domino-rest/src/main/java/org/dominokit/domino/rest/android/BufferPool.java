@@ -0,0 +1,178 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Reuses the byte and char buffers used to read and write bodies, buffers are handed out in power of two size
+ * classes and the memory held by the idle buffers is capped.
+ * <p>
+ * A buffer acquired from the pool may be larger than requested and must not be used anymore once released. Pooled
+ * buffers are zeroed when released, so the content of a body never outlives its request in an idle buffer.
+ *
+ * @see BufferPoolConfig
+ */
+public class BufferPool {
+
+    static final BufferPool UNPOOLED = new BufferPool(new BufferPoolConfig().setMaxRetainedBytes(0), new BufferPoolStats());
+
+    private static final int MIN_CLASS_SHIFT = Integer.numberOfTrailingZeros(BufferPoolConfig.MIN_BUFFER_BYTES);
+
+    private final long maxRetainedBytes;
+    private final BufferPoolStats stats;
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final SizeClasses<byte[]> bytes;
+    private final SizeClasses<char[]> chars;
+    private volatile boolean closed;
+
+    public BufferPool(BufferPoolConfig config, BufferPoolStats stats) {
+        this.maxRetainedBytes = config.getMaxRetainedBytes();
+        this.stats = stats;
+        int classes = Math.max(1, sizeClass(config.getMaxBufferBytes()) + 1);
+        this.bytes = new SizeClasses<>(classes, 1, byte[]::new, buffer -> buffer.length, buffer -> Arrays.fill(buffer, (byte) 0));
+        this.chars = new SizeClasses<>(classes, 2, char[]::new, buffer -> buffer.length, buffer -> Arrays.fill(buffer, '\0'));
+    }
+
+    /**
+     * @return a buffer of at least the specified length
+     */
+    public byte[] acquireBytes(int minLength) {
+        return bytes.acquire(minLength);
+    }
+
+    public void releaseBytes(byte[] buffer) {
+        bytes.release(buffer);
+    }
+
+    /**
+     * @return a buffer of at least the specified length
+     */
+    public char[] acquireChars(int minLength) {
+        return chars.acquire(minLength);
+    }
+
+    public void releaseChars(char[] buffer) {
+        chars.release(buffer);
+    }
+
+    /**
+     * @return whether a char buffer of the specified length is in a pooled size class and can be kept once released,
+     * larger buffers are allocated for each use
+     */
+    boolean isPooledChars(int minLength) {
+        int sizeClass = sizeClass((long) minLength * 2);
+        return sizeClass < chars.queues.length && ((long) BufferPoolConfig.MIN_BUFFER_BYTES << sizeClass) <= maxRetainedBytes;
+    }
+
+    public BufferPoolStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Drops all the idle buffers.
+     */
+    public void clear() {
+        bytes.clear();
+        chars.clear();
+    }
+
+    /**
+     * Drops all the idle buffers and the buffers released afterwards.
+     */
+    void close() {
+        closed = true;
+        clear();
+    }
+
+    /**
+     * @return the index of the smallest size class holding the specified number of bytes
+     */
+    private static int sizeClass(long bytes) {
+        if (bytes <= BufferPoolConfig.MIN_BUFFER_BYTES) {
+            return 0;
+        }
+        return 64 - Long.numberOfLeadingZeros(bytes - 1) - MIN_CLASS_SHIFT;
+    }
+
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = retainedBytes.get();
+            if (current + bytes > maxRetainedBytes) {
+                return false;
+            }
+        } while (!retainedBytes.compareAndSet(current, current + bytes));
+        stats.addRetainedBytes(bytes);
+        return true;
+    }
+
+    private void unreserve(long bytes) {
+        retainedBytes.addAndGet(-bytes);
+        stats.addRetainedBytes(-bytes);
+    }
+
+    private class SizeClasses<T> {
+
+        private final Queue<T>[] queues;
+        private final int elementBytes;
+        private final IntFunction<T> allocator;
+        private final ToIntFunction<T> length;
+        private final Consumer<T> zeroer;
+
+        @SuppressWarnings("unchecked")
+        private SizeClasses(int classes, int elementBytes, IntFunction<T> allocator, ToIntFunction<T> length, Consumer<T> zeroer) {
+            this.queues = new Queue[classes];
+            for (int i = 0; i < classes; i++) {
+                queues[i] = new ConcurrentLinkedQueue<>();
+            }
+            this.elementBytes = elementBytes;
+            this.allocator = allocator;
+            this.length = length;
+            this.zeroer = zeroer;
+        }
+
+        private T acquire(int minLength) {
+            int sizeClass = sizeClass((long) minLength * elementBytes);
+            if (sizeClass >= queues.length) {
+                stats.recordMiss();
+                return allocator.apply(minLength);
+            }
+            T buffer = queues[sizeClass].poll();
+            if (nonNull(buffer)) {
+                unreserve((long) length.applyAsInt(buffer) * elementBytes);
+                stats.recordHit();
+                return buffer;
+            }
+            stats.recordMiss();
+            return allocator.apply((int) (((long) BufferPoolConfig.MIN_BUFFER_BYTES << sizeClass) / elementBytes));
+        }
+
+        private void release(T buffer) {
+            long bufferBytes = (long) length.applyAsInt(buffer) * elementBytes;
+            int sizeClass = sizeClass(bufferBytes);
+            boolean pooledSize = sizeClass < queues.length && ((long) BufferPoolConfig.MIN_BUFFER_BYTES << sizeClass) == bufferBytes;
+            if (closed || !pooledSize || !reserve(bufferBytes)) {
+                stats.recordDropped();
+                return;
+            }
+            zeroer.accept(buffer);
+            queues[sizeClass].offer(buffer);
+        }
+
+        private void clear() {
+            for (Queue<T> queue : queues) {
+                T buffer;
+                while (nonNull(buffer = queue.poll())) {
+                    unreserve((long) length.applyAsInt(buffer) * elementBytes);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Configures the buffers reused to read and write request and response bodies, buffers are pooled in power of two
+ * size classes from {@link #MIN_BUFFER_BYTES} up to the max buffer size.
+ */
+public class BufferPoolConfig {
+
+    public static final int MIN_BUFFER_BYTES = 8 * 1024;
+
+    private long maxRetainedBytes = 1024 * 1024;
+    private int maxBufferBytes = 256 * 1024;
+
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * Limits the memory held by the idle buffers, buffers released while the limit is reached are left to the
+     * garbage collector, {@code 0} disables pooling.
+     */
+    public BufferPoolConfig setMaxRetainedBytes(long maxRetainedBytes) {
+        this.maxRetainedBytes = maxRetainedBytes;
+        return this;
+    }
+
+    public int getMaxBufferBytes() {
+        return maxBufferBytes;
+    }
+
+    /**
+     * Buffers larger than this, needed for bodies larger than this, are allocated for each use and never pooled.
+     */
+    public BufferPoolConfig setMaxBufferBytes(int maxBufferBytes) {
+        this.maxBufferBytes = maxBufferBytes;
+        return this;
+    }
+
+    BufferPoolConfig copy() {
+        BufferPoolConfig copy = new BufferPoolConfig();
+        copy.maxRetainedBytes = maxRetainedBytes;
+        copy.maxBufferBytes = maxBufferBytes;
+        return copy;
+    }
+}
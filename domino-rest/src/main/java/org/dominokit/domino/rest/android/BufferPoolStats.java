@@ -0,0 +1,66 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BufferPoolStats {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    void addRetainedBytes(long bytes) {
+        retainedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * @return the number of buffers taken from the pool
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of buffers allocated because the pool had none of the needed size
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of released buffers not pooled, because the pool was full or the buffer was too large
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the memory held by the idle buffers
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPoolStats{hits=" + hits + ", misses=" + misses + ", dropped=" + dropped
+                + ", retainedBytes=" + retainedBytes + "}";
+    }
+}
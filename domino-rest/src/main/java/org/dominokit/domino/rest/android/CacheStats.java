@@ -0,0 +1,62 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import cz.msebera.android.httpclient.client.cache.CacheResponseStatus;
+
+import static java.util.Objects.isNull;
+
+public class CacheStats {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong validated = new AtomicLong();
+
+    void record(CacheResponseStatus status) {
+        if (isNull(status)) {
+            return;
+        }
+        switch (status) {
+            case CACHE_HIT:
+                hits.incrementAndGet();
+                break;
+            case VALIDATED:
+                validated.incrementAndGet();
+                break;
+            case CACHE_MISS:
+                misses.incrementAndGet();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return the number of responses served from the cache without contacting the server
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of responses served from the cache after the server confirmed them with a {@code 304}
+     */
+    public long getValidatedCount() {
+        return validated.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long served = hits.get() + validated.get();
+        long total = served + misses.get();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", validated=" + validated + ", misses=" + misses + "}";
+    }
+}
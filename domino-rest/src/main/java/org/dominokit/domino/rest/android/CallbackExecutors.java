@@ -0,0 +1,52 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.Executor;
+
+import io.reactivex.android.schedulers.AndroidSchedulers;
+
+/**
+ * The executors the request callbacks can be delivered on.
+ * <pre>
+ *     // background sync, no need to go through the main thread
+ *     RequestOptions.of(request).setCallbackExecutor(CallbackExecutors.direct());
+ * </pre>
+ */
+public final class CallbackExecutors {
+
+    private static final Executor MAIN_THREAD = command -> AndroidSchedulers.mainThread().scheduleDirect(command);
+    private static final Executor DIRECT = Runnable::run;
+    private static volatile Executor batchedMainThread;
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * Posts each callback to the main thread, the default.
+     */
+    public static Executor mainThread() {
+        return MAIN_THREAD;
+    }
+
+    /**
+     * Delivers the callbacks of the responses that complete while the main thread is busy together, in one main
+     * thread message, instead of posting a message for each of them.
+     */
+    public static Executor batchedMainThread() {
+        if (batchedMainThread == null) {
+            synchronized (CallbackExecutors.class) {
+                if (batchedMainThread == null) {
+                    batchedMainThread = new BatchingExecutor(MAIN_THREAD);
+                }
+            }
+        }
+        return batchedMainThread;
+    }
+
+    /**
+     * Calls the callbacks on the thread completing the request, which is a network thread, callbacks must not block
+     * and must not touch the UI.
+     */
+    public static Executor direct() {
+        return DIRECT;
+    }
+}
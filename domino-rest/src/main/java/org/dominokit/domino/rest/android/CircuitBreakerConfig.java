@@ -0,0 +1,89 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Enables failing the requests to a host right away once most of its recent requests failed, instead of having each
+ * of them wait for its own failure. After the open duration a few probe requests are let through, the circuit closes
+ * if they succeed and opens again otherwise.
+ * <pre>
+ *     DominoRestConfig.getInstance().setCircuitBreakerConfig(new CircuitBreakerConfig().setOpenDurationMillis(5_000));
+ * </pre>
+ * Server errors, {@code 429} responses, network errors and timeouts count as failures.
+ *
+ * @see CircuitOpenResponseBean
+ */
+public class CircuitBreakerConfig {
+
+    private double failureRateThreshold = 0.5;
+    private int windowSize = 20;
+    private int minimumRequests = 10;
+    private long openDurationMillis = 10_000;
+    private int halfOpenRequests = 2;
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * The rate of failed requests, between {@code 0} and {@code 1}, at or above which the circuit opens.
+     */
+    public CircuitBreakerConfig setFailureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * The number of the most recent requests the failure rate is computed from.
+     */
+    public CircuitBreakerConfig setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    public int getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    /**
+     * The number of requests the window needs before the failure rate is checked.
+     */
+    public CircuitBreakerConfig setMinimumRequests(int minimumRequests) {
+        this.minimumRequests = minimumRequests;
+        return this;
+    }
+
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    public CircuitBreakerConfig setOpenDurationMillis(long openDurationMillis) {
+        this.openDurationMillis = openDurationMillis;
+        return this;
+    }
+
+    public int getHalfOpenRequests() {
+        return halfOpenRequests;
+    }
+
+    /**
+     * The number of probe requests let through once the open duration ended, all of them have to succeed for the
+     * circuit to close.
+     */
+    public CircuitBreakerConfig setHalfOpenRequests(int halfOpenRequests) {
+        this.halfOpenRequests = halfOpenRequests;
+        return this;
+    }
+
+    CircuitBreakerConfig copy() {
+        CircuitBreakerConfig copy = new CircuitBreakerConfig();
+        copy.failureRateThreshold = failureRateThreshold;
+        copy.windowSize = windowSize;
+        copy.minimumRequests = minimumRequests;
+        copy.openDurationMillis = openDurationMillis;
+        copy.halfOpenRequests = halfOpenRequests;
+        return copy;
+    }
+}
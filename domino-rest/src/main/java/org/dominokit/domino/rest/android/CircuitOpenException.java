@@ -0,0 +1,29 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * The failure of a request that was not sent because the circuit of its host is open.
+ *
+ * @see CircuitOpenResponseBean
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final String host;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String host, long retryAfterMillis) {
+        super("Circuit of host [" + host + "] is open, retry after " + retryAfterMillis + "ms");
+        this.host = host;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the time left until probe requests are let through again
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,32 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+
+/**
+ * The failed response passed to the response interceptors and the failure callback of a request that was failed
+ * right away because the circuit of its host is open, no request was sent so there is no status code or body.
+ * <pre>
+ *     .onFailed(failedResponse -> {
+ *         if (failedResponse instanceof CircuitOpenResponseBean) {
+ *             showOffline(((CircuitOpenResponseBean) failedResponse).getRetryAfterMillis());
+ *         }
+ *     })
+ * </pre>
+ */
+public class CircuitOpenResponseBean extends FailedResponseBean {
+
+    private final CircuitOpenException exception;
+
+    public CircuitOpenResponseBean(CircuitOpenException exception) {
+        super(exception);
+        this.exception = exception;
+    }
+
+    public String getHost() {
+        return exception.getHost();
+    }
+
+    public long getRetryAfterMillis() {
+        return exception.getRetryAfterMillis();
+    }
+}
@@ -0,0 +1,22 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * The state of the circuit breaker of a host.
+ *
+ * @see CircuitBreakerConfig
+ */
+public enum CircuitState {
+    /**
+     * Requests are sent normally.
+     */
+    CLOSED,
+    /**
+     * Requests fail right away without being sent.
+     */
+    OPEN,
+    /**
+     * A limited number of probe requests are sent to find out whether the host recovered, other requests fail right
+     * away.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,360 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ResponseInterceptor;
+
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The configuration of a {@link RestClient}, created with a {@link Builder}.
+ * <pre>
+ *     ClientConfig config = ClientConfig.builder("https://search.example.com/api/")
+ *             .timeoutConfig(new TimeoutConfig().setReadTimeoutMillis(2_000))
+ *             .dispatcherConfig(new DispatcherConfig().setMaxConcurrentRequests(4))
+ *             .build();
+ * </pre>
+ * The configuration is immutable, the config objects passed to the builder are copied when the configuration is
+ * built and the getters return copies, so changing a config object never changes a configuration nor the clients
+ * created from it. The retry budget, the transport factory, the callback executor and the interceptors are kept as
+ * they are, a custom {@link RetryPolicy} is kept as well and should not change once used.
+ */
+public class ClientConfig {
+
+    private final String serviceRoot;
+    private final ConnectionPoolConfig poolConfig;
+    private final TransportFactory transport;
+    private final TimeoutConfig timeoutConfig;
+    private final HttpCacheConfig cacheConfig;
+    private final CompressionConfig compressionConfig;
+    private final BufferPoolConfig bufferPoolConfig;
+    private final DispatcherConfig dispatcherConfig;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final boolean requestCoalescing;
+    private final BatchConfig batchConfig;
+    private final HedgingConfig hedgingConfig;
+    private final ConcurrencyLimitConfig concurrencyLimitConfig;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final DnsCacheConfig dnsCacheConfig;
+    private final WarmUpConfig warmUpConfig;
+    private final Executor callbackExecutor;
+    private final InterceptorChain interceptorChain;
+
+    private ClientConfig(Builder builder) {
+        this.serviceRoot = builder.serviceRoot;
+        this.poolConfig = builder.poolConfig.copy();
+        this.transport = builder.transport;
+        this.timeoutConfig = builder.timeoutConfig.copy();
+        this.cacheConfig = isNull(builder.cacheConfig) ? null : builder.cacheConfig.copy();
+        this.compressionConfig = builder.compressionConfig.copy();
+        this.bufferPoolConfig = builder.bufferPoolConfig.copy();
+        this.dispatcherConfig = builder.dispatcherConfig.copy();
+        this.retryPolicy = copyOf(builder.retryPolicy);
+        this.retryBudget = isNull(builder.retryBudget) ? new RetryBudget(10, 1) : builder.retryBudget;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.batchConfig = isNull(builder.batchConfig) ? null : builder.batchConfig.copy();
+        this.hedgingConfig = isNull(builder.hedgingConfig) ? null : builder.hedgingConfig.copy();
+        this.concurrencyLimitConfig = isNull(builder.concurrencyLimitConfig) ? null : builder.concurrencyLimitConfig.copy();
+        this.circuitBreakerConfig = isNull(builder.circuitBreakerConfig) ? null : builder.circuitBreakerConfig.copy();
+        this.dnsCacheConfig = isNull(builder.dnsCacheConfig) ? null : builder.dnsCacheConfig.copy();
+        this.warmUpConfig = isNull(builder.warmUpConfig) ? null : builder.warmUpConfig.copy();
+        this.callbackExecutor = builder.callbackExecutor;
+        this.interceptorChain = builder.interceptorChain;
+    }
+
+    /**
+     * @param serviceRoot the root of the backend, replacing the default service root in the urls of the requests
+     *                    sent through the client
+     */
+    public static Builder builder(String serviceRoot) {
+        return new Builder(serviceRoot);
+    }
+
+    /**
+     * @return a builder initialized with this configuration, the retry budget is not copied so a client created
+     * from the new configuration does not share it
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder(serviceRoot)
+                .poolConfig(poolConfig)
+                .transport(transport)
+                .timeoutConfig(timeoutConfig)
+                .cacheConfig(cacheConfig)
+                .compressionConfig(compressionConfig)
+                .bufferPoolConfig(bufferPoolConfig)
+                .dispatcherConfig(dispatcherConfig)
+                .retryPolicy(retryPolicy)
+                .requestCoalescing(requestCoalescing)
+                .batchConfig(batchConfig)
+                .hedgingConfig(hedgingConfig)
+                .concurrencyLimitConfig(concurrencyLimitConfig)
+                .circuitBreakerConfig(circuitBreakerConfig)
+                .dnsCacheConfig(dnsCacheConfig)
+                .warmUpConfig(warmUpConfig)
+                .callbackExecutor(callbackExecutor);
+        builder.interceptorChain = interceptorChain;
+        return builder;
+    }
+
+    public String getServiceRoot() {
+        return serviceRoot;
+    }
+
+    public ConnectionPoolConfig getPoolConfig() {
+        return poolConfig.copy();
+    }
+
+    public TransportFactory getTransport() {
+        return transport;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig.copy();
+    }
+
+    /**
+     * @return the responses cache configuration, {@code null} when caching is disabled
+     */
+    public HttpCacheConfig getCacheConfig() {
+        return isNull(cacheConfig) ? null : cacheConfig.copy();
+    }
+
+    public CompressionConfig getCompressionConfig() {
+        return compressionConfig.copy();
+    }
+
+    public BufferPoolConfig getBufferPoolConfig() {
+        return bufferPoolConfig.copy();
+    }
+
+    public DispatcherConfig getDispatcherConfig() {
+        return dispatcherConfig.copy();
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return copyOf(retryPolicy);
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * @return the requests batching configuration, {@code null} when batching is disabled
+     */
+    public BatchConfig getBatchConfig() {
+        return isNull(batchConfig) ? null : batchConfig.copy();
+    }
+
+    /**
+     * @return the requests hedging configuration, {@code null} when hedging is disabled
+     */
+    public HedgingConfig getHedgingConfig() {
+        return isNull(hedgingConfig) ? null : hedgingConfig.copy();
+    }
+
+    /**
+     * @return the adaptive concurrency limit configuration, {@code null} when the limit is disabled
+     */
+    public ConcurrencyLimitConfig getConcurrencyLimitConfig() {
+        return isNull(concurrencyLimitConfig) ? null : concurrencyLimitConfig.copy();
+    }
+
+    /**
+     * @return the circuit breaker configuration, {@code null} when the circuit breaker is disabled
+     */
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return isNull(circuitBreakerConfig) ? null : circuitBreakerConfig.copy();
+    }
+
+    /**
+     * @return the DNS cache configuration, {@code null} when the hosts are resolved by the system resolver only
+     */
+    public DnsCacheConfig getDnsCacheConfig() {
+        return isNull(dnsCacheConfig) ? null : dnsCacheConfig.copy();
+    }
+
+    /**
+     * @return the connections warm up configuration, {@code null} when warming up is disabled
+     */
+    public WarmUpConfig getWarmUpConfig() {
+        return isNull(warmUpConfig) ? null : warmUpConfig.copy();
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    public InterceptorChain getInterceptorChain() {
+        return interceptorChain;
+    }
+
+    /**
+     * Only the {@link DefaultRetryPolicy} is copied, its subclasses and the other policies are kept as they are.
+     */
+    private static RetryPolicy copyOf(RetryPolicy retryPolicy) {
+        return retryPolicy.getClass() == DefaultRetryPolicy.class ? ((DefaultRetryPolicy) retryPolicy).copy() : retryPolicy;
+    }
+
+    public static class Builder {
+
+        private final String serviceRoot;
+        private ConnectionPoolConfig poolConfig = new ConnectionPoolConfig();
+        private TransportFactory transport = Transports.httpClient();
+        private TimeoutConfig timeoutConfig = new TimeoutConfig();
+        private HttpCacheConfig cacheConfig;
+        private CompressionConfig compressionConfig = new CompressionConfig();
+        private BufferPoolConfig bufferPoolConfig = new BufferPoolConfig();
+        private DispatcherConfig dispatcherConfig = new DispatcherConfig();
+        private RetryPolicy retryPolicy = new DefaultRetryPolicy();
+        private RetryBudget retryBudget;
+        private boolean requestCoalescing;
+        private BatchConfig batchConfig;
+        private HedgingConfig hedgingConfig;
+        private ConcurrencyLimitConfig concurrencyLimitConfig;
+        private CircuitBreakerConfig circuitBreakerConfig;
+        private DnsCacheConfig dnsCacheConfig;
+        private WarmUpConfig warmUpConfig;
+        private Executor callbackExecutor = CallbackExecutors.mainThread();
+        private InterceptorChain interceptorChain = InterceptorChain.EMPTY;
+
+        private Builder(String serviceRoot) {
+            this.serviceRoot = requireNonNull(serviceRoot, "serviceRoot");
+        }
+
+        public Builder poolConfig(ConnectionPoolConfig poolConfig) {
+            this.poolConfig = requireNonNull(poolConfig, "poolConfig");
+            return this;
+        }
+
+        /**
+         * The engine sending the requests of the client, {@link Transports#httpClient()} by default.
+         */
+        public Builder transport(TransportFactory transport) {
+            this.transport = requireNonNull(transport, "transport");
+            return this;
+        }
+
+        public Builder timeoutConfig(TimeoutConfig timeoutConfig) {
+            this.timeoutConfig = requireNonNull(timeoutConfig, "timeoutConfig");
+            return this;
+        }
+
+        /**
+         * Enables the responses cache, clients must not share a cache disk directory.
+         */
+        public Builder cacheConfig(HttpCacheConfig cacheConfig) {
+            this.cacheConfig = cacheConfig;
+            return this;
+        }
+
+        public Builder compressionConfig(CompressionConfig compressionConfig) {
+            this.compressionConfig = requireNonNull(compressionConfig, "compressionConfig");
+            return this;
+        }
+
+        public Builder bufferPoolConfig(BufferPoolConfig bufferPoolConfig) {
+            this.bufferPoolConfig = requireNonNull(bufferPoolConfig, "bufferPoolConfig");
+            return this;
+        }
+
+        public Builder dispatcherConfig(DispatcherConfig dispatcherConfig) {
+            this.dispatcherConfig = requireNonNull(dispatcherConfig, "dispatcherConfig");
+            return this;
+        }
+
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = requireNonNull(retryPolicy, "retryPolicy");
+            return this;
+        }
+
+        /**
+         * Sets the budget limiting the retries of the client, a new budget of 10 retries refilled at 1 retry per
+         * second is created for each configuration by default.
+         */
+        public Builder retryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        public Builder requestCoalescing(boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        public Builder batchConfig(BatchConfig batchConfig) {
+            this.batchConfig = batchConfig;
+            return this;
+        }
+
+        public Builder hedgingConfig(HedgingConfig hedgingConfig) {
+            this.hedgingConfig = hedgingConfig;
+            return this;
+        }
+
+        public Builder concurrencyLimitConfig(ConcurrencyLimitConfig concurrencyLimitConfig) {
+            this.concurrencyLimitConfig = concurrencyLimitConfig;
+            return this;
+        }
+
+        public Builder circuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            return this;
+        }
+
+        public Builder dnsCacheConfig(DnsCacheConfig dnsCacheConfig) {
+            this.dnsCacheConfig = dnsCacheConfig;
+            return this;
+        }
+
+        /**
+         * Configures opening the connections of the client ahead of its requests, they are opened on
+         * {@link RestClient#warmUp()}.
+         */
+        public Builder warmUpConfig(WarmUpConfig warmUpConfig) {
+            this.warmUpConfig = warmUpConfig;
+            return this;
+        }
+
+        /**
+         * @see CallbackExecutors
+         */
+        public Builder callbackExecutor(Executor callbackExecutor) {
+            this.callbackExecutor = requireNonNull(callbackExecutor, "callbackExecutor");
+            return this;
+        }
+
+        public Builder addRequestInterceptor(RequestInterceptor interceptor) {
+            return addRequestInterceptor(interceptor, 0);
+        }
+
+        /**
+         * @see InterceptorChain#withRequestInterceptor(RequestInterceptor, long)
+         */
+        public Builder addRequestInterceptor(RequestInterceptor interceptor, long timeoutMillis) {
+            this.interceptorChain = interceptorChain.withRequestInterceptor(interceptor, timeoutMillis);
+            return this;
+        }
+
+        public Builder addResponseInterceptor(ResponseInterceptor interceptor) {
+            this.interceptorChain = interceptorChain.withResponseInterceptor(interceptor);
+            return this;
+        }
+
+        public Builder interceptorTimeoutMillis(long timeoutMillis) {
+            this.interceptorChain = interceptorChain.withDefaultTimeout(timeoutMillis);
+            return this;
+        }
+
+        public ClientConfig build() {
+            return new ClientConfig(this);
+        }
+    }
+}
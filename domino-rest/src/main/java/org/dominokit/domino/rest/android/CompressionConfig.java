@@ -0,0 +1,58 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Configures the content encoding of requests and responses, responses are requested compressed and decompressed
+ * transparently while being read, request bodies are compressed only when enabled and large enough.
+ */
+public class CompressionConfig {
+
+    private boolean responseCompression = true;
+    private boolean requestCompression = false;
+    private long requestCompressionThresholdBytes = 1024;
+
+    public boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    /**
+     * Sends {@code Accept-Encoding: gzip,deflate} with every request and decompresses the responses.
+     */
+    public CompressionConfig setResponseCompression(boolean responseCompression) {
+        this.responseCompression = responseCompression;
+        return this;
+    }
+
+    public boolean isRequestCompression() {
+        return requestCompression;
+    }
+
+    /**
+     * Sends request bodies with {@code Content-Encoding: gzip}, the server must support compressed requests.
+     *
+     * @see RequestOptions#setCompressRequestBody(Boolean)
+     */
+    public CompressionConfig setRequestCompression(boolean requestCompression) {
+        this.requestCompression = requestCompression;
+        return this;
+    }
+
+    public long getRequestCompressionThresholdBytes() {
+        return requestCompressionThresholdBytes;
+    }
+
+    /**
+     * Bodies smaller than this are sent as is, bodies of unknown length are always compressed.
+     */
+    public CompressionConfig setRequestCompressionThresholdBytes(long requestCompressionThresholdBytes) {
+        this.requestCompressionThresholdBytes = requestCompressionThresholdBytes;
+        return this;
+    }
+
+    CompressionConfig copy() {
+        CompressionConfig copy = new CompressionConfig();
+        copy.responseCompression = responseCompression;
+        copy.requestCompression = requestCompression;
+        copy.requestCompressionThresholdBytes = requestCompressionThresholdBytes;
+        return copy;
+    }
+}
@@ -0,0 +1,61 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the bytes of request and response bodies before and after content encoding, the transferred counts are
+ * the bytes actually sent or received on the wire.
+ */
+public class CompressionStats {
+
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong requestTransferredBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseTransferredBytes = new AtomicLong();
+
+    void addRequestBytes(long bytes) {
+        requestBytes.addAndGet(bytes);
+    }
+
+    void addRequestTransferredBytes(long bytes) {
+        requestTransferredBytes.addAndGet(bytes);
+    }
+
+    void addResponseBytes(long bytes) {
+        responseBytes.addAndGet(bytes);
+    }
+
+    void addResponseTransferredBytes(long bytes) {
+        responseTransferredBytes.addAndGet(bytes);
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getRequestTransferredBytes() {
+        return requestTransferredBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    public long getResponseTransferredBytes() {
+        return responseTransferredBytes.get();
+    }
+
+    /**
+     * @return the decoded response bytes for each byte received, {@code 1} when nothing was compressed
+     */
+    public double getResponseCompressionRatio() {
+        long transferred = responseTransferredBytes.get();
+        return transferred == 0 ? 1 : (double) responseBytes.get() / transferred;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats{requestBytes=" + requestBytes + ", requestTransferredBytes=" + requestTransferredBytes
+                + ", responseBytes=" + responseBytes + ", responseTransferredBytes=" + responseTransferredBytes + "}";
+    }
+}
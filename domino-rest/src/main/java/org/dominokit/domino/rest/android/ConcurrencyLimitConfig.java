@@ -0,0 +1,83 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Enables adapting the number of requests running at the same time to each host from the observed latency, the
+ * limit grows by one request per round trip while the responses are fast and is cut down as soon as the latency
+ * rises above the best latency seen recently, or a request fails with a server error, a {@code 429} or a network
+ * error.
+ * <pre>
+ *     DominoRestConfig.getInstance().setConcurrencyLimitConfig(new ConcurrencyLimitConfig().setMaxLimit(6));
+ * </pre>
+ * The limit never exceeds {@link DispatcherConfig#getMaxConcurrentRequestsPerHost()}.
+ */
+public class ConcurrencyLimitConfig {
+
+    private int initialLimit = 4;
+    private int minLimit = 1;
+    private int maxLimit = 8;
+    private double backoffRatio = 0.75;
+    private double latencyTolerance = 2;
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public ConcurrencyLimitConfig setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public ConcurrencyLimitConfig setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public ConcurrencyLimitConfig setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    /**
+     * The factor the limit is multiplied by when the host is overloaded, the limit is cut at most once per round
+     * trip.
+     */
+    public ConcurrencyLimitConfig setBackoffRatio(double backoffRatio) {
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    /**
+     * How many times slower than the best recent latency a response can be before the host is considered
+     * overloaded.
+     */
+    public ConcurrencyLimitConfig setLatencyTolerance(double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+        return this;
+    }
+
+    ConcurrencyLimitConfig copy() {
+        ConcurrencyLimitConfig copy = new ConcurrencyLimitConfig();
+        copy.initialLimit = initialLimit;
+        copy.minLimit = minLimit;
+        copy.maxLimit = maxLimit;
+        copy.backoffRatio = backoffRatio;
+        copy.latencyTolerance = latencyTolerance;
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package org.dominokit.domino.rest.android;
+
+public class ConnectionPoolConfig {
+
+    private int maxTotalConnections = 64;
+    private int maxConnectionsPerRoute = 8;
+    private long keepAliveMillis = 30_000;
+    private long idleConnectionTimeoutMillis = 60_000;
+    private long connectionTimeToLiveMillis = 5 * 60_000;
+    private int validateAfterInactivityMillis = 2_000;
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public ConnectionPoolConfig setMaxTotalConnections(int maxTotalConnections) {
+        this.maxTotalConnections = maxTotalConnections;
+        return this;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public ConnectionPoolConfig setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * How long a connection is kept alive when the server does not send a {@code Keep-Alive} timeout,
+     * server supplied timeouts are capped by this value too.
+     */
+    public long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    public ConnectionPoolConfig setKeepAliveMillis(long keepAliveMillis) {
+        this.keepAliveMillis = keepAliveMillis;
+        return this;
+    }
+
+    public long getIdleConnectionTimeoutMillis() {
+        return idleConnectionTimeoutMillis;
+    }
+
+    public ConnectionPoolConfig setIdleConnectionTimeoutMillis(long idleConnectionTimeoutMillis) {
+        this.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+        return this;
+    }
+
+    public long getConnectionTimeToLiveMillis() {
+        return connectionTimeToLiveMillis;
+    }
+
+    public ConnectionPoolConfig setConnectionTimeToLiveMillis(long connectionTimeToLiveMillis) {
+        this.connectionTimeToLiveMillis = connectionTimeToLiveMillis;
+        return this;
+    }
+
+    public int getValidateAfterInactivityMillis() {
+        return validateAfterInactivityMillis;
+    }
+
+    public ConnectionPoolConfig setValidateAfterInactivityMillis(int validateAfterInactivityMillis) {
+        this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+        return this;
+    }
+
+    ConnectionPoolConfig copy() {
+        ConnectionPoolConfig copy = new ConnectionPoolConfig();
+        copy.maxTotalConnections = maxTotalConnections;
+        copy.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        copy.keepAliveMillis = keepAliveMillis;
+        copy.idleConnectionTimeoutMillis = idleConnectionTimeoutMillis;
+        copy.connectionTimeToLiveMillis = connectionTimeToLiveMillis;
+        copy.validateAfterInactivityMillis = validateAfterInactivityMillis;
+        return copy;
+    }
+}
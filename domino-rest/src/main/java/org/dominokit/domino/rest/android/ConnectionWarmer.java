@@ -0,0 +1,138 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Opens the connections of a {@link HttpClientProvider} to the service roots and the recently requested hosts on the
+ * io scheduler, and records whether the first request sent to a host after its connections were opened used one.
+ */
+class ConnectionWarmer {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionWarmer.class.getCanonicalName());
+
+    private final HttpClientProvider provider;
+    private final WarmUpStats stats;
+    private final Map<String, Long> warmedAt = new HashMap<>();
+    private final Set<String> awaitingFirstRequest = ConcurrentHashMap.newKeySet();
+    private final LinkedHashMap<String, URI> recentHosts = new LinkedHashMap<>(16, 0.75f, true);
+
+    ConnectionWarmer(HttpClientProvider provider, WarmUpStats stats) {
+        this.provider = provider;
+        this.stats = stats;
+    }
+
+    void warmUp(Collection<String> serviceRoots, WarmUpConfig config) {
+        Map<String, URI> origins = new LinkedHashMap<>();
+        for (String serviceRoot : serviceRoots) {
+            URI uri = parse(serviceRoot);
+            String key = hostKey(uri);
+            if (nonNull(key)) {
+                origins.put(key, uri);
+            }
+        }
+        synchronized (recentHosts) {
+            recentHosts.forEach(origins::putIfAbsent);
+        }
+        long now = System.nanoTime();
+        origins.forEach((key, uri) -> {
+            if (claim(key, now, config)) {
+                Schedulers.io().scheduleDirect(() -> warmUp(key, uri, config));
+            }
+        });
+    }
+
+    void onRequestExecuted(URI uri, RequestMetrics metrics, WarmUpConfig config) {
+        String key = hostKey(uri);
+        if (isNull(key)) {
+            return;
+        }
+        synchronized (recentHosts) {
+            recentHosts.put(key, uri);
+            while (recentHosts.size() > config.getMaxRecentHosts()) {
+                recentHosts.remove(recentHosts.keySet().iterator().next());
+            }
+        }
+        if (awaitingFirstRequest.remove(key) && nonNull(metrics)) {
+            stats.recordFirstRequest(metrics.getTimestampNanos(RequestMetrics.Event.CONNECT_STARTED) == 0);
+        }
+    }
+
+    /**
+     * The warmed connections are closed with the transport, the hosts can be warmed up again right away.
+     */
+    void reset() {
+        awaitingFirstRequest.clear();
+        synchronized (warmedAt) {
+            warmedAt.clear();
+        }
+    }
+
+    private boolean claim(String key, long now, WarmUpConfig config) {
+        synchronized (warmedAt) {
+            Long last = warmedAt.get(key);
+            if (nonNull(last) && now - last < TimeUnit.MILLISECONDS.toNanos(config.getMinIntervalMillis())) {
+                return false;
+            }
+            warmedAt.put(key, now);
+            return true;
+        }
+    }
+
+    private void warmUp(String key, URI uri, WarmUpConfig config) {
+        try {
+            provider.resolve(uri.getHost());
+            int opened = provider.getTransport().preconnect(origin(uri), config.getConnectionsPerHost());
+            stats.recordWarmUp(opened);
+            if (opened > 0) {
+                awaitingFirstRequest.add(key);
+            }
+        } catch (IOException | RuntimeException e) {
+            stats.recordFailure();
+            synchronized (warmedAt) {
+                warmedAt.remove(key);
+            }
+            LOGGER.log(Level.FINE, "Failed to warm up the connections to [" + key + "] : ", e);
+        }
+    }
+
+    private static URI parse(String url) {
+        try {
+            return URI.create(url);
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Not warming up the invalid url [" + url + "]");
+            return null;
+        }
+    }
+
+    private static URI origin(URI uri) {
+        return URI.create(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : "") + "/");
+    }
+
+    /**
+     * @return the scheme, host and port of the url, {@code null} for a relative url
+     */
+    private static String hostKey(URI uri) {
+        if (isNull(uri) || isNull(uri.getScheme()) || isNull(uri.getHost())) {
+            return null;
+        }
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort() > 0 ? uri.getPort() : "https".equals(scheme) ? 443 : 80;
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
@@ -0,0 +1,56 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The network availability as reported by the application, for example from a
+ * {@code ConnectivityManager.NetworkCallback}.
+ * <pre>
+ *     connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+ *         public void onAvailable(Network network) { signal.setConnected(true); }
+ *         public void onLost(Network network) { signal.setConnected(false); }
+ *     });
+ * </pre>
+ */
+public class ConnectivitySignal {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private boolean connected;
+
+    public ConnectivitySignal(boolean connected) {
+        this.connected = connected;
+    }
+
+    public synchronized boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Notifies the listeners on the calling thread if the connectivity changed.
+     */
+    public void setConnected(boolean connected) {
+        synchronized (this) {
+            if (this.connected == connected) {
+                return;
+            }
+            this.connected = connected;
+        }
+        for (Listener listener : listeners) {
+            listener.onConnectivityChanged(connected);
+        }
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onConnectivityChanged(boolean connected);
+    }
+}
@@ -0,0 +1,106 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+import cz.msebera.android.httpclient.HttpEntity;
+import cz.msebera.android.httpclient.entity.HttpEntityWrapper;
+
+/**
+ * Reports the number of bytes read from or written by the wrapped entity once the stream is closed or fully
+ * written.
+ */
+class CountingHttpEntity extends HttpEntityWrapper {
+
+    private final LongConsumer counter;
+
+    CountingHttpEntity(HttpEntity wrappedEntity, LongConsumer counter) {
+        super(wrappedEntity);
+        this.counter = counter;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return new CountingInputStream(super.getContent());
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+        try {
+            super.writeTo(countingStream);
+        } finally {
+            counter.accept(countingStream.bytes);
+        }
+    }
+
+    private class CountingInputStream extends FilterInputStream {
+
+        private long bytes;
+        private boolean reported;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                bytes++;
+            } else {
+                report();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                bytes += read;
+            } else if (read < 0) {
+                report();
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            report();
+            super.close();
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                counter.accept(bytes);
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long bytes;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            bytes += length;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.client.utils.DateUtils;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Retries idempotent requests that timed out, failed with an I/O error or got one of the retry status codes,
+ * using an exponential backoff with jitter or the delay requested by the server in the {@code Retry-After} header.
+ * <p>
+ * Unless {@link #setMaxRetries(int)} is called the number of retries is taken from the {@code ServerRequest}.
+ */
+public class DefaultRetryPolicy implements RetryPolicy {
+
+    private int maxRetries = -1;
+    private long initialDelayMillis = 250;
+    private long maxDelayMillis = 15_000;
+    private double multiplier = 2;
+    private double jitter = 0.5;
+    private boolean retryOnIoErrors = true;
+    private boolean honorRetryAfter = true;
+    private final Set<Integer> retryStatusCodes = new HashSet<>(Arrays.asList(429, 502, 503, 504));
+
+    @Override
+    public long nextRetryDelayMillis(RetryAttempt attempt) {
+        if (!attempt.isIdempotent() || attempt.getRetry() > maxRetries(attempt)) {
+            return NO_RETRY;
+        }
+        if (attempt.hasResponse()) {
+            if (!retryStatusCodes.contains(attempt.getResponse().getStatusCode())) {
+                return NO_RETRY;
+            }
+            if (honorRetryAfter) {
+                long retryAfter = retryAfterMillis(attempt.getResponse());
+                if (retryAfter >= 0) {
+                    return retryAfter <= maxDelayMillis ? retryAfter : NO_RETRY;
+                }
+            }
+            return backoffDelay(attempt.getRetry());
+        }
+        Throwable error = attempt.getError();
+        if (error instanceof RequestTimeoutException || (retryOnIoErrors && isIoError(error))) {
+            return backoffDelay(attempt.getRetry());
+        }
+        return NO_RETRY;
+    }
+
+    private boolean isIoError(Throwable error) {
+        return error instanceof IOException || error instanceof UncheckedIOException;
+    }
+
+    private int maxRetries(RetryAttempt attempt) {
+        return maxRetries >= 0 ? maxRetries : attempt.getRequest().getMaxRetries();
+    }
+
+    private long backoffDelay(int retry) {
+        double exponential = Math.min(maxDelayMillis, initialDelayMillis * Math.pow(multiplier, retry - 1));
+        double randomized = exponential * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Math.round(randomized);
+    }
+
+    private long retryAfterMillis(Response response) {
+        String retryAfter = response.getHeader("Retry-After");
+        if (isNull(retryAfter)) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            Date retryDate = DateUtils.parseDate(retryAfter);
+            return nonNull(retryDate) ? Math.max(0, retryDate.getTime() - System.currentTimeMillis()) : -1;
+        }
+    }
+
+    public DefaultRetryPolicy setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public DefaultRetryPolicy setInitialDelayMillis(long initialDelayMillis) {
+        this.initialDelayMillis = initialDelayMillis;
+        return this;
+    }
+
+    /**
+     * Caps the backoff delay, a {@code Retry-After} longer than this value fails the request instead of waiting.
+     */
+    public DefaultRetryPolicy setMaxDelayMillis(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+    public DefaultRetryPolicy setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+        return this;
+    }
+
+    /**
+     * @param jitter the fraction of the backoff delay that is randomized, {@code 0} for no jitter and {@code 1} for
+     *               full jitter
+     */
+    public DefaultRetryPolicy setJitter(double jitter) {
+        this.jitter = Math.max(0, Math.min(1, jitter));
+        return this;
+    }
+
+    public DefaultRetryPolicy setRetryOnIoErrors(boolean retryOnIoErrors) {
+        this.retryOnIoErrors = retryOnIoErrors;
+        return this;
+    }
+
+    public DefaultRetryPolicy setHonorRetryAfter(boolean honorRetryAfter) {
+        this.honorRetryAfter = honorRetryAfter;
+        return this;
+    }
+
+    public DefaultRetryPolicy setRetryStatusCodes(Integer... statusCodes) {
+        retryStatusCodes.clear();
+        retryStatusCodes.addAll(Arrays.asList(statusCodes));
+        return this;
+    }
+
+    DefaultRetryPolicy copy() {
+        DefaultRetryPolicy copy = new DefaultRetryPolicy();
+        copy.maxRetries = maxRetries;
+        copy.initialDelayMillis = initialDelayMillis;
+        copy.maxDelayMillis = maxDelayMillis;
+        copy.multiplier = multiplier;
+        copy.jitter = jitter;
+        copy.retryOnIoErrors = retryOnIoErrors;
+        copy.honorRetryAfter = honorRetryAfter;
+        copy.setRetryStatusCodes(retryStatusCodes.toArray(new Integer[0]));
+        return copy;
+    }
+}
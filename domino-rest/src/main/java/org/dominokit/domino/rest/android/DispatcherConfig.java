@@ -0,0 +1,40 @@
+package org.dominokit.domino.rest.android;
+
+public class DispatcherConfig {
+
+    private int maxConcurrentRequests = 16;
+    private int maxConcurrentRequestsPerHost = 8;
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * The number of requests executed at the same time, this is also the number of threads used by the dispatcher,
+     * other requests wait in the queue.
+     */
+    public DispatcherConfig setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        return this;
+    }
+
+    public int getMaxConcurrentRequestsPerHost() {
+        return maxConcurrentRequestsPerHost;
+    }
+
+    /**
+     * Should not exceed {@link ConnectionPoolConfig#getMaxConnectionsPerRoute()}, otherwise requests will wait for
+     * a connection while holding a dispatcher thread.
+     */
+    public DispatcherConfig setMaxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        return this;
+    }
+
+    DispatcherConfig copy() {
+        DispatcherConfig copy = new DispatcherConfig();
+        copy.maxConcurrentRequests = maxConcurrentRequests;
+        copy.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        return copy;
+    }
+}
@@ -0,0 +1,60 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DispatcherStats {
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    void recordDispatched(long waitNanos) {
+        dispatched.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    void recordCancelled() {
+        cancelled.incrementAndGet();
+    }
+
+    void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * @return the number of requests cancelled while waiting in the queue
+     */
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    /**
+     * @return the number of requests rejected because the dispatcher was shutdown
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getAverageWaitMillis() {
+        long count = dispatched.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get() / count);
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "DispatcherStats{dispatched=" + dispatched + ", cancelled=" + cancelled + ", rejected=" + rejected
+                + ", averageWaitMillis=" + getAverageWaitMillis() + ", maxWaitMillis=" + getMaxWaitMillis() + "}";
+    }
+}
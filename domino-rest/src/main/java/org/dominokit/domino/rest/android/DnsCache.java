@@ -0,0 +1,96 @@
+package org.dominokit.domino.rest.android;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Resolves the hosts through the system resolver and keeps their addresses for the time to live of the
+ * {@link DnsCacheConfig}, the addresses used after the refresh delay are resolved again on the io scheduler.
+ */
+class DnsCache {
+
+    private final DnsCacheConfig config;
+    private final DnsCacheStats stats;
+    private final Map<String, Resolution> entries;
+
+    DnsCache(DnsCacheConfig config, DnsCacheStats stats) {
+        this.config = config;
+        this.stats = stats;
+        this.entries = new LinkedHashMap<String, Resolution>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Resolution> eldest) {
+                return size() > config.getMaxEntries();
+            }
+        };
+    }
+
+    InetAddress[] resolve(String host) throws UnknownHostException {
+        String key = host.toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+        Resolution entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (nonNull(entry) && entry.expiresAt - now > 0) {
+            stats.recordHit();
+            if (now - entry.refreshAt >= 0 && entry.refreshing.compareAndSet(false, true)) {
+                Schedulers.io().scheduleDirect(() -> refresh(key, entry));
+            }
+            return entry.addresses.clone();
+        }
+        stats.recordMiss();
+        return lookup(key).addresses.clone();
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Resolution lookup(String host) throws UnknownHostException {
+        Resolution entry = new Resolution(InetAddress.getAllByName(host), System.nanoTime(), config);
+        synchronized (entries) {
+            entries.put(host, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * A failed refresh is retried once the refresh delay elapsed again, so a host that can not be resolved while
+     * offline is not looked up on every request.
+     */
+    private void refresh(String host, Resolution stale) {
+        try {
+            lookup(host);
+            stats.recordRefresh();
+        } catch (UnknownHostException e) {
+            stats.recordRefreshFailure();
+            stale.refreshAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getRefreshAfterMillis());
+            stale.refreshing.set(false);
+        }
+    }
+
+    private static class Resolution {
+
+        private final InetAddress[] addresses;
+        private final long expiresAt;
+        private volatile long refreshAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Resolution(InetAddress[] addresses, long resolvedAt, DnsCacheConfig config) {
+            this.addresses = addresses;
+            this.expiresAt = resolvedAt + TimeUnit.MILLISECONDS.toNanos(config.getTimeToLiveMillis());
+            this.refreshAt = resolvedAt + TimeUnit.MILLISECONDS.toNanos(config.getRefreshAfterMillis());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Configures the cache of the resolved host addresses shared by the connections of a transport, so opening a
+ * connection to a known host does not wait for a DNS lookup.
+ * <p>
+ * A cached host used after its refresh delay is resolved again in the background while the cached addresses keep
+ * being used, a host is resolved in the calling thread only when it is unknown or its addresses are older than the
+ * time to live, for example after the application was idle.
+ */
+public class DnsCacheConfig {
+
+    private long timeToLiveMillis = 5 * 60_000;
+    private long refreshAfterMillis = 30_000;
+    private int maxEntries = 32;
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * The time the addresses of a host are used for, the TTL of the DNS records is not known to the resolver so this
+     * bounds how long a stale address can be used after the records changed.
+     */
+    public DnsCacheConfig setTimeToLiveMillis(long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+        return this;
+    }
+
+    public long getRefreshAfterMillis() {
+        return refreshAfterMillis;
+    }
+
+    /**
+     * The age after which the addresses of a host are resolved again in the background the next time they are used.
+     */
+    public DnsCacheConfig setRefreshAfterMillis(long refreshAfterMillis) {
+        this.refreshAfterMillis = refreshAfterMillis;
+        return this;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * The number of hosts kept, the least recently used host is evicted first.
+     */
+    public DnsCacheConfig setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    DnsCacheConfig copy() {
+        DnsCacheConfig copy = new DnsCacheConfig();
+        copy.timeToLiveMillis = timeToLiveMillis;
+        copy.refreshAfterMillis = refreshAfterMillis;
+        copy.maxEntries = maxEntries;
+        return copy;
+    }
+}
@@ -0,0 +1,66 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DnsCacheStats {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordRefresh() {
+        refreshes.incrementAndGet();
+    }
+
+    void recordRefreshFailure() {
+        refreshFailures.incrementAndGet();
+    }
+
+    /**
+     * @return the number of lookups answered from the cache
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of lookups that waited for the host to be resolved
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of hosts resolved again in the background
+     */
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return the number of background resolutions that failed, the previous addresses are kept until they expire
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailures.get();
+    }
+
+    public double getHitRate() {
+        long count = hits.get() + misses.get();
+        return count == 0 ? 0 : (double) hits.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "DnsCacheStats{hits=" + hits + ", misses=" + misses + ", refreshes=" + refreshes
+                + ", refreshFailures=" + refreshFailures + "}";
+    }
+}
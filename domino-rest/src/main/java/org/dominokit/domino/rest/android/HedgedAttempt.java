@@ -0,0 +1,177 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.Observer;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Sends an attempt and, when it did not receive a response within the hedging delay of its route, a second identical
+ * attempt. The first attempt to receive a response wins and the other one is aborted, an attempt failing without a
+ * response leaves the other attempt running.
+ * <p>
+ * The winner is decided before the response is read, so the response interceptors and the response reader see only
+ * one response.
+ */
+class HedgedAttempt<T> implements ObservableOnSubscribe<T> {
+
+    private static final Object LOST = new Object();
+
+    private final RequestHedging hedging;
+    private final RequestMetrics metrics;
+    private final Function<Response, T> onSuccessResponse;
+    private final AttemptSender attemptSender;
+    private final CompositeDisposable attempts = new CompositeDisposable();
+    private ObservableEmitter<T> emitter;
+    private int running;
+    private boolean decided;
+    private Boolean hedgeWon;
+    private Throwable failure;
+    private long primaryDispatchedNanos;
+
+    HedgedAttempt(RequestHedging hedging, RequestMetrics metrics, Function<Response, T> onSuccessResponse,
+                  AttemptSender attemptSender) {
+        this.hedging = hedging;
+        this.metrics = metrics;
+        this.onSuccessResponse = onSuccessResponse;
+        this.attemptSender = attemptSender;
+    }
+
+    @Override
+    public void subscribe(ObservableEmitter<T> emitter) {
+        this.emitter = emitter;
+        emitter.setDisposable(attempts);
+        hedging.onRequest();
+        start(false);
+    }
+
+    private void start(boolean hedge) {
+        synchronized (this) {
+            running++;
+        }
+        AtomicLong dispatchedNanos = new AtomicLong();
+        attemptSender.send(response -> claim(hedge, dispatchedNanos.get(), response), () -> onDispatched(hedge, dispatchedNanos))
+                .subscribe(new Observer<Object>() {
+                    @Override
+                    public void onSubscribe(Disposable disposable) {
+                        attempts.add(disposable);
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public void onNext(Object result) {
+                        if (result != LOST) {
+                            emitter.onNext((T) result);
+                            emitter.onComplete();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        onAttemptFailed(hedge, throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+    }
+
+    private void onDispatched(boolean hedge, AtomicLong dispatchedNanos) {
+        long now = System.nanoTime();
+        dispatchedNanos.set(now);
+        if (hedge) {
+            return;
+        }
+        synchronized (this) {
+            primaryDispatchedNanos = now;
+        }
+        attempts.add(Schedulers.computation().scheduleDirect(this::onHedgeDelay,
+                hedging.delayMillis(metrics.getRoute()), TimeUnit.MILLISECONDS));
+    }
+
+    private void onHedgeDelay() {
+        synchronized (this) {
+            if (decided || running == 0 || emitter.isDisposed() || !hedging.tryAcquireHedge()) {
+                return;
+            }
+        }
+        metrics.setHedged(true);
+        start(true);
+    }
+
+    /**
+     * Called from the network thread of an attempt that received a successful response.
+     */
+    private Object claim(boolean hedge, long dispatchedNanos, Response response) {
+        long primaryNanos;
+        synchronized (this) {
+            if (decided) {
+                return LOST;
+            }
+            decided = true;
+            hedgeWon = hedge;
+            primaryNanos = primaryDispatchedNanos;
+        }
+        long now = System.nanoTime();
+        if (hedge) {
+            hedging.getStats().recordWin();
+            metrics.setHedgeWon(true);
+            hedging.recordLatency(metrics.getRoute(), now - primaryNanos);
+        } else {
+            hedging.recordLatency(metrics.getRoute(), now - dispatchedNanos);
+        }
+        return onSuccessResponse.apply(response);
+    }
+
+    /**
+     * A response with a failure status decides the race like any other response, a failure without a response waits
+     * for the other attempt if it is still running. The winner can still fail while its response is read.
+     */
+    private void onAttemptFailed(boolean hedge, Throwable throwable) {
+        Throwable error;
+        synchronized (this) {
+            running--;
+            if (decided) {
+                if (!Boolean.valueOf(hedge).equals(hedgeWon)) {
+                    return;
+                }
+                error = throwable;
+            } else {
+                if (isNull(failure)) {
+                    failure = throwable;
+                }
+                boolean responded = throwable instanceof AndroidRequestSender.FailedResponseException;
+                if (!responded && running > 0) {
+                    return;
+                }
+                decided = true;
+                hedgeWon = hedge;
+                error = responded ? throwable : failure;
+            }
+        }
+        emitter.tryOnError(error);
+    }
+
+    /**
+     * Sends one attempt of the request.
+     */
+    interface AttemptSender {
+        /**
+         * @param onSuccessResponse reads the successful response of the attempt
+         * @param onDispatched      called when the attempt leaves the dispatcher queue
+         */
+        Observable<Object> send(Function<Response, Object> onSuccessResponse, Runnable onDispatched);
+    }
+}
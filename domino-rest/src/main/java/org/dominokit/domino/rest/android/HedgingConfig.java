@@ -0,0 +1,95 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Enables hedging idempotent requests, when the response of a request does not arrive within the hedging delay a
+ * second identical request is sent and the first one to receive a response wins, the other is aborted.
+ * <pre>
+ *     DominoRestConfig.getInstance().setHedgingConfig(new HedgingConfig().setPercentile(95).setBudgetRatio(0.05));
+ * </pre>
+ * The delay of each route follows the percentile of its recent response times once the route has enough samples,
+ * until then the fixed delay is used. {@code GET} and {@code HEAD} requests are hedged by default, other idempotent
+ * requests only when enabled for the request.
+ *
+ * @see RequestOptions#setHedge(Boolean)
+ */
+public class HedgingConfig {
+
+    private long delayMillis = 200;
+    private double percentile = 95;
+    private long minDelayMillis = 20;
+    private double budgetRatio = 0.1;
+    private int maxBurst = 10;
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    /**
+     * The delay used for routes without enough response times, or for all routes when the percentile is {@code 0}.
+     */
+    public HedgingConfig setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+        return this;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * The percentile of the route response times used as the delay, between {@code 0} and {@code 100}, {@code 0}
+     * always uses the fixed delay.
+     */
+    public HedgingConfig setPercentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    /**
+     * The lowest delay taken from the percentile, so requests to fast routes are not hedged for a few milliseconds
+     * of jitter.
+     */
+    public HedgingConfig setMinDelayMillis(long minDelayMillis) {
+        this.minDelayMillis = minDelayMillis;
+        return this;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    /**
+     * The share of the hedged requests that can be sent twice, each request adds this ratio to the budget and each
+     * hedge takes one.
+     */
+    public HedgingConfig setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+        return this;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    /**
+     * The number of hedges the budget can accumulate, and the number available when hedging is enabled.
+     */
+    public HedgingConfig setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+        return this;
+    }
+
+    HedgingConfig copy() {
+        HedgingConfig copy = new HedgingConfig();
+        copy.delayMillis = delayMillis;
+        copy.percentile = percentile;
+        copy.minDelayMillis = minDelayMillis;
+        copy.budgetRatio = budgetRatio;
+        copy.maxBurst = maxBurst;
+        return copy;
+    }
+}
@@ -0,0 +1,71 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HedgingStats {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong wins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    void recordHedged() {
+        hedged.incrementAndGet();
+    }
+
+    void recordWin() {
+        wins.incrementAndGet();
+    }
+
+    void recordBudgetExhausted() {
+        budgetExhausted.incrementAndGet();
+    }
+
+    /**
+     * @return the number of attempts that could be hedged
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of attempts a second request was sent for
+     */
+    public long getHedgedCount() {
+        return hedged.get();
+    }
+
+    /**
+     * @return the number of hedges that received a response before the request they were sent for
+     */
+    public long getWinCount() {
+        return wins.get();
+    }
+
+    /**
+     * @return the number of hedges that were not sent because the budget was exhausted
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.get();
+    }
+
+    public double getHedgeRate() {
+        long count = requests.get();
+        return count == 0 ? 0 : (double) hedged.get() / count;
+    }
+
+    public double getWinRate() {
+        long count = hedged.get();
+        return count == 0 ? 0 : (double) wins.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingStats{requests=" + requests + ", hedged=" + hedged + ", wins=" + wins
+                + ", budgetExhausted=" + budgetExhausted + "}";
+    }
+}
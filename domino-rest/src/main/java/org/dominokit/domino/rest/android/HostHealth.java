@@ -0,0 +1,348 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The concurrency limit and the circuit state of one host, updated from the outcome of each request sent to the host.
+ * <p>
+ * The limit follows an additive increase, multiplicative decrease scheme: each fast response adds {@code 1 / limit}
+ * so the limit grows by about one request per round trip, while a failure or a response slower than the best
+ * latency of the last hundred responses of the same route times the tolerance cuts the limit by the backoff ratio,
+ * once per round trip. Each route is compared to its own latency, so a route that is always slower than the others
+ * does not look like a congested host. The limit only grows while the host is actually used at half of the limit or
+ * more.
+ *
+ * @see ConcurrencyLimitConfig
+ * @see CircuitBreakerConfig
+ */
+public class HostHealth {
+
+    private static final int BASELINE_WINDOW_SAMPLES = 100;
+    private static final int MAX_ROUTES = 256;
+
+    private final String host;
+    private final HostHealthTracker tracker;
+    private final ConcurrencyLimitConfig limitConfig;
+    private final CircuitBreakerConfig breakerConfig;
+    private volatile int concurrencyLimit;
+    private volatile CircuitState circuitState = CircuitState.CLOSED;
+
+    private double limit;
+    private int inFlight;
+    private final Map<String, RouteBaseline> baselines = new HashMap<>();
+    private final RouteBaseline otherRoutesBaseline = new RouteBaseline();
+    private long lastDecreaseNanos;
+
+    private final boolean[] outcomes;
+    private int outcomesCount;
+    private int outcomesIndex;
+    private int failures;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probesSucceeded;
+    private int halfOpenCycle;
+
+    HostHealth(String host, HostHealthTracker tracker, ConcurrencyLimitConfig limitConfig, CircuitBreakerConfig breakerConfig) {
+        this.host = host;
+        this.tracker = tracker;
+        this.limitConfig = limitConfig;
+        this.breakerConfig = breakerConfig;
+        this.outcomes = new boolean[isNull(breakerConfig) ? 0 : Math.max(1, breakerConfig.getWindowSize())];
+        if (nonNull(limitConfig)) {
+            this.limit = Math.max(limitConfig.getMinLimit(), Math.min(limitConfig.getMaxLimit(), limitConfig.getInitialLimit()));
+            this.concurrencyLimit = (int) limit;
+        }
+    }
+
+    /**
+     * @return the host and port, in lower case
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the number of requests allowed to run at the same time, or {@code 0} when the concurrency limit is not
+     * enabled
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public synchronized int getInFlightCount() {
+        return inFlight;
+    }
+
+    /**
+     * @return the state of the circuit, an open circuit stays open until a request is sent after the open duration
+     */
+    public CircuitState getCircuitState() {
+        return circuitState;
+    }
+
+    /**
+     * @return the rate of failed requests in the circuit breaker window, {@code 0} when the window is empty
+     */
+    public synchronized double getFailureRate() {
+        return outcomesCount == 0 ? 0 : failures / (double) outcomesCount;
+    }
+
+    /**
+     * @return the time left until probe requests are let through, {@code 0} when the circuit is not open
+     */
+    public synchronized long getRetryAfterMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, remainingOpenNanos()));
+    }
+
+    /**
+     * @return true if requests to the host should fail without being queued
+     */
+    synchronized boolean isOpen() {
+        return circuitState == CircuitState.OPEN && remainingOpenNanos() > 0;
+    }
+
+    /**
+     * Called when a request to the host is about to be sent.
+     *
+     * @param route the route of the request, its latency is compared to the latency of the same route
+     * @return the permit the outcome of the request is reported to, or {@code null} if the request should fail
+     * because the circuit is open
+     */
+    Permit tryAcquire(String route) {
+        Permit permit;
+        CircuitState previousState;
+        CircuitState state;
+        synchronized (this) {
+            previousState = circuitState;
+            boolean probe = false;
+            if (nonNull(breakerConfig)) {
+                if (circuitState == CircuitState.OPEN) {
+                    if (remainingOpenNanos() > 0) {
+                        return null;
+                    }
+                    circuitState = CircuitState.HALF_OPEN;
+                    probesInFlight = 0;
+                    probesSucceeded = 0;
+                    halfOpenCycle++;
+                }
+                if (circuitState == CircuitState.HALF_OPEN) {
+                    if (probesInFlight + probesSucceeded >= Math.max(1, breakerConfig.getHalfOpenRequests())) {
+                        return null;
+                    }
+                    probesInFlight++;
+                    probe = true;
+                }
+            }
+            inFlight++;
+            permit = new Permit(probe ? halfOpenCycle : 0, inFlight, nonNull(limitConfig) ? baseline(route) : null);
+            state = circuitState;
+        }
+        if (previousState != state) {
+            tracker.onCircuitStateChanged(this, previousState);
+        }
+        return permit;
+    }
+
+    private void complete(Permit permit, boolean sampled, boolean failed) {
+        int previousLimit;
+        int limitAfter;
+        CircuitState previousState;
+        CircuitState state;
+        synchronized (this) {
+            previousLimit = concurrencyLimit;
+            previousState = circuitState;
+            inFlight--;
+            if (sampled && nonNull(limitConfig)) {
+                updateLimit(failed, permit.startNanos, permit.inFlightAtStart, permit.baseline);
+            }
+            if (nonNull(breakerConfig)) {
+                updateCircuit(permit.probeCycle, sampled, failed);
+            }
+            limitAfter = concurrencyLimit;
+            state = circuitState;
+        }
+        if (previousLimit != limitAfter) {
+            tracker.onConcurrencyLimitChanged(this, previousLimit);
+        }
+        if (previousState != state) {
+            tracker.onCircuitStateChanged(this, previousState);
+        }
+    }
+
+    /**
+     * Routes beyond the first {@value #MAX_ROUTES} share one baseline.
+     */
+    private RouteBaseline baseline(String route) {
+        RouteBaseline baseline = baselines.get(route);
+        if (isNull(baseline)) {
+            if (baselines.size() >= MAX_ROUTES) {
+                return otherRoutesBaseline;
+            }
+            baseline = new RouteBaseline();
+            baselines.put(route, baseline);
+        }
+        return baseline;
+    }
+
+    /**
+     * Requests sent before the last decrease already saw the previous limit, their outcome can not cut the limit
+     * again.
+     */
+    private void updateLimit(boolean failed, long startNanos, int inFlightAtStart, RouteBaseline routeBaseline) {
+        long now = System.nanoTime();
+        long rttNanos = now - startNanos;
+        if (!failed) {
+            routeBaseline.record(rttNanos);
+        }
+        if (failed || rttNanos > routeBaseline.getRttNanos() * limitConfig.getLatencyTolerance()) {
+            if (lastDecreaseNanos == 0 || startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(limitConfig.getMinLimit(), limit * limitConfig.getBackoffRatio());
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtStart * 2 >= limit) {
+            limit = Math.min(limitConfig.getMaxLimit(), limit + 1 / limit);
+        }
+        concurrencyLimit = Math.max(1, (int) limit);
+    }
+
+    /**
+     * Outcomes of requests sent before the circuit opened are ignored once it is no longer closed, only the probes
+     * of the current half open cycle decide whether it closes again.
+     *
+     * @param probeCycle the half open cycle the request was sent as a probe in, {@code 0} if it was not a probe
+     */
+    private void updateCircuit(int probeCycle, boolean sampled, boolean failed) {
+        if (probeCycle != 0) {
+            if (circuitState != CircuitState.HALF_OPEN || probeCycle != halfOpenCycle) {
+                return;
+            }
+            probesInFlight--;
+            if (!sampled) {
+                return;
+            }
+            if (failed) {
+                open();
+            } else if (++probesSucceeded >= Math.max(1, breakerConfig.getHalfOpenRequests())) {
+                close();
+            }
+            return;
+        }
+        if (!sampled || circuitState != CircuitState.CLOSED) {
+            return;
+        }
+        if (outcomesCount == outcomes.length) {
+            failures -= outcomes[outcomesIndex] ? 1 : 0;
+        } else {
+            outcomesCount++;
+        }
+        outcomes[outcomesIndex] = failed;
+        failures += failed ? 1 : 0;
+        outcomesIndex = (outcomesIndex + 1) % outcomes.length;
+        if (outcomesCount >= breakerConfig.getMinimumRequests()
+                && failures >= breakerConfig.getFailureRateThreshold() * outcomesCount) {
+            open();
+        }
+    }
+
+    private void open() {
+        circuitState = CircuitState.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+        circuitState = CircuitState.CLOSED;
+        outcomesCount = 0;
+        outcomesIndex = 0;
+        failures = 0;
+    }
+
+    private long remainingOpenNanos() {
+        if (circuitState != CircuitState.OPEN) {
+            return 0;
+        }
+        return openedAtNanos + TimeUnit.MILLISECONDS.toNanos(breakerConfig.getOpenDurationMillis()) - System.nanoTime();
+    }
+
+    static boolean isFailure(int statusCode) {
+        return statusCode >= 500 || statusCode == 429;
+    }
+
+    @Override
+    public String toString() {
+        return "HostHealth{host=" + host + ", concurrencyLimit=" + concurrencyLimit + ", circuitState=" + circuitState
+                + ", failureRate=" + getFailureRate() + "}";
+    }
+
+    /**
+     * The best latency of a route over the current and the previous window, so the baseline follows the route when
+     * it gets slower. Guarded by the host health lock.
+     */
+    private static class RouteBaseline {
+        private long windowMinRttNanos = Long.MAX_VALUE;
+        private long previousMinRttNanos = Long.MAX_VALUE;
+        private int windowSamples;
+
+        private void record(long rttNanos) {
+            windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+            if (++windowSamples >= BASELINE_WINDOW_SAMPLES) {
+                previousMinRttNanos = windowMinRttNanos;
+                windowMinRttNanos = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+        }
+
+        private long getRttNanos() {
+            return Math.min(previousMinRttNanos, windowMinRttNanos);
+        }
+    }
+
+    /**
+     * One request sent to the host, its outcome is reported once.
+     */
+    class Permit {
+        private final int probeCycle;
+        private final int inFlightAtStart;
+        private final RouteBaseline baseline;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(int probeCycle, int inFlightAtStart, RouteBaseline baseline) {
+            this.probeCycle = probeCycle;
+            this.inFlightAtStart = inFlightAtStart;
+            this.baseline = baseline;
+        }
+
+        /**
+         * Reports the response headers being received.
+         */
+        void onResponse(int statusCode) {
+            if (completed.compareAndSet(false, true)) {
+                complete(this, true, isFailure(statusCode));
+            }
+        }
+
+        /**
+         * Reports a network failure or a timeout.
+         */
+        void onFailure() {
+            if (completed.compareAndSet(false, true)) {
+                complete(this, true, true);
+            }
+        }
+
+        /**
+         * Gives the permit back without an outcome, when the request was cancelled or failed before being sent.
+         */
+        void release() {
+            if (completed.compareAndSet(false, true)) {
+                complete(this, false, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Notified when the concurrency limit or the circuit state of a host changes, listeners are called on the network
+ * thread completing the request that caused the change and should return quickly.
+ */
+public interface HostHealthListener {
+
+    default void onConcurrencyLimitChanged(HostHealth hostHealth, int previousLimit) {
+    }
+
+    default void onCircuitStateChanged(HostHealth hostHealth, CircuitState previousState) {
+    }
+}
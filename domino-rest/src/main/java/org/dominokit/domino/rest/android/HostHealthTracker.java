@@ -0,0 +1,114 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps the {@link HostHealth} of each host a sender sends requests to, the hosts are tracked only while the
+ * concurrency limit or the circuit breaker is enabled.
+ */
+class HostHealthTracker {
+
+    private static final Logger LOGGER = Logger.getLogger(HostHealthTracker.class.getCanonicalName());
+
+    private final Map<String, HostHealth> hosts = new ConcurrentHashMap<>();
+    private final List<HostHealthListener> listeners = new CopyOnWriteArrayList<>();
+    private final Runnable onLimitsChanged;
+    private volatile ConcurrencyLimitConfig limitConfig;
+    private volatile CircuitBreakerConfig breakerConfig;
+
+    /**
+     * @param onLimitsChanged called whenever the limit of a host changes, so queued requests can be dispatched
+     */
+    HostHealthTracker(Runnable onLimitsChanged) {
+        this.onLimitsChanged = onLimitsChanged;
+    }
+
+    boolean isEnabled() {
+        return nonNull(limitConfig) || nonNull(breakerConfig);
+    }
+
+    ConcurrencyLimitConfig getLimitConfig() {
+        return limitConfig;
+    }
+
+    CircuitBreakerConfig getBreakerConfig() {
+        return breakerConfig;
+    }
+
+    /**
+     * Applies the configurations, the hosts tracked so far are forgotten and start over from the initial limit and
+     * a closed circuit.
+     */
+    synchronized void configure(ConcurrencyLimitConfig limitConfig, CircuitBreakerConfig breakerConfig) {
+        this.limitConfig = limitConfig;
+        this.breakerConfig = breakerConfig;
+        hosts.clear();
+        onLimitsChanged.run();
+    }
+
+    HostHealth get(String host) {
+        return hosts.computeIfAbsent(host, key -> new HostHealth(key, this, limitConfig, breakerConfig));
+    }
+
+    HostHealth find(String host) {
+        return hosts.get(host);
+    }
+
+    Collection<HostHealth> getAll() {
+        return new ArrayList<>(hosts.values());
+    }
+
+    /**
+     * @return the number of requests the host can run at the same time, {@link Integer#MAX_VALUE} when the
+     * concurrency limit is not enabled
+     */
+    int limitOf(String host) {
+        ConcurrencyLimitConfig config = limitConfig;
+        if (isNull(config)) {
+            return Integer.MAX_VALUE;
+        }
+        HostHealth hostHealth = hosts.get(host);
+        return isNull(hostHealth) ? config.getInitialLimit() : hostHealth.getConcurrencyLimit();
+    }
+
+    void addListener(HostHealthListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(HostHealthListener listener) {
+        listeners.remove(listener);
+    }
+
+    void onConcurrencyLimitChanged(HostHealth hostHealth, int previousLimit) {
+        onLimitsChanged.run();
+        for (HostHealthListener listener : listeners) {
+            try {
+                listener.onConcurrencyLimitChanged(hostHealth, previousLimit);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Host health listener failed : ", e);
+            }
+        }
+    }
+
+    void onCircuitStateChanged(HostHealth hostHealth, CircuitState previousState) {
+        LOGGER.info("Circuit of host [" + hostHealth.getHost() + "] changed from " + previousState + " to "
+                + hostHealth.getCircuitState());
+        for (HostHealthListener listener : listeners) {
+            try {
+                listener.onCircuitStateChanged(hostHealth, previousState);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Host health listener failed : ", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.File;
+
+/**
+ * Configures the http responses cache, responses are kept in memory and, when a disk directory is set, on disk
+ * too, each tier evicts its least recently used entries once its bytes budget is exceeded.
+ */
+public class HttpCacheConfig {
+
+    private long memoryMaxBytes = 4 * 1024 * 1024;
+    private File diskDirectory;
+    private long diskMaxBytes = 20 * 1024 * 1024;
+    private long maxEntryBytes = 1024 * 1024;
+    private int revalidationWorkers = 2;
+    private boolean heuristicCaching = false;
+
+    public long getMemoryMaxBytes() {
+        return memoryMaxBytes;
+    }
+
+    public HttpCacheConfig setMemoryMaxBytes(long memoryMaxBytes) {
+        this.memoryMaxBytes = memoryMaxBytes;
+        return this;
+    }
+
+    public File getDiskDirectory() {
+        return diskDirectory;
+    }
+
+    /**
+     * @param diskDirectory a directory owned by the cache, for example a sub directory of {@code Context.getCacheDir()}
+     */
+    public HttpCacheConfig setDiskDirectory(File diskDirectory) {
+        this.diskDirectory = diskDirectory;
+        return this;
+    }
+
+    public long getDiskMaxBytes() {
+        return diskMaxBytes;
+    }
+
+    public HttpCacheConfig setDiskMaxBytes(long diskMaxBytes) {
+        this.diskMaxBytes = diskMaxBytes;
+        return this;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public HttpCacheConfig setMaxEntryBytes(long maxEntryBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        return this;
+    }
+
+    public int getRevalidationWorkers() {
+        return revalidationWorkers;
+    }
+
+    /**
+     * @param revalidationWorkers the number of background threads revalidating entries served under
+     *                            {@code stale-while-revalidate}, {@code 0} disables serving stale entries
+     */
+    public HttpCacheConfig setRevalidationWorkers(int revalidationWorkers) {
+        this.revalidationWorkers = revalidationWorkers;
+        return this;
+    }
+
+    public boolean isHeuristicCaching() {
+        return heuristicCaching;
+    }
+
+    /**
+     * Allows caching responses that have a {@code Last-Modified} header but no explicit freshness information.
+     */
+    public HttpCacheConfig setHeuristicCaching(boolean heuristicCaching) {
+        this.heuristicCaching = heuristicCaching;
+        return this;
+    }
+
+    HttpCacheConfig copy() {
+        HttpCacheConfig copy = new HttpCacheConfig();
+        copy.memoryMaxBytes = memoryMaxBytes;
+        copy.diskDirectory = diskDirectory;
+        copy.diskMaxBytes = diskMaxBytes;
+        copy.maxEntryBytes = maxEntryBytes;
+        copy.revalidationWorkers = revalidationWorkers;
+        copy.heuristicCaching = heuristicCaching;
+        return copy;
+    }
+}
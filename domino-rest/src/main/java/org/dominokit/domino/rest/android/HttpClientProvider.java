@@ -0,0 +1,246 @@
+package org.dominokit.domino.rest.android;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Collection;
+
+import cz.msebera.android.httpclient.pool.PoolStats;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Owns the {@link HttpTransport} shared by all the requests created through the same factory, the transport is
+ * created lazily on first use and is created again if it is used after {@link #shutdown()}.
+ */
+public class HttpClientProvider {
+
+    private ConnectionPoolConfig poolConfig;
+    private volatile TimeoutConfig timeoutConfig = new TimeoutConfig();
+    private HttpCacheConfig cacheConfig;
+    private TwoTierCacheStorage cacheStorage;
+    private final CacheStats cacheStats = new CacheStats();
+    private CompressionConfig compressionConfig = new CompressionConfig();
+    private final CompressionStats compressionStats = new CompressionStats();
+    private BufferPoolConfig bufferPoolConfig = new BufferPoolConfig();
+    private final BufferPoolStats bufferPoolStats = new BufferPoolStats();
+    private volatile BufferPool bufferPool = new BufferPool(bufferPoolConfig, bufferPoolStats);
+    private DnsCacheConfig dnsCacheConfig;
+    private final DnsCacheStats dnsCacheStats = new DnsCacheStats();
+    private DnsCache dnsCache;
+    private volatile WarmUpConfig warmUpConfig;
+    private final WarmUpStats warmUpStats = new WarmUpStats();
+    private final ConnectionWarmer connectionWarmer = new ConnectionWarmer(this, warmUpStats);
+    private TransportFactory transportFactory = Transports.httpClient();
+    private HttpTransport transport;
+
+    public HttpClientProvider(ConnectionPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+    }
+
+    public synchronized HttpTransport getTransport() {
+        if (isNull(transport)) {
+            transport = transportFactory.create(this);
+        }
+        return transport;
+    }
+
+    /**
+     * Replaces the engine sending the requests, the current transport if any is shutdown and a new one will be
+     * created by the factory on the next request.
+     *
+     * @see Transports
+     */
+    public synchronized void configureTransport(TransportFactory transportFactory) {
+        this.transportFactory = transportFactory;
+        shutdown();
+    }
+
+    public synchronized TransportFactory getTransportFactory() {
+        return transportFactory;
+    }
+
+    /**
+     * Applies a new pool configuration, the current transport if any is shutdown and a new one will be created with
+     * the new configuration on the next request.
+     */
+    public synchronized void configure(ConnectionPoolConfig poolConfig) {
+        this.poolConfig = poolConfig;
+        shutdown();
+    }
+
+    /**
+     * Enables caching responses with the specified configuration, or disables the cache when {@code null}, the
+     * current transport if any is shutdown and a new one will be created on the next request.
+     */
+    public synchronized void configureCache(HttpCacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+        this.cacheStorage = null;
+        shutdown();
+    }
+
+    public synchronized HttpCacheConfig getCacheConfig() {
+        return cacheConfig;
+    }
+
+    public boolean isCacheEnabled() {
+        return nonNull(cacheConfig);
+    }
+
+    public CacheStats getCacheStats() {
+        return cacheStats;
+    }
+
+    public synchronized void clearCache() {
+        if (nonNull(cacheStorage)) {
+            cacheStorage.clear();
+        }
+    }
+
+    /**
+     * Applies a new compression configuration, the current transport if any is shutdown and a new one will be created
+     * with the new configuration on the next request.
+     */
+    public synchronized void configureCompression(CompressionConfig compressionConfig) {
+        this.compressionConfig = compressionConfig;
+        shutdown();
+    }
+
+    public synchronized CompressionConfig getCompressionConfig() {
+        return compressionConfig;
+    }
+
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    /**
+     * Replaces the pool of the buffers used to read and write bodies, the current transport is kept.
+     */
+    public synchronized void configureBufferPool(BufferPoolConfig bufferPoolConfig) {
+        this.bufferPoolConfig = bufferPoolConfig;
+        BufferPool previous = bufferPool;
+        bufferPool = new BufferPool(bufferPoolConfig, bufferPoolStats);
+        previous.close();
+    }
+
+    public synchronized BufferPoolConfig getBufferPoolConfig() {
+        return bufferPoolConfig;
+    }
+
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public BufferPoolStats getBufferPoolStats() {
+        return bufferPoolStats;
+    }
+
+    /**
+     * Enables caching the resolved host addresses with the specified configuration, or resolves every connection
+     * through the system resolver when {@code null}, which is the default, the current transport if any is shutdown and a new one will be
+     * created on the next request.
+     */
+    public synchronized void configureDnsCache(DnsCacheConfig dnsCacheConfig) {
+        this.dnsCacheConfig = dnsCacheConfig;
+        this.dnsCache = isNull(dnsCacheConfig) ? null : new DnsCache(dnsCacheConfig, dnsCacheStats);
+        shutdown();
+    }
+
+    public synchronized DnsCacheConfig getDnsCacheConfig() {
+        return dnsCacheConfig;
+    }
+
+    public DnsCacheStats getDnsCacheStats() {
+        return dnsCacheStats;
+    }
+
+    /**
+     * Enables warming up connections with the specified configuration, or disables it when {@code null}, which is
+     * the default.
+     */
+    public void configureWarmUp(WarmUpConfig warmUpConfig) {
+        this.warmUpConfig = warmUpConfig;
+    }
+
+    public WarmUpConfig getWarmUpConfig() {
+        return warmUpConfig;
+    }
+
+    public WarmUpStats getWarmUpStats() {
+        return warmUpStats;
+    }
+
+    /**
+     * Resolves the hosts of the service roots and of the recently requested hosts and opens connections to them in
+     * the background, hosts warmed up within the minimum interval of the configuration are skipped, does nothing
+     * unless a warm up configuration is set.
+     *
+     * @see WarmUpConfig
+     */
+    public void warmUp(Collection<String> serviceRoots) {
+        WarmUpConfig config = warmUpConfig;
+        if (nonNull(config)) {
+            connectionWarmer.warmUp(serviceRoots, config);
+        }
+    }
+
+    public synchronized ConnectionPoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    public TimeoutConfig getTimeoutConfig() {
+        return timeoutConfig;
+    }
+
+    public void setTimeoutConfig(TimeoutConfig timeoutConfig) {
+        this.timeoutConfig = timeoutConfig;
+    }
+
+    public synchronized PoolStats getPoolStats() {
+        if (isNull(transport)) {
+            return new PoolStats(0, 0, 0, poolConfig.getMaxTotalConnections());
+        }
+        return transport.getPoolStats();
+    }
+
+    public synchronized void shutdown() {
+        if (nonNull(transport)) {
+            transport.close();
+            transport = null;
+        }
+        connectionWarmer.reset();
+    }
+
+    /**
+     * Called once the response headers of a request are received, to track the hosts to warm up and whether the
+     * first request after a warm up used a warmed connection.
+     */
+    void onRequestExecuted(URI uri, RequestMetrics metrics) {
+        WarmUpConfig config = warmUpConfig;
+        if (nonNull(config)) {
+            connectionWarmer.onRequestExecuted(uri, metrics, config);
+        }
+    }
+
+    synchronized DnsCache getDnsCache() {
+        return dnsCache;
+    }
+
+    InetAddress[] resolve(String host) throws UnknownHostException {
+        DnsCache cache = getDnsCache();
+        return isNull(cache) ? InetAddress.getAllByName(host) : cache.resolve(host);
+    }
+
+    /**
+     * The storage of the cached responses, kept when the transport is created again so the cached responses
+     * survive a pool or compression reconfiguration.
+     */
+    synchronized TwoTierCacheStorage getCacheStorage() {
+        if (isNull(cacheStorage)) {
+            cacheStorage = new TwoTierCacheStorage(cacheConfig);
+        }
+        return cacheStorage;
+    }
+}
@@ -0,0 +1,205 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import cz.msebera.android.httpclient.HttpClientConnection;
+import cz.msebera.android.httpclient.HttpHost;
+import cz.msebera.android.httpclient.HttpResponse;
+import cz.msebera.android.httpclient.HttpResponseInterceptor;
+import cz.msebera.android.httpclient.client.ClientProtocolException;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
+import cz.msebera.android.httpclient.client.protocol.HttpClientContext;
+import cz.msebera.android.httpclient.client.utils.URIUtils;
+import cz.msebera.android.httpclient.config.RegistryBuilder;
+import cz.msebera.android.httpclient.conn.ConnectionKeepAliveStrategy;
+import cz.msebera.android.httpclient.conn.routing.HttpRoute;
+import cz.msebera.android.httpclient.conn.socket.ConnectionSocketFactory;
+import cz.msebera.android.httpclient.conn.socket.PlainConnectionSocketFactory;
+import cz.msebera.android.httpclient.impl.client.CloseableHttpClient;
+import cz.msebera.android.httpclient.impl.client.DefaultConnectionKeepAliveStrategy;
+import cz.msebera.android.httpclient.impl.client.HttpClientBuilder;
+import cz.msebera.android.httpclient.impl.client.cache.CacheConfig;
+import cz.msebera.android.httpclient.impl.client.cache.CachingHttpClientBuilder;
+import cz.msebera.android.httpclient.impl.conn.DefaultSchemePortResolver;
+import cz.msebera.android.httpclient.impl.conn.PoolingHttpClientConnectionManager;
+import cz.msebera.android.httpclient.pool.PoolStats;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Sends the requests through one pooled {@link CloseableHttpClient}, each request in flight holds its own connection.
+ */
+class HttpClientTransport implements HttpTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpClientTransport.class.getCanonicalName());
+
+    private final HttpClientProvider provider;
+    private final ConnectionPoolConfig poolConfig;
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    HttpClientTransport(HttpClientProvider provider) {
+        this.provider = provider;
+        this.poolConfig = provider.getPoolConfig();
+        this.connectionManager = createConnectionManager();
+        HttpClientBuilder builder = createClientBuilder();
+        if (!provider.getCompressionConfig().isResponseCompression()) {
+            builder.disableContentCompression();
+        }
+        CompressionStats compressionStats = provider.getCompressionStats();
+        httpClient = builder
+                .addInterceptorFirst((HttpResponseInterceptor) (response, context) ->
+                        countBody(response, bytes -> {
+                            compressionStats.addResponseTransferredBytes(bytes);
+                            RequestMetrics metrics = RequestMetrics.of(context);
+                            if (nonNull(metrics)) {
+                                metrics.addResponseTransferredBytes(bytes);
+                            }
+                        }))
+                .addInterceptorLast((HttpResponseInterceptor) (response, context) ->
+                        countBody(response, bytes -> {
+                            compressionStats.addResponseBytes(bytes);
+                            RequestMetrics metrics = RequestMetrics.of(context);
+                            if (nonNull(metrics)) {
+                                metrics.addResponseBytes(bytes);
+                                metrics.mark(RequestMetrics.Event.BODY_READ_ENDED);
+                            }
+                        }))
+                .setRequestExecutor(new InstrumentedRequestExecutor())
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy())
+                .evictExpiredConnections()
+                .evictIdleConnections(poolConfig.getIdleConnectionTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Override
+    public Call newCall(HttpUriRequest request, HttpContext context) {
+        return new Call() {
+            @Override
+            public CloseableHttpResponse execute() throws IOException {
+                return httpClient.execute(request, context);
+            }
+
+            @Override
+            public void cancel() {
+                request.abort();
+            }
+        };
+    }
+
+    /**
+     * Leases the connections of the route the requests to the host use, connects the new ones and releases them all
+     * to the pool with the keep alive of the pool configuration.
+     */
+    @Override
+    public int preconnect(URI uri, int connections) throws IOException {
+        HttpHost host = URIUtils.extractHost(uri);
+        if (isNull(host)) {
+            throw new ClientProtocolException("Unsupported url [" + uri + "]");
+        }
+        HttpHost target = new HttpHost(host.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(host), host.getSchemeName());
+        HttpRoute route = new HttpRoute(target, null, "https".equalsIgnoreCase(target.getSchemeName()));
+        TimeoutConfig timeoutConfig = provider.getTimeoutConfig();
+        List<HttpClientConnection> leased = new ArrayList<>();
+        int opened = 0;
+        try {
+            for (int i = 0; i < connections; i++) {
+                HttpClientConnection connection = connectionManager.requestConnection(route, null)
+                        .get(timeoutConfig.getPoolAcquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+                leased.add(connection);
+                if (!connection.isOpen()) {
+                    HttpClientContext context = HttpClientContext.create();
+                    connectionManager.connect(connection, route, timeoutConfig.getConnectTimeoutMillis(), context);
+                    connectionManager.routeComplete(connection, route, context);
+                    opened++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            for (HttpClientConnection connection : leased) {
+                connectionManager.releaseConnection(connection, null, poolConfig.getKeepAliveMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return opened;
+    }
+
+    @Override
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to close http client : ", e);
+        }
+    }
+
+    private HttpClientBuilder createClientBuilder() {
+        HttpCacheConfig cacheConfig = provider.getCacheConfig();
+        if (isNull(cacheConfig)) {
+            return HttpClientBuilder.create();
+        }
+        return CachingHttpClientBuilder.create()
+                .setHttpCacheStorage(provider.getCacheStorage())
+                .setCacheConfig(CacheConfig.custom()
+                        .setSharedCache(false)
+                        .setMaxObjectSize(cacheConfig.getMaxEntryBytes())
+                        .setHeuristicCachingEnabled(cacheConfig.isHeuristicCaching())
+                        .setAsynchronousWorkersCore(0)
+                        .setAsynchronousWorkersMax(cacheConfig.getRevalidationWorkers())
+                        .build());
+    }
+
+    private PoolingHttpClientConnectionManager createConnectionManager() {
+        DnsCache dnsCache = provider.getDnsCache();
+        PoolingHttpClientConnectionManager manager = new InstrumentedConnectionManager(
+                RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                        .register("https", new InstrumentedSSLSocketFactory())
+                        .build(),
+                isNull(dnsCache) ? null : dnsCache::resolve,
+                poolConfig.getConnectionTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+        manager.setMaxTotal(poolConfig.getMaxTotalConnections());
+        manager.setDefaultMaxPerRoute(poolConfig.getMaxConnectionsPerRoute());
+        manager.setValidateAfterInactivity(poolConfig.getValidateAfterInactivityMillis());
+        return manager;
+    }
+
+    /**
+     * Response interceptors added first see the body as received, the ones added last see it after it was decoded,
+     * each interceptor must be of a distinct class as the client keeps only one interceptor per class.
+     */
+    private static void countBody(HttpResponse response, LongConsumer counter) {
+        if (nonNull(response.getEntity())) {
+            response.setEntity(new CountingHttpEntity(response.getEntity(), counter));
+        }
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long keepAliveMillis = poolConfig.getKeepAliveMillis();
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        };
+    }
+}
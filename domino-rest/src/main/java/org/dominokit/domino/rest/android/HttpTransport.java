@@ -0,0 +1,73 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+import java.net.URI;
+
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
+import cz.msebera.android.httpclient.pool.PoolStats;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+
+/**
+ * The engine executing the requests built by {@link AndroidRestfulRequest}, a transport is created by its
+ * {@link TransportFactory} on first use and closed when its {@link HttpClientProvider} is shutdown or reconfigured.
+ * <p>
+ * Requests and responses are exchanged as {@code HttpClient} messages whatever the engine, so bodies, compression,
+ * progress listeners and response readers work the same with all the transports.
+ *
+ * @see Transports
+ */
+public interface HttpTransport {
+
+    /**
+     * The context attribute holding the milliseconds left before the deadline of the request as an {@code Integer},
+     * only set when the request has a deadline.
+     */
+    String TIMEOUT_ATTRIBUTE = HttpTransport.class.getName() + ".timeout";
+
+    /**
+     * @param request the request to send, its {@code RequestConfig} holds the timeouts of the attempt
+     * @param context holds the {@link RequestMetrics} of the request and its {@link #TIMEOUT_ATTRIBUTE} if any, a
+     *                transport caching the responses sets the cache response status in it
+     */
+    Call newCall(HttpUriRequest request, HttpContext context);
+
+    /**
+     * Opens connections to the host of the url and parks them in the pool, so the next requests to the host do not
+     * wait for the TCP and TLS handshakes, called on a background thread.
+     *
+     * @param uri         the scheme, host and port to connect to
+     * @param connections the number of connections the host should have
+     * @return the number of connections opened, {@code 0} when the transport can not open connections ahead of
+     * the requests or the host already had enough idle connections
+     */
+    default int preconnect(URI uri, int connections) throws IOException {
+        return 0;
+    }
+
+    PoolStats getPoolStats();
+
+    /**
+     * Closes the connections, calls already executing may fail.
+     */
+    void close();
+
+    /**
+     * One execution of a request.
+     */
+    interface Call {
+
+        /**
+         * Sends the request and blocks until the response headers are received, the caller closes the response
+         * once its body is read.
+         *
+         * @throws java.net.SocketTimeoutException if a connect or read timeout or the deadline elapsed
+         */
+        CloseableHttpResponse execute() throws IOException;
+
+        /**
+         * Aborts the call from any thread, before or while it is executing.
+         */
+        void cancel();
+    }
+}
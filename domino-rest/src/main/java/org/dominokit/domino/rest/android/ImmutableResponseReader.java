@@ -0,0 +1,16 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ResponseReader;
+
+/**
+ * A response reader whose results are never modified, identical requests coalesced into one call share the result
+ * read by the first of them instead of each reading the response.
+ * <pre>
+ *     ImmutableResponseReader&lt;String&gt; reader = Response::getBodyAsString;
+ * </pre>
+ *
+ * @see RequestOptions#setCoalesce(Boolean)
+ */
+@FunctionalInterface
+public interface ImmutableResponseReader<T> extends ResponseReader<T> {
+}
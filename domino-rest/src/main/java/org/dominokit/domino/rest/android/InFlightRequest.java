@@ -0,0 +1,137 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.disposables.Disposable;
+
+import static java.util.Objects.nonNull;
+
+class InFlightRequest {
+
+    private final ServerRequest request;
+    private final String url;
+    private volatile RequestOptions options;
+    private final Object tag;
+    private final long deadlineNanos;
+    private final AtomicInteger retries = new AtomicInteger();
+    private final RequestMetrics metrics;
+    private Disposable disposable;
+    private boolean cancelled;
+    private volatile String streamMediaType;
+    private volatile boolean retryable = true;
+
+    InFlightRequest(ServerRequest request, String url, RequestOptions options, Object tag, int timeoutMillis) {
+        this.request = request;
+        this.url = url;
+        this.options = options;
+        this.tag = tag;
+        this.deadlineNanos = timeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+        this.metrics = new RequestMetrics(request, url);
+    }
+
+    ServerRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return the url the request is sent to, which differs from the request url when the request is bound to a
+     * client with its own service root
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return the options of the request, resolved once when the request is sent
+     */
+    RequestOptions getOptions() {
+        return options;
+    }
+
+    void setOptions(RequestOptions options) {
+        this.options = options;
+    }
+
+    Object getTag() {
+        return tag;
+    }
+
+    RequestMetrics getMetrics() {
+        return metrics;
+    }
+
+    int getRetries() {
+        return retries.get();
+    }
+
+    int incrementRetries() {
+        return retries.incrementAndGet();
+    }
+
+    boolean hasDeadline() {
+        return deadlineNanos != 0;
+    }
+
+    /**
+     * @return the milliseconds left before the request deadline, never negative, or {@link Long#MAX_VALUE} if the
+     * request has no deadline
+     */
+    long remainingMillis() {
+        if (!hasDeadline()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    boolean isExpired() {
+        return hasDeadline() && remainingMillis() == 0;
+    }
+
+    boolean isStreamed() {
+        return nonNull(streamMediaType);
+    }
+
+    /**
+     * @return the media type the body is streamed as, sent as the accept header unless the request has its own, or
+     * {@code null} if the body is read at once
+     */
+    String getStreamMediaType() {
+        return streamMediaType;
+    }
+
+    void setStreamMediaType(String streamMediaType) {
+        this.streamMediaType = streamMediaType;
+    }
+
+    boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * Called once part of the response was handed to the caller, sending the request again would deliver it twice.
+     */
+    void disableRetries() {
+        this.retryable = false;
+    }
+
+    synchronized void setDisposable(Disposable disposable) {
+        this.disposable = disposable;
+        if (cancelled) {
+            disposable.dispose();
+        }
+    }
+
+    synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    synchronized void cancel() {
+        cancelled = true;
+        if (nonNull(disposable)) {
+            disposable.dispose();
+        }
+    }
+}
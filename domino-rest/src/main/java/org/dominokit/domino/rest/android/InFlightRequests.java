@@ -0,0 +1,50 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+class InFlightRequests {
+
+    private final Set<InFlightRequest> requests = ConcurrentHashMap.newKeySet();
+
+    InFlightRequest register(ServerRequest request, String url, RequestOptions options, int timeoutMillis) {
+        InFlightRequest inFlightRequest = new InFlightRequest(request, url, options, options.getTag(), timeoutMillis);
+        requests.add(inFlightRequest);
+        return inFlightRequest;
+    }
+
+    void remove(InFlightRequest inFlightRequest) {
+        requests.remove(inFlightRequest);
+    }
+
+    void cancel(ServerRequest request) {
+        for (InFlightRequest inFlightRequest : requests) {
+            if (inFlightRequest.getRequest() == request) {
+                cancel(inFlightRequest);
+            }
+        }
+    }
+
+    void cancelAll(Object tag) {
+        for (InFlightRequest inFlightRequest : requests) {
+            if (tag.equals(inFlightRequest.getTag())) {
+                cancel(inFlightRequest);
+            }
+        }
+    }
+
+    void cancelAll() {
+        requests.forEach(this::cancel);
+    }
+
+    int size() {
+        return requests.size();
+    }
+
+    private void cancel(InFlightRequest inFlightRequest) {
+        requests.remove(inFlightRequest);
+        inFlightRequest.cancel();
+    }
+}
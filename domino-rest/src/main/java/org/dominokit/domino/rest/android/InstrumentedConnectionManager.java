@@ -0,0 +1,43 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.HttpClientConnection;
+import cz.msebera.android.httpclient.config.Registry;
+import cz.msebera.android.httpclient.conn.DnsResolver;
+import cz.msebera.android.httpclient.conn.routing.HttpRoute;
+import cz.msebera.android.httpclient.conn.socket.ConnectionSocketFactory;
+import cz.msebera.android.httpclient.impl.conn.PoolingHttpClientConnectionManager;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Marks the connect events of the request metrics, connect is called only when the leased connection is new.
+ */
+class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+
+    /**
+     * @param dnsResolver the resolver of the hosts, {@code null} for the system resolver
+     */
+    InstrumentedConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry, DnsResolver dnsResolver,
+                                  long timeToLive, TimeUnit timeUnit) {
+        super(socketFactoryRegistry, null, null, dnsResolver, timeToLive, timeUnit);
+    }
+
+    @Override
+    public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout, HttpContext context) throws IOException {
+        RequestMetrics metrics = RequestMetrics.of(context);
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.CONNECT_STARTED);
+        }
+        try {
+            super.connect(managedConn, route, connectTimeout, context);
+        } finally {
+            if (nonNull(metrics)) {
+                metrics.mark(RequestMetrics.Event.CONNECT_ENDED);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+
+import cz.msebera.android.httpclient.HttpClientConnection;
+import cz.msebera.android.httpclient.HttpException;
+import cz.msebera.android.httpclient.HttpRequest;
+import cz.msebera.android.httpclient.HttpResponse;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+import cz.msebera.android.httpclient.protocol.HttpRequestExecutor;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Marks the request write and the response headers events of the request metrics.
+ */
+class InstrumentedRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException, HttpException {
+        RequestMetrics metrics = RequestMetrics.of(context);
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.REQUEST_WRITE_STARTED);
+        }
+        HttpResponse response = super.doSendRequest(request, conn, context);
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.REQUEST_WRITE_ENDED);
+        }
+        return response;
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context) throws HttpException, IOException {
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        RequestMetrics metrics = RequestMetrics.of(context);
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.RESPONSE_HEADERS_RECEIVED);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,35 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.IOException;
+import java.net.Socket;
+
+import cz.msebera.android.httpclient.conn.ssl.SSLConnectionSocketFactory;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+import cz.msebera.android.httpclient.ssl.SSLContexts;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Marks the TLS handshake events of the request metrics, the handshake happens while the plain socket is layered.
+ */
+class InstrumentedSSLSocketFactory extends SSLConnectionSocketFactory {
+
+    InstrumentedSSLSocketFactory() {
+        super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+    }
+
+    @Override
+    public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+        RequestMetrics metrics = RequestMetrics.of(context);
+        if (nonNull(metrics)) {
+            metrics.mark(RequestMetrics.Event.TLS_STARTED);
+        }
+        try {
+            return super.createLayeredSocket(socket, target, port, context);
+        } finally {
+            if (nonNull(metrics)) {
+                metrics.mark(RequestMetrics.Event.TLS_ENDED);
+            }
+        }
+    }
+}
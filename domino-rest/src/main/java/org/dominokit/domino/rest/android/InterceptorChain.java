@@ -0,0 +1,272 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.api.shared.extension.ContextAggregator;
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+import org.dominokit.domino.rest.shared.request.ResponseInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * An immutable snapshot of the request and response interceptors, adding or removing an interceptor creates a new
+ * chain so a request in flight keeps using the chain it started with.
+ * <p>
+ * The interceptors are called in the order they were added, the asynchronous ones run concurrently and the request
+ * is sent once all of them completed, an asynchronous interceptor that does not complete within its timeout fails
+ * the request with a {@link RequestTimeoutException}. An interceptor throwing an exception fails the request with
+ * that exception.
+ */
+public class InterceptorChain {
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+    public static final InterceptorChain EMPTY = new InterceptorChain(new RequestInterceptor[0], new long[0],
+            new ResponseInterceptor[0], DEFAULT_TIMEOUT_MILLIS);
+
+    private final RequestInterceptor[] requestInterceptors;
+    private final long[] timeoutsMillis;
+    private final ResponseInterceptor[] responseInterceptors;
+    private final long defaultTimeoutMillis;
+    private final int asyncCount;
+
+    private InterceptorChain(RequestInterceptor[] requestInterceptors, long[] timeoutsMillis,
+                             ResponseInterceptor[] responseInterceptors, long defaultTimeoutMillis) {
+        this.requestInterceptors = requestInterceptors;
+        this.timeoutsMillis = timeoutsMillis;
+        this.responseInterceptors = responseInterceptors;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        int count = 0;
+        for (RequestInterceptor interceptor : requestInterceptors) {
+            if (!(interceptor instanceof SyncRequestInterceptor)) {
+                count++;
+            }
+        }
+        this.asyncCount = count;
+    }
+
+    /**
+     * @param timeoutMillis the time the interceptor has to complete, {@code 0} to use the default timeout of the
+     *                      chain and a negative value to wait without a limit, ignored for a
+     *                      {@link SyncRequestInterceptor}
+     */
+    public InterceptorChain withRequestInterceptor(RequestInterceptor interceptor, long timeoutMillis) {
+        int size = requestInterceptors.length;
+        RequestInterceptor[] interceptors = Arrays.copyOf(requestInterceptors, size + 1);
+        long[] timeouts = Arrays.copyOf(timeoutsMillis, size + 1);
+        interceptors[size] = interceptor;
+        timeouts[size] = timeoutMillis;
+        return new InterceptorChain(interceptors, timeouts, responseInterceptors, defaultTimeoutMillis);
+    }
+
+    public InterceptorChain withoutRequestInterceptor(RequestInterceptor interceptor) {
+        List<RequestInterceptor> interceptors = new ArrayList<>();
+        List<Long> timeouts = new ArrayList<>();
+        for (int i = 0; i < requestInterceptors.length; i++) {
+            if (!requestInterceptors[i].equals(interceptor)) {
+                interceptors.add(requestInterceptors[i]);
+                timeouts.add(timeoutsMillis[i]);
+            }
+        }
+        if (interceptors.size() == requestInterceptors.length) {
+            return this;
+        }
+        return new InterceptorChain(interceptors.toArray(new RequestInterceptor[0]),
+                timeouts.stream().mapToLong(Long::longValue).toArray(), responseInterceptors, defaultTimeoutMillis);
+    }
+
+    public InterceptorChain withResponseInterceptor(ResponseInterceptor interceptor) {
+        ResponseInterceptor[] interceptors = Arrays.copyOf(responseInterceptors, responseInterceptors.length + 1);
+        interceptors[responseInterceptors.length] = interceptor;
+        return new InterceptorChain(requestInterceptors, timeoutsMillis, interceptors, defaultTimeoutMillis);
+    }
+
+    public InterceptorChain withoutResponseInterceptor(ResponseInterceptor interceptor) {
+        ResponseInterceptor[] interceptors = Arrays.stream(responseInterceptors)
+                .filter(responseInterceptor -> !responseInterceptor.equals(interceptor))
+                .toArray(ResponseInterceptor[]::new);
+        if (interceptors.length == responseInterceptors.length) {
+            return this;
+        }
+        return new InterceptorChain(requestInterceptors, timeoutsMillis, interceptors, defaultTimeoutMillis);
+    }
+
+    /**
+     * Sets the timeout of the asynchronous interceptors added without a timeout of their own.
+     */
+    public InterceptorChain withDefaultTimeout(long defaultTimeoutMillis) {
+        return new InterceptorChain(requestInterceptors, timeoutsMillis, responseInterceptors, defaultTimeoutMillis);
+    }
+
+    public long getDefaultTimeoutMillis() {
+        return defaultTimeoutMillis;
+    }
+
+    public List<RequestInterceptor> getRequestInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(requestInterceptors));
+    }
+
+    public List<ResponseInterceptor> getResponseInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(responseInterceptors));
+    }
+
+    /**
+     * @return true when all the request interceptors are {@link SyncRequestInterceptor}s, in which case the request
+     * can be intercepted with {@link #interceptSynchronously(ServerRequest)}
+     */
+    boolean isSynchronous() {
+        return asyncCount == 0;
+    }
+
+    void interceptSynchronously(ServerRequest request) {
+        for (RequestInterceptor interceptor : requestInterceptors) {
+            ((SyncRequestInterceptor) interceptor).intercept(request);
+        }
+    }
+
+    /**
+     * Calls all the request interceptors, the listener is called once, from the thread completing the last
+     * interceptor or from a computation thread when an interceptor times out.
+     */
+    void intercept(ServerRequest request, Listener listener) {
+        Interception interception = new Interception(listener, asyncCount + 1);
+        for (int i = 0; i < requestInterceptors.length; i++) {
+            RequestInterceptor interceptor = requestInterceptors[i];
+            try {
+                if (interceptor instanceof SyncRequestInterceptor) {
+                    ((SyncRequestInterceptor) interceptor).intercept(request);
+                } else {
+                    interceptor.interceptRequest(request, new InterceptorWait(interception, interceptor, timeoutOf(i)));
+                }
+            } catch (RuntimeException e) {
+                interception.fail(e);
+                return;
+            }
+        }
+        interception.countDown();
+    }
+
+    void interceptOnSuccess(ServerRequest request, Response response) {
+        for (ResponseInterceptor interceptor : responseInterceptors) {
+            interceptor.interceptOnSuccess(request, response);
+        }
+    }
+
+    void interceptOnFailed(ServerRequest request, FailedResponseBean failedResponse) {
+        for (ResponseInterceptor interceptor : responseInterceptors) {
+            interceptor.interceptOnFailed(request, failedResponse);
+        }
+    }
+
+    private long timeoutOf(int index) {
+        return timeoutsMillis[index] == 0 ? defaultTimeoutMillis : timeoutsMillis[index];
+    }
+
+    /**
+     * Fails the request waiting on the context instead of completing it, the request is not sent and its failure
+     * callback receives the failure. A context that was not created by an interceptor chain is completed.
+     */
+    public static void fail(ContextAggregator.ContextWait<ServerRequest> contextWait, ServerRequest request,
+                            Throwable failure) {
+        if (contextWait instanceof InterceptorWait) {
+            ((InterceptorWait) contextWait).fail(failure);
+        } else {
+            contextWait.complete(request);
+        }
+    }
+
+    interface Listener {
+        void onReady();
+
+        /**
+         * @param failure the failure of an interceptor, a {@link RequestTimeoutException} when it did not complete
+         *                in time
+         */
+        void onFailed(Throwable failure);
+    }
+
+    private static class Interception {
+        private final Listener listener;
+        private final AtomicInteger pending;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Interception(Listener listener, int pending) {
+            this.listener = listener;
+            this.pending = new AtomicInteger(pending);
+        }
+
+        private void countDown() {
+            if (pending.decrementAndGet() == 0 && done.compareAndSet(false, true)) {
+                listener.onReady();
+            }
+        }
+
+        private void timeout(RequestInterceptor interceptor, long timeoutMillis) {
+            if (done.compareAndSet(false, true)) {
+                RequestTimeoutException timeoutException = new RequestTimeoutException();
+                timeoutException.initCause(new TimeoutException("Request interceptor [" + interceptor
+                        + "] did not complete within " + timeoutMillis + "ms"));
+                listener.onFailed(timeoutException);
+            }
+        }
+
+        private void fail(Throwable failure) {
+            if (done.compareAndSet(false, true)) {
+                listener.onFailed(failure);
+            }
+        }
+    }
+
+    private static class InterceptorWait extends ContextAggregator.ContextWait<ServerRequest> {
+        private final Interception interception;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final Disposable timer;
+        private ServerRequest result;
+
+        private InterceptorWait(Interception interception, RequestInterceptor interceptor, long timeoutMillis) {
+            this.interception = interception;
+            this.timer = timeoutMillis > 0
+                    ? Schedulers.computation().scheduleDirect(() -> interception.timeout(interceptor, timeoutMillis),
+                    timeoutMillis, TimeUnit.MILLISECONDS)
+                    : null;
+        }
+
+        @Override
+        public void complete(ServerRequest result) {
+            if (completed.compareAndSet(false, true)) {
+                this.result = result;
+                if (nonNull(timer)) {
+                    timer.dispose();
+                }
+                interception.countDown();
+            }
+        }
+
+        private void fail(Throwable failure) {
+            if (completed.compareAndSet(false, true)) {
+                if (nonNull(timer)) {
+                    timer.dispose();
+                }
+                interception.fail(failure);
+            }
+        }
+
+        @Override
+        public ServerRequest get() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Packs the requests in a JSON document, the batch endpoint is expected to answer with the responses of the
+ * requests, in any order
+ * <pre>
+ *     request  : {"requests": [{"id": "1", "method": "GET", "url": "https://...", "headers": {...}, "body": "..."}]}
+ *     response : {"responses": [{"id": "1", "status": 200, "statusText": "OK", "headers": {...}, "body": "..."}]}
+ * </pre>
+ * The bodies are embedded as strings, {@code headers}, {@code body} and {@code statusText} are optional.
+ */
+public class JsonBatchFormat implements BatchFormat {
+
+    @Override
+    public String getContentType() {
+        return "application/json; charset=UTF-8";
+    }
+
+    @Override
+    public String write(List<BatchedRequest> requests) {
+        try {
+            JSONArray items = new JSONArray();
+            for (BatchedRequest request : requests) {
+                JSONObject item = new JSONObject()
+                        .put("id", request.getId())
+                        .put("method", request.getMethod())
+                        .put("url", request.getUrl());
+                if (nonNull(request.getHeaders()) && !request.getHeaders().isEmpty()) {
+                    item.put("headers", new JSONObject(request.getHeaders()));
+                }
+                if (nonNull(request.getBody())) {
+                    item.put("body", request.getBody());
+                }
+                items.put(item);
+            }
+            return new JSONObject().put("requests", items).toString();
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Failed to write batch request", e);
+        }
+    }
+
+    @Override
+    public List<BatchedResponse> read(Response batchResponse) {
+        try {
+            JSONArray items = new JSONObject(batchResponse.getBodyAsString()).getJSONArray("responses");
+            List<BatchedResponse> responses = new ArrayList<>(items.length());
+            for (int i = 0; i < items.length(); i++) {
+                JSONObject item = items.getJSONObject(i);
+                responses.add(new BatchedResponse(item.getString("id"), item.getInt("status"),
+                        item.optString("statusText", ""), headers(item.optJSONObject("headers")),
+                        item.has("body") && !item.isNull("body") ? item.getString("body") : null));
+            }
+            return responses;
+        } catch (JSONException e) {
+            throw new IllegalStateException("Failed to read batch response", e);
+        }
+    }
+
+    private static Map<String, String> headers(JSONObject json) throws JSONException {
+        Map<String, String> headers = new HashMap<>();
+        if (nonNull(json)) {
+            Iterator<String> names = json.keys();
+            while (names.hasNext()) {
+                String name = names.next();
+                headers.put(name, json.getString(name));
+            }
+        }
+        return headers;
+    }
+}
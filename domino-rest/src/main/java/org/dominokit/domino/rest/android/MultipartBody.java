@@ -0,0 +1,50 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.entity.mime.MultipartEntityBuilder;
+
+/**
+ * Builds a {@code multipart/form-data} request body, file and stream parts are streamed to the connection when
+ * the request is sent.
+ */
+public class MultipartBody {
+
+    private final MultipartEntityBuilder builder = MultipartEntityBuilder.create()
+            .setCharset(StandardCharsets.UTF_8);
+
+    MultipartBody() {
+    }
+
+    public MultipartBody addText(String name, String value) {
+        builder.addTextBody(name, value, ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    public MultipartBody addJson(String name, String json) {
+        builder.addTextBody(name, json, ContentType.APPLICATION_JSON);
+        return this;
+    }
+
+    public MultipartBody addFile(String name, File file, String contentType) {
+        builder.addBinaryBody(name, file, ContentType.parse(contentType), file.getName());
+        return this;
+    }
+
+    public MultipartBody addStream(String name, InputStream inputStream, String contentType, String fileName) {
+        builder.addBinaryBody(name, inputStream, ContentType.parse(contentType), fileName);
+        return this;
+    }
+
+    public MultipartBody addBytes(String name, byte[] bytes, String contentType, String fileName) {
+        builder.addBinaryBody(name, bytes, ContentType.parse(contentType), fileName);
+        return this;
+    }
+
+    public RequestBody build() {
+        return new RequestBody(builder.build());
+    }
+}
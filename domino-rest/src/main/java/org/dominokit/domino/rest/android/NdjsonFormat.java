@@ -0,0 +1,40 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.BufferedReader;
+import java.util.function.Function;
+
+/**
+ * Newline delimited JSON, each non blank line of the body is one element.
+ * <pre>
+ *     RxRequests.stream(request, new NdjsonFormat<>(Item_MapperImpl.INSTANCE::read))
+ * </pre>
+ */
+public class NdjsonFormat<T> implements StreamFormat<T> {
+
+    private final Function<String, T> parser;
+
+    /**
+     * @param parser parses one line of JSON into an element
+     */
+    public NdjsonFormat(Function<String, T> parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public String getMediaType() {
+        return "application/x-ndjson";
+    }
+
+    @Override
+    public ElementReader<T> open(BufferedReader body) {
+        return () -> {
+            String line;
+            while ((line = body.readLine()) != null) {
+                if (!line.trim().isEmpty()) {
+                    return parser.apply(line);
+                }
+            }
+            return null;
+        };
+    }
+}
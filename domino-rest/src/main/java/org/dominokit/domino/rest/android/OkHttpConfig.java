@@ -0,0 +1,67 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * The configuration of the OkHttp transport, the pool, timeout, cache and compression configurations are shared
+ * with the default transport.
+ * <pre>
+ *     // h2c against a local server
+ *     DominoRestConfig.getInstance().setTransport(Transports.okHttp(new OkHttpConfig().setPriorKnowledge(true)));
+ * </pre>
+ * Requests to a host supporting HTTP/2 share one connection, each request is a stream of that connection with its
+ * headers compressed using HPACK, and cancelling a request resets its stream only. The number of requests running
+ * at the same time to a host is still limited by {@link DispatcherConfig#setMaxConcurrentRequestsPerHost(int)},
+ * which can be raised as these requests no longer need a connection each.
+ */
+public class OkHttpConfig {
+
+    private boolean http2 = true;
+    private boolean priorKnowledge;
+    private long pingIntervalMillis;
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Negotiates HTTP/2 during the TLS handshake with the servers supporting it, when disabled all the requests use
+     * HTTP/1.1.
+     */
+    public OkHttpConfig setHttp2(boolean http2) {
+        this.http2 = http2;
+        return this;
+    }
+
+    public boolean isPriorKnowledge() {
+        return priorKnowledge;
+    }
+
+    /**
+     * Sends all the requests using HTTP/2 over cleartext connections without negotiation (h2c), for servers known
+     * to support it such as a local test server, {@code https} urls can not be used with this option.
+     */
+    public OkHttpConfig setPriorKnowledge(boolean priorKnowledge) {
+        this.priorKnowledge = priorKnowledge;
+        return this;
+    }
+
+    public long getPingIntervalMillis() {
+        return pingIntervalMillis;
+    }
+
+    /**
+     * The interval of the pings sent on HTTP/2 connections to detect a broken connection before the requests
+     * sharing it time out, {@code 0} disables the pings which keeps the radio idle between requests.
+     */
+    public OkHttpConfig setPingIntervalMillis(long pingIntervalMillis) {
+        this.pingIntervalMillis = pingIntervalMillis;
+        return this;
+    }
+
+    OkHttpConfig copy() {
+        OkHttpConfig copy = new OkHttpConfig();
+        copy.http2 = http2;
+        copy.priorKnowledge = priorKnowledge;
+        copy.pingIntervalMillis = pingIntervalMillis;
+        return copy;
+    }
+}
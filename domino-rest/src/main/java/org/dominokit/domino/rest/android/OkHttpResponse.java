@@ -0,0 +1,80 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.function.LongConsumer;
+
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.ProtocolVersion;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.entity.BasicHttpEntity;
+import cz.msebera.android.httpclient.impl.EnglishReasonPhraseCatalog;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+import okhttp3.Headers;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * An OkHttp response exposed as a {@code HttpClient} response, the body is streamed from the OkHttp response and
+ * closing this response releases its stream or connection.
+ */
+class OkHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+    private static final ProtocolVersion HTTP_2 = new HttpVersion(2, 0);
+
+    private final Response response;
+
+    /**
+     * @param bodyCounter notified with the number of bytes read once the body is fully read or closed
+     */
+    OkHttpResponse(Response response, String method, LongConsumer bodyCounter) {
+        super(protocolVersion(response.protocol()), response.code(), reasonPhrase(response));
+        this.response = response;
+        Headers headers = response.headers();
+        for (int i = 0; i < headers.size(); i++) {
+            addHeader(headers.name(i), headers.value(i));
+        }
+        ResponseBody body = response.body();
+        if (nonNull(body) && hasBody(method, response.code())) {
+            BasicHttpEntity entity = new BasicHttpEntity();
+            entity.setContent(body.byteStream());
+            entity.setContentLength(body.contentLength());
+            entity.setContentType(response.header("Content-Type"));
+            entity.setContentEncoding(response.header("Content-Encoding"));
+            setEntity(new CountingHttpEntity(entity, bodyCounter));
+        }
+    }
+
+    private static ProtocolVersion protocolVersion(Protocol protocol) {
+        switch (protocol) {
+            case HTTP_1_0:
+                return HttpVersion.HTTP_1_0;
+            case HTTP_2:
+            case H2_PRIOR_KNOWLEDGE:
+                return HTTP_2;
+            default:
+                return HttpVersion.HTTP_1_1;
+        }
+    }
+
+    /**
+     * HTTP/2 responses have no reason phrase.
+     */
+    private static String reasonPhrase(Response response) {
+        String message = response.message();
+        return message.isEmpty() ? EnglishReasonPhraseCatalog.INSTANCE.getReason(response.code(), null) : message;
+    }
+
+    /**
+     * Same as {@code HttpClient}, responses without a body have no entity.
+     */
+    private static boolean hasBody(String method, int statusCode) {
+        return !"HEAD".equalsIgnoreCase(method) && statusCode >= 200 && statusCode != 204 && statusCode != 304;
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
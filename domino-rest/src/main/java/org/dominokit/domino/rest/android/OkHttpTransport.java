@@ -0,0 +1,460 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import cz.msebera.android.httpclient.Header;
+import cz.msebera.android.httpclient.HttpEntity;
+import cz.msebera.android.httpclient.HttpEntityEnclosingRequest;
+import cz.msebera.android.httpclient.client.ClientProtocolException;
+import cz.msebera.android.httpclient.client.cache.CacheResponseStatus;
+import cz.msebera.android.httpclient.client.cache.HttpCacheContext;
+import cz.msebera.android.httpclient.client.config.RequestConfig;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.client.methods.Configurable;
+import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
+import cz.msebera.android.httpclient.pool.PoolStats;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Sends the requests through one {@link OkHttpClient}, requests to the same HTTP/2 host are multiplexed over one
+ * connection. The timeouts of each request are applied to its call, the deadline of the request as the call timeout.
+ * <p>
+ * Only the disk tier of the responses cache is used with this transport, it is stored in its own sub directory of
+ * the cache directory.
+ */
+class OkHttpTransport implements HttpTransport {
+
+    private static final Logger LOGGER = Logger.getLogger(OkHttpTransport.class.getCanonicalName());
+    private static final RequestBody EMPTY_BODY = RequestBody.create(null, new byte[0]);
+    private static final List<String> BODY_METHODS = Arrays.asList("POST", "PUT", "PATCH");
+
+    private final ConnectionPoolConfig poolConfig;
+    private final CompressionConfig compressionConfig;
+    private final CompressionStats compressionStats;
+    private final OkHttpClient client;
+
+    OkHttpTransport(HttpClientProvider provider, OkHttpConfig config) {
+        this.poolConfig = provider.getPoolConfig();
+        this.compressionConfig = provider.getCompressionConfig();
+        this.compressionStats = provider.getCompressionStats();
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(poolConfig.getMaxTotalConnections(),
+                        Math.min(poolConfig.getKeepAliveMillis(), poolConfig.getIdleConnectionTimeoutMillis()),
+                        TimeUnit.MILLISECONDS))
+                .protocols(protocols(config))
+                .pingInterval(config.getPingIntervalMillis(), TimeUnit.MILLISECONDS)
+                .eventListenerFactory(call -> {
+                    EventListener listener = call.request().tag(EventListener.class);
+                    if (nonNull(listener)) {
+                        return listener;
+                    }
+                    RequestMetrics metrics = call.request().tag(RequestMetrics.class);
+                    return isNull(metrics) ? EventListener.NONE : new MetricsEventListener(metrics);
+                })
+                .addInterceptor(OkHttpTransport::applyTimeouts)
+                .addNetworkInterceptor(this::countTransferredBytes);
+        DnsCache dnsCache = provider.getDnsCache();
+        if (nonNull(dnsCache)) {
+            builder.dns(hostname -> Arrays.asList(dnsCache.resolve(hostname)));
+        }
+        HttpCacheConfig cacheConfig = provider.getCacheConfig();
+        if (nonNull(cacheConfig) && nonNull(cacheConfig.getDiskDirectory())) {
+            builder.cache(new Cache(new File(cacheConfig.getDiskDirectory(), "okhttp"), cacheConfig.getDiskMaxBytes()));
+        }
+        this.client = builder.build();
+    }
+
+    private static List<Protocol> protocols(OkHttpConfig config) {
+        if (config.isPriorKnowledge()) {
+            return Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE);
+        }
+        return config.isHttp2() ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) : Collections.singletonList(Protocol.HTTP_1_1);
+    }
+
+    @Override
+    public Call newCall(HttpUriRequest request, HttpContext context) {
+        HttpUrl url = HttpUrl.parse(request.getURI().toString());
+        if (isNull(url)) {
+            return new Call() {
+                @Override
+                public CloseableHttpResponse execute() throws IOException {
+                    throw new ClientProtocolException("Unsupported url [" + request.getURI() + "]");
+                }
+
+                @Override
+                public void cancel() {
+                }
+            };
+        }
+        RequestMetrics metrics = RequestMetrics.of(context);
+        okhttp3.Call call = client.newCall(toOkHttpRequest(request, url, metrics));
+        Object timeout = context.getAttribute(TIMEOUT_ATTRIBUTE);
+        long timeoutMillis = timeout instanceof Integer ? (Integer) timeout : 0;
+        if (timeoutMillis > 0) {
+            call.timeout().timeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return new Call() {
+            @Override
+            public CloseableHttpResponse execute() throws IOException {
+                Response response = executeWithin(call, timeoutMillis);
+                if (nonNull(client.cache())) {
+                    context.setAttribute(HttpCacheContext.CACHE_RESPONSE_STATUS, cacheStatus(response));
+                }
+                return new OkHttpResponse(response, request.getMethod(), bytes -> {
+                    compressionStats.addResponseBytes(bytes);
+                    if (nonNull(metrics)) {
+                        metrics.addResponseBytes(bytes);
+                        metrics.mark(RequestMetrics.Event.BODY_READ_ENDED);
+                    }
+                });
+            }
+
+            @Override
+            public void cancel() {
+                call.cancel();
+            }
+        };
+    }
+
+    /**
+     * Sends a {@code HEAD} request to the root of the host, the connection it opened stays in the pool once the
+     * response is closed whatever its status.
+     */
+    @Override
+    public int preconnect(URI uri, int connections) throws IOException {
+        HttpUrl url = HttpUrl.parse(uri.toString());
+        if (isNull(url)) {
+            throw new ClientProtocolException("Unsupported url [" + uri + "]");
+        }
+        AtomicInteger opened = new AtomicInteger();
+        Request request = new Request.Builder()
+                .url(url)
+                .head()
+                .tag(EventListener.class, new EventListener() {
+                    @Override
+                    public void connectEnd(okhttp3.Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+                        opened.incrementAndGet();
+                    }
+                })
+                .build();
+        client.newCall(request).execute().close();
+        return opened.get();
+    }
+
+    /**
+     * OkHttp fails a call whose call timeout elapsed with a plain {@link InterruptedIOException}, it is reported as
+     * a {@link SocketTimeoutException} like the other timeouts.
+     */
+    private static Response executeWithin(okhttp3.Call call, long timeoutMillis) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return call.execute();
+        } catch (InterruptedIOException e) {
+            if (e instanceof SocketTimeoutException || timeoutMillis <= 0
+                    || TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < timeoutMillis) {
+                throw e;
+            }
+            SocketTimeoutException timeoutException = new SocketTimeoutException("Request deadline exceeded");
+            timeoutException.initCause(e);
+            throw timeoutException;
+        }
+    }
+
+    /**
+     * Sets the connect, read and write timeouts of the call from the {@link CallTimeouts} tag of the request.
+     */
+    private static Response applyTimeouts(Interceptor.Chain chain) throws IOException {
+        CallTimeouts timeouts = chain.request().tag(CallTimeouts.class);
+        if (isNull(timeouts)) {
+            return chain.proceed(chain.request());
+        }
+        Interceptor.Chain limited = chain;
+        if (timeouts.connectMillis >= 0) {
+            limited = limited.withConnectTimeout(timeouts.connectMillis, TimeUnit.MILLISECONDS);
+        }
+        if (timeouts.readMillis >= 0) {
+            limited = limited.withReadTimeout(timeouts.readMillis, TimeUnit.MILLISECONDS)
+                    .withWriteTimeout(timeouts.readMillis, TimeUnit.MILLISECONDS);
+        }
+        return limited.proceed(chain.request());
+    }
+
+    private Request toOkHttpRequest(HttpUriRequest request, HttpUrl url, RequestMetrics metrics) {
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .tag(RequestMetrics.class, metrics);
+        RequestConfig requestConfig = request instanceof Configurable ? ((Configurable) request).getConfig() : null;
+        if (nonNull(requestConfig)) {
+            builder.tag(CallTimeouts.class, new CallTimeouts(requestConfig.getConnectTimeout(), requestConfig.getSocketTimeout()));
+        }
+        for (Header header : request.getAllHeaders()) {
+            builder.addHeader(header.getName(), header.getValue());
+        }
+        if (!compressionConfig.isResponseCompression() && isNull(request.getFirstHeader("Accept-Encoding"))) {
+            builder.header("Accept-Encoding", "identity");
+        }
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        RequestBody body = null;
+        if (nonNull(entity)) {
+            if (nonNull(entity.getContentEncoding())) {
+                builder.header("Content-Encoding", entity.getContentEncoding().getValue());
+            }
+            body = new EntityRequestBody(entity, request.getFirstHeader("Content-Type"));
+        } else if (BODY_METHODS.contains(request.getMethod().toUpperCase())) {
+            body = EMPTY_BODY;
+        }
+        return builder.method(request.getMethod(), body).build();
+    }
+
+    private static CacheResponseStatus cacheStatus(Response response) {
+        Response networkResponse = response.networkResponse();
+        if (isNull(networkResponse)) {
+            return isNull(response.cacheResponse()) ? CacheResponseStatus.CACHE_MODULE_RESPONSE : CacheResponseStatus.CACHE_HIT;
+        }
+        return nonNull(response.cacheResponse()) ? CacheResponseStatus.VALIDATED : CacheResponseStatus.CACHE_MISS;
+    }
+
+    /**
+     * Network interceptors see the body as received, before OkHttp decompresses it.
+     */
+    private Response countTransferredBytes(Interceptor.Chain chain) throws IOException {
+        Response response = chain.proceed(chain.request());
+        ResponseBody body = response.body();
+        if (isNull(body)) {
+            return response;
+        }
+        RequestMetrics metrics = chain.request().tag(RequestMetrics.class);
+        Source counting = new CountingSource(body.source(), bytes -> {
+            compressionStats.addResponseTransferredBytes(bytes);
+            if (nonNull(metrics)) {
+                metrics.addResponseTransferredBytes(bytes);
+            }
+        });
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(counting)))
+                .build();
+    }
+
+    /**
+     * Counts the connections shared by multiplexed requests once.
+     */
+    @Override
+    public PoolStats getPoolStats() {
+        ConnectionPool connectionPool = client.connectionPool();
+        int idle = connectionPool.idleConnectionCount();
+        return new PoolStats(connectionPool.connectionCount() - idle, 0, idle, poolConfig.getMaxTotalConnections());
+    }
+
+    @Override
+    public void close() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+        Cache cache = client.cache();
+        if (nonNull(cache)) {
+            try {
+                cache.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to close the responses cache : ", e);
+            }
+        }
+    }
+
+    /**
+     * Writes the entity of the request, bodies that can not be written twice are marked as one shot so OkHttp does
+     * not retry them. A content type header set on the request wins over the one of the entity, as with the
+     * {@code HttpClient} transport.
+     */
+    private static class EntityRequestBody extends RequestBody {
+
+        private final HttpEntity entity;
+        private final Header requestContentType;
+
+        /**
+         * @param requestContentType the content type header of the request, can be {@code null}
+         */
+        private EntityRequestBody(HttpEntity entity, Header requestContentType) {
+            this.entity = entity;
+            this.requestContentType = requestContentType;
+        }
+
+        @Override
+        public MediaType contentType() {
+            Header contentType = nonNull(requestContentType) ? requestContentType : entity.getContentType();
+            return isNull(contentType) ? null : MediaType.parse(contentType.getValue());
+        }
+
+        @Override
+        public long contentLength() {
+            return entity.getContentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return !entity.isRepeatable();
+        }
+
+        /**
+         * Entities such as the gzip compressing one close the stream they are written to, OkHttp closes the sink
+         * itself once the body is written.
+         */
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            entity.writeTo(new FilterOutputStream(sink.outputStream()) {
+                @Override
+                public void write(byte[] buffer, int offset, int length) throws IOException {
+                    out.write(buffer, offset, length);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            });
+        }
+    }
+
+    /**
+     * The timeouts of one request in milliseconds, a negative value keeps the timeout of the client.
+     */
+    private static class CallTimeouts {
+
+        private final int connectMillis;
+        private final int readMillis;
+
+        private CallTimeouts(int connectMillis, int readMillis) {
+            this.connectMillis = connectMillis;
+            this.readMillis = readMillis;
+        }
+    }
+
+    private static class CountingSource extends ForwardingSource {
+
+        private final LongConsumer counter;
+        private long bytes;
+        private boolean reported;
+
+        private CountingSource(Source delegate, LongConsumer counter) {
+            super(delegate);
+            this.counter = counter;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+            if (read < 0) {
+                report();
+            } else {
+                bytes += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            report();
+            super.close();
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                counter.accept(bytes);
+            }
+        }
+    }
+
+    /**
+     * Marks the connect, TLS handshake, request write and response headers events of the request metrics.
+     */
+    private static class MetricsEventListener extends EventListener {
+
+        private final RequestMetrics metrics;
+
+        private MetricsEventListener(RequestMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void connectStart(okhttp3.Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            metrics.mark(RequestMetrics.Event.CONNECT_STARTED);
+        }
+
+        @Override
+        public void secureConnectStart(okhttp3.Call call) {
+            metrics.mark(RequestMetrics.Event.TLS_STARTED);
+        }
+
+        @Override
+        public void secureConnectEnd(okhttp3.Call call, Handshake handshake) {
+            metrics.mark(RequestMetrics.Event.TLS_ENDED);
+        }
+
+        @Override
+        public void connectEnd(okhttp3.Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            metrics.mark(RequestMetrics.Event.CONNECT_ENDED);
+        }
+
+        @Override
+        public void connectFailed(okhttp3.Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+            metrics.mark(RequestMetrics.Event.CONNECT_ENDED);
+        }
+
+        @Override
+        public void requestHeadersStart(okhttp3.Call call) {
+            metrics.mark(RequestMetrics.Event.REQUEST_WRITE_STARTED);
+        }
+
+        @Override
+        public void requestHeadersEnd(okhttp3.Call call, Request request) {
+            if (isNull(request.body())) {
+                metrics.mark(RequestMetrics.Event.REQUEST_WRITE_ENDED);
+            }
+        }
+
+        @Override
+        public void requestBodyEnd(okhttp3.Call call, long byteCount) {
+            metrics.mark(RequestMetrics.Event.REQUEST_WRITE_ENDED);
+        }
+
+        @Override
+        public void responseHeadersEnd(okhttp3.Call call, Response response) {
+            metrics.mark(RequestMetrics.Event.RESPONSE_HEADERS_RECEIVED);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A durable queue of mutating requests, requests added to the outbox are written to a log on disk and sent when
+ * the network is connected, surviving application restarts until the server accepts or rejects them.
+ * <pre>
+ *     Outbox outbox = DominoRestConfig.getInstance().openOutbox(new OutboxConfig(new File(context.getFilesDir(), "outbox"))
+ *             .setConnectivity(connectivitySignal));
+ *     outbox.addListener(new OutboxListener() {...});
+ *     outbox.add(NotesServiceFactory.INSTANCE.update(note));
+ * </pre>
+ * The requests are replayed as they were added, without going through the interceptors and without their callbacks,
+ * the outcome of each request is reported to the {@link OutboxListener}s. Every attempt of a request carries the
+ * same idempotency key, a request interrupted after reaching the server is sent again on the next replay.
+ */
+public class Outbox {
+
+    private static final Logger LOGGER = Logger.getLogger(Outbox.class.getCanonicalName());
+    private static final List<String> MUTATING_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> REPLACING_METHODS = Arrays.asList("PUT", "DELETE");
+    private static final List<String> REPLACEABLE_METHODS = Arrays.asList("PUT", "PATCH", "DELETE");
+
+    private final OutboxConfig config;
+    private final AndroidRequestSender<?, ?> sender;
+    private final OutboxLog log;
+    private final Map<Long, OutboxEntry> entries;
+    private final Set<Long> replaying = new HashSet<>();
+    private final Set<String> replayingUrls = new HashSet<>();
+    private final List<OutboxListener> listeners = new CopyOnWriteArrayList<>();
+    private final ConnectivitySignal.Listener connectivityListener = connected -> {
+        if (connected) {
+            replay();
+        }
+    };
+    private long nextId;
+    /**
+     * Reset by a response received while no retry delay is pending, a replay completing while another one already
+     * failed keeps the backoff growing.
+     */
+    private int consecutiveFailures;
+    private Disposable retryTimer;
+    private boolean closed;
+
+    private Outbox(OutboxConfig config, AndroidRequestSender<?, ?> sender, OutboxLog log, Map<Long, OutboxEntry> entries) {
+        this.config = config;
+        this.sender = sender;
+        this.log = log;
+        this.entries = entries;
+        this.nextId = entries.keySet().stream().mapToLong(Long::longValue).max().orElse(0) + 1;
+    }
+
+    /**
+     * Opens the outbox log, creating it if needed, and starts replaying the requests left from a previous run.
+     *
+     * @param sender the sender replaying the requests
+     */
+    public static Outbox open(OutboxConfig config, AndroidRequestSender<?, ?> sender) throws IOException {
+        OutboxLog log = new OutboxLog(config.getDirectory(), config.isSyncWrites());
+        Outbox outbox = new Outbox(config, sender, log, log.open());
+        config.getConnectivity().addListener(outbox.connectivityListener);
+        outbox.replay();
+        return outbox;
+    }
+
+    /**
+     * Writes the request to the outbox log then sends it if the network is connected, the request callbacks are
+     * never called.
+     *
+     * @return the recorded request
+     * @throws IllegalArgumentException if the request is not a {@code POST}, {@code PUT}, {@code PATCH} or
+     *                                  {@code DELETE} request
+     * @throws UncheckedIOException     if the request could not be written to the log, the request is not added
+     */
+    public OutboxEntry add(ServerRequest<?, ?> request) {
+        String method = request.getHttpMethod().toUpperCase();
+        if (!MUTATING_METHODS.contains(method)) {
+            throw new IllegalArgumentException("Only mutating requests can be added to the outbox, got [" + method + "]");
+        }
+        request.normalizeUrl();
+        AndroidRequestSender<?, ?> boundSender = RequestOptions.peek(request).getSender();
+        String url = (nonNull(boundSender) ? boundSender : sender).resolveUrl(request);
+        Map<String, String> parameters = request.queryParameters();
+        if (nonNull(parameters) && !parameters.isEmpty()) {
+            url = QueryEncoder.appendTo(url, parameters);
+        }
+        Map<String, String> headers = isNull(request.headers()) ? new LinkedHashMap<>() : new LinkedHashMap<>(request.headers());
+        String idempotencyKey = headers.remove(config.getIdempotencyHeader());
+        if (isNull(idempotencyKey)) {
+            idempotencyKey = UUID.randomUUID().toString();
+        }
+        String body = AndroidRequestSender.SEND_BODY_METHODS.contains(method) && !request.isVoidRequest() ? writeBody(request) : null;
+
+        List<OutboxEntry> superseded = new ArrayList<>();
+        OutboxEntry entry;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Outbox is closed");
+            }
+            entry = new OutboxEntry(nextId, idempotencyKey, method, url, headers, body, System.currentTimeMillis());
+            try {
+                log.appendAdded(entry);
+                nextId++;
+                entries.put(entry.getId(), entry);
+                if (config.isCoalesceWrites() && REPLACING_METHODS.contains(method)) {
+                    for (OutboxEntry waiting : new ArrayList<>(entries.values())) {
+                        if (waiting != entry && isReplacedBy(waiting, entry)) {
+                            log.appendRemoved(waiting.getId());
+                            entries.remove(waiting.getId());
+                            superseded.add(waiting);
+                        }
+                    }
+                    compactIfNeeded();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write request to outbox log", e);
+            }
+        }
+        for (OutboxEntry supersededEntry : superseded) {
+            notifyListeners(listener -> listener.onSuperseded(supersededEntry, entry));
+        }
+        replay();
+        return entry;
+    }
+
+    /**
+     * Removes a request that was not sent yet.
+     *
+     * @return {@code false} if the request is not in the outbox anymore or is being sent
+     */
+    public boolean remove(long id) {
+        synchronized (this) {
+            if (!entries.containsKey(id) || replaying.contains(id)) {
+                return false;
+            }
+            try {
+                log.appendRemoved(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write removal to outbox log", e);
+            }
+            entries.remove(id);
+            compactIfNeeded();
+        }
+        replay();
+        return true;
+    }
+
+    /**
+     * @return the requests in the outbox, including the ones being sent, in the order they were added
+     */
+    public synchronized List<OutboxEntry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void addListener(OutboxListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(OutboxListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sends the waiting requests if the network is connected, cancelling the current retry delay if any, the outbox
+     * replays on its own when requests are added and when the network is connected again.
+     */
+    public void replay() {
+        List<OutboxEntry> started = new ArrayList<>();
+        synchronized (this) {
+            if (nonNull(retryTimer)) {
+                retryTimer.dispose();
+                retryTimer = null;
+            }
+            collectReplayable(started);
+        }
+        started.forEach(this::send);
+    }
+
+    /**
+     * Stops replaying and closes the log, the requests being sent complete but their outcome is not recorded and they
+     * are sent again when the outbox is opened next.
+     */
+    public void close() {
+        config.getConnectivity().removeListener(connectivityListener);
+        synchronized (this) {
+            closed = true;
+            if (nonNull(retryTimer)) {
+                retryTimer.dispose();
+                retryTimer = null;
+            }
+            try {
+                log.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to close outbox log : ", e);
+            }
+        }
+    }
+
+    private void collectReplayable(List<OutboxEntry> started) {
+        if (closed || nonNull(retryTimer) || !config.getConnectivity().isConnected()) {
+            return;
+        }
+        for (OutboxEntry entry : entries.values()) {
+            if (replaying.size() >= config.getMaxConcurrentReplays()) {
+                return;
+            }
+            if (!replaying.contains(entry.getId()) && !replayingUrls.contains(entry.getUrl())) {
+                replaying.add(entry.getId());
+                replayingUrls.add(entry.getUrl());
+                started.add(entry);
+            }
+        }
+    }
+
+    private void send(OutboxEntry entry) {
+        Map<String, String> headers = new LinkedHashMap<>(entry.getHeaders());
+        if (nonNull(config.getReplayHeaders())) {
+            headers.putAll(config.getReplayHeaders().get());
+        }
+        headers.put(config.getIdempotencyHeader(), entry.getIdempotencyKey());
+        try {
+            sender.sendRecorded(entry, headers, config.getPriority(),
+                    response -> onResponse(entry, response),
+                    failure -> onFailure(entry, failure));
+        } catch (RuntimeException e) {
+            onFailure(entry, e);
+        }
+    }
+
+    private void onResponse(OutboxEntry entry, Response response) {
+        int statusCode = response.getStatusCode();
+        if (isTransient(statusCode)) {
+            onFailure(entry, new IllegalStateException("Server responded with [" + statusCode + "]"));
+            return;
+        }
+        boolean delivered = statusCode < 400;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (isNull(retryTimer)) {
+                consecutiveFailures = 0;
+            }
+        }
+        if (delivered) {
+            notifyListeners(listener -> listener.onDelivered(entry, response));
+        } else {
+            LOGGER.warning("Outbox request rejected with [" + statusCode + "] : " + entry);
+            notifyListeners(listener -> listener.onRejected(entry, response));
+        }
+        complete(entry, true);
+    }
+
+    private void onFailure(OutboxEntry entry, Throwable failure) {
+        LOGGER.log(Level.INFO, "Outbox request failed, it will be sent again : " + entry, failure);
+        synchronized (this) {
+            if (!closed && isNull(retryTimer)) {
+                long delay = Math.min(config.getMaxRetryDelayMillis(),
+                        config.getMinRetryDelayMillis() << Math.min(consecutiveFailures, 20));
+                consecutiveFailures++;
+                retryTimer = Schedulers.computation().scheduleDirect(this::onRetryDelayElapsed, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+        complete(entry, false);
+    }
+
+    private void onRetryDelayElapsed() {
+        synchronized (this) {
+            retryTimer = null;
+        }
+        replay();
+    }
+
+    /**
+     * @param remove {@code true} if the request should be removed from the outbox
+     */
+    private void complete(OutboxEntry entry, boolean remove) {
+        List<OutboxEntry> started = new ArrayList<>();
+        synchronized (this) {
+            replaying.remove(entry.getId());
+            replayingUrls.remove(entry.getUrl());
+            if (closed) {
+                return;
+            }
+            if (remove) {
+                try {
+                    log.appendRemoved(entry.getId());
+                    entries.remove(entry.getId());
+                    compactIfNeeded();
+                } catch (IOException e) {
+                    LOGGER.log(Level.SEVERE, "Failed to write removal to outbox log, the request will be sent again : " + entry, e);
+                }
+            }
+            collectReplayable(started);
+        }
+        started.forEach(this::send);
+    }
+
+    private void notifyListeners(Consumer<OutboxListener> notification) {
+        for (OutboxListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Outbox listener failed : ", e);
+            }
+        }
+    }
+
+    private void compactIfNeeded() {
+        int removedRecords = log.getRemovedRecords();
+        if (removedRecords >= config.getCompactionThreshold() && removedRecords > entries.size()) {
+            try {
+                log.compact(entries.values());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to compact outbox log : ", e);
+            }
+        }
+    }
+
+    private boolean isReplacedBy(OutboxEntry waiting, OutboxEntry entry) {
+        return !replaying.contains(waiting.getId())
+                && waiting.getUrl().equals(entry.getUrl())
+                && REPLACEABLE_METHODS.contains(waiting.getMethod());
+    }
+
+    private static boolean isTransient(int statusCode) {
+        return statusCode == 408 || statusCode == 425 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private static <R> String writeBody(ServerRequest<R, ?> request) {
+        return request.getRequestWriter().write(request.requestBean());
+    }
+}
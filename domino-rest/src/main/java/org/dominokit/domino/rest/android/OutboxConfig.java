@@ -0,0 +1,152 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.File;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Configures an {@link Outbox}, the outbox keeps its log in the specified directory which must not be shared with
+ * another outbox.
+ */
+public class OutboxConfig {
+
+    private final File directory;
+    private ConnectivitySignal connectivity = new ConnectivitySignal(true);
+    private int maxConcurrentReplays = 1;
+    private String idempotencyHeader = "Idempotency-Key";
+    private boolean coalesceWrites = true;
+    private int compactionThreshold = 64;
+    private boolean syncWrites = true;
+    private long minRetryDelayMillis = 1000;
+    private long maxRetryDelayMillis = 60 * 1000;
+    private RequestPriority priority = RequestPriority.BACKGROUND;
+    private Supplier<Map<String, String>> replayHeaders;
+
+    public OutboxConfig(File directory) {
+        this.directory = requireNonNull(directory, "directory");
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public ConnectivitySignal getConnectivity() {
+        return connectivity;
+    }
+
+    /**
+     * Replays the outbox whenever the signal reports the network as connected, the outbox assumes a connected
+     * network by default and replays as soon as requests are added.
+     */
+    public OutboxConfig setConnectivity(ConnectivitySignal connectivity) {
+        this.connectivity = requireNonNull(connectivity, "connectivity");
+        return this;
+    }
+
+    public int getMaxConcurrentReplays() {
+        return maxConcurrentReplays;
+    }
+
+    /**
+     * Limits the number of requests replayed at the same time, {@code 1} by default so all the requests are replayed
+     * in the order they were added. Above {@code 1}, requests to different urls may be replayed at the same time and
+     * out of order, requests to the same url are still replayed one after the other in the order they were added.
+     */
+    public OutboxConfig setMaxConcurrentReplays(int maxConcurrentReplays) {
+        this.maxConcurrentReplays = maxConcurrentReplays;
+        return this;
+    }
+
+    public String getIdempotencyHeader() {
+        return idempotencyHeader;
+    }
+
+    /**
+     * The header carrying the idempotency key of each request, a key already set on the request is kept.
+     */
+    public OutboxConfig setIdempotencyHeader(String idempotencyHeader) {
+        this.idempotencyHeader = requireNonNull(idempotencyHeader, "idempotencyHeader");
+        return this;
+    }
+
+    public boolean isCoalesceWrites() {
+        return coalesceWrites;
+    }
+
+    /**
+     * Drops the waiting {@code PUT}, {@code PATCH} and {@code DELETE} requests to a url when a {@code PUT} or a
+     * {@code DELETE} to the same url is added, as only the last one decides the state of the resource.
+     */
+    public OutboxConfig setCoalesceWrites(boolean coalesceWrites) {
+        this.coalesceWrites = coalesceWrites;
+        return this;
+    }
+
+    public int getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Rewrites the log without the removed requests once it holds at least this many removed requests and more
+     * removed than waiting requests.
+     */
+    public OutboxConfig setCompactionThreshold(int compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+        return this;
+    }
+
+    public boolean isSyncWrites() {
+        return syncWrites;
+    }
+
+    /**
+     * Flushes the log to the storage device after each write, so an added request survives a power loss and not
+     * only a crash of the application.
+     */
+    public OutboxConfig setSyncWrites(boolean syncWrites) {
+        this.syncWrites = syncWrites;
+        return this;
+    }
+
+    public long getMinRetryDelayMillis() {
+        return minRetryDelayMillis;
+    }
+
+    public long getMaxRetryDelayMillis() {
+        return maxRetryDelayMillis;
+    }
+
+    /**
+     * The replay pauses after a network error or a server error, for a delay doubling with each consecutive failure
+     * between the min and max delays, or until the network is connected again.
+     */
+    public OutboxConfig setRetryDelayMillis(long minRetryDelayMillis, long maxRetryDelayMillis) {
+        this.minRetryDelayMillis = minRetryDelayMillis;
+        this.maxRetryDelayMillis = maxRetryDelayMillis;
+        return this;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    public OutboxConfig setPriority(RequestPriority priority) {
+        this.priority = requireNonNull(priority, "priority");
+        return this;
+    }
+
+    public Supplier<Map<String, String>> getReplayHeaders() {
+        return replayHeaders;
+    }
+
+    /**
+     * Adds headers computed when each request is replayed, for example the current access token, as the outbox
+     * requests are not intercepted.
+     */
+    public OutboxConfig setReplayHeaders(Supplier<Map<String, String>> replayHeaders) {
+        this.replayHeaders = replayHeaders;
+        return this;
+    }
+}
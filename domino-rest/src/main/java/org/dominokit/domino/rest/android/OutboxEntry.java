@@ -0,0 +1,78 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A request recorded in the {@link Outbox}, with everything needed to send it again after the application restarts.
+ */
+public class OutboxEntry {
+
+    private final long id;
+    private final String idempotencyKey;
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers;
+    private final String body;
+    private final long createdAtMillis;
+
+    OutboxEntry(long id, String idempotencyKey, String method, String url, Map<String, String> headers, String body,
+                long createdAtMillis) {
+        this.id = id;
+        this.idempotencyKey = idempotencyKey;
+        this.method = method;
+        this.url = url;
+        this.headers = isNull(headers) ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+        this.createdAtMillis = createdAtMillis;
+    }
+
+    /**
+     * @return the position of the entry in the outbox, entries are replayed in increasing id order
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the key sent with every attempt of the request, so the server can ignore an attempt it already
+     * applied
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the url including the query parameters
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the body written by the request writer, {@code null} if the request has no body
+     */
+    public String getBody() {
+        return body;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEntry{id=" + id + ", method=" + method + ", url='" + url + "', idempotencyKey='" + idempotencyKey + "'}";
+    }
+}
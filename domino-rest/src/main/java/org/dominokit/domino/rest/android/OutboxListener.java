@@ -0,0 +1,29 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+
+/**
+ * Notified from the network thread as the outbox entries leave the outbox, the response body can be read only
+ * during the call.
+ */
+public interface OutboxListener {
+
+    /**
+     * The server accepted the request.
+     */
+    default void onDelivered(OutboxEntry entry, Response response) {
+    }
+
+    /**
+     * The server rejected the request with a client error, the request is not sent again.
+     */
+    default void onRejected(OutboxEntry entry, Response response) {
+    }
+
+    /**
+     * The request was dropped before being sent, because a later request replaces the same resource, called on the
+     * thread adding the later request.
+     */
+    default void onSuperseded(OutboxEntry entry, OutboxEntry supersededBy) {
+    }
+}
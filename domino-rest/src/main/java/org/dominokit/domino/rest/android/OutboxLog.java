@@ -0,0 +1,241 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The append only file of the outbox, each record adds or removes one entry and is written with its length and
+ * checksum, so a record torn by a crash is detected and dropped when the log is opened again.
+ * <p>
+ * Compaction writes the remaining entries to a new file which then replaces the log with an atomic rename, a crash
+ * before the rename leaves the previous log untouched.
+ */
+class OutboxLog {
+
+    private static final Logger LOGGER = Logger.getLogger(OutboxLog.class.getCanonicalName());
+
+    private static final String LOG_FILE = "outbox.log";
+    private static final String COMPACTION_FILE = "outbox.log.compacting";
+    private static final byte ADDED = 1;
+    private static final byte REMOVED = 2;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private final File logFile;
+    private final File compactionFile;
+    private final boolean syncWrites;
+    private FileOutputStream output;
+    private int removedRecords;
+
+    OutboxLog(File directory, boolean syncWrites) {
+        this.logFile = new File(directory, LOG_FILE);
+        this.compactionFile = new File(directory, COMPACTION_FILE);
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Reads the entries remaining in the log, then opens it for appending.
+     *
+     * @return the entries in the order they were added
+     */
+    Map<Long, OutboxEntry> open() throws IOException {
+        File directory = logFile.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Failed to create outbox directory " + directory);
+        }
+        if (compactionFile.exists() && !compactionFile.delete()) {
+            throw new IOException("Failed to delete incomplete outbox compaction " + compactionFile);
+        }
+        Map<Long, OutboxEntry> entries = new LinkedHashMap<>();
+        if (logFile.exists()) {
+            long validLength = read(entries);
+            if (validLength < logFile.length()) {
+                LOGGER.warning("Dropping " + (logFile.length() - validLength) + " bytes of incomplete records from " + logFile);
+                try (RandomAccessFile file = new RandomAccessFile(logFile, "rw")) {
+                    file.setLength(validLength);
+                }
+            }
+        }
+        output = new FileOutputStream(logFile, true);
+        return entries;
+    }
+
+    void appendAdded(OutboxEntry entry) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(record);
+        data.writeByte(ADDED);
+        writeEntry(data, entry);
+        append(record.toByteArray());
+    }
+
+    void appendRemoved(long id) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(record);
+        data.writeByte(REMOVED);
+        data.writeLong(id);
+        append(record.toByteArray());
+        removedRecords++;
+    }
+
+    int getRemovedRecords() {
+        return removedRecords;
+    }
+
+    /**
+     * Replaces the log with a log holding only the specified entries.
+     */
+    void compact(Collection<OutboxEntry> entries) throws IOException {
+        try (FileOutputStream compacted = new FileOutputStream(compactionFile)) {
+            for (OutboxEntry entry : entries) {
+                ByteArrayOutputStream record = new ByteArrayOutputStream();
+                DataOutputStream data = new DataOutputStream(record);
+                data.writeByte(ADDED);
+                writeEntry(data, entry);
+                compacted.write(frame(record.toByteArray()));
+            }
+            compacted.getFD().sync();
+        }
+        output.close();
+        if (!compactionFile.renameTo(logFile)) {
+            output = new FileOutputStream(logFile, true);
+            throw new IOException("Failed to replace outbox log with " + compactionFile);
+        }
+        output = new FileOutputStream(logFile, true);
+        removedRecords = 0;
+    }
+
+    void close() throws IOException {
+        if (nonNull(output)) {
+            output.close();
+            output = null;
+        }
+    }
+
+    private void append(byte[] payload) throws IOException {
+        output.write(frame(payload));
+        if (syncWrites) {
+            output.getFD().sync();
+        }
+    }
+
+    private static byte[] frame(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(payload.length + 12);
+        DataOutputStream data = new DataOutputStream(record);
+        data.writeInt(payload.length);
+        data.writeLong(crc.getValue());
+        data.write(payload);
+        return record.toByteArray();
+    }
+
+    /**
+     * @return the length of the log up to the last complete record
+     */
+    private long read(Map<Long, OutboxEntry> entries) throws IOException {
+        long validLength = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = input.readInt();
+                    if (length <= 0 || length > MAX_RECORD_BYTES) {
+                        return validLength;
+                    }
+                    long checksum = input.readLong();
+                    payload = new byte[length];
+                    input.readFully(payload);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload, 0, length);
+                    if (crc.getValue() != checksum) {
+                        return validLength;
+                    }
+                } catch (EOFException e) {
+                    return validLength;
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte type = record.readByte();
+                if (type == ADDED) {
+                    OutboxEntry entry = readEntry(record);
+                    entries.put(entry.getId(), entry);
+                } else if (type == REMOVED) {
+                    entries.remove(record.readLong());
+                    removedRecords++;
+                } else {
+                    return validLength;
+                }
+                validLength += 12 + payload.length;
+            }
+        }
+    }
+
+    private static void writeEntry(DataOutputStream data, OutboxEntry entry) throws IOException {
+        data.writeLong(entry.getId());
+        data.writeLong(entry.getCreatedAtMillis());
+        writeString(data, entry.getIdempotencyKey());
+        writeString(data, entry.getMethod());
+        writeString(data, entry.getUrl());
+        writeString(data, entry.getBody());
+        data.writeInt(entry.getHeaders().size());
+        for (Map.Entry<String, String> header : entry.getHeaders().entrySet()) {
+            writeString(data, header.getKey());
+            writeString(data, header.getValue());
+        }
+    }
+
+    private static OutboxEntry readEntry(DataInputStream data) throws IOException {
+        long id = data.readLong();
+        long createdAtMillis = data.readLong();
+        String idempotencyKey = readString(data);
+        String method = readString(data);
+        String url = readString(data);
+        String body = readString(data);
+        int headersCount = data.readInt();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headersCount; i++) {
+            headers.put(readString(data), readString(data));
+        }
+        return new OutboxEntry(id, idempotencyKey, method, url, headers, body, createdAtMillis);
+    }
+
+    /**
+     * Strings are written as their UTF-8 length followed by their bytes, unlike {@link DataOutputStream#writeUTF}
+     * they are not limited to 64K and can be {@code null}.
+     */
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (isNull(value)) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
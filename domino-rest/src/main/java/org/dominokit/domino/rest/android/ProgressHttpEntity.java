@@ -0,0 +1,57 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import cz.msebera.android.httpclient.HttpEntity;
+import cz.msebera.android.httpclient.entity.HttpEntityWrapper;
+
+/**
+ * Reports the bytes written to the connection, the counting stream is created once per write and does not
+ * allocate for each written chunk.
+ */
+class ProgressHttpEntity extends HttpEntityWrapper {
+
+    private final ProgressListener progressListener;
+
+    ProgressHttpEntity(HttpEntity wrappedEntity, ProgressListener progressListener) {
+        super(wrappedEntity);
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        super.writeTo(new ProgressOutputStream(outputStream, progressListener, getContentLength()));
+    }
+
+    private static class ProgressOutputStream extends FilterOutputStream {
+
+        private final ProgressListener progressListener;
+        private final long totalBytes;
+        private long bytes;
+
+        private ProgressOutputStream(OutputStream out, ProgressListener progressListener, long totalBytes) {
+            super(out);
+            this.progressListener = progressListener;
+            this.totalBytes = totalBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            progress(1);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            out.write(buffer, offset, length);
+            progress(length);
+        }
+
+        private void progress(int written) {
+            bytes += written;
+            progressListener.onProgress(bytes, totalBytes);
+        }
+    }
+}
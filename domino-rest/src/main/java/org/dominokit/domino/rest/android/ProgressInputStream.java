@@ -0,0 +1,50 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+class ProgressInputStream extends FilterInputStream {
+
+    private final ProgressListener progressListener;
+    private final long totalBytes;
+    private long bytes;
+
+    ProgressInputStream(InputStream in, ProgressListener progressListener, long totalBytes) {
+        super(in);
+        this.progressListener = progressListener;
+        this.totalBytes = totalBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = super.read();
+        if (read >= 0) {
+            progress(1);
+        }
+        return read;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            progress(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            progress(skipped);
+        }
+        return skipped;
+    }
+
+    private void progress(long read) {
+        bytes += read;
+        progressListener.onProgress(bytes, totalBytes);
+    }
+}
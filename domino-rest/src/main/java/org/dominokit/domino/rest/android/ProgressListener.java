@@ -0,0 +1,11 @@
+package org.dominokit.domino.rest.android;
+
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param bytes      the number of bytes transferred so far
+     * @param totalBytes the total number of bytes, or {@code -1} if unknown
+     */
+    void onProgress(long bytes, long totalBytes);
+}
@@ -0,0 +1,165 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Percent encodes query strings as specified by RFC 3986, only the unreserved characters are kept as is.
+ * <p>
+ * Parameter names come from the request definitions so there are few of them, they are encoded once and cached,
+ * values that need no encoding are appended without being copied and the string builder is reused per thread.
+ */
+final class QueryEncoder {
+
+    private static final int MAX_CACHED_NAMES = 512;
+    private static final int MAX_REUSED_BUILDER_CAPACITY = 8 * 1024;
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    private static final boolean[] UNRESERVED = new boolean[128];
+    private static final Map<String, String> ENCODED_NAMES = new ConcurrentHashMap<>();
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(256);
+        }
+    };
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            UNRESERVED[c] = true;
+            UNRESERVED[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            UNRESERVED[c] = true;
+        }
+        UNRESERVED['-'] = true;
+        UNRESERVED['.'] = true;
+        UNRESERVED['_'] = true;
+        UNRESERVED['~'] = true;
+    }
+
+    private QueryEncoder() {
+    }
+
+    /**
+     * @return the encoded parameters joined with {@code &}, an empty string when there are no parameters
+     */
+    static String encode(Map<String, String> parameters) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+        StringBuilder query = builder();
+        appendParameters(query, parameters);
+        return query.toString();
+    }
+
+    /**
+     * @return the uri with the encoded parameters appended to its query, the uri itself when there are no parameters
+     */
+    static String appendTo(String uri, Map<String, String> parameters) {
+        if (parameters.isEmpty()) {
+            return uri;
+        }
+        StringBuilder url = builder().append(uri);
+        int query = uri.indexOf('?');
+        if (query < 0) {
+            url.append('?');
+        } else if (query < uri.length() - 1 && uri.charAt(uri.length() - 1) != '&') {
+            url.append('&');
+        }
+        appendParameters(url, parameters);
+        return url.toString();
+    }
+
+    private static void appendParameters(StringBuilder target, Map<String, String> parameters) {
+        boolean first = true;
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (!first) {
+                target.append('&');
+            }
+            first = false;
+            target.append(encodedName(parameter.getKey()));
+            if (parameter.getValue() != null) {
+                target.append('=');
+                appendEncoded(target, parameter.getValue());
+            }
+        }
+    }
+
+    private static String encodedName(String name) {
+        String encoded = ENCODED_NAMES.get(name);
+        if (encoded == null) {
+            encoded = encode(name);
+            if (ENCODED_NAMES.size() < MAX_CACHED_NAMES) {
+                ENCODED_NAMES.put(name, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    static String encode(String value) {
+        if (isUnreserved(value)) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder(value.length() + 16);
+        appendEncoded(encoded, value);
+        return encoded.toString();
+    }
+
+    static void appendEncoded(StringBuilder target, String value) {
+        if (isUnreserved(value)) {
+            target.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 128 && UNRESERVED[c]) {
+                target.append(c);
+            } else if (c < 0x80) {
+                appendByte(target, c);
+            } else if (c < 0x800) {
+                appendByte(target, 0xC0 | (c >> 6));
+                appendByte(target, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                appendByte(target, 0xF0 | (codePoint >> 18));
+                appendByte(target, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendByte(target, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendByte(target, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // a lone surrogate can not be encoded, it is replaced with '?' as the JDK encoders do
+                appendByte(target, '?');
+            } else {
+                appendByte(target, 0xE0 | (c >> 12));
+                appendByte(target, 0x80 | ((c >> 6) & 0x3F));
+                appendByte(target, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isUnreserved(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 128 || !UNRESERVED[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendByte(StringBuilder target, int b) {
+        target.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    /**
+     * A builder grown by an unusually long url is dropped instead of being kept for the life of the thread.
+     */
+    private static StringBuilder builder() {
+        StringBuilder builder = BUILDER.get();
+        if (builder.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+            builder = new StringBuilder(256);
+            BUILDER.set(builder);
+        }
+        builder.setLength(0);
+        return builder;
+    }
+}
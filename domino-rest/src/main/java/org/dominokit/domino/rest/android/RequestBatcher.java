@@ -0,0 +1,142 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Collects the requests to be sent in one batch and hands the batch to the flusher when the window of the first
+ * request ends or the batch is full.
+ */
+class RequestBatcher {
+
+    private final BatchConfig config;
+    private final Consumer<List<Entry>> flusher;
+    private final AtomicLong ids = new AtomicLong();
+    private List<Entry> pending = new ArrayList<>();
+    private int pendingBodyBytes;
+    private Disposable windowTimer;
+
+    RequestBatcher(BatchConfig config, Consumer<List<Entry>> flusher) {
+        this.config = config;
+        this.flusher = flusher;
+    }
+
+    BatchConfig getConfig() {
+        return config;
+    }
+
+    String nextId() {
+        return String.valueOf(ids.incrementAndGet());
+    }
+
+    Entry add(ServerRequest request, InFlightRequest inFlightRequest, BatchedRequest batchedRequest,
+              Consumer<Response> onResponse, Consumer<Throwable> onError) {
+        Entry entry = new Entry(request, inFlightRequest, batchedRequest, onResponse, onError);
+        boolean full;
+        synchronized (this) {
+            pending.add(entry);
+            pendingBodyBytes += batchedRequest.getBodyLength();
+            full = pending.size() >= config.getMaxRequests() || pendingBodyBytes >= config.getMaxBodyBytes();
+            if (!full && isNull(windowTimer)) {
+                windowTimer = Schedulers.computation().scheduleDirect(this::flush, config.getWindowMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+        return entry;
+    }
+
+    void flush() {
+        List<Entry> batch;
+        synchronized (this) {
+            if (nonNull(windowTimer)) {
+                windowTimer.dispose();
+                windowTimer = null;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+            pendingBodyBytes = 0;
+        }
+        if (!batch.isEmpty()) {
+            flusher.accept(batch);
+        }
+    }
+
+    private synchronized void remove(Entry entry) {
+        if (pending.remove(entry)) {
+            pendingBodyBytes -= entry.batchedRequest.getBodyLength();
+        }
+    }
+
+    class Entry {
+        private final ServerRequest request;
+        private final InFlightRequest inFlightRequest;
+        private final BatchedRequest batchedRequest;
+        private final Consumer<Response> onResponse;
+        private final Consumer<Throwable> onError;
+        private volatile boolean cancelled;
+
+        private Entry(ServerRequest request, InFlightRequest inFlightRequest, BatchedRequest batchedRequest,
+                      Consumer<Response> onResponse, Consumer<Throwable> onError) {
+            this.request = request;
+            this.inFlightRequest = inFlightRequest;
+            this.batchedRequest = batchedRequest;
+            this.onResponse = onResponse;
+            this.onError = onError;
+        }
+
+        ServerRequest getRequest() {
+            return request;
+        }
+
+        InFlightRequest getInFlightRequest() {
+            return inFlightRequest;
+        }
+
+        BatchedRequest getBatchedRequest() {
+            return batchedRequest;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Removes the entry from the batch if it was not sent yet, otherwise its response is ignored.
+         */
+        void cancel() {
+            cancelled = true;
+            remove(this);
+        }
+
+        void complete(Response response) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                onResponse.accept(response);
+            } catch (RuntimeException e) {
+                onError.accept(e);
+            }
+        }
+
+        void fail(Throwable failure) {
+            if (!cancelled) {
+                onError.accept(failure);
+            }
+        }
+    }
+}
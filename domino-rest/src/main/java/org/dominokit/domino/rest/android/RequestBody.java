@@ -0,0 +1,78 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import cz.msebera.android.httpclient.HttpEntity;
+import cz.msebera.android.httpclient.entity.ByteArrayEntity;
+import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.entity.EntityTemplate;
+import cz.msebera.android.httpclient.entity.FileEntity;
+import cz.msebera.android.httpclient.entity.InputStreamEntity;
+
+/**
+ * A request body written directly to the connection instead of being materialized as a string, bodies of unknown
+ * length are sent using chunked transfer encoding.
+ * <pre>
+ *     RequestOptions.of(request).setRequestBody(RequestBody.of(photo, "image/jpeg"));
+ * </pre>
+ */
+public class RequestBody {
+
+    private final HttpEntity entity;
+
+    RequestBody(HttpEntity entity) {
+        this.entity = entity;
+    }
+
+    public static RequestBody of(byte[] content, String contentType) {
+        return new RequestBody(new ByteArrayEntity(content, ContentType.parse(contentType)));
+    }
+
+    public static RequestBody of(File file, String contentType) {
+        return new RequestBody(new FileEntity(file, ContentType.parse(contentType)));
+    }
+
+    /**
+     * A body that can be sent only once, requests using it are not retried.
+     *
+     * @param length the number of bytes in the stream, or {@code -1} if unknown
+     */
+    public static RequestBody of(InputStream inputStream, long length, String contentType) {
+        return new RequestBody(new InputStreamEntity(inputStream, length, ContentType.parse(contentType)));
+    }
+
+    /**
+     * A body produced by writing to the connection output stream, the writer may be called more than once if the
+     * request is retried.
+     */
+    public static RequestBody of(ContentWriter writer, String contentType) {
+        EntityTemplate entity = new EntityTemplate(writer::writeTo);
+        entity.setContentType(contentType);
+        entity.setChunked(true);
+        return new RequestBody(entity);
+    }
+
+    public static MultipartBody multipart() {
+        return new MultipartBody();
+    }
+
+    public long getContentLength() {
+        return entity.getContentLength();
+    }
+
+    public boolean isRepeatable() {
+        return entity.isRepeatable();
+    }
+
+    HttpEntity getEntity() {
+        return entity;
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,85 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.ResponseReader;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import io.reactivex.Observable;
+
+/**
+ * Shares one call between identical requests, the call is started by the first subscriber and is aborted only
+ * when all of its subscribers are disposed, so cancelling or timing out one of the requests only detaches it from
+ * the call.
+ */
+class RequestCoalescer {
+
+    private final Map<String, Observable<SharedResponse>> calls = new ConcurrentHashMap<>();
+
+    Observable<SharedResponse> share(String key, Supplier<Observable<SharedResponse>> call) {
+        return Observable.defer(() -> calls.computeIfAbsent(key, k -> createSharedCall(k, call)));
+    }
+
+    int size() {
+        return calls.size();
+    }
+
+    private Observable<SharedResponse> createSharedCall(String key, Supplier<Observable<SharedResponse>> call) {
+        AtomicReference<Observable<SharedResponse>> self = new AtomicReference<>();
+        // removed as soon as the response is received, requests sent after that start a new call
+        Observable<SharedResponse> sharedCall = call.get()
+                .doOnNext(response -> calls.remove(key, self.get()))
+                .doFinally(() -> calls.remove(key, self.get()))
+                .replay(1)
+                .refCount();
+        self.set(sharedCall);
+        return sharedCall;
+    }
+
+    static class SharedResponse {
+        private final Response response;
+        private final RequestMetrics metrics;
+        private final Map<Class<?>, Object> results = new HashMap<>();
+
+        /**
+         * @param metrics the metrics of the shared call, copied to the metrics of each request reading the response
+         */
+        SharedResponse(Response response, RequestMetrics metrics) {
+            this.response = response;
+            this.metrics = metrics;
+        }
+
+        Response getResponse() {
+            return response;
+        }
+
+        RequestMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Each request gets its own result, as the requests do not know about each other and could change it, unless
+         * its reader is an {@link ImmutableResponseReader}, requests using the same immutable reader type then share
+         * one result.
+         */
+        @SuppressWarnings("unchecked")
+        <R, S> S read(ServerRequest<R, S> request) {
+            ResponseReader<S> reader = request.getResponseReader();
+            if (!(reader instanceof ImmutableResponseReader)) {
+                return reader.read(response);
+            }
+            synchronized (results) {
+                Class<?> readerType = reader.getClass();
+                if (!results.containsKey(readerType)) {
+                    results.put(readerType, reader.read(response));
+                }
+                return (S) results.get(readerType);
+            }
+        }
+    }
+}
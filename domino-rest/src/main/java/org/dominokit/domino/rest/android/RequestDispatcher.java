@@ -0,0 +1,255 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Executes the blocking http calls on a bounded number of threads, calls exceeding the global or the per host
+ * limit wait in a queue ordered by {@link RequestPriority} and are dispatched as soon as a running call completes.
+ * <p>
+ * Once shutdown, the queued calls and the calls dispatched afterwards are rejected, their rejection callback is
+ * called outside of the dispatcher lock.
+ */
+public class RequestDispatcher {
+
+    private static final Comparator<Task> DISPATCH_ORDER = Comparator.<Task, RequestPriority>comparing(task -> task.priority)
+            .thenComparingLong(task -> task.sequence);
+
+    private final TreeSet<Task> queue = new TreeSet<>(DISPATCH_ORDER);
+    private final List<Task> rejected = new ArrayList<>();
+    private final Map<String, Integer> runningPerHost = new HashMap<>();
+    private final DispatcherStats stats = new DispatcherStats();
+    private final ThreadPoolExecutor executor;
+    private DispatcherConfig config;
+    private ToIntFunction<String> hostLimits = host -> Integer.MAX_VALUE;
+    private int running;
+    private long sequence;
+    private boolean shutdown;
+
+    public RequestDispatcher(DispatcherConfig config) {
+        this.config = config;
+        this.executor = new ThreadPoolExecutor(config.getMaxConcurrentRequests(), config.getMaxConcurrentRequests(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DispatcherThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Applies the new limits, running calls are not interrupted and queued calls are dispatched if the new limits
+     * allow it.
+     */
+    public void configure(DispatcherConfig config) {
+        synchronized (this) {
+            int threads = config.getMaxConcurrentRequests();
+            if (threads > executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(threads);
+                executor.setCorePoolSize(threads);
+            } else {
+                executor.setCorePoolSize(threads);
+                executor.setMaximumPoolSize(threads);
+            }
+            this.config = config;
+            promote();
+        }
+        rejectPending();
+    }
+
+    /**
+     * Sets the source of the adaptive per host limits, a host runs at most the lower of its adaptive limit and
+     * {@link DispatcherConfig#getMaxConcurrentRequestsPerHost()}.
+     */
+    void setHostLimits(ToIntFunction<String> hostLimits) {
+        synchronized (this) {
+            this.hostLimits = hostLimits;
+            promote();
+        }
+        rejectPending();
+    }
+
+    /**
+     * Dispatches the queued calls the new host limits allow.
+     */
+    void onHostLimitsChanged() {
+        synchronized (this) {
+            promote();
+        }
+        rejectPending();
+    }
+
+    /**
+     * Stops the dispatcher threads once the running requests complete, the queued requests and the requests
+     * dispatched afterwards are rejected.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            rejected.addAll(queue);
+            queue.clear();
+            executor.shutdown();
+        }
+        rejectPending();
+    }
+
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    public synchronized DispatcherConfig getConfig() {
+        return config;
+    }
+
+    public DispatcherStats getStats() {
+        return stats;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Queues the call, the returned task can be cancelled as long as it did not start.
+     *
+     * @param onRejected called instead of the call if the dispatcher is shutdown before the call starts
+     */
+    public Task dispatch(String url, RequestPriority priority, Runnable call, Consumer<RejectedExecutionException> onRejected) {
+        Task task;
+        synchronized (this) {
+            task = new Task(hostOf(url), priority, sequence++, call, onRejected);
+            if (shutdown) {
+                rejected.add(task);
+            } else {
+                queue.add(task);
+                promote();
+            }
+        }
+        rejectPending();
+        return task;
+    }
+
+    private synchronized boolean cancel(Task task) {
+        if (queue.remove(task)) {
+            stats.recordCancelled();
+            return true;
+        }
+        return false;
+    }
+
+    private void promote() {
+        Iterator<Task> iterator = queue.iterator();
+        while (running < config.getMaxConcurrentRequests() && iterator.hasNext()) {
+            Task task = iterator.next();
+            int hostRunning = runningPerHost.getOrDefault(task.host, 0);
+            if (hostRunning < Math.min(config.getMaxConcurrentRequestsPerHost(), hostLimits.applyAsInt(task.host))) {
+                iterator.remove();
+                running++;
+                runningPerHost.put(task.host, hostRunning + 1);
+                try {
+                    executor.execute(() -> run(task));
+                    stats.recordDispatched(System.nanoTime() - task.queuedNanos);
+                } catch (RejectedExecutionException e) {
+                    release(task);
+                    rejected.add(task);
+                }
+            }
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            task.call.run();
+        } finally {
+            synchronized (this) {
+                release(task);
+                promote();
+            }
+            rejectPending();
+        }
+    }
+
+    private void release(Task task) {
+        running--;
+        int hostRunning = runningPerHost.get(task.host) - 1;
+        if (hostRunning == 0) {
+            runningPerHost.remove(task.host);
+        } else {
+            runningPerHost.put(task.host, hostRunning);
+        }
+    }
+
+    private void rejectPending() {
+        List<Task> tasks;
+        synchronized (this) {
+            if (rejected.isEmpty()) {
+                return;
+            }
+            tasks = new ArrayList<>(rejected);
+            rejected.clear();
+        }
+        for (Task task : tasks) {
+            stats.recordRejected();
+            task.onRejected.accept(new RejectedExecutionException("Request dispatcher is shutdown"));
+        }
+    }
+
+    static String hostOf(String url) {
+        int start = url.indexOf("://");
+        start = start < 0 ? 0 : start + 3;
+        int end = start;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return url.substring(start, end).toLowerCase();
+    }
+
+    public class Task {
+        private final String host;
+        private final RequestPriority priority;
+        private final long sequence;
+        private final Runnable call;
+        private final Consumer<RejectedExecutionException> onRejected;
+        private final long queuedNanos = System.nanoTime();
+
+        private Task(String host, RequestPriority priority, long sequence, Runnable call,
+                     Consumer<RejectedExecutionException> onRejected) {
+            this.host = host;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.call = call;
+            this.onRejected = onRejected;
+        }
+
+        /**
+         * @return true if the task was removed from the queue, false if it already started
+         */
+        public boolean cancel() {
+            return RequestDispatcher.this.cancel(this);
+        }
+    }
+
+    private static class DispatcherThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "domino-rest-dispatcher-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
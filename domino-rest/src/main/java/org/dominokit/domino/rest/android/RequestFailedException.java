@@ -0,0 +1,27 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+
+/**
+ * The error emitted by the reactive requests when the request fails, the cause is the failure of the request if it
+ * failed before receiving a response.
+ *
+ * @see RxRequests
+ */
+public class RequestFailedException extends RuntimeException {
+
+    private final FailedResponseBean failedResponse;
+
+    public RequestFailedException(FailedResponseBean failedResponse) {
+        super("Request failed with status code [" + failedResponse.getStatusCode() + "]", failedResponse.getThrowable());
+        this.failedResponse = failedResponse;
+    }
+
+    public FailedResponseBean getFailedResponse() {
+        return failedResponse;
+    }
+
+    public int getStatusCode() {
+        return failedResponse.getStatusCode();
+    }
+}
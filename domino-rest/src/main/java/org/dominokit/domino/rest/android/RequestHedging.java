@@ -0,0 +1,106 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The hedging delay of each route and the budget shared by the hedges of one sender.
+ */
+class RequestHedging {
+
+    private static final int MAX_ROUTES = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int WINDOW_SAMPLES = 500;
+
+    private final HedgingConfig config;
+    private final HedgingStats stats;
+    private final Map<String, RouteLatency> routes = new ConcurrentHashMap<>();
+    private double budget;
+
+    RequestHedging(HedgingConfig config, HedgingStats stats) {
+        this.config = config;
+        this.stats = stats;
+        this.budget = config.getMaxBurst();
+    }
+
+    HedgingConfig getConfig() {
+        return config;
+    }
+
+    HedgingStats getStats() {
+        return stats;
+    }
+
+    long delayMillis(String route) {
+        if (config.getPercentile() <= 0) {
+            return config.getDelayMillis();
+        }
+        RouteLatency latency = routes.get(route);
+        if (isNull(latency)) {
+            return config.getDelayMillis();
+        }
+        long percentileMillis = latency.getPercentileMillis(config.getPercentile());
+        return percentileMillis < 0 ? config.getDelayMillis() : Math.max(config.getMinDelayMillis(), percentileMillis);
+    }
+
+    /**
+     * Records the time an attempt took to receive its response, routes beyond the first {@value #MAX_ROUTES} keep
+     * using the fixed delay.
+     */
+    void recordLatency(String route, long durationNanos) {
+        RouteLatency latency = routes.get(route);
+        if (isNull(latency)) {
+            if (routes.size() >= MAX_ROUTES) {
+                return;
+            }
+            latency = routes.computeIfAbsent(route, key -> new RouteLatency());
+        }
+        latency.record(durationNanos);
+    }
+
+    synchronized void onRequest() {
+        budget = Math.min(config.getMaxBurst(), budget + config.getBudgetRatio());
+        stats.recordRequest();
+    }
+
+    synchronized boolean tryAcquireHedge() {
+        if (budget >= 1) {
+            budget--;
+            stats.recordHedged();
+            return true;
+        }
+        stats.recordBudgetExhausted();
+        return false;
+    }
+
+    /**
+     * Response times of the current and the previous window, so the delay follows the route when it gets faster or
+     * slower.
+     */
+    private static class RouteLatency {
+        private LatencyHistogram current = new LatencyHistogram();
+        private LatencyHistogram previous;
+
+        private synchronized void record(long durationNanos) {
+            current.record(durationNanos);
+            if (current.getCount() >= WINDOW_SAMPLES) {
+                previous = current;
+                current = new LatencyHistogram();
+            }
+        }
+
+        /**
+         * @return the percentile, or {@code -1} if there are not enough samples
+         */
+        private synchronized long getPercentileMillis(double percentile) {
+            LatencyHistogram histogram = current.getCount() >= MIN_SAMPLES || isNull(previous) ? current : previous;
+            if (histogram.getCount() < MIN_SAMPLES) {
+                return -1;
+            }
+            return TimeUnit.MICROSECONDS.toMillis(histogram.getPercentileMicros(percentile));
+        }
+    }
+}
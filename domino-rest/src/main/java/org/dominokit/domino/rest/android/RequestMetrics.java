@@ -0,0 +1,323 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import cz.msebera.android.httpclient.client.cache.CacheResponseStatus;
+import cz.msebera.android.httpclient.protocol.HttpContext;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The timings and counters of one request, timestamps are {@link System#nanoTime()} values and are {@code 0} for
+ * events that did not happen, for example the connect events when a pooled connection was reused. When the request
+ * was retried the timestamps of the network phases are those of the last attempt. The metrics are written from the
+ * threads of every attempt, hedges included, and are safe to read from any thread once the request completed.
+ *
+ * @see RequestMetricsListener
+ */
+public class RequestMetrics {
+
+    static final String CONTEXT_ATTRIBUTE = RequestMetrics.class.getName();
+
+    public enum Event {
+        STARTED,
+        INTERCEPTED,
+        QUEUED,
+        DISPATCHED,
+        EXECUTE_STARTED,
+        CONNECT_STARTED,
+        TLS_STARTED,
+        TLS_ENDED,
+        CONNECT_ENDED,
+        REQUEST_WRITE_STARTED,
+        REQUEST_WRITE_ENDED,
+        RESPONSE_HEADERS_RECEIVED,
+        BODY_READ_ENDED,
+        DESERIALIZATION_STARTED,
+        DESERIALIZATION_ENDED,
+        RESULT_READY,
+        DELIVERED,
+        COMPLETED
+    }
+
+    public enum Phase {
+        /**
+         * Waiting for the global request interceptors.
+         */
+        INTERCEPTORS(Event.STARTED, Event.INTERCEPTED),
+        /**
+         * Waiting in the dispatcher queue.
+         */
+        QUEUE(Event.QUEUED, Event.DISPATCHED),
+        /**
+         * Waiting for a pooled connection, includes the cache lookup when the cache is enabled.
+         */
+        CONNECTION_ACQUIRE(Event.EXECUTE_STARTED, Event.CONNECT_STARTED),
+        /**
+         * Opening a new connection, includes the TLS handshake.
+         */
+        CONNECT(Event.CONNECT_STARTED, Event.CONNECT_ENDED),
+        TLS_HANDSHAKE(Event.TLS_STARTED, Event.TLS_ENDED),
+        REQUEST_WRITE(Event.REQUEST_WRITE_STARTED, Event.REQUEST_WRITE_ENDED),
+        TIME_TO_FIRST_BYTE(Event.REQUEST_WRITE_ENDED, Event.RESPONSE_HEADERS_RECEIVED),
+        BODY_READ(Event.RESPONSE_HEADERS_RECEIVED, Event.BODY_READ_ENDED),
+        DESERIALIZATION(Event.DESERIALIZATION_STARTED, Event.DESERIALIZATION_ENDED),
+        /**
+         * From the result being ready on the network thread until the callback is called on the main thread.
+         */
+        DELIVERY(Event.RESULT_READY, Event.DELIVERED),
+        /**
+         * From the request being sent until the callback is called, the time spent in the callback is not included.
+         */
+        TOTAL(Event.STARTED, Event.COMPLETED);
+
+        private final Event start;
+        private final Event end;
+
+        Phase(Event start, Event end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String route;
+    private final String url;
+    private final AtomicLongArray timestamps = new AtomicLongArray(Event.values().length);
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong responseTransferredBytes = new AtomicLong();
+    private volatile int retries;
+    private volatile int statusCode;
+    private volatile CacheResponseStatus cacheStatus;
+    private volatile String protocol;
+    private volatile int concurrencyLimit;
+    private volatile CircuitState circuitState;
+    private volatile boolean hedged;
+    private volatile boolean hedgeWon;
+    private volatile Outcome outcome;
+    private volatile Throwable failure;
+
+    RequestMetrics(ServerRequest request, String url) {
+        String path = request.getPath();
+        this.url = url;
+        this.route = request.getHttpMethod().toUpperCase() + " " + (nonNull(path) ? path : url);
+        mark(Event.STARTED);
+    }
+
+    static RequestMetrics of(HttpContext context) {
+        return isNull(context) ? null : (RequestMetrics) context.getAttribute(CONTEXT_ATTRIBUTE);
+    }
+
+    void mark(Event event) {
+        timestamps.set(event.ordinal(), System.nanoTime());
+    }
+
+    void setRetries(int retries) {
+        this.retries = retries;
+    }
+
+    void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    void setCacheStatus(CacheResponseStatus cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    void setHostHealth(int concurrencyLimit, CircuitState circuitState) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.circuitState = circuitState;
+    }
+
+    void setHedged(boolean hedged) {
+        this.hedged = hedged;
+    }
+
+    void setHedgeWon(boolean hedgeWon) {
+        this.hedgeWon = hedgeWon;
+    }
+
+    void addRequestBytes(long bytes) {
+        requestBytes.addAndGet(bytes);
+    }
+
+    void addResponseBytes(long bytes) {
+        responseBytes.addAndGet(bytes);
+    }
+
+    void addResponseTransferredBytes(long bytes) {
+        responseTransferredBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Copies the network phases and the response details of an attempt sent on behalf of this request, such as the
+     * call shared by coalesced requests.
+     */
+    void copyAttempt(RequestMetrics attempt) {
+        for (int i = Event.QUEUED.ordinal(); i <= Event.BODY_READ_ENDED.ordinal(); i++) {
+            timestamps.set(i, attempt.timestamps.get(i));
+        }
+        statusCode = attempt.statusCode;
+        cacheStatus = attempt.cacheStatus;
+        protocol = attempt.protocol;
+        requestBytes.set(attempt.requestBytes.get());
+        responseBytes.set(attempt.responseBytes.get());
+        responseTransferredBytes.set(attempt.responseTransferredBytes.get());
+        concurrencyLimit = attempt.concurrencyLimit;
+        circuitState = attempt.circuitState;
+    }
+
+    void complete(Outcome outcome, Throwable failure) {
+        this.outcome = outcome;
+        this.failure = failure;
+        mark(Event.COMPLETED);
+    }
+
+    /**
+     * @return the http method and the path template of the request, used to group requests of the same endpoint
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getTimestampNanos(Event event) {
+        return timestamps.get(event.ordinal());
+    }
+
+    /**
+     * @return the duration of the phase in nanoseconds, or {@code -1} if the phase did not happen
+     */
+    public long getDurationNanos(Phase phase) {
+        long start = getTimestampNanos(phase.start);
+        long end = getTimestampNanos(phase.end);
+        if (phase == Phase.CONNECTION_ACQUIRE && end == 0) {
+            end = getTimestampNanos(Event.REQUEST_WRITE_STARTED);
+        }
+        if (start == 0 || end == 0 || end < start) {
+            return -1;
+        }
+        return end - start;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the status code of the last response, or {@code 0} if no response was received
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return how the response cache answered the last attempt, or {@code null} when the cache is disabled
+     */
+    public CacheResponseStatus getCacheStatus() {
+        return cacheStatus;
+    }
+
+    /**
+     * @return the protocol of the last response received, such as {@code HTTP/1.1} or {@code HTTP/2.0}, or
+     * {@code null} when no response was received
+     */
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * @return the concurrency limit of the host when the last attempt was dispatched, {@code 0} when the
+     * concurrency limit is not enabled
+     * @see ConcurrencyLimitConfig
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * @return the circuit state of the host when the last attempt was dispatched, {@link CircuitState#OPEN} when the
+     * request failed without being sent, or {@code null} when the host is not tracked
+     * @see CircuitBreakerConfig
+     */
+    public CircuitState getCircuitState() {
+        return circuitState;
+    }
+
+    /**
+     * @return true if a hedge was sent for the request, the timestamps of the network phases can then be those of
+     * either attempt
+     * @see HedgingConfig
+     */
+    public boolean isHedged() {
+        return hedged;
+    }
+
+    /**
+     * @return true if the hedge received its response before the attempt it was sent for
+     */
+    public boolean isHedgeWon() {
+        return hedgeWon;
+    }
+
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    public long getResponseTransferredBytes() {
+        return responseTransferredBytes.get();
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("RequestMetrics{route=").append(route)
+                .append(", outcome=").append(outcome)
+                .append(", statusCode=").append(statusCode)
+                .append(", retries=").append(retries)
+                .append(", cacheStatus=").append(cacheStatus)
+                .append(", protocol=").append(protocol);
+        if (hedged) {
+            builder.append(", hedged=true, hedgeWon=").append(hedgeWon);
+        }
+        if (nonNull(circuitState)) {
+            builder.append(", concurrencyLimit=").append(concurrencyLimit)
+                    .append(", circuitState=").append(circuitState);
+        }
+        for (Phase phase : Phase.values()) {
+            long duration = getDurationNanos(phase);
+            if (duration >= 0) {
+                builder.append(", ").append(phase).append('=').append(duration / 1000).append("us");
+            }
+        }
+        return builder.append('}').toString();
+    }
+}
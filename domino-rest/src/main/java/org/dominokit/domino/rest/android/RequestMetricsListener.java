@@ -0,0 +1,12 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Receives the metrics of each completed, failed or cancelled request, listeners are called on the thread that
+ * completed the request, usually the main thread, and should return quickly.
+ *
+ * @see RouteMetricsAggregator
+ */
+@FunctionalInterface
+public interface RequestMetricsListener {
+    void onRequestCompleted(RequestMetrics metrics);
+}
@@ -0,0 +1,269 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Android specific options attached to a {@link ServerRequest}, the options are held weakly and go away with the
+ * request. The options are read once when the request is sent, so they must be set before.
+ * <pre>
+ *     RequestOptions.of(request).setTag(this);
+ * </pre>
+ */
+public class RequestOptions {
+
+    private static final Map<ServerRequest, RequestOptions> OPTIONS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final RequestOptions DEFAULTS = new RequestOptions();
+
+    private Object tag;
+    private RetryPolicy retryPolicy;
+    private Boolean idempotent;
+    private Boolean coalesce;
+    private File downloadFile;
+    private ProgressListener downloadProgressListener;
+    private RequestBody requestBody;
+    private ProgressListener uploadProgressListener;
+    private Boolean compressRequestBody;
+    private RequestPriority priority = RequestPriority.USER_VISIBLE;
+    private Boolean batch;
+    private Boolean hedge;
+    private Executor callbackExecutor;
+    private boolean skipTokenRefresh;
+    private AndroidRequestSender<?, ?> sender;
+    private volatile HostHealth hostHealth;
+
+    public static RequestOptions of(ServerRequest request) {
+        return OPTIONS.computeIfAbsent(request, serverRequest -> new RequestOptions());
+    }
+
+    /**
+     * @return the options of the request without attaching new options to it, shared default options that must not
+     * be changed when the request has none
+     */
+    static RequestOptions peek(ServerRequest request) {
+        RequestOptions options = OPTIONS.get(request);
+        return nonNull(options) ? options : DEFAULTS;
+    }
+
+    public Object getTag() {
+        return tag;
+    }
+
+    /**
+     * Groups the request with all other requests having the same tag so they can be cancelled together.
+     *
+     * @see AndroidRequestSender#cancelAll(Object)
+     */
+    public RequestOptions setTag(Object tag) {
+        this.tag = tag;
+        return this;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Overrides the global retry policy for this request.
+     */
+    public RequestOptions setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    public boolean isIdempotent(String httpMethod) {
+        if (nonNull(idempotent)) {
+            return idempotent;
+        }
+        return !"POST".equalsIgnoreCase(httpMethod) && !"PATCH".equalsIgnoreCase(httpMethod);
+    }
+
+    /**
+     * Marks the request as safe to be sent more than once, by default {@code POST} and {@code PATCH} requests are
+     * not idempotent and will not be retried.
+     */
+    public RequestOptions setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+        return this;
+    }
+
+    public Boolean getCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Overrides the global coalescing setting for this request, {@code null} uses the global setting.
+     *
+     * @see AndroidRequestSender#setCoalescingEnabled(boolean)
+     */
+    public RequestOptions setCoalesce(Boolean coalesce) {
+        this.coalesce = coalesce;
+        return this;
+    }
+
+    public File getDownloadFile() {
+        return downloadFile;
+    }
+
+    /**
+     * Writes the response body directly to the file instead of keeping it in memory, the response reader of the
+     * request will not be able to read the body and should ignore it.
+     */
+    public RequestOptions setDownloadFile(File downloadFile) {
+        this.downloadFile = downloadFile;
+        return this;
+    }
+
+    public ProgressListener getDownloadProgressListener() {
+        return downloadProgressListener;
+    }
+
+    /**
+     * Notified from the network thread while the body is written to the download file.
+     */
+    public RequestOptions setDownloadProgressListener(ProgressListener downloadProgressListener) {
+        this.downloadProgressListener = downloadProgressListener;
+        return this;
+    }
+
+    public RequestBody getRequestBody() {
+        return requestBody;
+    }
+
+    /**
+     * Streams the body to the server instead of the body serialized from the request bean, requests with a body
+     * that is not repeatable are never retried.
+     */
+    public RequestOptions setRequestBody(RequestBody requestBody) {
+        this.requestBody = requestBody;
+        return this;
+    }
+
+    public ProgressListener getUploadProgressListener() {
+        return uploadProgressListener;
+    }
+
+    /**
+     * Notified from the network thread while the request body is written to the connection.
+     */
+    public RequestOptions setUploadProgressListener(ProgressListener uploadProgressListener) {
+        this.uploadProgressListener = uploadProgressListener;
+        return this;
+    }
+
+    public Boolean getCompressRequestBody() {
+        return compressRequestBody;
+    }
+
+    /**
+     * Overrides the global request compression setting for this request, {@code null} uses the global setting.
+     *
+     * @see CompressionConfig#setRequestCompression(boolean)
+     */
+    public RequestOptions setCompressRequestBody(Boolean compressRequestBody) {
+        this.compressRequestBody = compressRequestBody;
+        return this;
+    }
+
+    public RequestPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the order in which the request is dispatched when it has to wait for other requests to complete,
+     * requests are {@link RequestPriority#USER_VISIBLE} by default.
+     */
+    public RequestOptions setPriority(RequestPriority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public Boolean getBatch() {
+        return batch;
+    }
+
+    /**
+     * Set to {@code false} to send the request on its own when batching is enabled, requests with a download file or
+     * a streamed body are never batched.
+     *
+     * @see AndroidRequestSender#setBatchConfig(BatchConfig)
+     */
+    public RequestOptions setBatch(Boolean batch) {
+        this.batch = batch;
+        return this;
+    }
+
+    public Boolean getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Set to {@code false} to never hedge the request, or to {@code true} to hedge an idempotent request other than
+     * a {@code GET} or {@code HEAD}, requests that are not idempotent are never hedged.
+     *
+     * @see AndroidRequestSender#setHedgingConfig(HedgingConfig)
+     */
+    public RequestOptions setHedge(Boolean hedge) {
+        this.hedge = hedge;
+        return this;
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Overrides the executor the callbacks of this request are delivered on, {@code null} uses the global executor.
+     *
+     * @see CallbackExecutors
+     */
+    public RequestOptions setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    public boolean isSkipTokenRefresh() {
+        return skipTokenRefresh;
+    }
+
+    /**
+     * Sends the request without a token from the {@link TokenRefreshInterceptor}, it must be set on the request
+     * refreshing the token, which would otherwise wait for its own refresh.
+     */
+    public RequestOptions setSkipTokenRefresh(boolean skipTokenRefresh) {
+        this.skipTokenRefresh = skipTokenRefresh;
+        return this;
+    }
+
+    /**
+     * @return the health of the host the request was sent to, so the response interceptors can see the concurrency
+     * limit and the circuit state of the host, {@code null} when neither the concurrency limit nor the circuit
+     * breaker is enabled
+     */
+    public HostHealth getHostHealth() {
+        return hostHealth;
+    }
+
+    void setHostHealth(HostHealth hostHealth) {
+        this.hostHealth = hostHealth;
+    }
+
+    AndroidRequestSender<?, ?> getSender() {
+        return sender;
+    }
+
+    /**
+     * @see RestClient#bind(ServerRequest)
+     */
+    RequestOptions setSender(AndroidRequestSender<?, ?> sender) {
+        this.sender = sender;
+        return this;
+    }
+}
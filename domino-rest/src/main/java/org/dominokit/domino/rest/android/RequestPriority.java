@@ -0,0 +1,21 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * The order in which queued requests are dispatched, requests of the same priority are dispatched in the order
+ * they were sent.
+ */
+public enum RequestPriority {
+    /**
+     * A request the user is waiting for.
+     */
+    USER_VISIBLE,
+    /**
+     * A request the user is not waiting for, for example a sync.
+     */
+    BACKGROUND,
+    /**
+     * A request loading data that might be needed later, dispatched after all the waiting requests of the higher
+     * priorities that the limits allow to run, it can still run before them when they wait for a busy host.
+     */
+    PREFETCH
+}
@@ -0,0 +1,172 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import io.reactivex.Flowable;
+import io.reactivex.plugins.RxJavaPlugins;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Emits the elements of a response body while it is being read, each subscription sends the request once.
+ * <p>
+ * The body is read on the network thread, which waits for the subscriber to request more elements before reading
+ * further, so a slow subscriber slows down the transfer instead of having the elements buffered in memory.
+ */
+class ResponseStream<T> extends Flowable<T> {
+
+    private final StreamFormat<T> format;
+    private final Consumer<Emitter<T>> sender;
+    private final Runnable canceller;
+
+    /**
+     * @param sender    sends the request, reading the response with {@link Emitter#emit(Response, Runnable)} and
+     *                  delivering the request callbacks to the emitter
+     * @param canceller cancels the request sent by the sender
+     */
+    ResponseStream(StreamFormat<T> format, Consumer<Emitter<T>> sender, Runnable canceller) {
+        this.format = format;
+        this.sender = sender;
+        this.canceller = canceller;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super T> subscriber) {
+        Emitter<T> emitter = new Emitter<>(subscriber, format, canceller);
+        subscriber.onSubscribe(emitter);
+        if (!emitter.isCancelled()) {
+            sender.accept(emitter);
+        }
+    }
+
+    static class Emitter<T> implements Subscription, ServerRequestCallBack {
+
+        private final Subscriber<? super T> subscriber;
+        private final StreamFormat<T> format;
+        private final Runnable canceller;
+        private long requested;
+        private boolean cancelled;
+        private boolean done;
+
+        private Emitter(Subscriber<? super T> subscriber, StreamFormat<T> format, Runnable canceller) {
+            this.subscriber = subscriber;
+            this.format = format;
+            this.canceller = canceller;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                RxJavaPlugins.onError(new IllegalArgumentException("n > 0 required but it was " + n));
+                return;
+            }
+            synchronized (this) {
+                requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (cancelled || done) {
+                    return;
+                }
+                cancelled = true;
+                notifyAll();
+            }
+            canceller.run();
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        String getMediaType() {
+            return format.getMediaType();
+        }
+
+        /**
+         * Reads the elements of the body and emits them to the subscriber, called on the network thread while the
+         * response is handled.
+         *
+         * @param onFirstElement called before the first element is emitted
+         * @return the number of emitted elements
+         */
+        long emit(Response response, Runnable onFirstElement) throws IOException {
+            BufferedReader body;
+            if (response instanceof StreamingResponse) {
+                body = new BufferedReader(new InputStreamReader(((StreamingResponse) response).getBodyAsStream(),
+                        StandardCharsets.UTF_8));
+            } else {
+                String bodyAsString = response.getBodyAsString();
+                body = new BufferedReader(new StringReader(isNull(bodyAsString) ? "" : bodyAsString));
+            }
+            StreamFormat.ElementReader<T> reader = format.open(body);
+            long count = 0;
+            T element;
+            while ((element = reader.next()) != null && awaitDemand()) {
+                if (count++ == 0) {
+                    onFirstElement.run();
+                }
+                subscriber.onNext(element);
+            }
+            return count;
+        }
+
+        /**
+         * @return {@code false} if the subscription was cancelled while waiting
+         */
+        private synchronized boolean awaitDemand() throws InterruptedIOException {
+            while (requested == 0 && !cancelled) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the stream subscriber");
+                }
+            }
+            if (cancelled) {
+                return false;
+            }
+            if (requested != Long.MAX_VALUE) {
+                requested--;
+            }
+            return true;
+        }
+
+        private synchronized boolean terminate() {
+            if (cancelled || done) {
+                return false;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public <R> void onSuccess(R elementsCount) {
+            if (terminate()) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void onFailure(FailedResponseBean failedResponse) {
+            if (terminate()) {
+                subscriber.onError(new RequestFailedException(failedResponse));
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+
+import cz.msebera.android.httpclient.pool.PoolStats;
+
+/**
+ * A client for one backend, owning its own connection pool, responses cache, dispatcher threads and interceptors,
+ * so a slow backend can not starve the requests of the other backends.
+ * <p>
+ * Requests created by the generated factories are sent through the global configuration unless they are bound to
+ * a client, a bound request is sent to the service root of the client instead of the default service root.
+ * <pre>
+ *     RestClient search = RestClient.create(ClientConfig.builder("https://search.example.com/api/").build());
+ *
+ *     search.bind(MoviesServiceFactory.INSTANCE.search(query))
+ *             .onSuccess(movies -> {...})
+ *             .send();
+ * </pre>
+ */
+public class RestClient {
+
+    private final ClientConfig config;
+    private final HttpClientProvider httpClientProvider;
+    private final AndroidRequestSender<?, ?> requestSender;
+
+    private RestClient(ClientConfig config) {
+        this.config = config;
+        this.httpClientProvider = new HttpClientProvider(config.getPoolConfig());
+        httpClientProvider.configureTransport(config.getTransport());
+        httpClientProvider.setTimeoutConfig(config.getTimeoutConfig());
+        httpClientProvider.configureCompression(config.getCompressionConfig());
+        httpClientProvider.configureBufferPool(config.getBufferPoolConfig());
+        httpClientProvider.configureCache(config.getCacheConfig());
+        httpClientProvider.configureDnsCache(config.getDnsCacheConfig());
+        httpClientProvider.configureWarmUp(config.getWarmUpConfig());
+
+        this.requestSender = new AndroidRequestSender<>(httpClientProvider, config.getServiceRoot());
+        requestSender.setTimeoutConfig(config.getTimeoutConfig());
+        requestSender.setRetryPolicy(config.getRetryPolicy());
+        requestSender.setRetryBudget(config.getRetryBudget());
+        requestSender.setCoalescingEnabled(config.isRequestCoalescing());
+        requestSender.setBatchConfig(config.getBatchConfig());
+        requestSender.setHedgingConfig(config.getHedgingConfig());
+        requestSender.setConcurrencyLimitConfig(config.getConcurrencyLimitConfig());
+        requestSender.setCircuitBreakerConfig(config.getCircuitBreakerConfig());
+        requestSender.setCallbackExecutor(config.getCallbackExecutor());
+        requestSender.getDispatcher().configure(config.getDispatcherConfig());
+        requestSender.updateInterceptorChain(chain -> config.getInterceptorChain());
+    }
+
+    public static RestClient create(ClientConfig config) {
+        return new RestClient(config);
+    }
+
+    /**
+     * Sends the request through this client instead of the global configuration.
+     *
+     * @return the same request
+     */
+    public <T extends ServerRequest> T bind(T request) {
+        RequestOptions.of(request).setSender(requestSender);
+        return request;
+    }
+
+    public ClientConfig getConfig() {
+        return config;
+    }
+
+    public void addMetricsListener(RequestMetricsListener listener) {
+        requestSender.addMetricsListener(listener);
+    }
+
+    public void removeMetricsListener(RequestMetricsListener listener) {
+        requestSender.removeMetricsListener(listener);
+    }
+
+    public void addHostHealthListener(HostHealthListener listener) {
+        requestSender.addHostHealthListener(listener);
+    }
+
+    public void removeHostHealthListener(HostHealthListener listener) {
+        requestSender.removeHostHealthListener(listener);
+    }
+
+    /**
+     * @return the concurrency limit and the circuit state of each host the client sent requests to
+     */
+    public Collection<HostHealth> getHostHealths() {
+        return requestSender.getHostHealths();
+    }
+
+    public HedgingStats getHedgingStats() {
+        return requestSender.getHedgingStats();
+    }
+
+    /**
+     * Resolves the host of the service root and of the recently requested hosts and opens connections to them in
+     * the background, does nothing unless the client has a warm up configuration.
+     */
+    public void warmUp() {
+        httpClientProvider.warmUp(Collections.singletonList(config.getServiceRoot()));
+    }
+
+    public WarmUpStats getWarmUpStats() {
+        return httpClientProvider.getWarmUpStats();
+    }
+
+    public DnsCacheStats getDnsCacheStats() {
+        return httpClientProvider.getDnsCacheStats();
+    }
+
+    public PoolStats getPoolStats() {
+        return httpClientProvider.getPoolStats();
+    }
+
+    public CacheStats getCacheStats() {
+        return httpClientProvider.getCacheStats();
+    }
+
+    public CompressionStats getCompressionStats() {
+        return httpClientProvider.getCompressionStats();
+    }
+
+    public BufferPoolStats getBufferPoolStats() {
+        return httpClientProvider.getBufferPoolStats();
+    }
+
+    /**
+     * Opens an outbox replaying its requests through this client.
+     *
+     * @see Outbox#open(OutboxConfig, AndroidRequestSender)
+     */
+    public Outbox openOutbox(OutboxConfig outboxConfig) throws IOException {
+        return Outbox.open(outboxConfig, requestSender);
+    }
+
+    public DispatcherStats getDispatcherStats() {
+        return requestSender.getDispatcher().getStats();
+    }
+
+    public void clearCache() {
+        httpClientProvider.clearCache();
+    }
+
+    public void cancel(ServerRequest request) {
+        requestSender.cancel(request);
+    }
+
+    public void cancelAll(Object tag) {
+        requestSender.cancelAll(tag);
+    }
+
+    /**
+     * Cancels all the requests in flight and releases the connections and threads of the client, the client can
+     * not be used afterwards.
+     */
+    public void shutdown() {
+        requestSender.cancelAll();
+        requestSender.getDispatcher().shutdown();
+        requestSender.getStreamDispatcher().shutdown();
+        httpClientProvider.shutdown();
+    }
+}
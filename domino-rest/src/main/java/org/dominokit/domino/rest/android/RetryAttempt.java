@@ -0,0 +1,56 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import static java.util.Objects.nonNull;
+
+public class RetryAttempt {
+
+    private final ServerRequest request;
+    private final int retry;
+    private final boolean idempotent;
+    private final Response response;
+    private final Throwable error;
+
+    RetryAttempt(ServerRequest request, int retry, boolean idempotent, Response response, Throwable error) {
+        this.request = request;
+        this.retry = retry;
+        this.idempotent = idempotent;
+        this.response = response;
+        this.error = error;
+    }
+
+    public ServerRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return the number of the retry being decided, {@code 1} for the first retry
+     */
+    public int getRetry() {
+        return retry;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public boolean hasResponse() {
+        return nonNull(response);
+    }
+
+    /**
+     * @return the failed response, or {@code null} if the attempt failed without a response
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * @return the error of the attempt, or {@code null} if the server responded with a failure status code
+     */
+    public Throwable getError() {
+        return error;
+    }
+}
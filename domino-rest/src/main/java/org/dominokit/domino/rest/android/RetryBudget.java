@@ -0,0 +1,47 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket shared by all the requests, each retry takes one token and tokens are refilled at a fixed rate,
+ * so when a backend goes down retries cannot multiply the load sent to it.
+ */
+public class RetryBudget {
+
+    private final double maxTokens;
+    private final double tokensPerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RetryBudget(int maxTokens, double tokensPerSecond) {
+        this.maxTokens = maxTokens;
+        this.tokensPerSecond = tokensPerSecond;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public static RetryBudget unlimited() {
+        return new RetryBudget(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens--;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(maxTokens, tokens + elapsedSeconds * tokensPerSecond);
+        lastRefillNanos = now;
+    }
+}
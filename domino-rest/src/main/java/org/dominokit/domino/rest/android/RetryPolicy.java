@@ -0,0 +1,23 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Decides if a failed attempt should be retried and how long to wait before retrying it, a policy can be set
+ * globally on {@code DominoRestConfig} or for a single request using {@link RequestOptions#setRetryPolicy(RetryPolicy)}.
+ * <p>
+ * A retry is made only if the policy allows it, the request deadline leaves enough time for the delay and the
+ * {@link RetryBudget} has a token left.
+ */
+@FunctionalInterface
+public interface RetryPolicy {
+
+    long NO_RETRY = -1;
+
+    /**
+     * @return the delay in milliseconds before the next attempt, or {@link #NO_RETRY} to fail the request
+     */
+    long nextRetryDelayMillis(RetryAttempt attempt);
+
+    static RetryPolicy none() {
+        return attempt -> NO_RETRY;
+    }
+}
@@ -0,0 +1,175 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cz.msebera.android.httpclient.client.cache.CacheResponseStatus;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Aggregates the requests metrics by route into latency histograms for each phase.
+ * <pre>
+ *     RouteMetricsAggregator aggregator = new RouteMetricsAggregator();
+ *     DominoRestConfig.getInstance().addMetricsListener(aggregator);
+ *     ...
+ *     aggregator.getRoute("GET movies/{id}").getHistogram(RequestMetrics.Phase.TOTAL).getPercentileMillis(95);
+ * </pre>
+ * The number of routes is bounded, requests of routes exceeding the limit are aggregated under {@link #OTHER_ROUTE}.
+ */
+public class RouteMetricsAggregator implements RequestMetricsListener {
+
+    public static final String OTHER_ROUTE = "other";
+
+    private final int maxRoutes;
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    public RouteMetricsAggregator() {
+        this(100);
+    }
+
+    public RouteMetricsAggregator(int maxRoutes) {
+        this.maxRoutes = maxRoutes;
+    }
+
+    @Override
+    public void onRequestCompleted(RequestMetrics metrics) {
+        RouteMetrics route = routes.get(metrics.getRoute());
+        if (isNull(route)) {
+            String name = routes.size() < maxRoutes ? metrics.getRoute() : OTHER_ROUTE;
+            route = routes.computeIfAbsent(name, RouteMetrics::new);
+        }
+        route.record(metrics);
+    }
+
+    /**
+     * @return the metrics of the route, or {@code null} if no request was completed for the route
+     */
+    public RouteMetrics getRoute(String route) {
+        return routes.get(route);
+    }
+
+    public Collection<RouteMetrics> getRoutes() {
+        return Collections.unmodifiableCollection(routes.values());
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    public static class RouteMetrics {
+
+        private final String route;
+        private final Map<RequestMetrics.Phase, LatencyHistogram> histograms = new EnumMap<>(RequestMetrics.Phase.class);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong cancellations = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong hedged = new AtomicLong();
+        private final AtomicLong hedgeWins = new AtomicLong();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicLong responseTransferredBytes = new AtomicLong();
+
+        private RouteMetrics(String route) {
+            this.route = route;
+            for (RequestMetrics.Phase phase : RequestMetrics.Phase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+        }
+
+        private void record(RequestMetrics metrics) {
+            count.incrementAndGet();
+            if (metrics.getOutcome() == RequestMetrics.Outcome.FAILED) {
+                failures.incrementAndGet();
+            } else if (metrics.getOutcome() == RequestMetrics.Outcome.CANCELLED) {
+                cancellations.incrementAndGet();
+            }
+            if (metrics.getCacheStatus() == CacheResponseStatus.CACHE_HIT
+                    || metrics.getCacheStatus() == CacheResponseStatus.VALIDATED) {
+                cacheHits.incrementAndGet();
+            }
+            if (metrics.isHedged()) {
+                hedged.incrementAndGet();
+            }
+            if (metrics.isHedgeWon()) {
+                hedgeWins.incrementAndGet();
+            }
+            retries.addAndGet(metrics.getRetries());
+            requestBytes.addAndGet(metrics.getRequestBytes());
+            responseBytes.addAndGet(metrics.getResponseBytes());
+            responseTransferredBytes.addAndGet(metrics.getResponseTransferredBytes());
+            histograms.forEach((phase, histogram) -> histogram.record(metrics.getDurationNanos(phase)));
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public LatencyHistogram getHistogram(RequestMetrics.Phase phase) {
+            return histograms.get(phase);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getFailureCount() {
+            return failures.get();
+        }
+
+        public long getCancelledCount() {
+            return cancellations.get();
+        }
+
+        public long getRetryCount() {
+            return retries.get();
+        }
+
+        /**
+         * @return the number of responses served from the cache, with or without revalidation
+         */
+        public long getCacheHitCount() {
+            return cacheHits.get();
+        }
+
+        /**
+         * @return the number of requests a hedge was sent for
+         */
+        public long getHedgedCount() {
+            return hedged.get();
+        }
+
+        /**
+         * @return the number of requests completed by the response of their hedge
+         */
+        public long getHedgeWinCount() {
+            return hedgeWins.get();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.get();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.get();
+        }
+
+        public long getResponseTransferredBytes() {
+            return responseTransferredBytes.get();
+        }
+
+        @Override
+        public String toString() {
+            LatencyHistogram total = getHistogram(RequestMetrics.Phase.TOTAL);
+            return "RouteMetrics{route=" + route + ", count=" + count + ", failures=" + failures
+                    + ", p50=" + total.getPercentileMillis(50) + "ms, p95=" + total.getPercentileMillis(95)
+                    + "ms, p99=" + total.getPercentileMillis(99) + "ms}";
+        }
+    }
+}
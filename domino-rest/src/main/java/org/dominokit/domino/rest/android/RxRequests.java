@@ -0,0 +1,44 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.DominoRestConfig;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import io.reactivex.Flowable;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+/**
+ * Sends requests through the global configuration, or through the client they are bound to, as reactive types
+ * instead of callbacks, the request is sent on subscription and disposing the subscription cancels it.
+ * <pre>
+ *     disposable = RxRequests.single(MoviesServiceFactory.INSTANCE.list())
+ *             .observeOn(AndroidSchedulers.mainThread())
+ *             .subscribe(movies -> {...}, error -> {...});
+ * </pre>
+ * The results are emitted on the network thread unless the request has its own callback executor, failures are
+ * emitted as {@link RequestFailedException}.
+ *
+ * @see AndroidRequestSender#single(ServerRequest)
+ */
+public final class RxRequests {
+
+    private RxRequests() {
+    }
+
+    public static <R, S> Single<S> single(ServerRequest<R, S> request) {
+        return RxRequests.<R, S>sender().single(request);
+    }
+
+    public static <R, S> Maybe<S> maybe(ServerRequest<R, S> request) {
+        return RxRequests.<R, S>sender().maybe(request);
+    }
+
+    public static <R, S, T> Flowable<T> stream(ServerRequest<R, S> request, StreamFormat<T> format) {
+        return RxRequests.<R, S>sender().stream(request, format);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R, S> AndroidRequestSender<R, S> sender() {
+        return (AndroidRequestSender<R, S>) DominoRestConfig.getInstance().getRequestSender();
+    }
+}
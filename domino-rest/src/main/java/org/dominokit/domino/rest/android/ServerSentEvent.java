@@ -0,0 +1,58 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * An event read from a {@code text/event-stream} body.
+ *
+ * @see SseFormat
+ */
+public class ServerSentEvent {
+
+    public static final long NO_RETRY = -1;
+
+    private final String id;
+    private final String event;
+    private final String data;
+    private final long retryMillis;
+
+    public ServerSentEvent(String id, String event, String data, long retryMillis) {
+        this.id = id;
+        this.event = event;
+        this.data = data;
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * @return the id of the last event that defined one, or {@code null} if none did
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the event type, {@code message} when the event does not define one
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    /**
+     * @return the reconnection time last requested by the server in the stream, or {@link #NO_RETRY} if none was
+     */
+    public long getRetryMillis() {
+        return retryMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSentEvent{" +
+                "id='" + id + '\'' +
+                ", event='" + event + '\'' +
+                ", data='" + data + '\'' +
+                ", retryMillis=" + retryMillis +
+                '}';
+    }
+}
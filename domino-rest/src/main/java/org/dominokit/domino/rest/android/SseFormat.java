@@ -0,0 +1,114 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Server-Sent Events, each event of the body is one element, comments and events without data are skipped.
+ * <pre>
+ *     RxRequests.stream(request, new SseFormat())
+ *             .filter(event -> "price".equals(event.getEvent()))
+ *             .map(event -> Price_MapperImpl.INSTANCE.read(event.getData()))
+ * </pre>
+ */
+public class SseFormat implements StreamFormat<ServerSentEvent> {
+
+    private static final String DEFAULT_EVENT = "message";
+
+    @Override
+    public String getMediaType() {
+        return "text/event-stream";
+    }
+
+    @Override
+    public ElementReader<ServerSentEvent> open(BufferedReader body) {
+        return new EventReader(body);
+    }
+
+    private static class EventReader implements ElementReader<ServerSentEvent> {
+
+        private final BufferedReader body;
+        private final StringBuilder data = new StringBuilder();
+        private boolean firstLine = true;
+        private String lastEventId;
+        private String event;
+        private long retryMillis = ServerSentEvent.NO_RETRY;
+
+        private EventReader(BufferedReader body) {
+            this.body = body;
+        }
+
+        /**
+         * An event still incomplete when the body ends is discarded.
+         */
+        @Override
+        public ServerSentEvent next() throws IOException {
+            String line;
+            while ((line = body.readLine()) != null) {
+                if (firstLine) {
+                    firstLine = false;
+                    if (line.startsWith("\uFEFF")) {
+                        line = line.substring(1);
+                    }
+                }
+                if (line.isEmpty()) {
+                    ServerSentEvent dispatched = dispatch();
+                    if (nonNull(dispatched)) {
+                        return dispatched;
+                    }
+                } else if (line.charAt(0) != ':') {
+                    int colon = line.indexOf(':');
+                    String field = colon < 0 ? line : line.substring(0, colon);
+                    String value = colon < 0 ? "" : line.substring(colon + 1);
+                    if (value.startsWith(" ")) {
+                        value = value.substring(1);
+                    }
+                    readField(field, value);
+                }
+            }
+            return null;
+        }
+
+        private void readField(String field, String value) {
+            switch (field) {
+                case "event":
+                    event = value;
+                    break;
+                case "data":
+                    data.append(value).append('\n');
+                    break;
+                case "id":
+                    if (value.indexOf('\0') < 0) {
+                        lastEventId = value;
+                    }
+                    break;
+                case "retry":
+                    if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+                        try {
+                            retryMillis = Long.parseLong(value);
+                        } catch (NumberFormatException e) {
+                            // too large, ignored like any other invalid value
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private ServerSentEvent dispatch() {
+            ServerSentEvent dispatched = null;
+            if (data.length() > 0) {
+                data.setLength(data.length() - 1);
+                dispatched = new ServerSentEvent(lastEventId, isNull(event) || event.isEmpty() ? DEFAULT_EVENT : event,
+                        data.toString(), retryMillis);
+            }
+            data.setLength(0);
+            event = null;
+            return dispatched;
+        }
+    }
+}
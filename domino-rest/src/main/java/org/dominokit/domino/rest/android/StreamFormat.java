@@ -0,0 +1,36 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Splits a streamed response body into elements, each element is emitted as soon as it is read instead of waiting
+ * for the whole body.
+ *
+ * @see NdjsonFormat
+ * @see SseFormat
+ * @see RxRequests#stream(org.dominokit.domino.rest.shared.request.ServerRequest, StreamFormat)
+ */
+public interface StreamFormat<T> {
+
+    /**
+     * @return the media type sent in the {@code Accept} header when the request does not define one
+     */
+    String getMediaType();
+
+    /**
+     * Called once for each response, the returned reader may keep state between the elements of the same response.
+     *
+     * @param body the response body decoded as UTF-8
+     */
+    ElementReader<T> open(BufferedReader body);
+
+    @FunctionalInterface
+    interface ElementReader<T> {
+
+        /**
+         * @return the next element, or {@code null} once the end of the body is reached
+         */
+        T next() throws IOException;
+    }
+}
@@ -0,0 +1,40 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A response that allows reading its body incrementally, response readers can check for this type to parse the
+ * body from a stream instead of from one big string.
+ * <p>
+ * The body can be consumed only once, either as a string, a stream or a file, and only while the response is being
+ * handled, the body is not available anymore once the response handling completes.
+ */
+public interface StreamingResponse extends Response {
+
+    InputStream getBodyAsStream() throws IOException;
+
+    InputStream getBodyAsStream(ProgressListener progressListener) throws IOException;
+
+    /**
+     * @return a reader decoding the body using the response charset
+     */
+    Reader getBodyAsReader() throws IOException;
+
+    /**
+     * @return the body length taken from the {@code Content-Length} header, or {@code -1} if unknown
+     */
+    long getContentLength();
+
+    /**
+     * Copies the body to the specified file without loading it in memory.
+     *
+     * @param progressListener notified after each copied chunk, can be {@code null}
+     * @return the number of bytes written
+     */
+    long writeBodyTo(File file, ProgressListener progressListener) throws IOException;
+}
@@ -0,0 +1,25 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.api.shared.extension.ContextAggregator;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+/**
+ * A request interceptor that completes before returning, for example adding a static header, requests are sent
+ * without waiting on a context when all the interceptors are synchronous.
+ * <pre>
+ *     DominoRestConfig.getInstance().addRequestInterceptor((SyncRequestInterceptor) request ->
+ *             request.setHeader("Accept-Language", locale));
+ * </pre>
+ */
+@FunctionalInterface
+public interface SyncRequestInterceptor extends RequestInterceptor {
+
+    void intercept(ServerRequest request);
+
+    @Override
+    default void interceptRequest(ServerRequest request, ContextAggregator.ContextWait<ServerRequest> contextWait) {
+        intercept(request);
+        contextWait.complete(request);
+    }
+}
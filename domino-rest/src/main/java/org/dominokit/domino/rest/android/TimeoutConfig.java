@@ -0,0 +1,61 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Timeouts applied to every request, a value of {@code 0} means no timeout.
+ * <p>
+ * The connect, read and pool acquire timeouts apply to each attempt, while the request timeout is an overall
+ * deadline that starts when the request is sent and is shared by the interceptors wait time and all retries,
+ * a {@code ServerRequest} timeout overrides the default request timeout.
+ */
+public class TimeoutConfig {
+
+    private int connectTimeoutMillis = 15_000;
+    private int readTimeoutMillis = 30_000;
+    private int poolAcquireTimeoutMillis = 10_000;
+    private int requestTimeoutMillis = 0;
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public TimeoutConfig setConnectTimeoutMillis(int connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        return this;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public TimeoutConfig setReadTimeoutMillis(int readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+        return this;
+    }
+
+    public int getPoolAcquireTimeoutMillis() {
+        return poolAcquireTimeoutMillis;
+    }
+
+    public TimeoutConfig setPoolAcquireTimeoutMillis(int poolAcquireTimeoutMillis) {
+        this.poolAcquireTimeoutMillis = poolAcquireTimeoutMillis;
+        return this;
+    }
+
+    public int getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    public TimeoutConfig setRequestTimeoutMillis(int requestTimeoutMillis) {
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        return this;
+    }
+
+    TimeoutConfig copy() {
+        TimeoutConfig copy = new TimeoutConfig();
+        copy.connectTimeoutMillis = connectTimeoutMillis;
+        copy.readTimeoutMillis = readTimeoutMillis;
+        copy.poolAcquireTimeoutMillis = poolAcquireTimeoutMillis;
+        copy.requestTimeoutMillis = requestTimeoutMillis;
+        return copy;
+    }
+}
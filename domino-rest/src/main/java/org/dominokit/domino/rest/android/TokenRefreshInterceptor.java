@@ -0,0 +1,190 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.api.shared.extension.ContextAggregator;
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ResponseInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Adds an access token to the requests, refreshing it when there is none, the requests sent while the token is
+ * being refreshed wait for the same refresh instead of each starting a new one.
+ * <p>
+ * The interceptor must be added as both a request and a response interceptor, a {@code 401 Unauthorized} response
+ * invalidates the token the request was sent with, so the next requests refresh it once however many requests
+ * failed with that token. The requests waiting for a refresh that failed are failed with the refresh failure.
+ * <p>
+ * A request sent to refresh the token must be marked with {@link RequestOptions#setSkipTokenRefresh(boolean)}, so it
+ * does not wait for the refresh it is part of.
+ * <pre>
+ *     TokenRefreshInterceptor tokens = new TokenRefreshInterceptor() {
+ *         protected void refreshToken(RefreshCallback callback) {
+ *             ServerRequest<?, Session> refresh = AuthServiceFactory.INSTANCE.refresh(refreshToken);
+ *             RequestOptions.of(refresh).setSkipTokenRefresh(true);
+ *             refresh.onSuccess(session -> callback.onRefreshed(session.getAccessToken()))
+ *                     .onFailed(failedResponse -> callback.onFailed(failedResponse.getThrowable()))
+ *                     .send();
+ *         }
+ *     };
+ *     DominoRestConfig.getInstance()
+ *             .addRequestInterceptor(tokens, 10_000)
+ *             .addResponseInterceptor(tokens);
+ * </pre>
+ */
+public abstract class TokenRefreshInterceptor implements RequestInterceptor, ResponseInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(TokenRefreshInterceptor.class.getCanonicalName());
+    private static final int UNAUTHORIZED = 401;
+
+    private final List<PendingRequest> pendingRequests = new ArrayList<>();
+    private String token;
+    private boolean refreshing;
+
+    /**
+     * Obtains a new token and reports it to the callback, called at most once at a time.
+     */
+    protected abstract void refreshToken(RefreshCallback callback);
+
+    /**
+     * Adds the token to the request, as a bearer {@code Authorization} header by default.
+     */
+    protected void applyToken(ServerRequest request, String token) {
+        request.setHeader("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * @return the token the request was sent with, read from the {@code Authorization} header by default
+     */
+    protected String tokenOf(ServerRequest request) {
+        String authorization = nonNull(request.headers()) ? (String) request.headers().get("Authorization") : null;
+        return nonNull(authorization) && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+    }
+
+    public synchronized String getToken() {
+        return token;
+    }
+
+    public synchronized void setToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Drops the current token, the next request will refresh it.
+     */
+    public synchronized void invalidate() {
+        this.token = null;
+    }
+
+    @Override
+    public void interceptRequest(ServerRequest request, ContextAggregator.ContextWait<ServerRequest> contextWait) {
+        if (RequestOptions.peek(request).isSkipTokenRefresh()) {
+            contextWait.complete(request);
+            return;
+        }
+        String currentToken;
+        boolean startRefresh = false;
+        synchronized (this) {
+            currentToken = token;
+            if (isNull(currentToken)) {
+                pendingRequests.add(new PendingRequest(request, contextWait));
+                startRefresh = !refreshing;
+                refreshing = true;
+            }
+        }
+        if (nonNull(currentToken)) {
+            applyToken(request, currentToken);
+            contextWait.complete(request);
+        } else if (startRefresh) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void interceptOnFailed(ServerRequest serverRequest, FailedResponseBean failedResponse) {
+        if (failedResponse.getStatusCode() == UNAUTHORIZED && !RequestOptions.peek(serverRequest).isSkipTokenRefresh()) {
+            String usedToken = tokenOf(serverRequest);
+            synchronized (this) {
+                if (nonNull(usedToken) && usedToken.equals(token)) {
+                    token = null;
+                }
+            }
+        }
+    }
+
+    private void refresh() {
+        RefreshCallback callback = new RefreshCallback();
+        try {
+            refreshToken(callback);
+        } catch (RuntimeException e) {
+            callback.onFailed(e);
+        }
+    }
+
+    private void onRefreshDone(String newToken, Throwable refreshFailure) {
+        Throwable failure = isNull(newToken) && isNull(refreshFailure)
+                ? new IllegalStateException("Token refresh did not return a token")
+                : refreshFailure;
+        List<PendingRequest> waiting;
+        synchronized (this) {
+            refreshing = false;
+            if (isNull(failure)) {
+                token = newToken;
+            }
+            waiting = new ArrayList<>(pendingRequests);
+            pendingRequests.clear();
+        }
+        if (nonNull(failure)) {
+            LOGGER.log(Level.WARNING, "Failed to refresh token, the waiting requests are failed : ", failure);
+        }
+        for (PendingRequest pendingRequest : waiting) {
+            if (nonNull(failure)) {
+                InterceptorChain.fail(pendingRequest.contextWait, pendingRequest.request, failure);
+            } else {
+                applyToken(pendingRequest.request, newToken);
+                pendingRequest.contextWait.complete(pendingRequest.request);
+            }
+        }
+    }
+
+    /**
+     * Only the first call to the callback is used.
+     */
+    public class RefreshCallback {
+
+        private final AtomicBoolean called = new AtomicBoolean();
+
+        private RefreshCallback() {
+        }
+
+        public void onRefreshed(String token) {
+            if (called.compareAndSet(false, true)) {
+                onRefreshDone(token, null);
+            }
+        }
+
+        public void onFailed(Throwable failure) {
+            if (called.compareAndSet(false, true)) {
+                onRefreshDone(null, failure);
+            }
+        }
+    }
+
+    private static class PendingRequest {
+        private final ServerRequest request;
+        private final ContextAggregator.ContextWait<ServerRequest> contextWait;
+
+        private PendingRequest(ServerRequest request, ContextAggregator.ContextWait<ServerRequest> contextWait) {
+            this.request = request;
+            this.contextWait = contextWait;
+        }
+    }
+}
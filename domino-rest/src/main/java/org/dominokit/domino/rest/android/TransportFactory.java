@@ -0,0 +1,12 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Creates the transport of a {@link HttpClientProvider}, called again after the provider is shutdown or
+ * reconfigured so the new transport picks up the pool, timeout, cache and compression configurations of the provider.
+ *
+ * @see Transports
+ */
+public interface TransportFactory {
+
+    HttpTransport create(HttpClientProvider provider);
+}
@@ -0,0 +1,31 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * The transports the requests can be sent with.
+ * <pre>
+ *     DominoRestConfig.getInstance().setTransport(Transports.okHttp(new OkHttpConfig()));
+ * </pre>
+ */
+public final class Transports {
+
+    private static final TransportFactory HTTP_CLIENT = HttpClientTransport::new;
+
+    private Transports() {
+    }
+
+    /**
+     * The pooled {@code HttpClient}, HTTP/1.1 only with one connection per request in flight, the default.
+     */
+    public static TransportFactory httpClient() {
+        return HTTP_CLIENT;
+    }
+
+    /**
+     * OkHttp, negotiating HTTP/2 with the servers supporting it so the concurrent requests to a host are multiplexed
+     * over one connection, OkHttp {@code 3.14} must be added to the application dependencies.
+     */
+    public static TransportFactory okHttp(OkHttpConfig config) {
+        OkHttpConfig snapshot = config.copy();
+        return provider -> new OkHttpTransport(provider, snapshot);
+    }
+}
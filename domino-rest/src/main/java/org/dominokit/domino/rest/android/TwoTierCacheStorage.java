@@ -0,0 +1,275 @@
+package org.dominokit.domino.rest.android;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import cz.msebera.android.httpclient.Header;
+import cz.msebera.android.httpclient.client.cache.HttpCacheEntry;
+import cz.msebera.android.httpclient.client.cache.HttpCacheEntrySerializer;
+import cz.msebera.android.httpclient.client.cache.HttpCacheStorage;
+import cz.msebera.android.httpclient.client.cache.HttpCacheUpdateCallback;
+import cz.msebera.android.httpclient.impl.client.cache.DefaultHttpCacheEntrySerializer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A cache storage keeping entries in memory and optionally on disk, each tier is an LRU bounded by the total size
+ * of its entries in bytes, entries found only on disk are promoted back to memory when read.
+ */
+public class TwoTierCacheStorage implements HttpCacheStorage {
+
+    private static final Logger LOGGER = Logger.getLogger(TwoTierCacheStorage.class.getCanonicalName());
+
+    private final MemoryTier memory;
+    private final DiskTier disk;
+
+    public TwoTierCacheStorage(HttpCacheConfig config) {
+        this.memory = new MemoryTier(config.getMemoryMaxBytes());
+        this.disk = nonNull(config.getDiskDirectory()) ? new DiskTier(config.getDiskDirectory(), config.getDiskMaxBytes()) : null;
+    }
+
+    @Override
+    public void putEntry(String key, HttpCacheEntry entry) throws IOException {
+        memory.put(key, entry);
+        if (nonNull(disk)) {
+            disk.put(key, entry);
+        }
+    }
+
+    @Override
+    public HttpCacheEntry getEntry(String key) throws IOException {
+        HttpCacheEntry entry = memory.get(key);
+        if (isNull(entry) && nonNull(disk)) {
+            entry = disk.get(key);
+            if (nonNull(entry)) {
+                memory.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    public void removeEntry(String key) throws IOException {
+        memory.remove(key);
+        if (nonNull(disk)) {
+            disk.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized void updateEntry(String key, HttpCacheUpdateCallback callback) throws IOException {
+        HttpCacheEntry updated = callback.update(getEntry(key));
+        if (nonNull(updated)) {
+            putEntry(key, updated);
+        } else {
+            removeEntry(key);
+        }
+    }
+
+    public long getMemorySizeBytes() {
+        return memory.getSizeBytes();
+    }
+
+    public long getDiskSizeBytes() {
+        return nonNull(disk) ? disk.getSizeBytes() : 0;
+    }
+
+    public void clear() {
+        memory.clear();
+        if (nonNull(disk)) {
+            disk.clear();
+        }
+    }
+
+    private static long sizeOf(HttpCacheEntry entry) {
+        long size = entry.getResource().length();
+        for (Header header : entry.getAllHeaders()) {
+            size += header.getName().length() + header.getValue().length();
+        }
+        return size;
+    }
+
+    private static class MemoryTier {
+        private final long maxBytes;
+        private final LinkedHashMap<String, HttpCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long sizeBytes;
+
+        private MemoryTier(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized HttpCacheEntry get(String key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(String key, HttpCacheEntry entry) {
+            long entrySize = sizeOf(entry);
+            remove(key);
+            if (entrySize > maxBytes) {
+                return;
+            }
+            entries.put(key, entry);
+            sizeBytes += entrySize;
+            Iterator<HttpCacheEntry> iterator = entries.values().iterator();
+            while (sizeBytes > maxBytes && iterator.hasNext()) {
+                sizeBytes -= sizeOf(iterator.next());
+                iterator.remove();
+            }
+        }
+
+        private synchronized void remove(String key) {
+            HttpCacheEntry removed = entries.remove(key);
+            if (nonNull(removed)) {
+                sizeBytes -= sizeOf(removed);
+            }
+        }
+
+        private synchronized long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+            sizeBytes = 0;
+        }
+    }
+
+    private static class DiskTier {
+        private static final String SUFFIX = ".entry";
+
+        private final File directory;
+        private final long maxBytes;
+        private final HttpCacheEntrySerializer serializer = new DefaultHttpCacheEntrySerializer();
+        private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+        private long sizeBytes;
+
+        private DiskTier(File directory, long maxBytes) {
+            this.directory = directory;
+            this.maxBytes = maxBytes;
+            loadIndex();
+        }
+
+        private void loadIndex() {
+            if (!directory.exists() && !directory.mkdirs()) {
+                LOGGER.warning("Could not create cache directory : " + directory);
+            }
+            File[] existing = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+            if (isNull(existing)) {
+                return;
+            }
+            Arrays.sort(existing, Comparator.comparingLong(File::lastModified));
+            for (File file : existing) {
+                files.put(file.getName(), file.length());
+                sizeBytes += file.length();
+            }
+            trim();
+        }
+
+        private synchronized HttpCacheEntry get(String key) {
+            String fileName = fileName(key);
+            // a get, not containsKey, so the read entry becomes the most recently used
+            if (isNull(files.get(fileName))) {
+                return null;
+            }
+            File file = new File(directory, fileName);
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (!key.equals(in.readUTF())) {
+                    return null;
+                }
+                HttpCacheEntry entry = serializer.readFrom(in);
+                file.setLastModified(System.currentTimeMillis());
+                return entry;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to read cache entry, entry will be removed : ", e);
+                delete(fileName);
+                return null;
+            }
+        }
+
+        private synchronized void put(String key, HttpCacheEntry entry) {
+            String fileName = fileName(key);
+            File temp = new File(directory, fileName + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeUTF(key);
+                serializer.writeTo(entry, out);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to write cache entry : ", e);
+                temp.delete();
+                return;
+            }
+            delete(fileName);
+            File file = new File(directory, fileName);
+            if (!temp.renameTo(file)) {
+                temp.delete();
+                return;
+            }
+            files.put(fileName, file.length());
+            sizeBytes += file.length();
+            trim();
+        }
+
+        private synchronized void remove(String key) {
+            delete(fileName(key));
+        }
+
+        private synchronized long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        private synchronized void clear() {
+            for (String fileName : files.keySet()) {
+                new File(directory, fileName).delete();
+            }
+            files.clear();
+            sizeBytes = 0;
+        }
+
+        private void trim() {
+            Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+            while (sizeBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                new File(directory, eldest.getKey()).delete();
+                sizeBytes -= eldest.getValue();
+                iterator.remove();
+            }
+        }
+
+        private void delete(String fileName) {
+            Long length = files.remove(fileName);
+            if (nonNull(length)) {
+                sizeBytes -= length;
+                new File(directory, fileName).delete();
+            }
+        }
+
+        private static String fileName(String key) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+                StringBuilder name = new StringBuilder(digest.length * 2 + SUFFIX.length());
+                for (byte b : digest) {
+                    name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return name.append(SUFFIX).toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.dominokit.domino.rest.android;
+
+/**
+ * Configures opening the connections to the service roots in the background before the first request needs them,
+ * the host is resolved and the TCP and TLS handshakes are done ahead of time and the connections are parked in the
+ * pool until their keep alive elapses.
+ * <p>
+ * The {@code HttpClient} transport opens the connections without sending anything, OkHttp has no such API so the
+ * OkHttp transport sends a {@code HEAD} request to the service root and opens one connection, which is all the
+ * requests need when the host supports HTTP/2.
+ * <p>
+ * Nothing is warmed up unless a configuration is set, and then only on an explicit {@code warmUp()} call, for example
+ * when the application starts or returns to the foreground.
+ */
+public class WarmUpConfig {
+
+    private int connectionsPerHost = 1;
+    private long minIntervalMillis = 30_000;
+    private int maxRecentHosts = 4;
+
+    public int getConnectionsPerHost() {
+        return connectionsPerHost;
+    }
+
+    /**
+     * The connections opened to each host, more than one only helps HTTP/1.1 hosts receiving several requests at
+     * once right after the warm up.
+     */
+    public WarmUpConfig setConnectionsPerHost(int connectionsPerHost) {
+        this.connectionsPerHost = connectionsPerHost;
+        return this;
+    }
+
+    public long getMinIntervalMillis() {
+        return minIntervalMillis;
+    }
+
+    /**
+     * The time during which a host that was warmed up is not warmed up again, so the several triggers of a startup
+     * open the connections once.
+     */
+    public WarmUpConfig setMinIntervalMillis(long minIntervalMillis) {
+        this.minIntervalMillis = minIntervalMillis;
+        return this;
+    }
+
+    public int getMaxRecentHosts() {
+        return maxRecentHosts;
+    }
+
+    /**
+     * The number of the most recently requested hosts warmed up with the service roots, this covers the hosts of the
+     * dynamic service roots which are only known once a request was sent to them.
+     */
+    public WarmUpConfig setMaxRecentHosts(int maxRecentHosts) {
+        this.maxRecentHosts = maxRecentHosts;
+        return this;
+    }
+
+    WarmUpConfig copy() {
+        WarmUpConfig copy = new WarmUpConfig();
+        copy.connectionsPerHost = connectionsPerHost;
+        copy.minIntervalMillis = minIntervalMillis;
+        copy.maxRecentHosts = maxRecentHosts;
+        return copy;
+    }
+}
@@ -0,0 +1,73 @@
+package org.dominokit.domino.rest.android;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WarmUpStats {
+
+    private final AtomicLong warmUps = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong warmFirstRequests = new AtomicLong();
+    private final AtomicLong coldFirstRequests = new AtomicLong();
+
+    void recordWarmUp(int openedConnections) {
+        warmUps.incrementAndGet();
+        connections.addAndGet(openedConnections);
+    }
+
+    void recordFailure() {
+        failures.incrementAndGet();
+    }
+
+    void recordFirstRequest(boolean warm) {
+        (warm ? warmFirstRequests : coldFirstRequests).incrementAndGet();
+    }
+
+    /**
+     * @return the number of hosts warmed up
+     */
+    public long getWarmUpCount() {
+        return warmUps.get();
+    }
+
+    /**
+     * @return the number of connections opened by the warm ups, a host that already had an idle connection is
+     * warmed up without opening one
+     */
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * @return the number of warm ups that failed to resolve the host or to connect to it
+     */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /**
+     * @return the number of first requests to a warmed up host sent on a pooled connection
+     */
+    public long getWarmFirstRequestCount() {
+        return warmFirstRequests.get();
+    }
+
+    /**
+     * @return the number of first requests to a warmed up host that still opened a connection, because the warmed
+     * connection expired or was closed by the server
+     */
+    public long getColdFirstRequestCount() {
+        return coldFirstRequests.get();
+    }
+
+    public double getWarmHitRate() {
+        long count = warmFirstRequests.get() + coldFirstRequests.get();
+        return count == 0 ? 0 : (double) warmFirstRequests.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpStats{warmUps=" + warmUps + ", connections=" + connections + ", failures=" + failures
+                + ", warmFirstRequests=" + warmFirstRequests + ", coldFirstRequests=" + coldFirstRequests + "}";
+    }
+}
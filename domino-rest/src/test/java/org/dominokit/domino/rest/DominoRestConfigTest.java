@@ -0,0 +1,103 @@
+package org.dominokit.domino.rest;
+
+import org.dominokit.domino.rest.android.SyncRequestInterceptor;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ResponseInterceptor;
+import org.dominokit.domino.rest.shared.request.RestConfig;
+import org.junit.After;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DominoRestConfigTest {
+
+    private final DominoRestConfig config = DominoRestConfig.getInstance();
+
+    @After
+    public void clearInterceptors() {
+        config.getRequestInterceptors().clear();
+        config.getResponseInterceptors().clear();
+    }
+
+    @Test
+    public void requestInterceptorsAddedToTheListAreAddedToTheChain() {
+        RequestInterceptor interceptor = (SyncRequestInterceptor) request -> request.setHeader("X-Test", "1");
+        List<RequestInterceptor> interceptors = config.getRequestInterceptors();
+
+        interceptors.add(interceptor);
+
+        assertEquals(Collections.singletonList(interceptor), config.getRequestSender().getInterceptorChain().getRequestInterceptors());
+        assertEquals(1, interceptors.size());
+        assertSame(interceptor, interceptors.get(0));
+    }
+
+    @Test
+    public void interceptorsRemovedFromTheListAreRemovedFromTheChain() {
+        RequestInterceptor first = (SyncRequestInterceptor) request -> request.setHeader("X-First", "1");
+        RequestInterceptor second = (SyncRequestInterceptor) request -> request.setHeader("X-Second", "1");
+        config.addRequestInterceptor(first).addRequestInterceptor(second);
+
+        assertTrue(config.getRequestInterceptors().remove(first));
+
+        assertEquals(Collections.singletonList(second), config.getRequestSender().getInterceptorChain().getRequestInterceptors());
+    }
+
+    @Test
+    public void listsReflectInterceptorsAddedThroughTheConfig() {
+        List<ResponseInterceptor> interceptors = config.getResponseInterceptors();
+        ResponseInterceptor interceptor = new ResponseInterceptor() {
+        };
+
+        config.addResponseInterceptor(interceptor);
+        assertTrue(interceptors.contains(interceptor));
+
+        interceptors.clear();
+        assertTrue(config.getRequestSender().getInterceptorChain().getResponseInterceptors().isEmpty());
+        assertFalse(interceptors.contains(interceptor));
+    }
+
+    @Test
+    public void datesAreFormattedFromManyThreads() throws Exception {
+        RestConfig.DateParamFormatter formatter = config.getDateParamFormatter();
+        String pattern = "yyyy-MM-dd HH:mm:ss";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            long offset = thread * 1_000L;
+            results.add(executor.submit(() -> {
+                SimpleDateFormat expected = new SimpleDateFormat(pattern);
+                for (long i = 0; i < 1_000; i++) {
+                    Date date = new Date(1_500_000_000_000L + (offset + i) * 3_600_000L);
+                    if (!expected.format(date).equals(formatter.format(date, pattern))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void interceptorsCanOnlyBeAddedAtTheEnd() {
+        config.addRequestInterceptor((SyncRequestInterceptor) request -> request.setHeader("X-Test", "1"));
+
+        config.getRequestInterceptors().add(0, (SyncRequestInterceptor) request -> request.setHeader("X-Other", "1"));
+    }
+}
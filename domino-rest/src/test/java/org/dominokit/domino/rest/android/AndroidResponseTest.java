@@ -0,0 +1,113 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import cz.msebera.android.httpclient.HttpEntity;
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.entity.ByteArrayEntity;
+import cz.msebera.android.httpclient.entity.ContentType;
+import cz.msebera.android.httpclient.entity.InputStreamEntity;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AndroidResponseTest {
+
+    private final BufferPoolStats stats = new BufferPoolStats();
+    private final BufferPool pool = new BufferPool(new BufferPoolConfig(), stats);
+
+    @Test
+    public void bodiesLargerThanTheDecodeChunkAreDecodedWhole() {
+        String text = repeat("café € 😀 ", 20_000);
+
+        AndroidResponse response = response(new ByteArrayEntity(text.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON));
+
+        assertEquals(text, response.getBodyAsString());
+    }
+
+    @Test
+    public void bodiesOfUnknownLengthAreDecodedWhole() {
+        String text = repeat("{\"id\":\"é\"}\n", 10_000);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        AndroidResponse response = response(new InputStreamEntity(new ByteArrayInputStream(bytes), -1, ContentType.APPLICATION_JSON));
+
+        assertEquals(text, response.getBodyAsString());
+    }
+
+    @Test
+    public void decodingOnlyHoldsChunkSizedBuffers() {
+        String text = repeat("0123456789", 100_000);
+
+        response(new ByteArrayEntity(text.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON)).getBodyAsString();
+        response(new ByteArrayEntity(text.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON)).getBodyAsString();
+
+        assertEquals(2 * BufferPoolConfig.MIN_BUFFER_BYTES, stats.getRetainedBytes());
+        assertEquals(2, stats.getHitCount());
+        assertEquals(0, stats.getDroppedCount());
+    }
+
+    @Test
+    public void bodiesOfKnownLengthAreDecodedIntoOnePooledBuffer() {
+        String text = repeat("0123456789", 5_000);
+
+        assertEquals(text, response(new ByteArrayEntity(text.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON)).getBodyAsString());
+        assertEquals(text, response(new ByteArrayEntity(text.getBytes(StandardCharsets.UTF_8), ContentType.APPLICATION_JSON)).getBodyAsString());
+
+        assertEquals(BufferPoolConfig.MIN_BUFFER_BYTES + 128 * 1024, stats.getRetainedBytes());
+        assertEquals(2, stats.getHitCount());
+    }
+
+    @Test
+    public void bodiesLongerThanTheirContentLengthAreDecodedFully() {
+        String text = repeat("{\"id\":\"é\"}\n", 1_000);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        AndroidResponse response = response(new InputStreamEntity(new ByteArrayInputStream(bytes), 10, ContentType.APPLICATION_JSON));
+
+        assertEquals(text, response.getBodyAsString());
+    }
+
+    @Test
+    public void charsetOfTheContentTypeIsUsed() {
+        byte[] bytes = "café".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals("café", response(new ByteArrayEntity(bytes, ContentType.create("text/plain", StandardCharsets.ISO_8859_1))).getBodyAsString());
+        assertEquals("café", response(new ByteArrayEntity(bytes, ContentType.create("text/plain"))).getBodyAsString());
+    }
+
+    @Test
+    public void malformedInputIsReplaced() {
+        byte[] bytes = {'o', 'k', (byte) 0xC3};
+
+        String body = response(new ByteArrayEntity(bytes, ContentType.APPLICATION_JSON)).getBodyAsString();
+
+        assertTrue(body, body.startsWith("ok"));
+        assertEquals(3, body.length());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bodyCanNotBeReadAfterBeingStreamed() throws Exception {
+        AndroidResponse response = response(new ByteArrayEntity(new byte[10], ContentType.APPLICATION_JSON));
+        response.getBodyAsStream();
+        response.getBodyAsString();
+    }
+
+    private AndroidResponse response(HttpEntity entity) {
+        BasicHttpResponse httpResponse = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        httpResponse.setEntity(entity);
+        return new AndroidResponse(httpResponse, pool);
+    }
+
+    private static String repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder(value.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
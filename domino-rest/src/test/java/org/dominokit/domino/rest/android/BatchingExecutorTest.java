@@ -0,0 +1,62 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchingExecutorTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final BatchingExecutor executor = new BatchingExecutor(tasks::add);
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void queuedCommandsRunInOneTask() {
+        executor.execute(() -> calls.add("a"));
+        executor.execute(() -> calls.add("b"));
+        executor.execute(() -> calls.add("c"));
+
+        assertEquals(1, tasks.size());
+        runNextTask();
+        assertEquals("[a, b, c]", calls.toString());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void commandsSubmittedWhileDrainingRunInTheNextTask() {
+        executor.execute(() -> {
+            calls.add("a");
+            executor.execute(() -> calls.add("late"));
+        });
+        executor.execute(() -> calls.add("b"));
+
+        runNextTask();
+        assertEquals("[a, b]", calls.toString());
+        assertEquals(1, tasks.size());
+
+        runNextTask();
+        assertEquals("[a, b, late]", calls.toString());
+    }
+
+    @Test
+    public void failingCommandDoesNotStopTheOthers() {
+        executor.execute(() -> {
+            throw new IllegalStateException("callback failed");
+        });
+        executor.execute(() -> calls.add("b"));
+
+        runNextTask();
+        assertEquals("[b]", calls.toString());
+
+        executor.execute(() -> calls.add("c"));
+        runNextTask();
+        assertEquals("[b, c]", calls.toString());
+    }
+
+    private void runNextTask() {
+        tasks.remove(0).run();
+    }
+}
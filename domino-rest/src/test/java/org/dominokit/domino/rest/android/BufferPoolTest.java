@@ -0,0 +1,111 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BufferPoolTest {
+
+    private final BufferPoolStats stats = new BufferPoolStats();
+
+    @Test
+    public void releasedBuffersAreReusedForTheirSizeClass() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig(), stats);
+
+        byte[] buffer = pool.acquireBytes(1000);
+        assertEquals(BufferPoolConfig.MIN_BUFFER_BYTES, buffer.length);
+        pool.releaseBytes(buffer);
+
+        assertSame(buffer, pool.acquireBytes(BufferPoolConfig.MIN_BUFFER_BYTES));
+        assertNotSame(buffer, pool.acquireBytes(BufferPoolConfig.MIN_BUFFER_BYTES + 1));
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void charBuffersAreSizedInBytes() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig(), stats);
+
+        char[] buffer = pool.acquireChars(10);
+        pool.releaseChars(buffer);
+
+        assertEquals(BufferPoolConfig.MIN_BUFFER_BYTES / 2, buffer.length);
+        assertEquals(BufferPoolConfig.MIN_BUFFER_BYTES, stats.getRetainedBytes());
+    }
+
+    @Test
+    public void releasedBuffersAreCleared() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig(), stats);
+        byte[] bytes = pool.acquireBytes(16);
+        char[] chars = pool.acquireChars(16);
+        bytes[0] = 42;
+        bytes[bytes.length - 1] = 42;
+        chars[0] = 'x';
+        chars[chars.length - 1] = 'x';
+
+        pool.releaseBytes(bytes);
+        pool.releaseChars(chars);
+
+        for (byte value : pool.acquireBytes(16)) {
+            assertEquals(0, value);
+        }
+        for (char value : pool.acquireChars(16)) {
+            assertEquals('\0', value);
+        }
+    }
+
+    @Test
+    public void idleMemoryIsCapped() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig().setMaxRetainedBytes(2 * BufferPoolConfig.MIN_BUFFER_BYTES), stats);
+        byte[] first = pool.acquireBytes(1);
+        byte[] second = pool.acquireBytes(1);
+        byte[] third = pool.acquireBytes(1);
+
+        pool.releaseBytes(first);
+        pool.releaseBytes(second);
+        pool.releaseBytes(third);
+
+        assertEquals(2 * BufferPoolConfig.MIN_BUFFER_BYTES, stats.getRetainedBytes());
+        assertEquals(1, stats.getDroppedCount());
+    }
+
+    @Test
+    public void buffersLargerThanTheMaxOrOfForeignSizesAreNotPooled() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig().setMaxBufferBytes(16 * 1024), stats);
+
+        byte[] large = pool.acquireBytes(100_000);
+        assertEquals(100_000, large.length);
+        pool.releaseBytes(large);
+        pool.releaseBytes(new byte[1000]);
+
+        assertEquals(0, stats.getRetainedBytes());
+        assertEquals(2, stats.getDroppedCount());
+    }
+
+    @Test
+    public void onlyCharBuffersOfAPooledSizeClassArePooled() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig().setMaxBufferBytes(16 * 1024), stats);
+
+        assertTrue(pool.isPooledChars(8 * 1024));
+        assertFalse(pool.isPooledChars(8 * 1024 + 1));
+        assertFalse(BufferPool.UNPOOLED.isPooledChars(1));
+    }
+
+    @Test
+    public void closedPoolDropsTheIdleAndReleasedBuffers() {
+        BufferPool pool = new BufferPool(new BufferPoolConfig(), stats);
+        byte[] released = pool.acquireBytes(1);
+        byte[] inUse = pool.acquireBytes(1);
+        pool.releaseBytes(released);
+
+        pool.close();
+        pool.releaseBytes(inUse);
+
+        assertEquals(0, stats.getRetainedBytes());
+        assertTrue(stats.getDroppedCount() >= 1);
+    }
+}
@@ -0,0 +1,118 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CallbackExecutorsTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private ExecutorService callbacks;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        callbacks = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "callbacks"));
+    }
+
+    @After
+    public void stop() {
+        callbacks.shutdown();
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void callbacksAreDeliveredOnTheMainThreadByDefault() throws Exception {
+        assertTrue(deliveryThread(TestRequest.get(server.getServiceRoot() + "items/1")).startsWith("RxSingleScheduler"));
+    }
+
+    @Test
+    public void callbacksAreDeliveredOnTheSenderExecutor() throws Exception {
+        sender.setCallbackExecutor(callbacks);
+
+        assertEquals("callbacks", deliveryThread(TestRequest.get(server.getServiceRoot() + "items/1")));
+    }
+
+    @Test
+    public void requestExecutorOverridesTheSenderExecutor() throws Exception {
+        sender.setCallbackExecutor(CallbackExecutors.mainThread());
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setCallbackExecutor(callbacks);
+
+        assertEquals("callbacks", deliveryThread(request));
+    }
+
+    @Test
+    public void directCallbacksRunOnTheNetworkThread() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setCallbackExecutor(CallbackExecutors.direct());
+
+        String thread = deliveryThread(request);
+        assertTrue(thread, !thread.startsWith("RxSingleScheduler") && !thread.equals("callbacks"));
+    }
+
+    @Test
+    public void batchedMainThreadDeliversOnTheMainThread() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setCallbackExecutor(CallbackExecutors.batchedMainThread());
+
+        assertTrue(deliveryThread(request).startsWith("RxSingleScheduler"));
+    }
+
+    @Test
+    public void singleEmitsOnTheNetworkThreadUnlessTheRequestHasAnExecutor() {
+        sender.setCallbackExecutor(callbacks);
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1"))
+                .doOnSuccess(result -> thread.set(Thread.currentThread().getName()))
+                .blockingGet();
+
+        assertTrue(thread.get(), thread.get().startsWith("domino-rest-dispatcher"));
+    }
+
+    private String deliveryThread(TestRequest<String> request) throws InterruptedException {
+        AtomicReference<String> thread = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        sender.send(request, new ServerRequestCallBack() {
+            @Override
+            public <T> void onSuccess(T response) {
+                thread.set(Thread.currentThread().getName());
+                delivered.countDown();
+            }
+
+            @Override
+            public void onFailure(FailedResponseBean failedResponse) {
+                delivered.countDown();
+            }
+        });
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        return thread.get();
+    }
+}
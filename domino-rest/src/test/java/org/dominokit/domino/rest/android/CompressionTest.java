@@ -0,0 +1,125 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionTest {
+
+    private static final String TEXT = new String(LocalServer.items(500), StandardCharsets.UTF_8);
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void gzipResponsesAreDecodedTransparently() throws Exception {
+        byte[] compressed = gzip(TEXT.getBytes(StandardCharsets.UTF_8));
+        server.enqueue("/notes", ScriptedResponse.ok("").body(compressed).header("Content-Encoding", "gzip")
+                .header("Content-Type", "application/json"));
+
+        assertEquals(TEXT, sender.single(TestRequest.get(server.getServiceRoot() + "notes")).blockingGet());
+        assertTrue(server.takeRequest().getHeader("Accept-Encoding").contains("gzip"));
+        CompressionStats stats = provider.getCompressionStats();
+        assertEquals(compressed.length, stats.getResponseTransferredBytes());
+        assertEquals(TEXT.length(), stats.getResponseBytes());
+        assertTrue(stats.getResponseCompressionRatio() > 1);
+    }
+
+    @Test
+    public void responsesAreNotRequestedCompressedWhenDisabled() throws Exception {
+        provider.configureCompression(new CompressionConfig().setResponseCompression(false));
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+        assertNull(server.takeRequest().getHeader("Accept-Encoding"));
+    }
+
+    @Test
+    public void largeRequestBodiesAreCompressedWhenEnabled() throws Exception {
+        provider.configureCompression(new CompressionConfig().setRequestCompression(true)
+                .setRequestCompressionThresholdBytes(1024));
+        sender.single(TestRequest.post(server.getServiceRoot() + "echo/notes", TEXT)).blockingGet();
+
+        ReceivedRequest received = server.takeRequest();
+        assertEquals("gzip", received.getHeader("Content-Encoding"));
+        assertEquals(TEXT, gunzip(received.getBody()));
+        assertTrue(received.getBody().length < TEXT.length());
+    }
+
+    @Test
+    public void smallRequestBodiesAreSentAsIs() throws Exception {
+        provider.configureCompression(new CompressionConfig().setRequestCompression(true)
+                .setRequestCompressionThresholdBytes(1024));
+        sender.single(TestRequest.post(server.getServiceRoot() + "echo/notes", "{\"a\":1}")).blockingGet();
+
+        ReceivedRequest received = server.takeRequest();
+        assertNull(received.getHeader("Content-Encoding"));
+        assertEquals("{\"a\":1}", received.getBodyAsString());
+    }
+
+    @Test
+    public void requestCompressionCanBeDisabledPerRequest() throws Exception {
+        provider.configureCompression(new CompressionConfig().setRequestCompression(true)
+                .setRequestCompressionThresholdBytes(0));
+        TestRequest<String> request = TestRequest.post(server.getServiceRoot() + "echo/notes", TEXT);
+        RequestOptions.of(request).setCompressRequestBody(false);
+        sender.single(request).blockingGet();
+
+        assertNull(server.takeRequest().getHeader("Content-Encoding"));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,123 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.client.utils.DateUtils;
+import cz.msebera.android.httpclient.message.BasicHttpResponse;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultRetryPolicyTest {
+
+    private final TestRequest<String> request = TestRequest.get("http://localhost/items");
+    private final DefaultRetryPolicy policy = new DefaultRetryPolicy().setMaxRetries(3).setJitter(0)
+            .setInitialDelayMillis(100);
+
+    @Test
+    public void backoffGrowsExponentiallyUpToTheMaxDelay() {
+        policy.setMaxDelayMillis(300);
+        assertEquals(100, policy.nextRetryDelayMillis(status(503, 1)));
+        assertEquals(200, policy.nextRetryDelayMillis(status(503, 2)));
+        assertEquals(300, policy.nextRetryDelayMillis(status(503, 3)));
+    }
+
+    @Test
+    public void jitterOnlyShortensTheDelay() {
+        policy.setJitter(1);
+        for (int i = 0; i < 100; i++) {
+            long delay = policy.nextRetryDelayMillis(status(503, 2));
+            assertTrue(String.valueOf(delay), delay >= 0 && delay <= 200);
+        }
+    }
+
+    @Test
+    public void stopsAfterTheMaxRetries() {
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(status(503, 4)));
+    }
+
+    @Test
+    public void maxRetriesDefaultsToTheRequestRetries() {
+        DefaultRetryPolicy requestRetries = new DefaultRetryPolicy().setJitter(0);
+        request.maxRetries(1);
+        assertTrue(requestRetries.nextRetryDelayMillis(status(503, 1)) >= 0);
+        assertEquals(RetryPolicy.NO_RETRY, requestRetries.nextRetryDelayMillis(status(503, 2)));
+    }
+
+    @Test
+    public void retriesOnlyTheRetryStatusCodes() {
+        assertTrue(policy.nextRetryDelayMillis(status(429, 1)) >= 0);
+        assertTrue(policy.nextRetryDelayMillis(status(502, 1)) >= 0);
+        assertTrue(policy.nextRetryDelayMillis(status(504, 1)) >= 0);
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(status(500, 1)));
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(status(404, 1)));
+
+        policy.setRetryStatusCodes(500);
+        assertTrue(policy.nextRetryDelayMillis(status(500, 1)) >= 0);
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(status(503, 1)));
+    }
+
+    @Test
+    public void honorsRetryAfterSeconds() {
+        assertEquals(2_000, policy.nextRetryDelayMillis(retryAfter("2")));
+    }
+
+    @Test
+    public void honorsRetryAfterDate() {
+        long delay = policy.nextRetryDelayMillis(retryAfter(DateUtils.formatDate(new Date(System.currentTimeMillis() + 5_000))));
+        assertTrue(String.valueOf(delay), delay > 3_000 && delay <= 5_000);
+    }
+
+    @Test
+    public void retryAfterLongerThanTheMaxDelayFailsTheRequest() {
+        policy.setMaxDelayMillis(1_000);
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(retryAfter("2")));
+    }
+
+    @Test
+    public void ignoresRetryAfterWhenDisabled() {
+        policy.setHonorRetryAfter(false);
+        assertEquals(100, policy.nextRetryDelayMillis(retryAfter("2")));
+    }
+
+    @Test
+    public void retriesTimeoutsAndIoErrors() {
+        assertEquals(100, policy.nextRetryDelayMillis(error(new RequestTimeoutException(), true)));
+        assertEquals(100, policy.nextRetryDelayMillis(error(new IOException("reset"), true)));
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(error(new IllegalStateException(), true)));
+
+        policy.setRetryOnIoErrors(false);
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(error(new IOException("reset"), true)));
+    }
+
+    @Test
+    public void neverRetriesNonIdempotentRequests() {
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(error(new IOException("reset"), false)));
+        assertEquals(RetryPolicy.NO_RETRY, policy.nextRetryDelayMillis(
+                new RetryAttempt(request, 1, false, response(503), null)));
+    }
+
+    private RetryAttempt status(int statusCode, int retry) {
+        return new RetryAttempt(request, retry, true, response(statusCode), null);
+    }
+
+    private RetryAttempt retryAfter(String value) {
+        BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 503, "Service Unavailable");
+        response.addHeader("Retry-After", value);
+        return new RetryAttempt(request, 1, true, new AndroidResponse(response), null);
+    }
+
+    private RetryAttempt error(Throwable error, boolean idempotent) {
+        return new RetryAttempt(request, 1, idempotent, null, error);
+    }
+
+    private static AndroidResponse response(int statusCode) {
+        return new AndroidResponse(new BasicHttpResponse(HttpVersion.HTTP_1_1, statusCode, "status"));
+    }
+}
@@ -0,0 +1,170 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class DnsCacheTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final DnsCacheStats stats = new DnsCacheStats();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void cachedHostsAreNotResolvedAgain() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig(), stats);
+        InetAddress[] addresses = cache.resolve("localhost");
+        assertArrayEquals(InetAddress.getAllByName("localhost"), addresses);
+
+        assertArrayEquals(addresses, cache.resolve("LOCALHOST"));
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(0.5, stats.getHitRate(), 0);
+    }
+
+    @Test
+    public void eachLookupGetsItsOwnCopyOfTheAddresses() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig(), stats);
+        InetAddress[] addresses = cache.resolve("localhost");
+        addresses[0] = null;
+
+        InetAddress[] cached = cache.resolve("localhost");
+        assertNotSame(addresses, cached);
+        assertEquals(InetAddress.getAllByName("localhost")[0], cached[0]);
+    }
+
+    @Test
+    public void expiredHostsAreResolvedInTheCallingThread() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig().setTimeToLiveMillis(0), stats);
+        cache.resolve("localhost");
+        cache.resolve("localhost");
+
+        assertEquals(2, stats.getMissCount());
+        assertEquals(0, stats.getHitCount());
+    }
+
+    @Test
+    public void hostsUsedAfterTheRefreshDelayAreResolvedAgainInTheBackground() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig().setRefreshAfterMillis(0), stats);
+        cache.resolve("localhost");
+        cache.resolve("localhost");
+        awaitRefreshes(1);
+
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getHitCount());
+        assertEquals(0, stats.getRefreshFailureCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedHostsAreEvicted() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig().setMaxEntries(1), stats);
+        cache.resolve("localhost");
+        cache.resolve("127.0.0.1");
+        cache.resolve("localhost");
+
+        assertEquals(3, stats.getMissCount());
+        assertEquals(0, stats.getHitCount());
+    }
+
+    @Test
+    public void clearingTheCacheForgetsTheHosts() throws Exception {
+        DnsCache cache = new DnsCache(new DnsCacheConfig(), stats);
+        cache.resolve("localhost");
+        cache.clear();
+        cache.resolve("localhost");
+
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void unknownHostsAreNotCached() {
+        DnsCache cache = new DnsCache(new DnsCacheConfig(), stats);
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.resolve("unknown.invalid");
+                fail("expected the host not to resolve");
+            } catch (UnknownHostException expected) {
+                // not cached, the next lookup tries again
+            }
+        }
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void theCacheAndTheWarmUpAreDisabledByDefault() {
+        assertNull(provider.getDnsCacheConfig());
+        assertNull(provider.getDnsCache());
+        assertNull(provider.getWarmUpConfig());
+        assertNull(ClientConfig.builder(server.getServiceRoot()).build().getDnsCacheConfig());
+        assertNull(ClientConfig.builder(server.getServiceRoot()).build().getWarmUpConfig());
+
+        provider.warmUp(Collections.singletonList(server.getServiceRoot()));
+        assertEquals(0, provider.getWarmUpStats().getWarmUpCount());
+    }
+
+    @Test
+    public void requestsResolveTheirHostThroughTheConfiguredCache() {
+        provider.configureDnsCache(new DnsCacheConfig());
+        String root = server.getServiceRoot().replace("127.0.0.1", "localhost");
+        for (int i = 0; i < 2; i++) {
+            provider.shutdown();
+            sender.single(TestRequest.get(root + "items/" + i)).blockingGet();
+        }
+
+        assertEquals(1, provider.getDnsCacheStats().getMissCount());
+        assertEquals(1, provider.getDnsCacheStats().getHitCount());
+    }
+
+    @Test
+    public void disablingTheCacheResolvesEveryConnectionThroughTheSystem() {
+        provider.configureDnsCache(new DnsCacheConfig());
+        provider.configureDnsCache(null);
+        String root = server.getServiceRoot().replace("127.0.0.1", "localhost");
+        sender.single(TestRequest.get(root + "items/1")).blockingGet();
+
+        assertNull(provider.getDnsCache());
+        assertEquals(0, provider.getDnsCacheStats().getMissCount());
+    }
+
+    private void awaitRefreshes(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (stats.getRefreshCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, stats.getRefreshCount());
+    }
+}
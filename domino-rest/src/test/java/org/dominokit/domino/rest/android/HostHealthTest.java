@@ -0,0 +1,325 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HostHealthTest {
+
+    private static final String ROUTE = "GET /items/{id}";
+
+    private final List<String> changes = new CopyOnWriteArrayList<>();
+    private final HostHealthTracker tracker = new HostHealthTracker(() -> {
+    });
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        tracker.addListener(new HostHealthListener() {
+            @Override
+            public void onConcurrencyLimitChanged(HostHealth hostHealth, int previousLimit) {
+                changes.add(previousLimit + " -> " + hostHealth.getConcurrencyLimit());
+            }
+
+            @Override
+            public void onCircuitStateChanged(HostHealth hostHealth, CircuitState previousState) {
+                changes.add(previousState + " -> " + hostHealth.getCircuitState());
+            }
+        });
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setRetryPolicy(RetryPolicy.none());
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void failuresCutTheLimitOncePerRoundTrip() {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(8).setMaxLimit(16));
+        List<HostHealth.Permit> permits = acquire(hostHealth, 8);
+
+        permits.forEach(HostHealth.Permit::onFailure);
+        assertEquals(6, hostHealth.getConcurrencyLimit());
+
+        hostHealth.tryAcquire(ROUTE).onResponse(503);
+        assertEquals(4, hostHealth.getConcurrencyLimit());
+        assertEquals(0, hostHealth.getInFlightCount());
+        assertEquals(2, changes.size());
+        assertEquals("8 -> 6", changes.get(0));
+    }
+
+    @Test
+    public void limitNeverGoesBelowTheMinimum() {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(4).setMinLimit(2));
+
+        for (int i = 0; i < 10; i++) {
+            hostHealth.tryAcquire(ROUTE).onFailure();
+        }
+
+        assertEquals(2, hostHealth.getConcurrencyLimit());
+    }
+
+    @Test
+    public void fastResponsesGrowTheLimitUpToTheMaximum() {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(4).setMaxLimit(6).setLatencyTolerance(1_000_000));
+
+        for (int round = 0; round < 20; round++) {
+            acquire(hostHealth, hostHealth.getConcurrencyLimit()).forEach(permit -> permit.onResponse(200));
+        }
+
+        assertEquals(6, hostHealth.getConcurrencyLimit());
+        assertEquals("4 -> 5", changes.get(0));
+        assertEquals("5 -> 6", changes.get(1));
+    }
+
+    @Test
+    public void limitDoesNotGrowWhileTheHostIsUnderused() {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(4).setLatencyTolerance(1_000_000));
+
+        for (int i = 0; i < 50; i++) {
+            hostHealth.tryAcquire(ROUTE).onResponse(200);
+        }
+
+        assertEquals(4, hostHealth.getConcurrencyLimit());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void responsesMuchSlowerThanTheBaselineCutTheLimit() throws Exception {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(4).setLatencyTolerance(2));
+        hostHealth.tryAcquire(ROUTE).onResponse(200);
+
+        HostHealth.Permit slow = hostHealth.tryAcquire(ROUTE);
+        Thread.sleep(50);
+        slow.onResponse(200);
+
+        assertEquals(3, hostHealth.getConcurrencyLimit());
+    }
+
+    @Test
+    public void routesOfDifferentSteadyLatenciesDoNotCutTheLimit() throws Exception {
+        HostHealth hostHealth = limited(new ConcurrencyLimitConfig().setInitialLimit(4).setLatencyTolerance(4));
+
+        for (int i = 0; i < 10; i++) {
+            respondAfter(hostHealth.tryAcquire("GET /items/{id}"), 5);
+            respondAfter(hostHealth.tryAcquire("GET /reports"), 50);
+        }
+
+        assertEquals(4, hostHealth.getConcurrencyLimit());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void clientErrorsAreNotFailures() {
+        assertTrue(HostHealth.isFailure(500));
+        assertTrue(HostHealth.isFailure(503));
+        assertTrue(HostHealth.isFailure(429));
+        assertFalse(HostHealth.isFailure(404));
+        assertFalse(HostHealth.isFailure(409));
+        assertFalse(HostHealth.isFailure(200));
+    }
+
+    @Test
+    public void circuitOpensOnceTheFailureRateIsReachedOverTheMinimumRequests() {
+        HostHealth hostHealth = breaker(new CircuitBreakerConfig().setWindowSize(10).setMinimumRequests(4)
+                .setFailureRateThreshold(0.5).setOpenDurationMillis(60_000));
+
+        for (int i = 0; i < 3; i++) {
+            hostHealth.tryAcquire(ROUTE).onResponse(503);
+        }
+        assertEquals(CircuitState.CLOSED, hostHealth.getCircuitState());
+        assertEquals(1.0, hostHealth.getFailureRate(), 0);
+
+        hostHealth.tryAcquire(ROUTE).onResponse(200);
+
+        assertEquals(CircuitState.OPEN, hostHealth.getCircuitState());
+        assertTrue(hostHealth.isOpen());
+        assertNull(hostHealth.tryAcquire(ROUTE));
+        assertTrue(hostHealth.getRetryAfterMillis() > 0);
+        assertEquals("CLOSED -> OPEN", changes.get(0));
+    }
+
+    @Test
+    public void failuresLeavingTheWindowAreForgotten() {
+        HostHealth hostHealth = breaker(new CircuitBreakerConfig().setWindowSize(4).setMinimumRequests(4).setFailureRateThreshold(0.5));
+
+        hostHealth.tryAcquire(ROUTE).onFailure();
+        for (int i = 0; i < 4; i++) {
+            hostHealth.tryAcquire(ROUTE).onResponse(200);
+        }
+        hostHealth.tryAcquire(ROUTE).onFailure();
+
+        assertEquals(0.25, hostHealth.getFailureRate(), 0);
+        assertEquals(CircuitState.CLOSED, hostHealth.getCircuitState());
+    }
+
+    @Test
+    public void successfulProbesCloseTheCircuit() throws Exception {
+        HostHealth hostHealth = opened(new CircuitBreakerConfig().setOpenDurationMillis(50).setHalfOpenRequests(2));
+        Thread.sleep(60);
+
+        HostHealth.Permit first = hostHealth.tryAcquire(ROUTE);
+        HostHealth.Permit second = hostHealth.tryAcquire(ROUTE);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals(CircuitState.HALF_OPEN, hostHealth.getCircuitState());
+        assertNull(hostHealth.tryAcquire(ROUTE));
+
+        first.onResponse(200);
+        assertEquals(CircuitState.HALF_OPEN, hostHealth.getCircuitState());
+        second.onResponse(204);
+
+        assertEquals(CircuitState.CLOSED, hostHealth.getCircuitState());
+        assertEquals(0, hostHealth.getFailureRate(), 0);
+    }
+
+    @Test
+    public void failedProbeOpensTheCircuitAgain() throws Exception {
+        HostHealth hostHealth = opened(new CircuitBreakerConfig().setOpenDurationMillis(50).setHalfOpenRequests(1));
+        Thread.sleep(60);
+
+        hostHealth.tryAcquire(ROUTE).onFailure();
+
+        assertEquals(CircuitState.OPEN, hostHealth.getCircuitState());
+        assertNull(hostHealth.tryAcquire(ROUTE));
+    }
+
+    @Test
+    public void releasedProbeLetsAnotherProbeThrough() throws Exception {
+        HostHealth hostHealth = opened(new CircuitBreakerConfig().setOpenDurationMillis(50).setHalfOpenRequests(1));
+        Thread.sleep(60);
+
+        hostHealth.tryAcquire(ROUTE).release();
+
+        assertEquals(CircuitState.HALF_OPEN, hostHealth.getCircuitState());
+        assertNotNull(hostHealth.tryAcquire(ROUTE));
+    }
+
+    @Test
+    public void requestsSentBeforeTheCircuitOpenedDoNotDecideTheProbes() throws Exception {
+        HostHealth hostHealth = breaker(new CircuitBreakerConfig().setWindowSize(2).setMinimumRequests(2)
+                .setOpenDurationMillis(50).setHalfOpenRequests(1));
+        HostHealth.Permit stale = hostHealth.tryAcquire(ROUTE);
+        hostHealth.tryAcquire(ROUTE).onFailure();
+        hostHealth.tryAcquire(ROUTE).onFailure();
+        assertEquals(CircuitState.OPEN, hostHealth.getCircuitState());
+        Thread.sleep(60);
+        HostHealth.Permit probe = hostHealth.tryAcquire(ROUTE);
+
+        stale.onFailure();
+        assertEquals(CircuitState.HALF_OPEN, hostHealth.getCircuitState());
+        probe.onResponse(200);
+
+        assertEquals(CircuitState.CLOSED, hostHealth.getCircuitState());
+    }
+
+    @Test
+    public void openCircuitFailsRequestsWithoutSendingThem() {
+        sender.setCircuitBreakerConfig(new CircuitBreakerConfig().setWindowSize(2).setMinimumRequests(2).setOpenDurationMillis(60_000));
+        server.enqueue("/items/1", ScriptedResponse.status(503));
+        server.enqueue("/items/1", ScriptedResponse.status(503));
+        String url = server.getServiceRoot() + "items/1";
+
+        sender.single(TestRequest.get(url)).test().awaitDone(5, TimeUnit.SECONDS).assertError(RequestFailedException.class);
+        sender.single(TestRequest.get(url)).test().awaitDone(5, TimeUnit.SECONDS).assertError(RequestFailedException.class);
+        TestObserver<String> rejected = sender.single(TestRequest.get(url)).test().awaitDone(5, TimeUnit.SECONDS);
+
+        rejected.assertError(failure -> ((RequestFailedException) failure).getFailedResponse() instanceof CircuitOpenResponseBean);
+        CircuitOpenResponseBean failedResponse = (CircuitOpenResponseBean) ((RequestFailedException) rejected.errors().get(0)).getFailedResponse();
+        assertEquals(RequestDispatcher.hostOf(url), failedResponse.getHost());
+        assertTrue(failedResponse.getRetryAfterMillis() > 0);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(CircuitState.OPEN, sender.getHostHealth(url).getCircuitState());
+    }
+
+    @Test
+    public void concurrencyLimitHoldsRequestsInTheDispatcher() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.addContext("/held/", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("{}".getBytes(StandardCharsets.UTF_8));
+        });
+        sender.setConcurrencyLimitConfig(new ConcurrencyLimitConfig().setInitialLimit(1).setMaxLimit(1));
+        String root = server.getServiceRoot();
+
+        TestObserver<String> first = sender.single(TestRequest.get(root + "held/1")).test();
+        TestObserver<String> second = sender.single(TestRequest.get(root + "held/2")).test();
+        server.takeRequest();
+
+        assertNull(server.pollRequest(200));
+        assertEquals(1, sender.getDispatcher().getQueuedCount());
+        assertEquals(1, sender.getHostHealth(root).getConcurrencyLimit());
+        release.countDown();
+        first.awaitDone(5, TimeUnit.SECONDS).assertValue("{}");
+        second.awaitDone(5, TimeUnit.SECONDS).assertValue("{}");
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private HostHealth limited(ConcurrencyLimitConfig config) {
+        tracker.configure(config, null);
+        return tracker.get("localhost:80");
+    }
+
+    private HostHealth breaker(CircuitBreakerConfig config) {
+        tracker.configure(null, config);
+        return tracker.get("localhost:80");
+    }
+
+    private HostHealth opened(CircuitBreakerConfig config) {
+        HostHealth hostHealth = breaker(config.setWindowSize(1).setMinimumRequests(1));
+        hostHealth.tryAcquire(ROUTE).onFailure();
+        assertEquals(CircuitState.OPEN, hostHealth.getCircuitState());
+        return hostHealth;
+    }
+
+    private static void respondAfter(HostHealth.Permit permit, long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        permit.onResponse(200);
+    }
+
+    private static List<HostHealth.Permit> acquire(HostHealth hostHealth, int count) {
+        List<HostHealth.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(hostHealth.tryAcquire(ROUTE));
+        }
+        return permits;
+    }
+}
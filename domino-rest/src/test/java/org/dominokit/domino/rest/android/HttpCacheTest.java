@@ -0,0 +1,116 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import cz.msebera.android.httpclient.client.cache.CacheResponseStatus;
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class HttpCacheTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        provider.configureCache(new HttpCacheConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void freshResponsesAreServedFromTheCache() throws Exception {
+        String url = server.getServiceRoot() + "cached-items/3";
+        String first = sender.single(TestRequest.get(url)).blockingGet();
+        awaitMetrics(1);
+        String second = sender.single(TestRequest.get(url)).blockingGet();
+
+        assertEquals(first, second);
+        assertEquals(1, server.getRequestCount());
+        awaitMetrics(2);
+        assertEquals(CacheResponseStatus.CACHE_MISS, metrics.get(0).getCacheStatus());
+        assertEquals(CacheResponseStatus.CACHE_HIT, metrics.get(1).getCacheStatus());
+        assertEquals(1, provider.getCacheStats().getHitCount());
+        assertEquals(1, provider.getCacheStats().getMissCount());
+    }
+
+    @Test
+    public void noStoreResponsesAreNotCached() {
+        String url = server.getServiceRoot() + "items/3";
+        sender.single(TestRequest.get(url)).blockingGet();
+        sender.single(TestRequest.get(url)).blockingGet();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void staleEntriesAreRevalidatedWithTheirETag() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("v1").header("ETag", "\"a\"").header("Cache-Control", "max-age=0"));
+        server.enqueue("/notes", ScriptedResponse.status(304).header("ETag", "\"a\""));
+        String url = server.getServiceRoot() + "notes";
+
+        assertEquals("v1", sender.single(TestRequest.get(url)).blockingGet());
+        awaitMetrics(1);
+        assertEquals("v1", sender.single(TestRequest.get(url)).blockingGet());
+
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        ReceivedRequest revalidation = server.takeRequest();
+        assertEquals("\"a\"", revalidation.getHeader("If-None-Match"));
+        awaitMetrics(2);
+        assertEquals(CacheResponseStatus.VALIDATED, metrics.get(1).getCacheStatus());
+        assertEquals(1, provider.getCacheStats().getValidatedCount());
+    }
+
+    @Test
+    public void changedResourcesReplaceTheCachedEntry() {
+        server.enqueue("/notes", ScriptedResponse.ok("v1").header("ETag", "\"a\"").header("Cache-Control", "max-age=0"));
+        server.enqueue("/notes", ScriptedResponse.ok("v2").header("ETag", "\"b\"").header("Cache-Control", "max-age=0"));
+        String url = server.getServiceRoot() + "notes";
+
+        assertEquals("v1", sender.single(TestRequest.get(url)).blockingGet());
+        assertEquals("v2", sender.single(TestRequest.get(url)).blockingGet());
+    }
+
+    @Test
+    public void clearCacheDropsTheEntries() {
+        String url = server.getServiceRoot() + "cached-items/3";
+        sender.single(TestRequest.get(url)).blockingGet();
+        provider.clearCache();
+        sender.single(TestRequest.get(url)).blockingGet();
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private void awaitMetrics(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, metrics.size());
+    }
+}
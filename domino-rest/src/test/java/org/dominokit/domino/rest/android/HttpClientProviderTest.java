@@ -0,0 +1,89 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class HttpClientProviderTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void requestsShareTheTransportAndReuseTheConnection() {
+        HttpTransport transport = provider.getTransport();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"id\":\"" + i + "\",\"name\":\"item " + i + "\",\"value\":1}",
+                    sender.single(TestRequest.get(server.getServiceRoot() + "items/" + i)).blockingGet());
+        }
+        assertSame(transport, provider.getTransport());
+        assertEquals(0, provider.getPoolStats().getLeased());
+        assertEquals(1, provider.getPoolStats().getAvailable());
+
+        awaitMetrics(3);
+        // the metrics are reported after the callbacks, so not necessarily in the order the requests were sent
+        assertEquals(1, metrics.stream()
+                .filter(requestMetrics -> requestMetrics.getTimestampNanos(RequestMetrics.Event.CONNECT_STARTED) > 0)
+                .count());
+    }
+
+    @Test
+    public void configureReplacesTheTransport() {
+        HttpTransport transport = provider.getTransport();
+        provider.configure(new ConnectionPoolConfig().setMaxTotalConnections(4));
+        assertNotSame(transport, provider.getTransport());
+        assertEquals(4, provider.getPoolStats().getMax());
+    }
+
+    @Test
+    public void transportIsCreatedAgainAfterShutdown() {
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+        HttpTransport transport = provider.getTransport();
+        provider.shutdown();
+        assertEquals(0, provider.getPoolStats().getAvailable());
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+        assertNotSame(transport, provider.getTransport());
+    }
+
+    private void awaitMetrics(int count) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(count, metrics.size());
+    }
+}
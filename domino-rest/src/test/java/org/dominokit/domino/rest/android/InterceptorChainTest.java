@@ -0,0 +1,144 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InterceptorChainTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void interceptorsAreCalledInOrderBeforeTheRequestIsSent() throws Exception {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        RequestInterceptor async = (request, contextWait) -> {
+            calls.add("async");
+            request.setHeader("X-Async", "1");
+            contextWait.complete(request);
+        };
+        sender.updateInterceptorChain(chain -> chain
+                .withRequestInterceptor((SyncRequestInterceptor) request -> {
+                    calls.add("sync");
+                    request.setHeader("X-Sync", "1");
+                }, 0)
+                .withRequestInterceptor(async, 0));
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertEquals("[sync, async]", calls.toString());
+        assertEquals("1", server.takeRequest().getHeader("X-Sync"));
+    }
+
+    @Test
+    public void throwingSyncInterceptorFailsTheRequest() throws Exception {
+        IllegalStateException failure = new IllegalStateException("no session");
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor((SyncRequestInterceptor) request -> {
+            throw failure;
+        }, 0));
+
+        assertSame(failure, failureOf(TestRequest.get(server.getServiceRoot() + "items/1")));
+        assertNotSent();
+    }
+
+    @Test
+    public void throwingAsyncInterceptorFailsTheRequest() throws Exception {
+        IllegalStateException failure = new IllegalStateException("no session");
+        RequestInterceptor interceptor = (request, contextWait) -> {
+            throw failure;
+        };
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, 0));
+
+        assertSame(failure, failureOf(TestRequest.get(server.getServiceRoot() + "items/1")));
+        assertNotSent();
+    }
+
+    @Test
+    public void failedContextFailsTheRequest() throws Exception {
+        IllegalStateException failure = new IllegalStateException("refused");
+        RequestInterceptor interceptor = (request, contextWait) -> InterceptorChain.fail(contextWait, request, failure);
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, 0));
+
+        assertSame(failure, failureOf(TestRequest.get(server.getServiceRoot() + "items/1")));
+        assertNotSent();
+    }
+
+    @Test
+    public void interceptorNotCompletingInTimeFailsTheRequest() throws Exception {
+        RequestInterceptor interceptor = (request, contextWait) -> {
+        };
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, 100));
+
+        assertTrue(failureOf(TestRequest.get(server.getServiceRoot() + "items/1")) instanceof RequestTimeoutException);
+        assertNotSent();
+    }
+
+    @Test
+    public void removingAnInterceptorReturnsANewChain() {
+        RequestInterceptor interceptor = (SyncRequestInterceptor) request -> request.setHeader("X-Test", "1");
+        InterceptorChain chain = InterceptorChain.EMPTY.withRequestInterceptor(interceptor, 0);
+
+        InterceptorChain removed = chain.withoutRequestInterceptor(interceptor);
+
+        assertEquals(1, chain.getRequestInterceptors().size());
+        assertTrue(removed.getRequestInterceptors().isEmpty());
+        assertTrue(removed.isSynchronous());
+        assertSame(removed, removed.withoutRequestInterceptor(interceptor));
+    }
+
+    private Throwable failureOf(TestRequest<String> request) {
+        try {
+            sender.single(request).blockingGet();
+        } catch (RequestFailedException e) {
+            return e.getFailedResponse().getThrowable();
+        }
+        fail("the request did not fail");
+        return null;
+    }
+
+    private void assertNotSent() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(RequestMetrics.Outcome.FAILED, metrics.get(0).getOutcome());
+        assertEquals(0, sender.getInFlightCount());
+        assertEquals(0, server.getRequestCount());
+    }
+}
@@ -0,0 +1,205 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.Http2LocalServer;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.NetworkProfile;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import cz.msebera.android.httpclient.client.cache.HttpCacheContext;
+import cz.msebera.android.httpclient.client.config.RequestConfig;
+import cz.msebera.android.httpclient.client.methods.CloseableHttpResponse;
+import cz.msebera.android.httpclient.client.methods.HttpUriRequest;
+import cz.msebera.android.httpclient.client.methods.RequestBuilder;
+import cz.msebera.android.httpclient.pool.PoolStats;
+import cz.msebera.android.httpclient.util.EntityUtils;
+import io.reactivex.Single;
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OkHttpTransportTest {
+
+    private Http2LocalServer http2Server;
+    private LocalServer http1Server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        if (http2Server != null) {
+            http2Server.stop();
+        }
+        if (http1Server != null) {
+            http1Server.stop();
+        }
+    }
+
+    @Test
+    public void requestsAreSentOverH2c() throws Exception {
+        String root = startHttp2(NetworkProfile.none());
+
+        String item = sender.single(TestRequest.get(root + "items/1")).blockingGet();
+
+        assertEquals(new String(LocalServer.item("1"), StandardCharsets.UTF_8), item);
+        awaitMetrics(1);
+        assertEquals("HTTP/2.0", metrics.get(0).getProtocol());
+        assertEquals(200, metrics.get(0).getStatusCode());
+    }
+
+    @Test
+    public void concurrentRequestsShareOneConnection() throws Exception {
+        String root = startHttp2(NetworkProfile.none().setLatencyMillis(100));
+        sender.getDispatcher().configure(new DispatcherConfig().setMaxConcurrentRequests(16).setMaxConcurrentRequestsPerHost(16));
+        sender.single(TestRequest.get(root + "items/0")).blockingGet();
+        awaitMetrics(1);
+        metrics.clear();
+        List<Single<String>> requests = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            requests.add(sender.single(TestRequest.get(root + "items/" + i)).subscribeOn(Schedulers.io()));
+        }
+
+        List<String> items = Single.merge(requests).toList().blockingGet();
+
+        assertEquals(16, items.size());
+        awaitMetrics(16);
+        long connected = metrics.stream().filter(requestMetrics -> requestMetrics.getTimestampNanos(RequestMetrics.Event.CONNECT_STARTED) > 0).count();
+        assertEquals(0, connected);
+        PoolStats poolStats = provider.getPoolStats();
+        assertEquals(1, poolStats.getLeased() + poolStats.getAvailable());
+    }
+
+    @Test
+    public void largeBodiesAreReadWhole() throws Exception {
+        String root = startHttp2(NetworkProfile.none());
+
+        String body = sender.single(TestRequest.get(root + "payload/5000")).blockingGet();
+
+        assertEquals(new String(LocalServer.items(5000), StandardCharsets.UTF_8), body);
+    }
+
+    @Test
+    public void cancellingARequestKeepsTheConnection() throws Exception {
+        String root = startHttp2(NetworkProfile.none().setLatencyMillis(300));
+        sender.single(TestRequest.get(root + "items/1")).blockingGet();
+
+        Disposable cancelled = sender.single(TestRequest.get(root + "items/2")).subscribe();
+        Thread.sleep(100);
+        cancelled.dispose();
+        sender.single(TestRequest.get(root + "items/3")).blockingGet();
+
+        awaitMetrics(3);
+        long connected = metrics.stream().filter(requestMetrics -> requestMetrics.getTimestampNanos(RequestMetrics.Event.CONNECT_STARTED) > 0).count();
+        assertEquals(1, connected);
+        assertTrue(metrics.stream().anyMatch(requestMetrics -> requestMetrics.getOutcome() == RequestMetrics.Outcome.CANCELLED));
+    }
+
+    @Test
+    public void errorStatusesFailTheRequest() throws Exception {
+        String root = startHttp2(NetworkProfile.none());
+        sender.setRetryPolicy(RetryPolicy.none());
+
+        sender.single(TestRequest.get(root + "missing/1"))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(failure -> ((RequestFailedException) failure).getStatusCode() == 404);
+    }
+
+    @Test
+    public void http1ServersAreReachedWithoutPriorKnowledge() throws Exception {
+        String url = startHttp1() + "echo/notes";
+
+        String echoed = sender.single(TestRequest.post(url, "{\"text\":\"a\"}")).blockingGet();
+
+        assertEquals("{\"text\":\"a\"}", echoed);
+        assertEquals("application/json", http1Server.takeRequest().getHeader("Content-Type"));
+        awaitMetrics(1);
+        assertEquals("HTTP/1.1", metrics.get(0).getProtocol());
+    }
+
+    @Test
+    public void timeoutsOfACallDoNotChangeTheOtherCalls() throws Exception {
+        String url = startHttp1() + "slow";
+        http1Server.enqueue("/slow", ScriptedResponse.ok("late").delay(500));
+        http1Server.enqueue("/slow", ScriptedResponse.ok("late").delay(500));
+        HttpUriRequest limited = RequestBuilder.get(url)
+                .setConfig(RequestConfig.custom().setSocketTimeout(100).build())
+                .build();
+
+        try {
+            provider.getTransport().newCall(limited, HttpCacheContext.create()).execute();
+            fail("expected the read timeout to elapse");
+        } catch (SocketTimeoutException expected) {
+            // the read timeout of the call
+        }
+        try (CloseableHttpResponse response = provider.getTransport().newCall(RequestBuilder.get(url).build(), HttpCacheContext.create()).execute()) {
+            assertEquals("late", EntityUtils.toString(response.getEntity()));
+        }
+    }
+
+    @Test
+    public void deadlineOfTheRequestIsTheCallTimeout() throws Exception {
+        String url = startHttp1() + "slow";
+        http1Server.enqueue("/slow", ScriptedResponse.ok("late").delay(2_000));
+        HttpCacheContext context = HttpCacheContext.create();
+        context.setAttribute(HttpTransport.TIMEOUT_ATTRIBUTE, 200);
+
+        long start = System.nanoTime();
+        try {
+            provider.getTransport().newCall(RequestBuilder.get(url).build(), context).execute();
+            fail("expected the deadline to elapse");
+        } catch (SocketTimeoutException expected) {
+            // the call timeout
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_500);
+    }
+
+    private String startHttp1() throws Exception {
+        http1Server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        provider.configureTransport(Transports.okHttp(new OkHttpConfig()));
+        createSender();
+        return http1Server.getServiceRoot();
+    }
+
+    private String startHttp2(NetworkProfile profile) throws Exception {
+        http2Server = Http2LocalServer.start(profile);
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        provider.configureTransport(Transports.okHttp(new OkHttpConfig().setPriorKnowledge(true)));
+        createSender();
+        return http2Server.getServiceRoot();
+    }
+
+    private void createSender() {
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    private void awaitMetrics(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, metrics.size());
+    }
+}
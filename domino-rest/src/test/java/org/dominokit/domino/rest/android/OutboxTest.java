@@ -0,0 +1,389 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OutboxTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private ConnectivitySignal connectivity;
+    private File directory;
+    private Outbox outbox;
+    private final List<String> outcomes = new CopyOnWriteArrayList<>();
+    private final OutboxListener listener = new OutboxListener() {
+        @Override
+        public void onDelivered(OutboxEntry entry, Response response) {
+            outcomes.add("delivered " + entry.getId());
+        }
+
+        @Override
+        public void onRejected(OutboxEntry entry, Response response) {
+            outcomes.add("rejected " + entry.getId());
+        }
+
+        @Override
+        public void onSuperseded(OutboxEntry entry, OutboxEntry supersededBy) {
+            outcomes.add("superseded " + entry.getId() + " by " + supersededBy.getId());
+        }
+    };
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        connectivity = new ConnectivitySignal(false);
+        directory = new File(folder.getRoot(), "outbox");
+    }
+
+    @After
+    public void stop() {
+        if (outbox != null) {
+            outbox.close();
+        }
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void requestsWaitForTheNetworkAndSurviveARestart() throws Exception {
+        open(config());
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"a\"}"));
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"b\"}"));
+        outbox.close();
+        assertEquals(0, server.getRequestCount());
+
+        open(config());
+        assertEquals(2, outbox.size());
+        connectivity.setConnected(true);
+
+        awaitOutcomes(2);
+        assertEquals(Arrays.asList("delivered 1", "delivered 2"), outcomes);
+        assertEquals("{\"text\":\"a\"}", server.takeRequest().getBodyAsString());
+        assertEquals("{\"text\":\"b\"}", server.takeRequest().getBodyAsString());
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    public void tornTailIsDroppedWhenTheLogIsOpened() throws Exception {
+        open(config());
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"a\"}"));
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"b\"}"));
+        outbox.close();
+        File log = new File(directory, "outbox.log");
+        long validLength = log.length();
+        try (FileOutputStream output = new FileOutputStream(log, true)) {
+            output.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+        }
+
+        open(config());
+
+        assertEquals(2, outbox.size());
+        assertEquals(validLength, log.length());
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"c\"}"));
+        outbox.close();
+        open(config());
+        assertEquals(3, outbox.size());
+        assertEquals(3, outbox.getEntries().get(2).getId());
+    }
+
+    @Test
+    public void recordFailingItsChecksumEndsTheLog() throws Exception {
+        open(config());
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"a\"}"));
+        outbox.add(TestRequest.post(url("notes"), "{\"text\":\"b\"}"));
+        outbox.close();
+        File log = new File(directory, "outbox.log");
+        try (RandomAccessFile file = new RandomAccessFile(log, "rw")) {
+            file.seek(file.length() - 2);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        open(config());
+
+        assertEquals(1, outbox.size());
+        assertEquals("{\"text\":\"a\"}", outbox.getEntries().get(0).getBody());
+    }
+
+    @Test
+    public void logIsCompactedOnceMostRecordsAreRemoved() throws Exception {
+        open(config().setCompactionThreshold(3));
+        for (int i = 0; i < 4; i++) {
+            outbox.add(TestRequest.post(url("notes"), "{\"text\":\"" + i + "\"}"));
+        }
+        File log = new File(directory, "outbox.log");
+        long fullLength = log.length();
+
+        outbox.remove(1);
+        outbox.remove(2);
+        long beforeCompaction = log.length();
+        assertTrue(beforeCompaction > fullLength);
+        outbox.remove(3);
+
+        assertTrue(log.length() < fullLength / 2);
+        assertFalse(new File(directory, "outbox.log.compacting").exists());
+        outbox.close();
+        open(config());
+        assertEquals(1, outbox.size());
+        assertEquals(4, outbox.getEntries().get(0).getId());
+        outbox.add(TestRequest.post(url("notes"), "{}"));
+        assertEquals(5, outbox.getEntries().get(1).getId());
+    }
+
+    @Test
+    public void idempotencyKeyIsReusedAcrossReplays() throws Exception {
+        open(config().setRetryDelayMillis(20, 100));
+        server.enqueue("/echo/notes", ScriptedResponse.status(503));
+        OutboxEntry entry = outbox.add(TestRequest.post(url("notes"), "{}"));
+        outbox.close();
+
+        open(config().setRetryDelayMillis(20, 100));
+        connectivity.setConnected(true);
+
+        awaitOutcomes(1);
+        String first = server.takeRequest().getHeader("Idempotency-Key");
+        String second = server.takeRequest().getHeader("Idempotency-Key");
+        assertNotNull(first);
+        assertEquals(entry.getIdempotencyKey(), first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void idempotencyKeyOfTheRequestIsKept() throws Exception {
+        open(config());
+        OutboxEntry entry = outbox.add(TestRequest.post(url("notes"), "{}").header("Idempotency-Key", "note-1"));
+
+        connectivity.setConnected(true);
+
+        assertEquals("note-1", entry.getIdempotencyKey());
+        assertNull(entry.getHeaders().get("Idempotency-Key"));
+        assertEquals("note-1", server.takeRequest().getHeader("Idempotency-Key"));
+    }
+
+    @Test
+    public void putAndDeleteSupersedeTheWaitingWritesOfTheirUrl() throws Exception {
+        open(config());
+        outbox.add(TestRequest.put(url("notes/1"), "{\"v\":1}"));
+        outbox.add(TestRequest.post(url("notes/1"), "{\"v\":2}"));
+        outbox.add(TestRequest.method("PATCH", url("notes/1"), "{\"v\":3}"));
+        outbox.add(TestRequest.put(url("notes/2"), "{\"v\":4}"));
+        outbox.add(TestRequest.delete(url("notes/1")));
+
+        assertEquals(Arrays.asList("superseded 1 by 5", "superseded 3 by 5"), outcomes);
+        outcomes.clear();
+        connectivity.setConnected(true);
+
+        awaitOutcomes(3);
+        assertEquals(Arrays.asList("POST /echo/notes/1", "PUT /echo/notes/2", "DELETE /echo/notes/1"), received(3));
+    }
+
+    @Test
+    public void requestsBeingSentAreNotSuperseded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.addContext("/held", exchange -> {
+            await(release);
+            exchange.sendResponseHeaders(204, -1);
+        });
+        connectivity.setConnected(true);
+        open(config());
+        outbox.add(TestRequest.put(url("held"), "{\"v\":1}"));
+        server.takeRequest();
+
+        outbox.add(TestRequest.put(url("held"), "{\"v\":2}"));
+        release.countDown();
+
+        awaitOutcomes(2);
+        assertEquals(Arrays.asList("delivered 1", "delivered 2"), outcomes);
+    }
+
+    @Test
+    public void transientStatusesAreRetried() throws Exception {
+        open(config().setRetryDelayMillis(20, 100));
+        connectivity.setConnected(true);
+        for (int status : new int[]{408, 425, 429, 500, 503}) {
+            outcomes.clear();
+            server.enqueue("/echo/notes", ScriptedResponse.status(status));
+            OutboxEntry entry = outbox.add(TestRequest.post(url("notes"), "{}"));
+
+            awaitOutcomes(1);
+            assertEquals("status " + status, "delivered " + entry.getId(), outcomes.get(0));
+            assertEquals(entry.getIdempotencyKey(), server.takeRequest().getHeader("Idempotency-Key"));
+            assertEquals(entry.getIdempotencyKey(), server.takeRequest().getHeader("Idempotency-Key"));
+        }
+    }
+
+    @Test
+    public void otherClientErrorsRejectTheRequest() throws Exception {
+        open(config().setRetryDelayMillis(20, 100));
+        connectivity.setConnected(true);
+        for (int status : new int[]{400, 401, 404, 409, 422}) {
+            outcomes.clear();
+            server.enqueue("/echo/notes", ScriptedResponse.status(status));
+            OutboxEntry entry = outbox.add(TestRequest.post(url("notes"), "{}"));
+
+            awaitOutcomes(1);
+            assertEquals("status " + status, "rejected " + entry.getId(), outcomes.get(0));
+            server.takeRequest();
+            assertNull(server.pollRequest(100));
+            assertEquals(0, outbox.size());
+        }
+    }
+
+    @Test
+    public void requestsAreReplayedOneAtATimeInOrderByDefault() throws Exception {
+        server.addContext("/slow", exchange -> {
+            sleep(100);
+            exchange.sendResponseHeaders(200, -1);
+        });
+        open(config());
+        outbox.add(TestRequest.post(url("slow"), "{}"));
+        outbox.add(TestRequest.post(url("a"), "{}"));
+        outbox.add(TestRequest.post(url("b"), "{}"));
+
+        connectivity.setConnected(true);
+
+        awaitOutcomes(3);
+        assertEquals(Arrays.asList("delivered 1", "delivered 2", "delivered 3"), outcomes);
+        assertEquals(Arrays.asList("POST /slow", "POST /echo/a", "POST /echo/b"), received(3));
+    }
+
+    @Test
+    public void requestsToOtherUrlsCanBeReplayedConcurrently() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.addContext("/held", exchange -> {
+            await(release);
+            exchange.sendResponseHeaders(200, -1);
+        });
+        open(config().setMaxConcurrentReplays(2));
+        outbox.add(TestRequest.post(url("held"), "{}"));
+        outbox.add(TestRequest.post(url("held"), "{}"));
+        outbox.add(TestRequest.post(url("a"), "{}"));
+
+        connectivity.setConnected(true);
+
+        awaitOutcomes(1);
+        assertEquals("delivered 3", outcomes.get(0));
+        release.countDown();
+        awaitOutcomes(3);
+        assertEquals(Arrays.asList("delivered 3", "delivered 1", "delivered 2"), outcomes);
+    }
+
+    @Test
+    public void backoffIsNotResetWhileAReplayHasFailed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        server.addContext("/held", exchange -> {
+            await(release);
+            exchange.sendResponseHeaders(200, -1);
+        });
+        server.enqueue("/echo/a", ScriptedResponse.status(503));
+        open(config().setMaxConcurrentReplays(2).setRetryDelayMillis(60_000, 60_000));
+        outbox.add(TestRequest.post(url("held"), "{}"));
+        outbox.add(TestRequest.post(url("a"), "{}"));
+
+        connectivity.setConnected(true);
+        server.takeRequest();
+        server.takeRequest();
+        awaitConsecutiveFailures(1);
+        release.countDown();
+
+        awaitOutcomes(1);
+        assertEquals("delivered 1", outcomes.get(0));
+        assertEquals(1, outbox.getConsecutiveFailures());
+
+        outbox.replay();
+        awaitOutcomes(2);
+        assertEquals(0, outbox.getConsecutiveFailures());
+    }
+
+    private OutboxConfig config() {
+        return new OutboxConfig(directory).setConnectivity(connectivity);
+    }
+
+    private void open(OutboxConfig config) throws IOException {
+        outbox = Outbox.open(config, sender);
+        outbox.addListener(listener);
+    }
+
+    private String url(String path) {
+        return path.equals("slow") || path.equals("held") ? server.getServiceRoot() + path : server.getServiceRoot() + "echo/" + path;
+    }
+
+    private List<String> received(int count) throws InterruptedException {
+        List<String> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ReceivedRequest request = server.takeRequest();
+            requests.add(request.getMethod() + " " + request.getPath());
+        }
+        return requests;
+    }
+
+    private void awaitOutcomes(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outcomes.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(outcomes.toString(), count, outcomes.size());
+    }
+
+    private void awaitConsecutiveFailures(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (outbox.getConsecutiveFailures() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, outbox.getConsecutiveFailures());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
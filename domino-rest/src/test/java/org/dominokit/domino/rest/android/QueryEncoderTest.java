@@ -0,0 +1,86 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.Test;
+
+import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class QueryEncoderTest {
+
+    @Test
+    public void unreservedValuesAreKeptAsIs() {
+        String value = "Azaz09-._~";
+        assertSame(value, QueryEncoder.encode(value));
+    }
+
+    @Test
+    public void encodingMatchesUrlEncoderWithSpacesAsPercent20() throws Exception {
+        String[] values = {"a b", "a+b&c=d", "100%", "/path?x#y", "ça coûte 5€", "日本語", "emoji 😀", "'*!()"};
+        for (String value : values) {
+            String expected = URLEncoder.encode(value, "UTF-8").replace("+", "%20").replace("*", "%2A");
+            assertEquals(value, expected, QueryEncoder.encode(value));
+        }
+    }
+
+    @Test
+    public void loneSurrogatesAreReplaced() {
+        assertEquals("a%3Fb", QueryEncoder.encode("a\uD83Db"));
+    }
+
+    @Test
+    public void parametersAreJoinedInOrder() {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("q", "red shoes");
+        parameters.put("page size", "20");
+        parameters.put("flag", null);
+
+        assertEquals("q=red%20shoes&page%20size=20&flag", QueryEncoder.encode(parameters));
+        assertEquals("", QueryEncoder.encode(Collections.<String, String>emptyMap()));
+    }
+
+    @Test
+    public void parametersAreAppendedToTheExistingQuery() {
+        Map<String, String> parameters = Collections.singletonMap("page", "2");
+
+        assertEquals("http://host/items?page=2", QueryEncoder.appendTo("http://host/items", parameters));
+        assertEquals("http://host/items?sort=asc&page=2", QueryEncoder.appendTo("http://host/items?sort=asc", parameters));
+        assertEquals("http://host/items?page=2", QueryEncoder.appendTo("http://host/items?", parameters));
+        assertEquals("http://host/items?a=1&page=2", QueryEncoder.appendTo("http://host/items?a=1&", parameters));
+        assertSame("http://host/items", QueryEncoder.appendTo("http://host/items", Collections.<String, String>emptyMap()));
+    }
+
+    @Test
+    public void longUrlsDoNotAffectTheNextOnes() {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            longValue.append("é");
+        }
+        QueryEncoder.encode(Collections.singletonMap("v", longValue.toString()));
+
+        assertEquals("v=1", QueryEncoder.encode(Collections.singletonMap("v", "1")));
+    }
+
+    @Test
+    public void encodedQueryIsSentWithTheRequest() throws Exception {
+        LocalServer server = LocalServer.start();
+        HttpClientProvider provider = new HttpClientProvider(new ConnectionPoolConfig());
+        try {
+            AndroidRestfulRequest request = new AndroidRestfulRequest(server.getServiceRoot() + "items/1?sort=asc", "GET", provider);
+            request.addQueryParam("q", "red shoes & socks");
+            request.addQueryParam("lang", "fr");
+            request.onSuccess(response -> { }).onError(failure -> { });
+            request.send();
+
+            assertEquals("sort=asc&q=red%20shoes%20%26%20socks&lang=fr", server.takeRequest().getQuery());
+        } finally {
+            provider.shutdown();
+            server.stop();
+        }
+    }
+}
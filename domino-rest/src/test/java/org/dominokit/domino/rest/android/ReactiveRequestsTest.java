@@ -0,0 +1,128 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ReactiveRequestsTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void singleEmitsTheResponse() {
+        String item = sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertEquals(new String(LocalServer.item("1"), StandardCharsets.UTF_8), item);
+    }
+
+    @Test
+    public void maybeCompletesWithoutAValueWhenTheResponseHasNoBody() {
+        server.enqueue("/items/1", ScriptedResponse.status(204));
+
+        sender.maybe(TestRequest.get(server.getServiceRoot() + "items/1").reader(response -> null))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertNoValues()
+                .assertComplete();
+    }
+
+    @Test
+    public void singleFailsWhenTheResponseHasNoBody() {
+        server.enqueue("/items/1", ScriptedResponse.status(204));
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1").reader(response -> null))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(NoSuchElementException.class);
+    }
+
+    @Test
+    public void callbacksReceiveNullWhenTheResponseHasNoBody() throws Exception {
+        server.enqueue("/items/1", ScriptedResponse.status(204));
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1").reader(response -> null);
+        RequestOptions.of(request).setCallbackExecutor(CallbackExecutors.direct());
+        AtomicReference<Object> result = new AtomicReference<>("not called");
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        sender.send(request, new ServerRequestCallBack() {
+            @Override
+            public <T> void onSuccess(T response) {
+                result.set(response);
+                delivered.countDown();
+            }
+
+            @Override
+            public void onFailure(FailedResponseBean failedResponse) {
+                delivered.countDown();
+            }
+        });
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertNull(result.get());
+    }
+
+    @Test
+    public void failedResponsesFailTheSingle() {
+        sender.setRetryPolicy(RetryPolicy.none());
+        server.enqueue("/items/1", ScriptedResponse.status(404));
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1"))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(failure -> ((RequestFailedException) failure).getStatusCode() == 404);
+    }
+
+    @Test
+    public void disposingCancelsTheRequest() throws Exception {
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("{}").delay(2_000));
+
+        Disposable subscription = sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).subscribe();
+        server.takeRequest();
+        subscription.dispose();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sender.getInFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sender.getInFlightCount());
+    }
+}
@@ -0,0 +1,198 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RequestBatchingTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private BatchConfig batchConfig;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        server.addContext("/batch", exchange -> {
+            byte[] body = answer(readAll(exchange.getRequestBody())).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setRetryPolicy(RetryPolicy.none());
+        batchConfig = new BatchConfig(server.getServiceRoot() + "batch").setWindowMillis(100);
+        sender.setBatchConfig(batchConfig);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void requestsIssuedWithinTheWindowShareOneBatch() throws Exception {
+        List<Single<String>> calls = sendAll(TestRequest.get(server.getServiceRoot() + "items/1"),
+                TestRequest.get(server.getServiceRoot() + "items/2"),
+                TestRequest.post(server.getServiceRoot() + "items", "{\"name\":\"new\"}"));
+
+        assertEquals("GET /items/1", calls.get(0).blockingGet());
+        assertEquals("GET /items/2", calls.get(1).blockingGet());
+        assertEquals("POST /items {\"name\":\"new\"}", calls.get(2).blockingGet());
+        assertEquals(1, server.getRequestCount());
+        ReceivedRequest batch = server.takeRequest();
+        assertEquals("POST", batch.getMethod());
+        assertEquals("/batch", batch.getPath());
+        assertEquals(3, new JSONObject(batch.getBodyAsString()).getJSONArray("requests").length());
+    }
+
+    @Test
+    public void failedResponseFailsOnlyItsRequest() throws Exception {
+        List<Single<String>> calls = sendAll(TestRequest.get(server.getServiceRoot() + "items/1"),
+                TestRequest.get(server.getServiceRoot() + "missing"));
+
+        assertEquals("GET /items/1", calls.get(0).blockingGet());
+        try {
+            calls.get(1).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertEquals(404, e.getStatusCode());
+        }
+    }
+
+    @Test
+    public void fullBatchIsSentBeforeTheWindowEnds() throws Exception {
+        batchConfig.setWindowMillis(60_000).setMaxRequests(2);
+
+        List<Single<String>> calls = sendAll(TestRequest.get(server.getServiceRoot() + "items/1"),
+                TestRequest.get(server.getServiceRoot() + "items/2"));
+
+        assertEquals("GET /items/1", calls.get(0).timeout(5, TimeUnit.SECONDS).blockingGet());
+        assertEquals("GET /items/2", calls.get(1).timeout(5, TimeUnit.SECONDS).blockingGet());
+    }
+
+    @Test
+    public void requestsOptedOutAreSentOnTheirOwn() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setBatch(false);
+
+        sender.single(request).blockingGet();
+
+        assertEquals("/items/1", server.takeRequest().getPath());
+    }
+
+    @Test
+    public void failedBatchFailsAllItsRequests() throws Exception {
+        server.enqueue("/batch", ScriptedResponse.status(503));
+
+        List<Single<String>> calls = sendAll(TestRequest.get(server.getServiceRoot() + "items/1"),
+                TestRequest.get(server.getServiceRoot() + "items/2"));
+
+        for (Single<String> call : calls) {
+            try {
+                call.blockingGet();
+                fail("the request did not fail");
+            } catch (RequestFailedException e) {
+                assertEquals(503, e.getStatusCode());
+            }
+        }
+    }
+
+    @Test
+    public void jsonFormatReadsTheResponsesInAnyOrder() throws Exception {
+        JsonBatchFormat format = new JsonBatchFormat();
+        String written = format.write(Collections.singletonList(new BatchedRequest("7", "PUT", "http://host/items/7",
+                Collections.singletonMap("If-Match", "\"a\""), "{}")));
+        JSONObject request = new JSONObject(written).getJSONArray("requests").getJSONObject(0);
+        assertEquals("7", request.getString("id"));
+        assertEquals("PUT", request.getString("method"));
+        assertEquals("\"a\"", request.getJSONObject("headers").getString("If-Match"));
+        assertEquals("{}", request.getString("body"));
+
+        BatchedResponse batchResponse = new BatchedResponse("batch", 200, "OK", Collections.emptyMap(),
+                "{\"responses\":[{\"id\":\"2\",\"status\":204},"
+                        + "{\"id\":\"1\",\"status\":200,\"headers\":{\"ETag\":\"x\"},\"body\":\"one\"}]}");
+        List<BatchedResponse> responses = format.read(batchResponse);
+
+        assertEquals("2", responses.get(0).getId());
+        assertEquals(204, responses.get(0).getStatusCode());
+        assertEquals("one", responses.get(1).getBodyAsString());
+        assertEquals("x", responses.get(1).getHeader("ETag"));
+    }
+
+    @SafeVarargs
+    private final List<Single<String>> sendAll(TestRequest<String>... requests) {
+        List<Single<String>> calls = new ArrayList<>();
+        for (TestRequest<String> request : requests) {
+            Single<String> call = sender.single(request).cache();
+            call.subscribe((result, failure) -> { });
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    /**
+     * Answers each request of the batch with its method, path and body, or with a 404 for the missing path.
+     */
+    private static String answer(byte[] batch) {
+        JSONArray requests = new JSONObject(new String(batch, StandardCharsets.UTF_8)).getJSONArray("requests");
+        JSONArray responses = new JSONArray();
+        for (int i = 0; i < requests.length(); i++) {
+            JSONObject request = requests.getJSONObject(i);
+            String path = URI.create(request.getString("url")).getPath();
+            JSONObject response = new JSONObject().put("id", request.getString("id"));
+            if (path.endsWith("/missing")) {
+                response.put("status", 404);
+            } else {
+                String body = request.optString("body", "");
+                response.put("status", 200).put("body", (request.getString("method") + " " + path + " " + body).trim());
+            }
+            responses.put(response);
+        }
+        return new JSONObject().put("responses", responses).toString();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestBodyTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void fileBodyIsSentWithUploadProgress() throws Exception {
+        byte[] content = LocalServer.items(3000);
+        File file = folder.newFile("items.json");
+        Files.write(file.toPath(), content);
+        List<long[]> progress = new CopyOnWriteArrayList<>();
+        TestRequest<String> request = upload();
+        RequestOptions.of(request).setRequestBody(RequestBody.of(file, "application/json"))
+                .setUploadProgressListener((bytes, totalBytes) -> progress.add(new long[]{bytes, totalBytes}));
+
+        sender.single(request).blockingGet();
+        ReceivedRequest received = server.takeRequest();
+        assertArrayEquals(content, received.getBody());
+        assertEquals(String.valueOf(content.length), received.getHeader("Content-Length"));
+        assertTrue(received.getHeader("Content-Type").startsWith("application/json"));
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(content.length, last[0]);
+        assertEquals(content.length, last[1]);
+    }
+
+    @Test
+    public void writerBodyIsSentChunked() throws Exception {
+        TestRequest<String> request = upload();
+        RequestOptions.of(request).setRequestBody(RequestBody.of(out -> {
+            for (int i = 0; i < 100; i++) {
+                out.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }, "text/plain"));
+
+        sender.single(request).blockingGet();
+        ReceivedRequest received = server.takeRequest();
+        assertEquals("chunked", received.getHeader("Transfer-Encoding"));
+        assertNull(received.getHeader("Content-Length"));
+        assertTrue(received.getBodyAsString().endsWith("line 99\n"));
+    }
+
+    @Test
+    public void multipartBodyHasAPartPerField() throws Exception {
+        TestRequest<String> request = upload();
+        RequestOptions.of(request).setRequestBody(RequestBody.multipart()
+                .addText("title", "holiday")
+                .addJson("meta", "{\"a\":1}")
+                .addBytes("photo", new byte[]{1, 2, 3}, "image/jpeg", "photo.jpg")
+                .build());
+
+        sender.single(request).blockingGet();
+        ReceivedRequest received = server.takeRequest();
+        assertTrue(received.getHeader("Content-Type").startsWith("multipart/form-data; boundary="));
+        String body = new String(received.getBody(), StandardCharsets.ISO_8859_1);
+        assertTrue(body.contains("name=\"title\""));
+        assertTrue(body.contains("holiday"));
+        assertTrue(body.contains("{\"a\":1}"));
+        assertTrue(body.contains("filename=\"photo.jpg\""));
+        assertTrue(body.contains("Content-Type: image/jpeg"));
+    }
+
+    @Test
+    public void streamBodiesAreNeverRetried() throws Exception {
+        server.enqueue("/echo/upload", ScriptedResponse.status(503));
+        TestRequest<String> request = TestRequest.method("PUT", server.getServiceRoot() + "echo/upload", null);
+        RequestBody body = RequestBody.of(new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, "application/octet-stream");
+        assertFalse(body.isRepeatable());
+        RequestOptions.of(request).setRequestBody(body);
+
+        try {
+            sender.single(request).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private TestRequest<String> upload() {
+        return TestRequest.method("POST", server.getServiceRoot() + "echo/upload", null);
+    }
+}
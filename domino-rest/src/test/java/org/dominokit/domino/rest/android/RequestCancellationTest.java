@@ -0,0 +1,142 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCancellationTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<Object> callbacks = new CopyOnWriteArrayList<>();
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void cancelAbortsTheCallAndSkipsTheCallbacks() throws Exception {
+        TestRequest<String> request = slowRequest("/slow");
+        sender.send(request, callBack());
+        server.takeRequest();
+        assertEquals(1, sender.getInFlightCount());
+
+        sender.cancel(request);
+        assertEquals(0, sender.getInFlightCount());
+        awaitMetrics(1);
+        assertEquals(RequestMetrics.Outcome.CANCELLED, metrics.get(0).getOutcome());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (provider.getPoolStats().getLeased() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, provider.getPoolStats().getLeased());
+        Thread.sleep(300);
+        assertTrue(callbacks.toString(), callbacks.isEmpty());
+    }
+
+    @Test
+    public void cancelAllCancelsOnlyTheTaggedRequests() throws Exception {
+        TestRequest<String> tagged = slowRequest("/tagged");
+        RequestOptions.of(tagged).setTag("screen");
+        TestRequest<String> other = TestRequest.get(server.getServiceRoot() + "items/1");
+        server.enqueue("/items/1", ScriptedResponse.ok("other").delay(300));
+
+        sender.send(tagged, callBack());
+        sender.send(other, callBack());
+        server.takeRequest();
+        server.takeRequest();
+        sender.cancelAll("screen");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        // the request is unregistered once its callback returned
+        while ((callbacks.isEmpty() || sender.getInFlightCount() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("[other]", callbacks.toString());
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void disposingTheSingleCancelsTheRequest() throws Exception {
+        Disposable disposable = sender.single(slowRequest("/disposed")).subscribe(callbacks::add, callbacks::add);
+        server.takeRequest();
+
+        disposable.dispose();
+        assertEquals(0, sender.getInFlightCount());
+        awaitMetrics(1);
+        assertEquals(RequestMetrics.Outcome.CANCELLED, metrics.get(0).getOutcome());
+        assertTrue(callbacks.isEmpty());
+    }
+
+    @Test
+    public void cancellingBeforeTheResponseDoesNotBlockOnTheServer() throws Exception {
+        TestRequest<String> request = slowRequest("/blocked");
+        sender.send(request, callBack());
+        server.takeRequest();
+
+        long start = System.nanoTime();
+        sender.cancel(request);
+        awaitMetrics(1);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+    }
+
+    private TestRequest<String> slowRequest(String path) {
+        server.enqueue(path, ScriptedResponse.ok("late").delay(2_000));
+        return TestRequest.get(server.getServiceRoot() + path.substring(1));
+    }
+
+    private ServerRequestCallBack callBack() {
+        return new ServerRequestCallBack() {
+            @Override
+            public <T> void onSuccess(T response) {
+                callbacks.add(response);
+            }
+
+            @Override
+            public void onFailure(FailedResponseBean failedResponse) {
+                callbacks.add(failedResponse);
+            }
+        };
+    }
+
+    private void awaitMetrics(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, metrics.size());
+    }
+}
@@ -0,0 +1,170 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescingTest {
+
+    private static final ImmutableResponseReader<String> IMMUTABLE_READER = response -> new String(response.getBodyAsString());
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setCoalescingEnabled(true);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void identicalRequestsShareOneCall() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(300));
+        TestObserver<String> first = sender.single(notes()).test();
+        server.takeRequest();
+        TestObserver<String> second = sender.single(notes()).test();
+
+        first.await(5, TimeUnit.SECONDS);
+        second.await(5, TimeUnit.SECONDS);
+        first.assertValue("notes");
+        second.assertValue("notes");
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void requestsWithDifferentHeadersAreNotShared() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("a").delay(300));
+        server.enqueue("/notes", ScriptedResponse.ok("b").delay(300));
+        TestObserver<String> first = sender.single(notes().header("Accept-Language", "en")).test();
+        TestObserver<String> second = sender.single(notes().header("Accept-Language", "fr")).test();
+
+        first.await(5, TimeUnit.SECONDS);
+        second.await(5, TimeUnit.SECONDS);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void eachRequestReadsItsOwnResult() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(300));
+        TestObserver<StringBuilder> first = sender(StringBuilder.class).single(notes().reader(RequestCoalescingTest::mutable)).test();
+        server.takeRequest();
+        TestObserver<StringBuilder> second = sender(StringBuilder.class).single(notes().reader(RequestCoalescingTest::mutable)).test();
+
+        first.await(5, TimeUnit.SECONDS);
+        second.await(5, TimeUnit.SECONDS);
+        StringBuilder firstResult = first.values().get(0);
+        StringBuilder secondResult = second.values().get(0);
+        assertNotSame(firstResult, secondResult);
+        firstResult.append(" changed");
+        assertEquals("notes", secondResult.toString());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void immutableReadersShareOneResult() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(300));
+        TestObserver<String> first = sender.single(notes().reader(IMMUTABLE_READER)).test();
+        server.takeRequest();
+        TestObserver<String> second = sender.single(notes().reader(IMMUTABLE_READER)).test();
+
+        first.await(5, TimeUnit.SECONDS);
+        second.await(5, TimeUnit.SECONDS);
+        assertSame(first.values().get(0), second.values().get(0));
+    }
+
+    @Test
+    public void cancellingTheFirstRequestKeepsTheCallForTheOthers() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(300));
+        TestRequest<String> leader = notes();
+        sender.send(leader, null);
+        server.takeRequest();
+        TestObserver<String> follower = sender.single(notes()).test();
+
+        sender.cancel(leader);
+        follower.await(5, TimeUnit.SECONDS);
+        follower.assertValue("notes");
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void deadlineOfTheFirstRequestDoesNotFailTheOthers() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(600));
+        TestObserver<String> leader = sender.single(notes().timeout(200)).test();
+        server.takeRequest();
+        TestObserver<String> follower = sender.single(notes()).test();
+
+        leader.await(5, TimeUnit.SECONDS);
+        follower.await(5, TimeUnit.SECONDS);
+        leader.assertError(failure -> ((RequestFailedException) failure).getFailedResponse().getThrowable() instanceof RequestTimeoutException);
+        follower.assertValue("notes");
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingAllTheRequestsAbortsTheCall() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.ok("notes").delay(2_000));
+        Disposable first = sender.single(notes()).subscribe();
+        server.takeRequest();
+        Disposable second = sender.single(notes()).subscribe();
+
+        first.dispose();
+        second.dispose();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (provider.getPoolStats().getLeased() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, provider.getPoolStats().getLeased());
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void laterRequestsStartANewCall() {
+        assertTrue(sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet().contains("item 1"));
+        assertTrue(sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet().contains("item 1"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private TestRequest<String> notes() {
+        return TestRequest.get(server.getServiceRoot() + "notes");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> AndroidRequestSender<String, T> sender(Class<T> type) {
+        return (AndroidRequestSender<String, T>) (AndroidRequestSender<String, ?>) sender;
+    }
+
+    private static StringBuilder mutable(Response response) {
+        return new StringBuilder(response.getBodyAsString());
+    }
+}
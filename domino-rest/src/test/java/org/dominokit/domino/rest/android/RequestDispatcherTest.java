@@ -0,0 +1,207 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestDispatcherTest {
+
+    private static final Consumer<RejectedExecutionException> NOT_REJECTED = rejection -> {
+        throw new AssertionError("unexpected rejection", rejection);
+    };
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final List<String> rejected = new CopyOnWriteArrayList<>();
+    private RequestDispatcher dispatcher;
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void runsAtMostTheGlobalLimit() throws Exception {
+        dispatcher = dispatcher(2, 2);
+        dispatchBlocking("http://a.test/1");
+        dispatchBlocking("http://b.test/1");
+        dispatch("http://c.test/1", RequestPriority.USER_VISIBLE);
+
+        awaitExecuted(2);
+        assertEquals(2, dispatcher.getRunningCount());
+        assertEquals(1, dispatcher.getQueuedCount());
+
+        release.countDown();
+        awaitExecuted(3);
+        assertTrue(executed.contains("http://c.test/1"));
+    }
+
+    @Test
+    public void runsAtMostThePerHostLimit() throws Exception {
+        dispatcher = dispatcher(4, 1);
+        dispatchBlocking("http://a.test/1");
+        dispatch("http://a.test/2", RequestPriority.USER_VISIBLE);
+        dispatch("http://b.test/1", RequestPriority.USER_VISIBLE);
+
+        awaitExecuted(2);
+        assertEquals("[http://a.test/1, http://b.test/1]", sorted());
+        assertEquals(1, dispatcher.getQueuedCount());
+    }
+
+    @Test
+    public void queuedCallsRunByPriorityThenInOrder() throws Exception {
+        dispatcher = dispatcher(1, 1);
+        dispatchBlocking("http://a.test/blocking");
+        awaitExecuted(1);
+        dispatch("http://a.test/prefetch", RequestPriority.PREFETCH);
+        dispatch("http://a.test/background", RequestPriority.BACKGROUND);
+        dispatch("http://a.test/visible-1", RequestPriority.USER_VISIBLE);
+        dispatch("http://a.test/visible-2", RequestPriority.USER_VISIBLE);
+
+        release.countDown();
+        awaitExecuted(5);
+        assertEquals("[http://a.test/blocking, http://a.test/visible-1, http://a.test/visible-2, "
+                + "http://a.test/background, http://a.test/prefetch]", executed.toString());
+    }
+
+    @Test
+    public void prefetchRunsWhileHigherPrioritiesWaitForABusyHost() throws Exception {
+        dispatcher = dispatcher(4, 1);
+        dispatchBlocking("http://a.test/blocking");
+        awaitExecuted(1);
+        dispatch("http://a.test/visible", RequestPriority.USER_VISIBLE);
+        dispatch("http://b.test/prefetch", RequestPriority.PREFETCH);
+
+        awaitExecuted(2);
+        assertEquals("http://b.test/prefetch", executed.get(1));
+    }
+
+    @Test
+    public void cancelledCallsNeverRun() throws Exception {
+        dispatcher = dispatcher(1, 1);
+        dispatchBlocking("http://a.test/blocking");
+        RequestDispatcher.Task task = dispatch("http://a.test/cancelled", RequestPriority.USER_VISIBLE);
+
+        assertTrue(task.cancel());
+        release.countDown();
+        dispatch("http://a.test/after", RequestPriority.USER_VISIBLE);
+        awaitExecuted(2);
+        assertFalse(executed.contains("http://a.test/cancelled"));
+        assertEquals(1, dispatcher.getStats().getCancelledCount());
+        assertFalse(task.cancel());
+    }
+
+    @Test
+    public void raisingTheLimitsDispatchesTheQueuedCalls() throws Exception {
+        dispatcher = dispatcher(1, 1);
+        dispatchBlocking("http://a.test/1");
+        dispatch("http://b.test/1", RequestPriority.USER_VISIBLE);
+        awaitExecuted(1);
+
+        dispatcher.configure(new DispatcherConfig().setMaxConcurrentRequests(2).setMaxConcurrentRequestsPerHost(1));
+        awaitExecuted(2);
+    }
+
+    @Test
+    public void shutdownRejectsTheQueuedAndTheNewCalls() throws Exception {
+        dispatcher = dispatcher(1, 1);
+        dispatchBlocking("http://a.test/running");
+        awaitExecuted(1);
+        dispatch("http://a.test/queued", RequestPriority.USER_VISIBLE);
+
+        dispatcher.shutdown();
+        assertEquals("[http://a.test/queued]", rejected.toString());
+        assertEquals(0, dispatcher.getQueuedCount());
+
+        dispatch("http://a.test/new", RequestPriority.USER_VISIBLE);
+        assertEquals("[http://a.test/queued, http://a.test/new]", rejected.toString());
+        assertEquals(2, dispatcher.getStats().getRejectedCount());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (dispatcher.getRunningCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, dispatcher.getRunningCount());
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    public void requestsSentAfterShutdownFail() throws Exception {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+        AndroidRequestSender<String, String> sender = new AndroidRequestSender<>(new HttpClientProvider(new ConnectionPoolConfig()), null);
+        dispatcher = sender.getDispatcher();
+        dispatcher.shutdown();
+
+        try {
+            sender.single(TestRequest.get("http://127.0.0.1:1/items")).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertTrue(e.getFailedResponse().getThrowable() instanceof RejectedExecutionException);
+        }
+        // the request is unregistered once its callback returned
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sender.getInFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sender.getInFlightCount());
+    }
+
+    @Test
+    public void hostOfIgnoresTheSchemePathAndCase() {
+        assertEquals("api.example.com:8080", RequestDispatcher.hostOf("https://API.example.com:8080/items?q=1"));
+        assertEquals("example.com", RequestDispatcher.hostOf("http://example.com"));
+        assertEquals("example.com", RequestDispatcher.hostOf("example.com#top"));
+    }
+
+    private static RequestDispatcher dispatcher(int maxConcurrentRequests, int maxConcurrentRequestsPerHost) {
+        return new RequestDispatcher(new DispatcherConfig().setMaxConcurrentRequests(maxConcurrentRequests)
+                .setMaxConcurrentRequestsPerHost(maxConcurrentRequestsPerHost));
+    }
+
+    private void dispatchBlocking(String url) {
+        dispatcher.dispatch(url, RequestPriority.USER_VISIBLE, () -> {
+            executed.add(url);
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, NOT_REJECTED);
+    }
+
+    private RequestDispatcher.Task dispatch(String url, RequestPriority priority) {
+        return dispatcher.dispatch(url, priority, () -> executed.add(url), rejection -> rejected.add(url));
+    }
+
+    private void awaitExecuted(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executed.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+        assertEquals(executed.toString(), count, executed.size());
+    }
+
+    private String sorted() {
+        return executed.stream().sorted().collect(Collectors.toList()).toString();
+    }
+}
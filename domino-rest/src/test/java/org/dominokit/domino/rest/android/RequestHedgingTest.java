@@ -0,0 +1,218 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestHedgingTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void slowRequestIsHedgedAndTheFasterResponseWins() throws Exception {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("slow").delay(2_000));
+
+        long start = System.nanoTime();
+        String item = sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertEquals(new String(LocalServer.item("1"), StandardCharsets.UTF_8), item);
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1_500));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, sender.getHedgingStats().getHedgedCount());
+        assertEquals(1, sender.getHedgingStats().getWinCount());
+        awaitMetrics(1);
+        assertTrue(metrics.get(0).isHedged());
+        assertTrue(metrics.get(0).isHedgeWon());
+    }
+
+    @Test
+    public void fastResponseIsNotHedged() throws Exception {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(1_000));
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, sender.getHedgingStats().getRequestCount());
+        assertEquals(0, sender.getHedgingStats().getHedgedCount());
+        awaitMetrics(1);
+        assertFalse(metrics.get(0).isHedged());
+    }
+
+    @Test
+    public void primaryWinningAfterTheHedgeWasSentIsNotAHedgeWin() throws Exception {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("primary").delay(300));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("hedge").delay(2_000));
+
+        assertEquals("primary", sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet());
+
+        assertEquals(1, sender.getHedgingStats().getHedgedCount());
+        assertEquals(0, sender.getHedgingStats().getWinCount());
+        awaitMetrics(1);
+        assertTrue(metrics.get(0).isHedged());
+        assertFalse(metrics.get(0).isHedgeWon());
+    }
+
+    @Test
+    public void nonIdempotentRequestsAreNeverHedged() {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/echo/notes", ScriptedResponse.status(200).body("{}").delay(300));
+        TestRequest<String> request = TestRequest.post(server.getServiceRoot() + "echo/notes", "{}");
+        RequestOptions.of(request).setHedge(true);
+
+        sender.single(request).blockingGet();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, sender.getHedgingStats().getRequestCount());
+    }
+
+    @Test
+    public void otherIdempotentRequestsAreHedgedOnlyWhenEnabled() {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/echo/notes/1", ScriptedResponse.status(200).body("{}").delay(300));
+        sender.single(TestRequest.put(server.getServiceRoot() + "echo/notes/1", "{}")).blockingGet();
+        assertEquals(1, server.getRequestCount());
+
+        server.enqueue("/echo/notes/1", ScriptedResponse.status(200).body("{}").delay(2_000));
+        TestRequest<String> request = TestRequest.put(server.getServiceRoot() + "echo/notes/1", "{}");
+        RequestOptions.of(request).setHedge(true);
+        assertEquals("{}", sender.single(request).blockingGet());
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, sender.getHedgingStats().getWinCount());
+    }
+
+    @Test
+    public void hedgingCanBeDisabledForARequest() {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("slow").delay(300));
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setHedge(false);
+
+        assertEquals("slow", sender.single(request).blockingGet());
+
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void hedgesAreLimitedByTheBudget() {
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50).setMaxBurst(1).setBudgetRatio(0));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("slow").delay(1_000));
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("slow").delay(300));
+        assertEquals("slow", sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet());
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1, sender.getHedgingStats().getHedgedCount());
+        assertEquals(1, sender.getHedgingStats().getBudgetExhaustedCount());
+    }
+
+    @Test
+    public void failureStatusOfTheFirstResponseDecidesTheRace() {
+        sender.setRetryPolicy(RetryPolicy.none());
+        sender.setHedgingConfig(new HedgingConfig().setPercentile(0).setDelayMillis(50));
+        server.enqueue("/items/1", ScriptedResponse.status(404).delay(300));
+        server.enqueue("/items/1", ScriptedResponse.status(200).body("hedge").delay(2_000));
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1"))
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(failure -> ((RequestFailedException) failure).getStatusCode() == 404);
+    }
+
+    @Test
+    public void delayFollowsThePercentileOfTheRouteOnceItHasEnoughSamples() {
+        RequestHedging hedging = new RequestHedging(new HedgingConfig().setPercentile(50).setDelayMillis(200).setMinDelayMillis(20),
+                new HedgingStats());
+        for (int i = 0; i < 19; i++) {
+            hedging.recordLatency("GET /items", TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertEquals(200, hedging.delayMillis("GET /items"));
+
+        hedging.recordLatency("GET /items", TimeUnit.MILLISECONDS.toNanos(100));
+        long delay = hedging.delayMillis("GET /items");
+
+        assertTrue(String.valueOf(delay), delay >= 88 && delay <= 100);
+        assertEquals(200, hedging.delayMillis("GET /other"));
+    }
+
+    @Test
+    public void delayOfFastRoutesIsFloored() {
+        RequestHedging hedging = new RequestHedging(new HedgingConfig().setPercentile(95).setMinDelayMillis(20), new HedgingStats());
+        for (int i = 0; i < 50; i++) {
+            hedging.recordLatency("GET /items", TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(20, hedging.delayMillis("GET /items"));
+    }
+
+    @Test
+    public void budgetRefillsWithEachRequestUpToTheBurst() {
+        HedgingStats stats = new HedgingStats();
+        RequestHedging hedging = new RequestHedging(new HedgingConfig().setMaxBurst(2).setBudgetRatio(0.5), stats);
+
+        assertTrue(hedging.tryAcquireHedge());
+        assertTrue(hedging.tryAcquireHedge());
+        assertFalse(hedging.tryAcquireHedge());
+        hedging.onRequest();
+        assertFalse(hedging.tryAcquireHedge());
+        hedging.onRequest();
+        assertTrue(hedging.tryAcquireHedge());
+        for (int i = 0; i < 10; i++) {
+            hedging.onRequest();
+        }
+        assertTrue(hedging.tryAcquireHedge());
+        assertTrue(hedging.tryAcquireHedge());
+        assertFalse(hedging.tryAcquireHedge());
+
+        assertEquals(5, stats.getHedgedCount());
+        assertEquals(3, stats.getBudgetExhaustedCount());
+    }
+
+    private void awaitMetrics(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, metrics.size());
+    }
+}
@@ -0,0 +1,161 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.api.shared.extension.ContextAggregator;
+import org.dominokit.domino.rest.shared.request.FailedResponseBean;
+import org.dominokit.domino.rest.shared.request.RequestInterceptor;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+import org.dominokit.domino.rest.shared.request.ServerRequestCallBack;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class RequestMetricsTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void completedRequestRecordsItsPhasesAndCounters() throws Exception {
+        sender.single(TestRequest.get(server.getServiceRoot() + "payload/2048")).blockingGet();
+
+        awaitMetrics(1);
+        RequestMetrics completed = metrics.get(0);
+        assertEquals(RequestMetrics.Outcome.SUCCESS, completed.getOutcome());
+        assertEquals(200, completed.getStatusCode());
+        assertEquals("GET /payload/2048", completed.getRoute());
+        assertTrue(completed.getResponseBytes() >= 2048);
+        assertTrue(completed.getDurationNanos(RequestMetrics.Phase.QUEUE) >= 0);
+        assertTrue(completed.getDurationNanos(RequestMetrics.Phase.TIME_TO_FIRST_BYTE) >= 0);
+        assertTrue(completed.getDurationNanos(RequestMetrics.Phase.DESERIALIZATION) >= 0);
+        assertTrue(completed.getDurationNanos(RequestMetrics.Phase.TOTAL) > 0);
+    }
+
+    @Test
+    public void totalDoesNotIncludeTheCallback() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        RequestOptions.of(request).setCallbackExecutor(CallbackExecutors.direct());
+        CountDownLatch delivered = new CountDownLatch(1);
+        sender.send(request, new ServerRequestCallBack() {
+            @Override
+            public <T> void onSuccess(T response) {
+                sleep(500);
+                delivered.countDown();
+            }
+
+            @Override
+            public void onFailure(FailedResponseBean failedResponse) {
+                delivered.countDown();
+            }
+        });
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        awaitMetrics(1);
+        long total = metrics.get(0).getDurationNanos(RequestMetrics.Phase.TOTAL);
+        assertTrue(total > 0);
+        assertTrue(String.valueOf(total), total < TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void requestCancelledWhileInterceptedIsReported() throws Exception {
+        AtomicReference<ContextAggregator.ContextWait<ServerRequest>> wait = new AtomicReference<>();
+        RequestInterceptor interceptor = (request, contextWait) -> wait.set(contextWait);
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(interceptor, -1));
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+
+        sender.send(request, null);
+        assertNotNull(wait.get());
+        sender.cancel(request);
+        wait.get().complete(request);
+
+        awaitMetrics(1);
+        assertEquals(RequestMetrics.Outcome.CANCELLED, metrics.get(0).getOutcome());
+        assertEquals(0, sender.getInFlightCount());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void countersAddedFromManyThreadsAreNotLost() throws Exception {
+        RequestMetrics requestMetrics = new RequestMetrics(TestRequest.get("http://localhost/items"), "http://localhost/items");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                await(start);
+                for (int i = 0; i < 10_000; i++) {
+                    requestMetrics.addRequestBytes(1);
+                    requestMetrics.addResponseBytes(2);
+                    requestMetrics.addResponseTransferredBytes(3);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, requestMetrics.getRequestBytes());
+        assertEquals(80_000, requestMetrics.getResponseBytes());
+        assertEquals(120_000, requestMetrics.getResponseTransferredBytes());
+    }
+
+    private void awaitMetrics(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, metrics.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
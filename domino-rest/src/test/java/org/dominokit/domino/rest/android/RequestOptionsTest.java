@@ -0,0 +1,73 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RequestOptionsTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void readingTheOptionsOfARequestWithoutOptionsDoesNotAttachAny() {
+        TestRequest<String> first = TestRequest.get(server.getServiceRoot() + "items/1");
+        TestRequest<String> second = TestRequest.get(server.getServiceRoot() + "items/2");
+
+        assertSame(RequestOptions.peek(first), RequestOptions.peek(second));
+        assertNotSame(RequestOptions.peek(first), RequestOptions.of(first));
+        assertSame(RequestOptions.of(first), RequestOptions.peek(first));
+        assertSame(RequestOptions.peek(second), RequestOptions.peek(TestRequest.get(server.getServiceRoot())));
+    }
+
+    @Test
+    public void requestsWithoutOptionsAreSentWithTheDefaults() {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        sender.single(request).blockingGet();
+
+        RequestOptions defaults = RequestOptions.peek(request);
+        assertSame(defaults, RequestOptions.peek(TestRequest.get(server.getServiceRoot())));
+        assertNull(defaults.getTag());
+        assertNull(defaults.getHostHealth());
+        assertEquals(RequestPriority.USER_VISIBLE, defaults.getPriority());
+    }
+
+    @Test
+    public void theHostHealthIsSetOnTheOptionsOfTheRequest() {
+        sender.setConcurrencyLimitConfig(new ConcurrencyLimitConfig());
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "items/1");
+        sender.single(request).blockingGet();
+
+        assertSame(sender.getHostHealth(server.getServiceRoot()), RequestOptions.peek(request).getHostHealth());
+        assertNull(RequestOptions.peek(TestRequest.get(server.getServiceRoot())).getHostHealth());
+    }
+}
@@ -0,0 +1,112 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RequestRetryTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final List<RequestMetrics> metrics = new CopyOnWriteArrayList<>();
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setRetryPolicy(new DefaultRetryPolicy().setMaxRetries(3).setInitialDelayMillis(10));
+        sender.addMetricsListener(metrics::add);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void retriesUnavailableResponsesUntilSuccess() throws Exception {
+        server.enqueue("/notes", ScriptedResponse.status(503));
+        server.enqueue("/notes", ScriptedResponse.status(503).header("Retry-After", "0"));
+        server.enqueue("/notes", ScriptedResponse.ok("notes"));
+
+        assertEquals("notes", sender.single(TestRequest.get(server.getServiceRoot() + "notes")).blockingGet());
+        assertEquals(3, server.getRequestCount());
+        awaitMetrics();
+        assertEquals(2, metrics.get(0).getRetries());
+    }
+
+    @Test
+    public void doesNotRetryNonIdempotentRequests() {
+        server.enqueue("/notes", ScriptedResponse.status(503));
+        assertStatus(503, TestRequest.post(server.getServiceRoot() + "notes", "{}"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void retriesPostMarkedIdempotent() {
+        server.enqueue("/notes", ScriptedResponse.status(503));
+        server.enqueue("/notes", ScriptedResponse.ok("created"));
+        TestRequest<String> request = TestRequest.post(server.getServiceRoot() + "notes", "{}");
+        RequestOptions.of(request).setIdempotent(true);
+
+        assertEquals("created", sender.single(request).blockingGet());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void emptyBudgetFailsWithTheLastResponse() {
+        sender.setRetryBudget(new RetryBudget(1, 0));
+        for (int i = 0; i < 3; i++) {
+            server.enqueue("/notes", ScriptedResponse.status(503));
+        }
+
+        assertStatus(503, TestRequest.get(server.getServiceRoot() + "notes"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void perRequestPolicyOverridesTheSenderPolicy() {
+        server.enqueue("/notes", ScriptedResponse.status(503));
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "notes");
+        RequestOptions.of(request).setRetryPolicy(RetryPolicy.none());
+
+        assertStatus(503, request);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private void assertStatus(int statusCode, TestRequest<String> request) {
+        try {
+            sender.single(request).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertEquals(statusCode, e.getStatusCode());
+        }
+    }
+
+    private void awaitMetrics() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (metrics.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.request.RequestTimeoutException;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestTimeoutTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.setRetryPolicy(new DefaultRetryPolicy().setMaxRetries(0));
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void readTimeoutFailsTheAttempt() {
+        provider.setTimeoutConfig(new TimeoutConfig().setReadTimeoutMillis(200));
+        server.enqueue("/slow", ScriptedResponse.ok("late").delay(2_000));
+
+        long start = System.nanoTime();
+        Throwable failure = failureOf(TestRequest.get(server.getServiceRoot() + "slow"));
+        assertTrue(String.valueOf(failure), failure instanceof RequestTimeoutException);
+        assertTrue(elapsedMillis(start) < 1_500);
+    }
+
+    @Test
+    public void requestTimeoutIsADeadlineForAllTheAttempts() throws Exception {
+        sender.setRetryPolicy(new DefaultRetryPolicy().setMaxRetries(5).setInitialDelayMillis(10));
+        for (int i = 0; i < 5; i++) {
+            server.enqueue("/flaky", ScriptedResponse.status(503).delay(150));
+        }
+
+        long start = System.nanoTime();
+        Throwable failure = failureOf(TestRequest.get(server.getServiceRoot() + "flaky").timeout(400));
+        assertTrue(String.valueOf(failure), failure instanceof RequestTimeoutException);
+        long elapsed = elapsedMillis(start);
+        assertTrue(String.valueOf(elapsed), elapsed >= 400 && elapsed < 1_000);
+        assertTrue(server.getRequestCount() < 5);
+    }
+
+    @Test
+    public void defaultRequestTimeoutAppliesWhenTheRequestHasNone() {
+        sender.setTimeoutConfig(new TimeoutConfig().setRequestTimeoutMillis(300));
+        server.enqueue("/slow", ScriptedResponse.ok("late").delay(2_000));
+
+        long start = System.nanoTime();
+        Throwable failure = failureOf(TestRequest.get(server.getServiceRoot() + "slow"));
+        assertTrue(String.valueOf(failure), failure instanceof RequestTimeoutException);
+        assertTrue(elapsedMillis(start) < 1_500);
+    }
+
+    @Test
+    public void requestWithinTheDeadlineSucceeds() {
+        server.enqueue("/fast", ScriptedResponse.ok("fast").delay(50));
+        assertEquals("fast", sender.single(TestRequest.get(server.getServiceRoot() + "fast").timeout(2_000)).blockingGet());
+    }
+
+    private Throwable failureOf(TestRequest<String> request) {
+        try {
+            sender.single(request).blockingGet();
+        } catch (RequestFailedException e) {
+            return e.getFailedResponse().getThrowable();
+        }
+        fail("the request did not fail");
+        return null;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
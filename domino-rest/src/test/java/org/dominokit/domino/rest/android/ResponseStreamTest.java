@@ -0,0 +1,157 @@
+package org.dominokit.domino.rest.android;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseStreamTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        server.addContext("/ndjson", exchange -> write(exchange, "application/x-ndjson", "{\"id\":1}\n\n{\"id\":2}\n{\"id\":3}\n"));
+        server.addContext("/sse", exchange -> write(exchange, "text/event-stream",
+                ": comment\nid: 1\nevent: price\ndata: 10\ndata: 11\n\nretry: 500\ndata: 12\n\nevent: empty\n\n"));
+        server.addContext("/held", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            body.write("first\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            body.write("second\n".getBytes(StandardCharsets.UTF_8));
+            body.close();
+        });
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        release.countDown();
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void ndjsonLinesAreEmittedInOrder() {
+        List<String> lines = sender.stream(TestRequest.get(server.getServiceRoot() + "ndjson"), new NdjsonFormat<>(line -> line))
+                .toList()
+                .blockingGet();
+
+        assertEquals(Arrays.asList("{\"id\":1}", "{\"id\":2}", "{\"id\":3}"), lines);
+    }
+
+    @Test
+    public void serverSentEventsAreParsed() {
+        List<ServerSentEvent> events = sender.stream(TestRequest.get(server.getServiceRoot() + "sse"), new SseFormat())
+                .toList()
+                .blockingGet();
+
+        assertEquals(2, events.size());
+        assertEquals("1", events.get(0).getId());
+        assertEquals("price", events.get(0).getEvent());
+        assertEquals("10\n11", events.get(0).getData());
+        assertEquals(ServerSentEvent.NO_RETRY, events.get(0).getRetryMillis());
+        assertEquals("message", events.get(1).getEvent());
+        assertEquals("12", events.get(1).getData());
+        assertEquals(500, events.get(1).getRetryMillis());
+    }
+
+    @Test
+    public void acceptHeaderIsSentWithoutChangingTheRequest() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "ndjson");
+
+        sender.stream(request, new NdjsonFormat<>(line -> line)).toList().blockingGet();
+
+        ReceivedRequest received = server.takeRequest();
+        assertEquals("application/x-ndjson", received.getHeader("Accept"));
+        assertTrue(request.headers() == null || !request.headers().containsKey("Accept"));
+    }
+
+    @Test
+    public void acceptHeaderOfTheRequestIsKept() throws Exception {
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "sse");
+        request.setHeader("accept", "text/event-stream;charset=utf-8");
+
+        sender.stream(request, new SseFormat()).toList().blockingGet();
+
+        assertEquals("text/event-stream;charset=utf-8", server.takeRequest().getHeader("Accept"));
+        assertEquals("text/event-stream;charset=utf-8", request.headers().get("accept"));
+        assertNull(request.headers().get("Accept"));
+    }
+
+    @Test
+    public void openStreamsDoNotHoldDispatcherThreads() throws Exception {
+        sender.getDispatcher().configure(new DispatcherConfig().setMaxConcurrentRequests(1).setMaxConcurrentRequestsPerHost(1));
+        TestSubscriber<String> stream = sender.stream(TestRequest.get(server.getServiceRoot() + "held"), new NdjsonFormat<>(line -> line))
+                .test();
+        stream.awaitCount(1);
+        stream.assertValue("first");
+        assertEquals(1, sender.getStreamDispatcher().getRunningCount());
+        assertEquals(0, sender.getDispatcher().getRunningCount());
+
+        String item = sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).timeout(5, TimeUnit.SECONDS).blockingGet();
+
+        assertEquals(new String(LocalServer.item("1"), StandardCharsets.UTF_8), item);
+        assertFalse(stream.isTerminated());
+        release.countDown();
+        stream.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        stream.assertComplete().assertValues("first", "second");
+    }
+
+    @Test
+    public void elementsAreReadOnlyAsRequested() throws Exception {
+        TestSubscriber<String> stream = sender.stream(TestRequest.get(server.getServiceRoot() + "ndjson"), new NdjsonFormat<>(line -> line))
+                .test(1);
+        stream.awaitCount(1);
+        Thread.sleep(100);
+        stream.assertValueCount(1).assertNotTerminated();
+
+        stream.requestMore(2);
+        stream.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        stream.assertComplete().assertValueCount(3);
+    }
+
+    private static void write(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
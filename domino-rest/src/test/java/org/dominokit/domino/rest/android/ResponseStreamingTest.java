@@ -0,0 +1,104 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseStreamingTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void responseReadersCanReadTheBodyAsAStream() {
+        TestRequest<Long> request = TestRequest.get(server.getServiceRoot() + "payload/2000")
+                .reader(ResponseStreamingTest::countBytes);
+        long bytes = sender(Long.class).single(request).blockingGet();
+        assertEquals(LocalServer.items(2000).length, bytes);
+    }
+
+    @Test
+    public void downloadsTheBodyToAFileWithProgress() throws IOException {
+        File file = new File(folder.getRoot(), "items.json");
+        List<long[]> progress = new CopyOnWriteArrayList<>();
+        TestRequest<String> request = TestRequest.get(server.getServiceRoot() + "payload/5000")
+                .reader(response -> "downloaded");
+        RequestOptions.of(request).setDownloadFile(file)
+                .setDownloadProgressListener((bytes, totalBytes) -> progress.add(new long[]{bytes, totalBytes}));
+
+        assertEquals("downloaded", sender.single(request).blockingGet());
+        byte[] expected = LocalServer.items(5000);
+        assertArrayEquals(expected, Files.readAllBytes(file.toPath()));
+        assertTrue(progress.size() > 1);
+        long[] last = progress.get(progress.size() - 1);
+        assertEquals(expected.length, last[0]);
+        assertEquals(expected.length, last[1]);
+    }
+
+    @Test
+    public void bodyIsReadAsAStringWhenNotStreamed() {
+        String body = sender.single(TestRequest.get(server.getServiceRoot() + "payload/100")).blockingGet();
+        assertEquals(new String(LocalServer.items(100)), body);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> AndroidRequestSender<String, T> sender(Class<T> type) {
+        return (AndroidRequestSender<String, T>) (AndroidRequestSender<String, ?>) sender;
+    }
+
+    private static long countBytes(Response response) {
+        byte[] buffer = new byte[1024];
+        long count = 0;
+        try (InputStream in = ((StreamingResponse) response).getBodyAsStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                count += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,159 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.DominoRestConfig;
+import org.dominokit.domino.rest.shared.request.DominoRestContext;
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RestClientTest {
+
+    private static final String DEFAULT_SERVICE_ROOT = "http://default.invalid/service/";
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private RestClient client;
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+        DominoRestContext.init(DominoRestConfig.getInstance().setDefaultServiceRoot(DEFAULT_SERVICE_ROOT));
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        client = RestClient.create(ClientConfig.builder(server.getServiceRoot())
+                .warmUpConfig(null)
+                .addRequestInterceptor((SyncRequestInterceptor) request -> request.setHeader("X-Client", "search"))
+                .build());
+    }
+
+    @After
+    public void stop() {
+        client.shutdown();
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void boundRequestIsSentToTheClientServiceRoot() throws Exception {
+        TestRequest<String> request = client.bind(TestRequest.get(DEFAULT_SERVICE_ROOT + "items/1"));
+
+        assertEquals(new String(LocalServer.item("1"), "UTF-8"), sender.single(request).blockingGet());
+
+        ReceivedRequest received = server.takeRequest();
+        assertEquals("/items/1", received.getPath());
+        assertEquals("search", received.getHeader("X-Client"));
+    }
+
+    @Test
+    public void boundRequestUsesTheClientConnectionsOnly() throws Exception {
+        sender.single(client.bind(TestRequest.get(DEFAULT_SERVICE_ROOT + "items/1"))).blockingGet();
+
+        assertEquals(1, client.getPoolStats().getAvailable());
+        assertEquals(0, provider.getPoolStats().getAvailable());
+        assertEquals(1, client.getDispatcherStats().getDispatchedCount());
+    }
+
+    @Test
+    public void unboundRequestsDoNotGoThroughTheClient() throws Exception {
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertNull(server.takeRequest().getHeader("X-Client"));
+        assertEquals(0, client.getPoolStats().getAvailable());
+    }
+
+    @Test
+    public void requestsBoundToAClientThatWasShutdownFail() {
+        client.shutdown();
+
+        try {
+            sender.single(client.bind(TestRequest.get(DEFAULT_SERVICE_ROOT + "items/1"))).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertTrue(e.getFailedResponse().getThrowable() instanceof RejectedExecutionException);
+        }
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void toBuilderKeepsTheConfigurationButNotTheRetryBudget() {
+        ClientConfig config = client.getConfig();
+
+        ClientConfig copy = config.toBuilder().build();
+
+        assertEquals(config.getServiceRoot(), copy.getServiceRoot());
+        assertNotSame(config.getPoolConfig(), copy.getPoolConfig());
+        assertEquals(config.getPoolConfig().getMaxTotalConnections(), copy.getPoolConfig().getMaxTotalConnections());
+        assertSame(config.getInterceptorChain(), copy.getInterceptorChain());
+        assertNull(copy.getWarmUpConfig());
+        assertNotSame(config.getRetryBudget(), copy.getRetryBudget());
+    }
+
+    @Test
+    public void changingAConfigAfterBuildDoesNotChangeARunningClient() {
+        TimeoutConfig timeoutConfig = new TimeoutConfig();
+        DispatcherConfig dispatcherConfig = new DispatcherConfig();
+        RestClient slowClient = RestClient.create(ClientConfig.builder(server.getServiceRoot())
+                .timeoutConfig(timeoutConfig)
+                .dispatcherConfig(dispatcherConfig)
+                .build());
+        try {
+            timeoutConfig.setRequestTimeoutMillis(50).setReadTimeoutMillis(50);
+            dispatcherConfig.setMaxConcurrentRequests(1);
+            server.enqueue("/slow", ScriptedResponse.ok("late").delay(300));
+
+            assertEquals("late", sender.single(slowClient.bind(TestRequest.get(DEFAULT_SERVICE_ROOT + "slow"))).blockingGet());
+            assertEquals(0, slowClient.getConfig().getTimeoutConfig().getRequestTimeoutMillis());
+            assertEquals(30_000, slowClient.getConfig().getTimeoutConfig().getReadTimeoutMillis());
+            assertEquals(16, slowClient.getConfig().getDispatcherConfig().getMaxConcurrentRequests());
+        } finally {
+            slowClient.shutdown();
+        }
+    }
+
+    @Test
+    public void changingTheConfigsReturnedByAConfigurationDoesNotChangeIt() {
+        ClientConfig config = ClientConfig.builder(server.getServiceRoot())
+                .hedgingConfig(new HedgingConfig())
+                .retryPolicy(new DefaultRetryPolicy().setMaxRetries(2))
+                .build();
+
+        config.getTimeoutConfig().setReadTimeoutMillis(1);
+        config.getHedgingConfig().setDelayMillis(1);
+        ((DefaultRetryPolicy) config.getRetryPolicy()).setMaxRetries(0);
+        ClientConfig copy = config.toBuilder().build();
+        copy.getPoolConfig().setMaxTotalConnections(1);
+
+        assertEquals(30_000, config.getTimeoutConfig().getReadTimeoutMillis());
+        assertEquals(200, config.getHedgingConfig().getDelayMillis());
+        assertEquals(64, config.getPoolConfig().getMaxTotalConnections());
+        assertEquals(64, copy.getPoolConfig().getMaxTotalConnections());
+        assertNotSame(config.getRetryPolicy(), config.getRetryPolicy());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void serviceRootIsRequired() {
+        ClientConfig.builder(null);
+    }
+}
@@ -0,0 +1,39 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryBudgetTest {
+
+    @Test
+    public void eachRetryTakesAToken() {
+        RetryBudget budget = new RetryBudget(2, 0);
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+        assertEquals(0, budget.getAvailableTokens(), 0);
+    }
+
+    @Test
+    public void tokensAreRefilledUpToTheMax() throws Exception {
+        RetryBudget budget = new RetryBudget(2, 20);
+        budget.tryAcquire();
+        budget.tryAcquire();
+        Thread.sleep(100);
+        assertTrue(budget.tryAcquire());
+
+        Thread.sleep(500);
+        assertEquals(2, budget.getAvailableTokens(), 0);
+    }
+
+    @Test
+    public void unlimitedBudgetNeverRunsOut() {
+        RetryBudget budget = RetryBudget.unlimited();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(budget.tryAcquire());
+        }
+    }
+}
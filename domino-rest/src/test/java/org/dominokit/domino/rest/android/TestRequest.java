@@ -0,0 +1,165 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.shared.Response;
+import org.dominokit.domino.rest.shared.request.RequestWriter;
+import org.dominokit.domino.rest.shared.request.ResponseReader;
+import org.dominokit.domino.rest.shared.request.ServerRequest;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+/**
+ * A request to an absolute url with a string body, built by the tests instead of a generated request factory.
+ */
+class TestRequest<S> extends ServerRequest<String, S> {
+
+    private final String httpMethod;
+    private final String url;
+    private final String body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final Map<String, String> queryParameters = new LinkedHashMap<>();
+    private Integer[] successCodes = {200, 201, 202, 203, 204};
+    private ResponseReader<S> responseReader;
+    private int timeout;
+    private int maxRetries;
+
+    private TestRequest(String httpMethod, String url, String body) {
+        this.httpMethod = httpMethod;
+        this.url = url;
+        this.body = body;
+    }
+
+    static TestRequest<String> get(String url) {
+        return method("GET", url, null);
+    }
+
+    static TestRequest<String> post(String url, String body) {
+        return method("POST", url, body);
+    }
+
+    static TestRequest<String> put(String url, String body) {
+        return method("PUT", url, body);
+    }
+
+    static TestRequest<String> delete(String url) {
+        return method("DELETE", url, null);
+    }
+
+    /**
+     * @return a request reading the response body as a string
+     */
+    static TestRequest<String> method(String httpMethod, String url, String body) {
+        TestRequest<String> request = new TestRequest<>(httpMethod, url, body);
+        request.responseReader = Response::getBodyAsString;
+        if (!isNull(body)) {
+            request.headers.put("Content-Type", "application/json");
+        }
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> TestRequest<T> reader(ResponseReader<T> responseReader) {
+        TestRequest<T> request = (TestRequest<T>) this;
+        request.responseReader = responseReader;
+        return request;
+    }
+
+    TestRequest<S> header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    TestRequest<S> query(String name, String value) {
+        queryParameters.put(name, value);
+        return this;
+    }
+
+    TestRequest<S> successCodes(Integer... successCodes) {
+        this.successCodes = successCodes;
+        return this;
+    }
+
+    TestRequest<S> timeout(int timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    TestRequest<S> maxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        return headers;
+    }
+
+    @Override
+    public TestRequest<S> setHeader(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    @Override
+    public Map<String, String> queryParameters() {
+        return queryParameters;
+    }
+
+    @Override
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String getPath() {
+        return URI.create(url).getPath();
+    }
+
+    @Override
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @Override
+    public Integer[] getSuccessCodes() {
+        return successCodes;
+    }
+
+    @Override
+    public ResponseReader<S> getResponseReader() {
+        return responseReader;
+    }
+
+    @Override
+    public RequestWriter<String> getRequestWriter() {
+        return bean -> bean;
+    }
+
+    @Override
+    public String requestBean() {
+        return body;
+    }
+
+    @Override
+    public boolean isVoidRequest() {
+        return isNull(body);
+    }
+
+    @Override
+    public int getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    @Override
+    public String toString() {
+        return httpMethod + " " + url;
+    }
+}
@@ -0,0 +1,152 @@
+package org.dominokit.domino.rest.android;
+
+import org.dominokit.domino.rest.testing.LocalServer;
+import org.dominokit.domino.rest.testing.ReceivedRequest;
+import org.dominokit.domino.rest.testing.ScriptedResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.Single;
+import io.reactivex.android.plugins.RxAndroidPlugins;
+import io.reactivex.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TokenRefreshInterceptorTest {
+
+    private LocalServer server;
+    private HttpClientProvider provider;
+    private AndroidRequestSender<String, String> sender;
+    private final AtomicInteger refreshes = new AtomicInteger();
+    private Throwable refreshFailure;
+
+    private final TokenRefreshInterceptor tokens = new TokenRefreshInterceptor() {
+        @Override
+        protected void refreshToken(RefreshCallback callback) {
+            refreshes.incrementAndGet();
+            if (refreshFailure != null) {
+                callback.onFailed(refreshFailure);
+                return;
+            }
+            TestRequest<String> refresh = TestRequest.post(server.getServiceRoot() + "echo/token", "fresh-token");
+            RequestOptions.of(refresh).setSkipTokenRefresh(true);
+            sender.single(refresh).subscribe(callback::onRefreshed,
+                    failure -> callback.onFailed(((RequestFailedException) failure).getFailedResponse().getThrowable()));
+        }
+    };
+
+    @BeforeClass
+    public static void mainThread() {
+        RxAndroidPlugins.setInitMainThreadSchedulerHandler(scheduler -> Schedulers.single());
+    }
+
+    @Before
+    public void start() throws Exception {
+        server = LocalServer.start();
+        provider = new HttpClientProvider(new ConnectionPoolConfig());
+        sender = new AndroidRequestSender<>(provider, null);
+        sender.updateInterceptorChain(chain -> chain.withRequestInterceptor(tokens, 5_000).withResponseInterceptor(tokens));
+    }
+
+    @After
+    public void stop() {
+        provider.shutdown();
+        server.stop();
+    }
+
+    @Test
+    public void requestsWaitingForATokenShareOneRefresh() throws Exception {
+        server.enqueue("/echo/token", ScriptedResponse.ok("fresh-token").delay(200));
+        List<Single<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            calls.add(sender.single(TestRequest.get(server.getServiceRoot() + "items/" + i)).cache());
+            calls.get(i).subscribe((item, failure) -> { });
+        }
+
+        for (Single<String> call : calls) {
+            call.blockingGet();
+        }
+
+        assertEquals(1, refreshes.get());
+        assertEquals("fresh-token", tokens.getToken());
+        ReceivedRequest refresh = server.takeRequest();
+        assertEquals("/echo/token", refresh.getPath());
+        assertNull(refresh.getHeader("Authorization"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Bearer fresh-token", server.takeRequest().getHeader("Authorization"));
+        }
+    }
+
+    @Test
+    public void requestsWithATokenAreNotDelayed() throws Exception {
+        tokens.setToken("current");
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+
+        assertEquals(0, refreshes.get());
+        assertEquals("Bearer current", server.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    public void failedRefreshFailsTheWaitingRequests() throws Exception {
+        refreshFailure = new IOException("offline");
+
+        try {
+            sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertSame(refreshFailure, e.getFailedResponse().getThrowable());
+        }
+        assertEquals(0, server.getRequestCount());
+        // the request is unregistered once its callback returned
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sender.getInFlightCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, sender.getInFlightCount());
+        assertNull(tokens.getToken());
+    }
+
+    @Test
+    public void rejectedRefreshRequestFailsTheWaitingRequests() throws Exception {
+        server.enqueue("/echo/token", ScriptedResponse.status(400));
+
+        try {
+            sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertTrue(e.getFailedResponse().getThrowable() instanceof IllegalStateException);
+        }
+        assertEquals(1, server.getRequestCount());
+        assertNull(tokens.getToken());
+    }
+
+    @Test
+    public void unauthorizedResponseInvalidatesTheTokenItWasSentWith() throws Exception {
+        tokens.setToken("expired");
+        server.enqueue("/items/1", ScriptedResponse.status(401));
+
+        try {
+            sender.single(TestRequest.get(server.getServiceRoot() + "items/1")).blockingGet();
+            fail("the request did not fail");
+        } catch (RequestFailedException e) {
+            assertEquals(401, e.getStatusCode());
+        }
+        assertNull(tokens.getToken());
+
+        sender.single(TestRequest.get(server.getServiceRoot() + "items/2")).blockingGet();
+        assertEquals(1, refreshes.get());
+        assertEquals("fresh-token", tokens.getToken());
+    }
+}
@@ -0,0 +1,126 @@
+package org.dominokit.domino.rest.android;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import cz.msebera.android.httpclient.Header;
+import cz.msebera.android.httpclient.HttpVersion;
+import cz.msebera.android.httpclient.client.cache.HttpCacheEntry;
+import cz.msebera.android.httpclient.impl.client.cache.HeapResource;
+import cz.msebera.android.httpclient.message.BasicStatusLine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TwoTierCacheStorageTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("http-cache");
+    }
+
+    @Test
+    public void memoryEvictsTheLeastRecentlyUsedEntriesOverTheBytesBudget() throws IOException {
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig().setMemoryMaxBytes(250));
+        storage.putEntry("a", entry(100));
+        storage.putEntry("b", entry(100));
+        storage.getEntry("a");
+        storage.putEntry("c", entry(100));
+
+        assertNotNull(storage.getEntry("a"));
+        assertNull(storage.getEntry("b"));
+        assertNotNull(storage.getEntry("c"));
+        assertEquals(200, storage.getMemorySizeBytes());
+    }
+
+    @Test
+    public void entriesLargerThanTheBudgetAreNotKept() throws IOException {
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig().setMemoryMaxBytes(50));
+        storage.putEntry("a", entry(100));
+        assertNull(storage.getEntry("a"));
+        assertEquals(0, storage.getMemorySizeBytes());
+    }
+
+    @Test
+    public void replacingAnEntryReplacesItsSize() throws IOException {
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig());
+        storage.putEntry("a", entry(100));
+        storage.putEntry("a", entry(40));
+        assertEquals(40, storage.getMemorySizeBytes());
+        storage.removeEntry("a");
+        assertEquals(0, storage.getMemorySizeBytes());
+    }
+
+    @Test
+    public void diskEntriesSurviveANewStorageAndArePromotedToMemory() throws IOException {
+        HttpCacheConfig config = new HttpCacheConfig().setDiskDirectory(directory);
+        new TwoTierCacheStorage(config).putEntry("a", entry(100));
+
+        TwoTierCacheStorage reopened = new TwoTierCacheStorage(config);
+        assertEquals(0, reopened.getMemorySizeBytes());
+        assertTrue(reopened.getDiskSizeBytes() > 100);
+        HttpCacheEntry entry = reopened.getEntry("a");
+        assertEquals(100, entry.getResource().length());
+        assertEquals(100, reopened.getMemorySizeBytes());
+    }
+
+    @Test
+    public void diskEvictsTheLeastRecentlyUsedEntriesOverTheBytesBudget() throws IOException {
+        TwoTierCacheStorage sizing = new TwoTierCacheStorage(new HttpCacheConfig().setDiskDirectory(folder.newFolder()));
+        sizing.putEntry("a", entry(100));
+        long fileBytes = sizing.getDiskSizeBytes();
+
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig().setMemoryMaxBytes(0)
+                .setDiskDirectory(directory).setDiskMaxBytes(fileBytes * 2 + fileBytes / 2));
+        storage.putEntry("a", entry(100));
+        storage.putEntry("b", entry(100));
+        storage.getEntry("a");
+        storage.putEntry("c", entry(100));
+
+        assertNotNull(storage.getEntry("a"));
+        assertNull(storage.getEntry("b"));
+        assertNotNull(storage.getEntry("c"));
+        assertEquals(2, directory.list().length);
+    }
+
+    @Test
+    public void clearRemovesBothTiers() throws IOException {
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig().setDiskDirectory(directory));
+        storage.putEntry("a", entry(100));
+        storage.clear();
+        assertNull(storage.getEntry("a"));
+        assertEquals(0, storage.getDiskSizeBytes());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void updateEntryReplacesOrRemovesTheEntry() throws IOException {
+        TwoTierCacheStorage storage = new TwoTierCacheStorage(new HttpCacheConfig());
+        storage.putEntry("a", entry(100));
+        storage.updateEntry("a", existing -> entry(10));
+        assertEquals(10, storage.getEntry("a").getResource().length());
+        storage.updateEntry("a", existing -> null);
+        assertNull(storage.getEntry("a"));
+    }
+
+    private static HttpCacheEntry entry(int bodyBytes) {
+        byte[] body = new String(new char[bodyBytes]).replace('\0', 'x').getBytes(StandardCharsets.UTF_8);
+        Date now = new Date();
+        return new HttpCacheEntry(now, now, new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"), new Header[0],
+                new HeapResource(body));
+    }
+}
@@ -0,0 +1,105 @@
+package org.dominokit.domino.rest.testing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LocalServerTest {
+
+    private LocalServer server;
+
+    @After
+    public void stop() {
+        server.stop();
+    }
+
+    @Test
+    public void servesTheItemsEndpoints() throws Exception {
+        server = LocalServer.start();
+        HttpURLConnection connection = open("items/7", "GET");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("no-store", connection.getHeaderField("Cache-Control"));
+        assertEquals(new String(LocalServer.item("7"), StandardCharsets.UTF_8), read(connection));
+
+        connection = open("cached-items/7", "GET");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("max-age=3600", connection.getHeaderField("Cache-Control"));
+        read(connection);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void scriptedResponsesComeFirstAndOnce() throws Exception {
+        server = LocalServer.start();
+        server.enqueue("/items/1", ScriptedResponse.status(503).header("Retry-After", "2"));
+        HttpURLConnection connection = open("items/1", "GET");
+        assertEquals(503, connection.getResponseCode());
+        assertEquals("2", connection.getHeaderField("Retry-After"));
+
+        assertEquals(200, open("items/1", "GET").getResponseCode());
+        assertEquals(404, open("unknown", "GET").getResponseCode());
+    }
+
+    @Test
+    public void recordsTheRequests() throws Exception {
+        server = LocalServer.start();
+        HttpURLConnection connection = open("echo/notes?draft=true", "POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setRequestProperty("Idempotency-Key", "k1");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("{\"a\":1}", read(connection));
+
+        ReceivedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/echo/notes", request.getPath());
+        assertEquals("draft=true", request.getQuery());
+        assertEquals("k1", request.getHeader("Idempotency-Key"));
+        assertEquals("{\"a\":1}", request.getBodyAsString());
+    }
+
+    @Test
+    public void latencyIsAddedToTheResponses() throws Exception {
+        server = LocalServer.start(NetworkProfile.none().setLatencyMillis(200));
+        long start = System.nanoTime();
+        assertEquals(200, open("items/1", "GET").getResponseCode());
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 200);
+    }
+
+    @Test
+    public void errorRateAnswersWithServiceUnavailable() throws Exception {
+        server = LocalServer.start(NetworkProfile.none().setErrorRate(1));
+        assertEquals(503, open("items/1", "GET").getResponseCode());
+    }
+
+    private HttpURLConnection open(String path, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(server.getServiceRoot() + path).openConnection();
+        connection.setRequestMethod(method);
+        return connection;
+    }
+
+    private static String read(HttpURLConnection connection) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package org.dominokit.domino.rest.testing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NetworkProfileTest {
+
+    @Test
+    public void latencyStaysWithinTheJitter() {
+        NetworkProfile profile = NetworkProfile.none().setLatencyMillis(100).setJitterMillis(20);
+        for (int i = 0; i < 1_000; i++) {
+            long latency = profile.nextLatencyMillis();
+            assertTrue(String.valueOf(latency), latency >= 80 && latency <= 120);
+        }
+    }
+
+    @Test
+    public void latencyIsNeverNegative() {
+        NetworkProfile profile = NetworkProfile.none().setLatencyMillis(5).setJitterMillis(50);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(profile.nextLatencyMillis() >= 0);
+        }
+    }
+
+    @Test
+    public void bandwidthAndDripDelayAddUpPerChunk() {
+        NetworkProfile profile = NetworkProfile.none().setBandwidthBytesPerSecond(10_000).setDripChunkBytes(1_000)
+                .setDripDelayMillis(5);
+        assertEquals(1_000, profile.chunkBytes());
+        assertEquals(105, profile.chunkDelayMillis(1_000));
+        assertEquals(0, NetworkProfile.none().chunkDelayMillis(8192));
+    }
+
+    @Test
+    public void errorRateBounds() {
+        NetworkProfile never = NetworkProfile.none();
+        NetworkProfile always = NetworkProfile.none().setErrorRate(1);
+        for (int i = 0; i < 100; i++) {
+            assertFalse(never.nextIsError());
+            assertTrue(always.nextIsError());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownProfileName() {
+        NetworkProfile.named("5g");
+    }
+}
@@ -0,0 +1,82 @@
+package org.dominokit.domino.rest.testing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * Serves the same endpoints as the {@link LocalServer} over h2c, HTTP/2 without TLS, so all the requests of a client
+ * share one connection, responses are shaped by the same {@link NetworkProfile}.
+ */
+public class Http2LocalServer implements StubServer {
+
+    private final MockWebServer server = new MockWebServer();
+    private final NetworkProfile profile;
+    private final Map<Integer, byte[]> payloads = new ConcurrentHashMap<>();
+
+    private Http2LocalServer(NetworkProfile profile) {
+        this.profile = profile;
+        server.setProtocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return respond(request);
+            }
+        });
+    }
+
+    public static Http2LocalServer start(NetworkProfile profile) throws IOException {
+        Http2LocalServer localServer = new Http2LocalServer(profile);
+        localServer.server.start(InetAddress.getLoopbackAddress(), 0);
+        return localServer;
+    }
+
+    @Override
+    public String getServiceRoot() {
+        return "http://127.0.0.1:" + server.getPort() + "/";
+    }
+
+    @Override
+    public void stop() {
+        try {
+            server.shutdown();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        MockResponse response = new MockResponse()
+                .setHeadersDelay(profile.nextLatencyMillis(), TimeUnit.MILLISECONDS);
+        if (profile.nextIsError()) {
+            return response.setResponseCode(503);
+        }
+        String path = request.getRequestUrl().encodedPath();
+        String lastSegment = path.substring(path.lastIndexOf('/') + 1);
+        byte[] body;
+        boolean cacheable = path.startsWith("/cached-items/");
+        if (path.startsWith("/payload/")) {
+            body = payloads.computeIfAbsent(Integer.parseInt(lastSegment), LocalServer::items);
+        } else if (cacheable || path.startsWith("/items/")) {
+            body = LocalServer.item(lastSegment);
+        } else {
+            return response.setResponseCode(404);
+        }
+        int chunkBytes = profile.chunkBytes();
+        return response.addHeader("Content-Type", "application/json")
+                .addHeader("Cache-Control", cacheable ? "max-age=3600" : "no-store")
+                .setBody(new Buffer().write(body))
+                .throttleBody(chunkBytes, profile.chunkDelayMillis(chunkBytes), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,243 @@
+package org.dominokit.domino.rest.testing;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in process http server on the loopback interface, responses of the items endpoints are shaped by a
+ * {@link NetworkProfile}.
+ * <p>
+ * Every request is recorded and can be taken in the order it was received, a response enqueued for a path is
+ * returned to the next request of that path whatever the endpoint, {@code /echo/} returns the request body and any
+ * other path is not found.
+ */
+public class LocalServer implements StubServer {
+
+    private static final long TAKE_TIMEOUT_MILLIS = 5_000;
+
+    private final HttpServer server;
+    private final NetworkProfile profile;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<Integer, byte[]> payloads = new ConcurrentHashMap<>();
+    private final Map<String, Queue<ScriptedResponse>> scripted = new ConcurrentHashMap<>();
+    private final BlockingQueue<ReceivedRequest> received = new LinkedBlockingQueue<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private LocalServer(HttpServer server, NetworkProfile profile) {
+        this.server = server;
+        this.profile = profile;
+        addContext("/items/", exchange -> respond(exchange, item(lastSegment(exchange)), false));
+        addContext("/cached-items/", exchange -> respond(exchange, item(lastSegment(exchange)), true));
+        addContext("/payload/", exchange -> respond(exchange,
+                payloads.computeIfAbsent(Integer.parseInt(lastSegment(exchange)), LocalServer::items), false));
+        addContext("/echo/", LocalServer::echo);
+        addContext("/", exchange -> exchange.sendResponseHeaders(404, -1));
+        server.setExecutor(executor);
+    }
+
+    public static LocalServer start() throws IOException {
+        return start(NetworkProfile.none());
+    }
+
+    public static LocalServer start(NetworkProfile profile) throws IOException {
+        LocalServer localServer = new LocalServer(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 128), profile);
+        localServer.server.start();
+        return localServer;
+    }
+
+    @Override
+    public String getServiceRoot() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @Override
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Serves the requests of the path and its sub paths with the handler, the requests are recorded and the
+     * enqueued responses are returned before the handler is called.
+     */
+    public void addContext(String path, HttpHandler handler) {
+        server.createContext(path, exchange -> {
+            try {
+                ReceivedRequest request = record(exchange);
+                ScriptedResponse response = nextScripted(request.getPath());
+                if (response != null) {
+                    reply(exchange, response);
+                } else {
+                    handler.handle(exchange);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    public void enqueue(String path, ScriptedResponse response) {
+        scripted.computeIfAbsent(path, key -> new ConcurrentLinkedQueue<>()).add(response);
+    }
+
+    /**
+     * @throws IllegalStateException if no request is received within 5 seconds
+     */
+    public ReceivedRequest takeRequest() throws InterruptedException {
+        ReceivedRequest request = received.poll(TAKE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (request == null) {
+            throw new IllegalStateException("No request received within " + TAKE_TIMEOUT_MILLIS + "ms");
+        }
+        return request;
+    }
+
+    /**
+     * @return the next received request, or {@code null} if none is received within the timeout
+     */
+    public ReceivedRequest pollRequest(long timeoutMillis) throws InterruptedException {
+        return received.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the JSON of an array of {@code count} items, each item is about 50 bytes
+     */
+    public static byte[] items(int count) {
+        StringBuilder json = new StringBuilder(count * 50 + 2).append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(itemJson(String.valueOf(i)));
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] item(String id) {
+        return itemJson(id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String itemJson(String id) {
+        return "{\"id\":\"" + id + "\",\"name\":\"item " + id + "\",\"value\":" + id.length() + "}";
+    }
+
+    private static String lastSegment(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Reads the request body and hands a copy of it to the handler.
+     */
+    private ReceivedRequest record(HttpExchange exchange) throws IOException {
+        byte[] body = readAll(exchange.getRequestBody());
+        exchange.setStreams(new ByteArrayInputStream(body), null);
+        Map<String, String> headers = new LinkedHashMap<>();
+        exchange.getRequestHeaders().forEach((name, values) -> headers.put(name.toLowerCase(Locale.ROOT), values.get(0)));
+        ReceivedRequest request = new ReceivedRequest(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+                exchange.getRequestURI().getRawQuery(), headers, body);
+        requestCount.incrementAndGet();
+        received.add(request);
+        return request;
+    }
+
+    private ScriptedResponse nextScripted(String path) {
+        Queue<ScriptedResponse> responses = scripted.get(path);
+        return responses == null ? null : responses.poll();
+    }
+
+    private static void reply(HttpExchange exchange, ScriptedResponse response) throws IOException {
+        pause(response.getDelayMillis());
+        Headers headers = exchange.getResponseHeaders();
+        response.getHeaders().forEach(headers::add);
+        byte[] body = response.getBody();
+        boolean noBody = body.length == 0 || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(response.getStatus(), noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static void echo(HttpExchange exchange) throws IOException {
+        byte[] body = readAll(exchange.getRequestBody());
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        exchange.getResponseHeaders().add("Content-Type", contentType != null ? contentType : "text/plain");
+        exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, byte[] body, boolean cacheable) throws IOException {
+        pause(profile.nextLatencyMillis());
+        if (profile.nextIsError()) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Cache-Control", cacheable ? "max-age=3600" : "no-store");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            int chunkBytes = profile.chunkBytes();
+            for (int offset = 0; offset < body.length; offset += chunkBytes) {
+                int length = Math.min(chunkBytes, body.length - offset);
+                out.write(body, offset, length);
+                out.flush();
+                pause(profile.chunkDelayMillis(length));
+            }
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void pause(long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while shaping the response", e);
+        }
+    }
+}
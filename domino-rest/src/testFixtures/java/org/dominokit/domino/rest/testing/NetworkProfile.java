@@ -0,0 +1,134 @@
+package org.dominokit.domino.rest.testing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The network conditions simulated by the {@link LocalServer}, the latency is added before the response headers are
+ * sent and the bandwidth and drip delays while the body is written.
+ */
+public class NetworkProfile {
+
+    private long latencyMillis;
+    private long jitterMillis;
+    private long bandwidthBytesPerSecond;
+    private double errorRate;
+    private int dripChunkBytes;
+    private long dripDelayMillis;
+
+    public static NetworkProfile none() {
+        return new NetworkProfile();
+    }
+
+    public static NetworkProfile wifi() {
+        return new NetworkProfile().setLatencyMillis(20).setJitterMillis(5).setBandwidthBytesPerSecond(5_000_000);
+    }
+
+    public static NetworkProfile lte() {
+        return new NetworkProfile().setLatencyMillis(60).setJitterMillis(20).setBandwidthBytesPerSecond(1_500_000);
+    }
+
+    public static NetworkProfile threeG() {
+        return new NetworkProfile().setLatencyMillis(200).setJitterMillis(80).setBandwidthBytesPerSecond(100_000)
+                .setErrorRate(0.01);
+    }
+
+    /**
+     * A poor connection with frequent server errors and bodies trickling in small chunks.
+     */
+    public static NetworkProfile flaky() {
+        return new NetworkProfile().setLatencyMillis(400).setJitterMillis(300).setBandwidthBytesPerSecond(30_000)
+                .setErrorRate(0.1).setDripChunkBytes(512).setDripDelayMillis(50);
+    }
+
+    public static NetworkProfile named(String name) {
+        switch (name.toLowerCase()) {
+            case "none":
+                return none();
+            case "wifi":
+                return wifi();
+            case "lte":
+                return lte();
+            case "3g":
+                return threeG();
+            case "flaky":
+                return flaky();
+            default:
+                throw new IllegalArgumentException("Unknown network profile [" + name + "], use one of none, wifi, lte, 3g, flaky");
+        }
+    }
+
+    public NetworkProfile setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    /**
+     * The latency of each response varies randomly by up to this value in both directions.
+     */
+    public NetworkProfile setJitterMillis(long jitterMillis) {
+        this.jitterMillis = jitterMillis;
+        return this;
+    }
+
+    /**
+     * Caps the speed at which each response body is written, {@code 0} for no cap.
+     */
+    public NetworkProfile setBandwidthBytesPerSecond(long bandwidthBytesPerSecond) {
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+        return this;
+    }
+
+    /**
+     * The fraction of the requests answered with {@code 503 Service Unavailable}.
+     */
+    public NetworkProfile setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public NetworkProfile setDripChunkBytes(int dripChunkBytes) {
+        this.dripChunkBytes = dripChunkBytes;
+        return this;
+    }
+
+    /**
+     * The pause after each chunk of {@link #setDripChunkBytes(int)} bytes, used to simulate slow-drip bodies.
+     */
+    public NetworkProfile setDripDelayMillis(long dripDelayMillis) {
+        this.dripDelayMillis = dripDelayMillis;
+        return this;
+    }
+
+    long nextLatencyMillis() {
+        if (jitterMillis <= 0) {
+            return latencyMillis;
+        }
+        return Math.max(0, latencyMillis + ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1));
+    }
+
+    boolean nextIsError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    int chunkBytes() {
+        return dripChunkBytes > 0 ? dripChunkBytes : 8192;
+    }
+
+    /**
+     * @return how long to pause after writing a chunk of the specified size
+     */
+    long chunkDelayMillis(int chunkBytes) {
+        long delay = dripDelayMillis;
+        if (bandwidthBytesPerSecond > 0) {
+            delay += chunkBytes * 1000L / bandwidthBytesPerSecond;
+        }
+        return delay;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkProfile{latency=" + latencyMillis + "ms, jitter=" + jitterMillis + "ms, bandwidth="
+                + bandwidthBytesPerSecond + "B/s, errorRate=" + errorRate + ", dripChunk=" + dripChunkBytes
+                + "B, dripDelay=" + dripDelayMillis + "ms}";
+    }
+}
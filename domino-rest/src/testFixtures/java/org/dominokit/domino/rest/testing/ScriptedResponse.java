@@ -0,0 +1,69 @@
+package org.dominokit.domino.rest.testing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A response returned once by the {@link LocalServer} to the next request of a path.
+ * <pre>
+ *     server.enqueue("/notes", ScriptedResponse.status(503).header("Retry-After", "1"));
+ * </pre>
+ */
+public class ScriptedResponse {
+
+    private final int status;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private byte[] body = new byte[0];
+    private long delayMillis;
+
+    private ScriptedResponse(int status) {
+        this.status = status;
+    }
+
+    public static ScriptedResponse status(int status) {
+        return new ScriptedResponse(status);
+    }
+
+    public static ScriptedResponse ok(String body) {
+        return status(200).body(body);
+    }
+
+    public ScriptedResponse header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public ScriptedResponse body(String body) {
+        return body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ScriptedResponse body(byte[] body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Waits before sending the response headers.
+     */
+    public ScriptedResponse delay(long delayMillis) {
+        this.delayMillis = delayMillis;
+        return this;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    long getDelayMillis() {
+        return delayMillis;
+    }
+}
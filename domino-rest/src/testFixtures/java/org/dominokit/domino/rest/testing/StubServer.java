@@ -0,0 +1,12 @@
+package org.dominokit.domino.rest.testing;
+
+/**
+ * An in process server on the loopback interface, serving the items endpoints used by the benchmarks and the
+ * responses scripted by the tests.
+ */
+public interface StubServer {
+
+    String getServiceRoot();
+
+    void stop();
+}